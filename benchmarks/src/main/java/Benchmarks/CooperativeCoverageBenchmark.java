@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FleetReport;
+import ControlSystems.FleetSimulator;
+import ControlSystems.SurfaceType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cooperative robots sharing one floor, each on its own worker thread up to
+ * the number of processors, cleaning until every robot has shut down. The
+ * score is the wall-clock time of the fleet run; the secondary results give
+ * the steps of the busiest robot, which is the simulated cleaning time, the
+ * steps of all robots and the cells cleaned, showing how the work divides.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CooperativeCoverageBenchmark {
+
+    @Param({ "128" })
+    public int gridSize;
+
+    @Param({ "1", "4", "16" })
+    public int robots;
+
+    private CompactFloorPlan plan;
+
+    /**
+     * Counters of the last fleet run, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Run {
+        public long makespanSteps;
+        public long totalSteps;
+        public long cellsCleaned;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = buildPlan(gridSize);
+    }
+
+    @Benchmark
+    public long runFleet(Run run) throws InterruptedException {
+        FleetSimulator simulator = new FleetSimulator(Math.min(robots, Runtime.getRuntime().availableProcessors()));
+        simulator.setCooperative(true);
+        simulator.addRobots(plan, robots);
+        FleetReport report = simulator.run();
+        run.makespanSteps = report.getMaxSteps();
+        run.totalSteps = report.getSteps();
+        run.cellsCleaned = report.getCellsCleaned();
+        return report.getCellsCleaned();
+    }
+
+    /**
+     * Builds a hardwood floor with tile patches, scattered obstacles and a
+     * charging station every 8 cells in both directions, so robots can always
+     * reach a station from the low-battery threshold.
+     */
+    static CompactFloorPlan buildPlan(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.HARDWOOD, SurfaceType.TILE };
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean station = x % 8 == 4 && y % 8 == 4;
+                boolean obstacle = !station && (x * 7 + y * 13) % 29 == 0;
+                plan.setCell(x, y, surfaces[(x / 8 + y / 8) % surfaces.length], obstacle, station, false);
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,126 @@
+package Benchmarks;
+
+import ControlSystems.BoustrophedonPlanner;
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.CoveragePlan;
+import ControlSystems.GridSearch;
+import ControlSystems.Logger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Greedy nearest-unvisited coverage against the boustrophedon planner, on the
+ * floor of {@link CooperativeCoverageBenchmark}. Full-floor coverage is first
+ * planned both ways with unlimited battery; the secondary results give the
+ * moves and distinct cells of each plan, from which the revisit ratio
+ * follows. Then a robot runs each strategy to shutdown, recharging at the
+ * floor's stations, with the nearest-unvisited search plain or incremental.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class CoverageStrategyBenchmark {
+
+    @Param({ "32", "128", "256" })
+    public int gridSize;
+
+    private CompactFloorPlan plan;
+    private GridSearch.CellTest passable;
+
+    /**
+     * Coverage settings of the robot run, parameters of the run only.
+     */
+    @State(Scope.Thread)
+    public static class Strategy {
+        @Param({ "NEAREST_UNVISITED", "BOUSTROPHEDON" })
+        public CleanSweepNavigation.CoverageMode coverageMode;
+
+        @Param({ "false", "true" })
+        public boolean incrementalSearch;
+    }
+
+    /**
+     * Counters of the last plan or run, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Coverage {
+        public long moves;
+        public long cells;
+        public long charges;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = CooperativeCoverageBenchmark.buildPlan(gridSize);
+        passable = index -> !plan.isObstacle(index % gridSize, index / gridSize);
+    }
+
+    /**
+     * Plans coverage by repeatedly searching for the nearest unvisited cell.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long planNearestUnvisited(Coverage coverage) {
+        GridSearch search = new GridSearch(gridSize);
+        CoverageMap visited = new CoverageMap(gridSize * gridSize);
+        GridSearch.CellTest unvisited = index -> visited.isUnvisited(index) && passable.test(index);
+        int current = 0;
+        long moves = 0;
+        visited.visit(current);
+        int target;
+        while ((target = search.search(current, passable, unvisited)) != -1) {
+            int[] path = search.getPath();
+            for (int i = 1; i < search.getPathLength(); i++) {
+                visited.visit(path[i]);
+            }
+            moves += search.getPathLength() - 1;
+            current = target;
+        }
+        coverage.moves = moves;
+        coverage.cells = visited.getVisitedCount();
+        return moves;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long planBoustrophedon(Coverage coverage) {
+        CoveragePlan sweep = new BoustrophedonPlanner(gridSize, passable).plan(0);
+        coverage.moves = sweep.getMoveCount();
+        coverage.cells = sweep.getCoveredCount();
+        return sweep.getMoveCount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long navigateToShutdown(Strategy strategy, Coverage coverage) {
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, plan, new Logger());
+        robot.setCoverageMode(strategy.coverageMode);
+        robot.setIncrementalSearch(strategy.incrementalSearch);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        coverage.moves = robot.getStepCount();
+        coverage.cells = robot.getCoverageMap().getVisitedCount();
+        coverage.charges = robot.getChargeCycles();
+        return robot.getStepCount();
+    }
+}
@@ -0,0 +1,117 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.SurfaceType;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.Cell;
+import org.example.DirtAwareCleaner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A battery-limited run of each cleaning strategy over clustered dirt: every
+ * 12x12 block of the generated floor has its own dirtiness, so some rooms are
+ * far more worth a trip than others. The score is the wall-clock time of the
+ * run; the secondary results give the dirt removed and the energy used, whose
+ * ratio compares the strategies.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DirtCleaningBenchmark {
+
+    @Param({ "64", "128" })
+    public int gridSize;
+
+    @Param({ "400" })
+    public int battery;
+
+    @Param({ "5" })
+    public int charges;
+
+    @Param
+    public DirtAwareCleaner.Strategy strategy;
+
+    private CompactFloorPlan layout;
+    private int startX;
+    private int startY;
+    private DirtAwareCleaner cleaner;
+
+    /**
+     * Counters of the last run, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Run {
+        public long dirtRemoved;
+        public long energyUsed;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        layout = GeneratedFloors.generate(gridSize, 0.05, "mixed");
+        while (!layout.isChargingStation(startX, startY)) {
+            if (++startX == gridSize) {
+                startX = 0;
+                startY++;
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void dirtyFloor() {
+        cleaner = new DirtAwareCleaner(buildCells(), startX, startY, battery);
+        cleaner.setStrategy(strategy);
+        cleaner.setMaxCharges(charges);
+    }
+
+    @Benchmark
+    public long runOnBattery(Run run) {
+        cleaner.run();
+        run.dirtRemoved = cleaner.getDirtRemoved();
+        run.energyUsed = cleaner.getEnergyUsed();
+        return cleaner.getMoveCount();
+    }
+
+    /**
+     * Converts the generated layout to dirty cells. Hardwood, tile and carpet
+     * become bare floor, low-pile and high-pile carpet; every 12x12 block gets
+     * a dirtiness from 0 to 4, and its cells up to twice that much dirt.
+     */
+    private Cell[][] buildCells() {
+        Cell[][] cells = new Cell[gridSize][gridSize];
+        SplittableRandom random = new SplittableRandom(GeneratedFloors.SEED);
+        int blocks = (gridSize + 11) / 12;
+        int[] dirtiness = new int[blocks * blocks];
+        for (int i = 0; i < dirtiness.length; i++) {
+            dirtiness[i] = random.nextInt(5);
+        }
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                SurfaceType surface = layout.getSurfaceType(x, y);
+                String type = surface == SurfaceType.CARPET ? "high-pile carpet"
+                        : surface == SurfaceType.TILE ? "low-pile carpet" : "bare floor";
+                int level = dirtiness[(y / 12) * blocks + x / 12];
+                boolean obstacle = layout.isObstacle(x, y);
+                int dirt = obstacle ? 0 : random.nextInt(2 * level + 1);
+                cells[y][x] = new Cell(type, obstacle, layout.isChargingStation(x, y), dirt);
+            }
+        }
+        return cells;
+    }
+}
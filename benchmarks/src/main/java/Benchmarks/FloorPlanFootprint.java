@@ -0,0 +1,80 @@
+package Benchmarks;
+
+import ControlSystems.Cell;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorPlan;
+import ControlSystems.SurfaceType;
+
+/**
+ * Compares the heap footprint of a Cell[][] FloorPlan with a CompactFloorPlan.
+ * Heap is measured directly rather than through JMH, so this is a plain main:
+ * {@code java -Xmx3g -cp target/benchmarks.jar Benchmarks.FloorPlanFootprint [gridSize]} (default 4096).
+ */
+public class FloorPlanFootprint {
+
+    private static final String[] TYPES = { "hardwood", "tile", "carpet" };
+
+    public static void main(String[] args) {
+        int gridSize = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        long cells = (long) gridSize * gridSize;
+        System.out.println("Grid: " + gridSize + "x" + gridSize + " (" + cells + " cells)");
+
+        long before = usedHeap();
+        CompactFloorPlan compact = buildCompact(gridSize);
+        long compactBytes = usedHeap() - before;
+        report("CompactFloorPlan", compactBytes, cells);
+
+        before = usedHeap();
+        FloorPlan objects = buildObjects(gridSize);
+        long objectBytes = usedHeap() - before;
+        report("FloorPlan (Cell[][])", objectBytes, cells);
+
+        System.out.printf("Ratio: %.1fx smaller%n", (double) objectBytes / Math.max(compactBytes, 1));
+
+        // Keep both plans reachable until after the measurements
+        System.out.println("Check: " + compact.getGridSize() + " " + objects.getGridSize());
+    }
+
+    private static CompactFloorPlan buildCompact(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                int mix = (x * 31 + y * 17) % 3;
+                plan.setCell(x, y, SurfaceType.fromLabel(TYPES[mix]), (x ^ y) % 13 == 0, false, false);
+            }
+        }
+        return plan;
+    }
+
+    private static FloorPlan buildObjects(int gridSize) {
+        FloorPlan plan = new FloorPlan();
+        plan.setGridSize(gridSize);
+        Cell[][] grid = new Cell[gridSize][gridSize];
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                int mix = (x * 31 + y * 17) % 3;
+                Cell cell = new Cell();
+                cell.setX(x);
+                cell.setY(y);
+                // Jackson creates a separate String per value, so mirror that here
+                cell.setType(new String(TYPES[mix]));
+                cell.setObstacle((x ^ y) % 13 == 0);
+                grid[y][x] = cell;
+            }
+        }
+        plan.setCells(grid);
+        return plan;
+    }
+
+    private static void report(String label, long bytes, long cells) {
+        System.out.printf("%-22s %,14d bytes  %6.2f bytes/cell%n", label, bytes, (double) bytes / cells);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
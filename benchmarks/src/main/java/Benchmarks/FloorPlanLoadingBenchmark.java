@@ -0,0 +1,72 @@
+package Benchmarks;
+
+import ControlSystems.BinaryFloorPlanFile;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorGrid;
+import ControlSystems.FloorPlanLoader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a floor plan: the JSON layout file mapped to Cell objects, the same
+ * file streamed into a compact grid, and the binary format opened from disk.
+ * The JSON is held in memory so the figures leave out disk reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class FloorPlanLoadingBenchmark {
+
+    @Param({ "10", "256", "1024" })
+    public int gridSize;
+
+    private byte[] json;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        CompactFloorPlan plan = GeneratedFloors.generate(gridSize, 0.1, "mixed");
+        json = GeneratedFloors.toJson(gridSize, 0.1, "mixed");
+        binary = Files.createTempFile("floorplan-" + gridSize + "-", BinaryFloorPlanFile.EXTENSION);
+        BinaryFloorPlanFile.write(plan, binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+    }
+
+    @Benchmark
+    public FloorGrid loadJson() throws IOException {
+        return FloorPlanLoader.loadFloorPlan(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public FloorGrid loadJsonCompact() throws IOException {
+        return FloorPlanLoader.loadCompactFloorPlan(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public FloorGrid openBinary() throws IOException {
+        return FloorPlanLoader.loadFloorPlan(binary);
+    }
+}
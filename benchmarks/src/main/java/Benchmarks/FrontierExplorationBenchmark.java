@@ -0,0 +1,83 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.SurfaceType;
+import java.util.concurrent.TimeUnit;
+import org.example.Cell;
+import org.example.FrontierExplorer;
+import org.example.SensorSimulator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Exploring a generated floor from scratch through the sensor simulator,
+ * until no frontier is left. The score is the wall-clock time of the whole
+ * exploration; the secondary results give the observations, moves, frontier
+ * checks and cells searched, so the mapping work per observation, which stays
+ * constant as floors grow, can be read off next to it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class FrontierExplorationBenchmark {
+
+    @Param({ "64", "256", "1024" })
+    public int gridSize;
+
+    private Cell[][] cells;
+    private int start;
+
+    /**
+     * Counters of the last exploration, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Run {
+        public long observations;
+        public long moves;
+        public long frontierChecks;
+        public long cellsSearched;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CompactFloorPlan layout = GeneratedFloors.generate(gridSize, 0.05, "mixed");
+        cells = new Cell[gridSize][gridSize];
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                SurfaceType surface = layout.getSurfaceType(x, y);
+                cells[y][x] = new Cell(surface.getLabel(), layout.isObstacle(x, y),
+                        layout.isChargingStation(x, y), 0);
+            }
+        }
+        while (layout.isObstacle(start % gridSize, start / gridSize)) {
+            start++;
+        }
+    }
+
+    @Benchmark
+    public int exploreFromScratch(Run run) {
+        FrontierExplorer explorer = new FrontierExplorer(
+                new SensorSimulator(cells, start % gridSize, start / gridSize), gridSize, gridSize);
+        explorer.explore();
+        run.observations = explorer.getObservationCount();
+        run.moves = explorer.getMoveCount();
+        run.frontierChecks = explorer.getMap().getFrontierChecks();
+        run.cellsSearched = explorer.getCellsSearched();
+        return explorer.getMap().getKnownCount();
+    }
+}
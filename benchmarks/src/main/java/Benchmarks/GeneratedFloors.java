@@ -0,0 +1,80 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorPlanGenerator;
+import ControlSystems.SurfaceType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Floor plans generated from a fixed seed, so every fork of a benchmark runs
+ * on the same floor for the same parameters.
+ */
+final class GeneratedFloors {
+    static final long SEED = 42;
+
+    private GeneratedFloors() {
+    }
+
+    /**
+     * Generates a floor of rooms and corridors with the robot's floor plan generator.
+     * @param gridSize Width and height of the grid.
+     * @param obstacleDensity Fraction of furnished cells inside rooms.
+     * @param surfaceMix "hardwood", "carpet", or "mixed" for rooms of all three surfaces.
+     * @return The generated floor plan.
+     */
+    static CompactFloorPlan generate(int gridSize, double obstacleDensity, String surfaceMix) {
+        return generator(obstacleDensity, surfaceMix).generate(gridSize);
+    }
+
+    /**
+     * Picks random open cells, used as query starts.
+     * @param count Number of cells.
+     * @return Cell indexes.
+     */
+    static int[] openCells(CompactFloorPlan plan, int count) {
+        int gridSize = plan.getGridSize();
+        Random random = new Random(SEED + 1);
+        int[] cells = new int[count];
+        for (int i = 0; i < count; i++) {
+            int x, y;
+            do {
+                x = random.nextInt(gridSize);
+                y = random.nextInt(gridSize);
+            } while (plan.isObstacle(x, y));
+            cells[i] = y * gridSize + x;
+        }
+        return cells;
+    }
+
+    /**
+     * Generates the same floor in the JSON layout format read by the floor plan loader.
+     * @return UTF-8 JSON bytes.
+     */
+    static byte[] toJson(int gridSize, double obstacleDensity, String surfaceMix) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        generator(obstacleDensity, surfaceMix).writeJson(gridSize, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static FloorPlanGenerator generator(double obstacleDensity, String surfaceMix) {
+        FloorPlanGenerator generator = new FloorPlanGenerator(SEED);
+        generator.setObstacleDensity(obstacleDensity);
+        switch (surfaceMix) {
+            case "hardwood":
+                generator.setSurfaceWeight(SurfaceType.TILE, 0);
+                generator.setSurfaceWeight(SurfaceType.CARPET, 0);
+                break;
+            case "carpet":
+                generator.setSurfaceWeight(SurfaceType.HARDWOOD, 0);
+                generator.setSurfaceWeight(SurfaceType.TILE, 0);
+                break;
+            case "mixed":
+                break; // The generator's default weights
+            default:
+                throw new IllegalArgumentException("Unknown surface mix: " + surfaceMix);
+        }
+        return generator;
+    }
+}
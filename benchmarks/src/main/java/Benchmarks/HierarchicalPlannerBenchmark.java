@@ -0,0 +1,169 @@
+package Benchmarks;
+
+import ControlSystems.AStarPlanner;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.GridSearch;
+import ControlSystems.HierarchicalPlanner;
+import ControlSystems.SurfaceType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The hierarchical planner on floors of 40x40 rooms with a door in every wall
+ * and scattered furniture: the first queries on a new planner, which build the
+ * clusters they touch, warm queries, and replanning the first query after the
+ * door on its route closes, which includes the two obstacle events. Flat A* on
+ * the same queries is the comparison. Larger floors run with
+ * {@code -p gridSize=4096}; a 10000x10000 floor needs about 1 GB of heap for
+ * the hierarchical planner, but far more for flat A*.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class HierarchicalPlannerBenchmark {
+    private static final int ROOM_SIZE = 40;
+    private static final int QUERIES = 128;
+
+    @Param({ "1024", "2048" })
+    public int gridSize;
+
+    private CompactFloorPlan plan;
+    private GridSearch.CellTest passable;
+    private HierarchicalPlanner planner;
+    private final int[][] pairs = new int[QUERIES][2];
+    private int[] path;
+    private int door;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = buildPlan(gridSize);
+        passable = index -> !plan.isObstacle(index % gridSize, index / gridSize);
+        Random random = new Random(GeneratedFloors.SEED);
+        for (int[] pair : pairs) {
+            for (int end = 0; end < 2; end++) {
+                int x, y;
+                do {
+                    x = random.nextInt(gridSize);
+                    y = random.nextInt(gridSize);
+                } while (plan.isObstacle(x, y));
+                pair[end] = y * gridSize + x;
+            }
+        }
+        path = new int[8 * gridSize];
+        planner = new HierarchicalPlanner(gridSize, passable);
+        for (int[] pair : pairs) {
+            planner.plan(pair[0], pair[1], path);
+        }
+        door = firstDoor(planner.plan(pairs[0][0], pairs[0][1], path));
+    }
+
+    /**
+     * All queries on a new planner, building the clusters they touch.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int coldQueries() {
+        HierarchicalPlanner cold = new HierarchicalPlanner(gridSize, passable);
+        for (int[] pair : pairs) {
+            cold.plan(pair[0], pair[1], path);
+        }
+        return cold.getBuiltClusterCount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int warmQuery() {
+        int[] pair = pairs[next++ & (QUERIES - 1)];
+        return planner.plan(pair[0], pair[1], path);
+    }
+
+    /**
+     * Closes the door on the first query's route, replans it, and opens the door again.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int replanAfterDoorCloses() {
+        if (door == -1) {
+            return planner.plan(pairs[0][0], pairs[0][1], path); // The first query stays in one room
+        }
+        plan.setObstacle(door % gridSize, door / gridSize, true);
+        planner.obstacleChanged(door % gridSize, door / gridSize, true);
+        int length = planner.plan(pairs[0][0], pairs[0][1], path);
+        plan.setObstacle(door % gridSize, door / gridSize, false);
+        planner.obstacleChanged(door % gridSize, door / gridSize, false);
+        return length;
+    }
+
+    /**
+     * Flat A* on the same queries, for comparison.
+     */
+    @State(Scope.Thread)
+    public static class Flat {
+        AStarPlanner planner;
+        int[] path;
+
+        @Setup(Level.Trial)
+        public void setup(HierarchicalPlannerBenchmark benchmark) {
+            planner = new AStarPlanner(benchmark.gridSize, benchmark.passable);
+            path = new int[benchmark.gridSize * benchmark.gridSize];
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int flatAStarQuery(Flat flat) {
+        int[] pair = pairs[next++ & (QUERIES - 1)];
+        return flat.planner.plan(pair[0], pair[1], flat.path);
+    }
+
+    /**
+     * Finds the first doorway cell along a path: an open cell on a room's wall line.
+     * @return Cell index, or -1 if the path stays in one room.
+     */
+    private int firstDoor(int length) {
+        for (int i = 0; i < length; i++) {
+            int x = path[i] % gridSize;
+            int y = path[i] / gridSize;
+            if (x % ROOM_SIZE == ROOM_SIZE - 1 || y % ROOM_SIZE == ROOM_SIZE - 1) {
+                return path[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds square rooms with a door in every wall, at varying positions, plus scattered furniture.
+     */
+    private static CompactFloorPlan buildPlan(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                int roomX = x / ROOM_SIZE;
+                int roomY = y / ROOM_SIZE;
+                boolean wallX = x % ROOM_SIZE == ROOM_SIZE - 1 && y % ROOM_SIZE != (roomX * 7 + roomY * 13) % 36 + 2;
+                boolean wallY = y % ROOM_SIZE == ROOM_SIZE - 1 && x % ROOM_SIZE != (roomX * 11 + roomY * 5) % 36 + 2;
+                boolean furniture = (x * 31 + y * 17) % 101 == 0;
+                plan.setCell(x, y, SurfaceType.HARDWOOD, wallX || wallY || furniture, false, false);
+            }
+        }
+        return plan;
+    }
+}
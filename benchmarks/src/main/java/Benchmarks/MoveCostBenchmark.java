@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Charging a random walk for energy, by looking each cell's surface name up
+ * on every move as the navigation used to, and by reading the cost grid
+ * resolved once from an {@link EnergyModel}. Scores are moves per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveCostBenchmark {
+
+    private static final int MOVES = 1 << 16;
+
+    @Param({ "64", "1024" })
+    public int gridSize;
+
+    private CompactFloorPlan plan;
+    private EnergyGrid energy;
+    private final int[] walk = new int[MOVES];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = GeneratedFloors.generate(gridSize, 0.1, "mixed");
+        energy = new EnergyModel().resolve(plan);
+        SplittableRandom random = new SplittableRandom(GeneratedFloors.SEED);
+        int x = gridSize / 2;
+        int y = gridSize / 2;
+        for (int i = 0; i < MOVES; i++) {
+            switch (random.nextInt(4)) {
+                case 0: x = Math.min(gridSize - 1, x + 1); break;
+                case 1: y = Math.min(gridSize - 1, y + 1); break;
+                case 2: x = Math.max(0, x - 1); break;
+                default: y = Math.max(0, y - 1); break;
+            }
+            walk[i] = y * gridSize + x;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int labelSwitch() {
+        int total = 0;
+        for (int index : walk) {
+            switch (plan.getType(index % gridSize, index / gridSize).toLowerCase()) {
+                case "hardwood":
+                    total += 1;
+                    break;
+                case "tile":
+                    total += 2;
+                    break;
+                case "carpet":
+                    total += 5;
+                    break;
+                default:
+                    total += 1;
+                    break;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int costGrid() {
+        int total = 0;
+        for (int index : walk) {
+            total += energy.getMoveCost(index);
+        }
+        return total;
+    }
+}
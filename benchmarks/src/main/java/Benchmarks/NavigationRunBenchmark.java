@@ -0,0 +1,64 @@
+package Benchmarks;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.Logger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A whole cleaning run: a robot calling navigate() from the first charging
+ * station until it shuts down, including its trips to recharge. The robot
+ * logs to a logger without sinks, so the run measures navigation rather than
+ * log output. Larger floors take seconds to minutes per run; add them with
+ * {@code -p gridSize=1024}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class NavigationRunBenchmark {
+
+    @Param({ "10", "64", "256" })
+    public int gridSize;
+
+    @Param({ "0.0", "0.1", "0.25" })
+    public double obstacleDensity;
+
+    @Param({ "hardwood", "mixed", "carpet" })
+    public String surfaceMix;
+
+    @Param({ "NEAREST_UNVISITED", "BOUSTROPHEDON" })
+    public CleanSweepNavigation.CoverageMode coverageMode;
+
+    private CompactFloorPlan plan;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = GeneratedFloors.generate(gridSize, obstacleDensity, surfaceMix);
+    }
+
+    @Benchmark
+    public long navigateToShutdown() {
+        // The generator always puts a charging station in the first room's corner
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, plan, new Logger());
+        robot.setCoverageMode(coverageMode);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        return robot.getStepCount();
+    }
+}
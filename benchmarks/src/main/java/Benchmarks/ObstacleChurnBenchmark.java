@@ -0,0 +1,244 @@
+package Benchmarks;
+
+import ControlSystems.AStarPlanner;
+import ControlSystems.ChargingStationField;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.GridSearch;
+import ControlSystems.RouteRepairer;
+import ControlSystems.SurfaceType;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * People walking around a furnished floor while a robot crosses it. Each
+ * person's step is two obstacle changes, which the return-to-charge field
+ * listens to and is repaired around; that is timed against rebuilding the
+ * field, and the secondary results count the field cells repaired per event.
+ * A route whose next cell a person steps onto is repaired with a local detour,
+ * timed against replanning the rest of the trip with A*; the secondary
+ * results count the detours that found nothing and left a replan to do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ObstacleChurnBenchmark {
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+    private static final int TRIPS = 64;
+
+    @Param({ "256" })
+    public int gridSize;
+
+    @Param({ "400" })
+    public int people;
+
+    private CompactFloorPlan plan;
+    private ChargingStationField field;
+    private int[] positions;
+    private Random random;
+
+    /**
+     * Field repair work, summed over an iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Repairs {
+        public long events;
+        public long repairedCells;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            events = 0;
+            repairedCells = 0;
+        }
+    }
+
+    /**
+     * Detours that found nothing, summed over an iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Detours {
+        public long fallbacks;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            fallbacks = 0;
+        }
+    }
+
+    /**
+     * Trips across a copy of the floor with the people standing still, each
+     * with the cell where a person steps onto the route.
+     */
+    @State(Scope.Thread)
+    public static class Trips {
+        CompactFloorPlan plan;
+        RouteRepairer repairer;
+        AStarPlanner replanner;
+        final int[][] routes = new int[TRIPS][];
+        final int[] cursors = new int[TRIPS];
+        int[] route;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup(ObstacleChurnBenchmark benchmark) {
+            int gridSize = benchmark.gridSize;
+            plan = buildPlan(gridSize);
+            Random random = new Random(GeneratedFloors.SEED + 1);
+            for (int p = 0; p < benchmark.people; p++) {
+                int cell = randomOpenCell(plan, random);
+                plan.setObstacle(cell % gridSize, cell / gridSize, true);
+            }
+            GridSearch.CellTest passable = index -> !plan.isObstacle(index % gridSize, index / gridSize);
+            repairer = new RouteRepairer(gridSize, passable);
+            replanner = new AStarPlanner(gridSize, passable);
+            route = new int[gridSize * gridSize];
+            for (int trip = 0; trip < TRIPS; trip++) {
+                int length;
+                do {
+                    length = replanner.plan(randomOpenCell(plan, random), randomOpenCell(plan, random), route);
+                } while (length < 4);
+                routes[trip] = Arrays.copyOf(route, length);
+                int cursor;
+                do {
+                    cursor = 1 + random.nextInt(length - 2);
+                } while (plan.isChargingStation(route[cursor] % gridSize, route[cursor] / gridSize));
+                cursors[trip] = cursor;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = buildPlan(gridSize);
+        random = new Random(GeneratedFloors.SEED);
+        field = new ChargingStationField(plan, index -> costOf(plan, index));
+        plan.addObstacleListener(field);
+        field.ensureCurrent();
+        positions = new int[people];
+        for (int p = 0; p < people; p++) {
+            positions[p] = randomOpenCell(plan, random);
+            plan.setObstacle(positions[p] % gridSize, positions[p] / gridSize, true);
+        }
+    }
+
+    /**
+     * One person tries a step in a random direction; a step is two field repairs.
+     */
+    @Benchmark
+    public long personStep(Repairs repairs) {
+        int p = random.nextInt(people);
+        int direction = random.nextInt(4);
+        int x = positions[p] % gridSize + DX[direction];
+        int y = positions[p] / gridSize + DY[direction];
+        if (x < 0 || y < 0 || x >= gridSize || y >= gridSize || plan.isObstacle(x, y)
+                || plan.isChargingStation(x, y)) {
+            return 0; // Blocked, so the person waits
+        }
+        plan.setObstacle(positions[p] % gridSize, positions[p] / gridSize, false);
+        long repaired = field.getRepairedCount();
+        plan.setObstacle(x, y, true);
+        repaired += field.getRepairedCount();
+        positions[p] = y * gridSize + x;
+        repairs.events += 2;
+        repairs.repairedCells += repaired;
+        return repaired;
+    }
+
+    @Benchmark
+    public int rebuildField() {
+        field.invalidate();
+        field.ensureCurrent();
+        return field.getNextHop(0);
+    }
+
+    /**
+     * Blocks a trip's next cell and detours around it locally.
+     */
+    @Benchmark
+    public int detourRoute(Trips trips, Detours detours) {
+        int trip = trips.next++ & (TRIPS - 1);
+        int[] original = trips.routes[trip];
+        System.arraycopy(original, 0, trips.route, 0, original.length);
+        int blocked = original[trips.cursors[trip]];
+        trips.plan.setObstacle(blocked % gridSize, blocked / gridSize, true);
+        int length = trips.repairer.repair(trips.route, original.length, trips.cursors[trip]);
+        trips.plan.setObstacle(blocked % gridSize, blocked / gridSize, false);
+        if (length == 0) {
+            detours.fallbacks++;
+        }
+        return length;
+    }
+
+    /**
+     * Blocks a trip's next cell and replans the rest of the trip with A*.
+     */
+    @Benchmark
+    public int replanRoute(Trips trips) {
+        int trip = trips.next++ & (TRIPS - 1);
+        int[] original = trips.routes[trip];
+        int cursor = trips.cursors[trip];
+        int blocked = original[cursor];
+        trips.plan.setObstacle(blocked % gridSize, blocked / gridSize, true);
+        int length = trips.replanner.plan(original[cursor - 1], original[original.length - 1], trips.route);
+        trips.plan.setObstacle(blocked % gridSize, blocked / gridSize, false);
+        return length;
+    }
+
+    private static int costOf(CompactFloorPlan plan, int index) {
+        int gridSize = plan.getGridSize();
+        switch (plan.getSurfaceType(index % gridSize, index / gridSize)) {
+            case TILE:
+                return 2;
+            case CARPET:
+                return 3;
+            default:
+                return 1;
+        }
+    }
+
+    private static int randomOpenCell(CompactFloorPlan plan, Random random) {
+        int gridSize = plan.getGridSize();
+        int x, y;
+        do {
+            x = random.nextInt(gridSize);
+            y = random.nextInt(gridSize);
+        } while (plan.isObstacle(x, y));
+        return y * gridSize + x;
+    }
+
+    /**
+     * Builds a floor of mixed surfaces with a charging station in each quarter and scattered furniture.
+     */
+    private static CompactFloorPlan buildPlan(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.TILE, SurfaceType.CARPET };
+        int quarter = gridSize / 4;
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean station = x % (2 * quarter) == quarter && y % (2 * quarter) == quarter;
+                boolean furniture = !station && (x * 31 + y * 17) % 37 == 0;
+                plan.setCell(x, y, surfaces[(x / 16 + y / 16) % 3], furniture, station, false);
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,139 @@
+package Benchmarks;
+
+import ControlSystems.AStarPlanner;
+import ControlSystems.BreadthFirstPlanner;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.GridSearch;
+import ControlSystems.JumpPointPlanner;
+import ControlSystems.PathPlanner;
+import ControlSystems.SurfaceType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The path planners on long random queries over an open floor with scattered
+ * obstacles and over a floor divided into 32x32 rooms of mixed surfaces. A*
+ * runs once counting moves and once counting move energy. That JPS matches
+ * the BFS path length and A* never costs more energy than BFS is checked by
+ * the planner tests, not here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class PathPlannerBenchmark {
+    private static final int QUERIES = 256;
+
+    @Param({ "256", "1024" })
+    public int gridSize;
+
+    @Param({ "open", "rooms" })
+    public String layout;
+
+    @Param({ "BFS", "ASTAR_MOVES", "ASTAR_ENERGY", "JPS" })
+    public String planner;
+
+    private PathPlanner pathPlanner;
+    private final int[][] pairs = new int[QUERIES][2];
+    private int[] path;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CompactFloorPlan plan;
+        switch (layout) {
+            case "open":
+                plan = buildOpenPlan(gridSize);
+                break;
+            case "rooms":
+                plan = buildRoomPlan(gridSize);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+        EnergyGrid costs = new EnergyModel().resolve(plan);
+        GridSearch.CellTest passable = index -> !plan.isObstacle(index % gridSize, index / gridSize);
+        switch (planner) {
+            case "BFS":
+                pathPlanner = new BreadthFirstPlanner(gridSize, passable);
+                break;
+            case "ASTAR_MOVES":
+                pathPlanner = new AStarPlanner(gridSize, passable, index -> 1, 1);
+                break;
+            case "ASTAR_ENERGY":
+                pathPlanner = new AStarPlanner(gridSize, passable, costs::getMoveCost, costs.getMinMoveCost());
+                break;
+            case "JPS":
+                pathPlanner = new JumpPointPlanner(gridSize, passable);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown planner: " + planner);
+        }
+
+        Random random = new Random(GeneratedFloors.SEED);
+        for (int[] pair : pairs) {
+            for (int end = 0; end < 2; end++) {
+                int x, y;
+                do {
+                    x = random.nextInt(gridSize);
+                    y = random.nextInt(gridSize);
+                } while (plan.isObstacle(x, y));
+                pair[end] = y * gridSize + x;
+            }
+        }
+        path = new int[gridSize * gridSize];
+    }
+
+    @Benchmark
+    public int plan() {
+        int[] pair = pairs[next++ & (QUERIES - 1)];
+        return pathPlanner.plan(pair[0], pair[1], path);
+    }
+
+    /**
+     * Builds a hardwood floor with a few scattered obstacles.
+     */
+    private static CompactFloorPlan buildOpenPlan(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean obstacle = (x * 7 + y * 13) % 97 == 0;
+                plan.setCell(x, y, SurfaceType.HARDWOOD, obstacle, false, false);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Builds 32x32 rooms of mixed surfaces separated by walls with two doors each.
+     */
+    private static CompactFloorPlan buildRoomPlan(int gridSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.TILE, SurfaceType.CARPET };
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean wallX = x % 32 == 31 && y % 32 != 16;
+                boolean wallY = y % 32 == 31 && x % 32 != 8;
+                SurfaceType surface = surfaces[(x / 32 * 5 + y / 32 * 3) % surfaces.length];
+                plan.setCell(x, y, surface, wallX || wallY, false, false);
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,108 @@
+package Benchmarks;
+
+import ControlSystems.ChargingStationField;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.GridSearch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The two path queries on the robot's hot path: the breadth-first search for
+ * the nearest unvisited cell, and following the charging station field home,
+ * plus rebuilding that field after the floor plan changed. The floor is half
+ * cleaned, row by row, and queries start from cells spread over the whole
+ * floor, so the nearest unvisited cell is anywhere from next door to half the
+ * floor away.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class PathQueryBenchmark {
+    private static final int STARTS = 256;
+
+    @Param({ "10", "64", "256", "1024", "4096" })
+    public int gridSize;
+
+    @Param({ "0.0", "0.1", "0.25" })
+    public double obstacleDensity;
+
+    @Param({ "hardwood", "mixed", "carpet" })
+    public String surfaceMix;
+
+    private CompactFloorPlan plan;
+    private GridSearch search;
+    private GridSearch.CellTest passable;
+    private GridSearch.CellTest unvisited;
+    private ChargingStationField chargingField;
+    private int[] starts;
+    private int[] route;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = GeneratedFloors.generate(gridSize, obstacleDensity, surfaceMix);
+        int cells = gridSize * gridSize;
+        CoverageMap visited = new CoverageMap(cells);
+        for (int index = 0; index < cells / 2; index++) {
+            visited.visit(index);
+        }
+        search = new GridSearch(gridSize);
+        passable = index -> !plan.isObstacle(index % gridSize, index / gridSize);
+        unvisited = index -> visited.isUnvisited(index) && passable.test(index);
+        EnergyGrid energy = new EnergyModel().resolve(plan);
+        chargingField = new ChargingStationField(plan, energy::getMoveCost);
+        chargingField.ensureCurrent();
+        starts = GeneratedFloors.openCells(plan, STARTS);
+        route = new int[cells];
+    }
+
+    /**
+     * The query made by the navigation's findNearestUnvisitedCell.
+     */
+    @Benchmark
+    public int nearestUnvisitedCell() {
+        int target = search.search(nextStart(), passable, unvisited);
+        return target == -1 ? -1 : search.getPathLength();
+    }
+
+    /**
+     * The query made by the navigation's findPathToChargingStation.
+     */
+    @Benchmark
+    public int pathToChargingStation() {
+        return chargingField.pathFrom(nextStart(), route);
+    }
+
+    /**
+     * Rebuilding the station field, as after an obstacle change the field missed.
+     */
+    @Benchmark
+    public boolean rebuildChargingField() {
+        chargingField.invalidate();
+        chargingField.ensureCurrent();
+        return chargingField.hasStation();
+    }
+
+    private int nextStart() {
+        int start = starts[next];
+        next = (next + 1) % STARTS;
+        return start;
+    }
+}
@@ -0,0 +1,187 @@
+package Benchmarks;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.EnergyModel;
+import ControlSystems.Logger;
+import ControlSystems.NavigationListener;
+import ControlSystems.RegionEnergyTable;
+import ControlSystems.SurfaceType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The room-budget mode on a floor of walled rooms with a door on each side
+ * and a charging station for every four rooms. A whole run is timed with
+ * nearest-unvisited coverage and with the room budget; the secondary results
+ * count the charges and how many of them broke off a room, that is headed for
+ * a station with cells of the robot's room still unvisited. Region energy
+ * queries on the summed-area tables are timed against summing the cells of
+ * each region, next to rebuilding the tables.
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomBudgetBenchmark {
+    private static final int QUERIES = 4096;
+
+    @Param({ "128" })
+    public int gridSize;
+
+    @Param({ "6" })
+    public int roomSize;
+
+    private CompactFloorPlan plan;
+    private CoverageMap visited;
+    private RegionEnergyTable table;
+    private final EnergyModel model = new EnergyModel();
+    private final int[][] rectangles = new int[QUERIES][];
+    private int next;
+
+    /**
+     * Coverage mode of the timed run, a parameter of the run only.
+     */
+    @State(Scope.Thread)
+    public static class Strategy {
+        @Param({ "NEAREST_UNVISITED", "ROOM_BUDGET" })
+        public CleanSweepNavigation.CoverageMode coverageMode;
+    }
+
+    /**
+     * Charge counters of the last run, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Charges {
+        public long charges;
+        public long midRoom;
+        public long preemptive;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = buildPlan(gridSize, roomSize);
+        visited = new CoverageMap(gridSize * gridSize);
+        for (int index = 0; index < gridSize * gridSize; index += 3) {
+            visited.visit(index);
+        }
+        table = new RegionEnergyTable(plan, model.resolve(plan), visited);
+        Random random = new Random(GeneratedFloors.SEED);
+        for (int i = 0; i < QUERIES; i++) {
+            int x0 = random.nextInt(gridSize);
+            int y0 = random.nextInt(gridSize);
+            int side = 1 + random.nextInt(4 * roomSize);
+            rectangles[i] = new int[] { x0, y0, x0 + side - 1, y0 + side - 1 };
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long navigateToShutdown(Strategy strategy, Charges charges) {
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, plan, new Logger());
+        robot.setCoverageMode(strategy.coverageMode);
+        robot.setRoomSize(roomSize);
+        int[] midRoom = new int[1];
+        robot.addNavigationListener(new NavigationListener() {
+            @Override
+            public void batteryChanged(CleanSweepNavigation robot, int level, BatteryEvent event) {
+                if (event == BatteryEvent.LOW && hasUnvisited(robot)) {
+                    midRoom[0]++;
+                }
+            }
+        });
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        charges.charges = robot.getChargeCycles();
+        charges.midRoom = midRoom[0];
+        charges.preemptive = robot.getPreemptiveChargeCount();
+        return robot.getStepCount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long summedAreaQuery() {
+        int[] r = rectangles[next++ & (QUERIES - 1)];
+        return table.getUnvisitedEnergy(r[0], r[1], r[2], r[3]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long cellScanQuery() {
+        int[] r = rectangles[next++ & (QUERIES - 1)];
+        long sum = 0;
+        for (int y = r[1]; y <= Math.min(gridSize - 1, r[3]); y++) {
+            for (int x = r[0]; x <= Math.min(gridSize - 1, r[2]); x++) {
+                if (!plan.isObstacle(x, y) && visited.isUnvisited(y * gridSize + x)) {
+                    sum += model.getMoveCost(plan.getSurfaceType(x, y));
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long rebuildTables() {
+        table.invalidate();
+        return table.getUnvisitedEnergy(0, 0, gridSize - 1, gridSize - 1);
+    }
+
+    /**
+     * Checks if the room the robot stands in has free cells it has not cleaned.
+     */
+    private boolean hasUnvisited(CleanSweepNavigation robot) {
+        int x0 = robot.getX() / roomSize * roomSize;
+        int y0 = robot.getY() / roomSize * roomSize;
+        for (int y = y0; y < Math.min(gridSize, y0 + roomSize); y++) {
+            for (int x = x0; x < Math.min(gridSize, x0 + roomSize); x++) {
+                if (!plan.isObstacle(x, y) && robot.getCoverageMap().isUnvisited(y * gridSize + x)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds a floor of square rooms walled on their right and bottom edges,
+     * with a door in the middle of each wall, hardwood and tile floors by room
+     * and a charging station near the corner of every block of 2x2 rooms.
+     */
+    private static CompactFloorPlan buildPlan(int gridSize, int roomSize) {
+        CompactFloorPlan plan = new CompactFloorPlan(gridSize);
+        int door = roomSize / 2;
+        int block = 2 * roomSize;
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean wall = (x % roomSize == roomSize - 1 && y % roomSize != door)
+                        || (y % roomSize == roomSize - 1 && x % roomSize != door);
+                boolean station = x % block == 1 && y % block == 1;
+                SurfaceType surface = (x / roomSize + 2 * (y / roomSize)) % 3 == 0 ? SurfaceType.TILE
+                        : SurfaceType.HARDWOOD;
+                plan.setCell(x, y, surface, wall && !station, station, false);
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.SurfaceType;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.example.Cell;
+import org.example.SensorFrame;
+import org.example.SensorSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replaying random move commands through the sensor simulator's typed API,
+ * as a batch, one call per move, and one call per move with a sensor frame.
+ * Scores are moves per second; refused moves count as moves.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SensorMoveBenchmark {
+
+    private static final int COMMANDS = 1 << 16;
+
+    @Param({ "64", "1024" })
+    public int gridSize;
+
+    private SensorSimulator simulator;
+    private final SensorFrame frame = new SensorFrame();
+    private final int[] commands = new int[COMMANDS];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CompactFloorPlan plan = GeneratedFloors.generate(gridSize, 0.1, "mixed");
+        Cell[][] cells = new Cell[gridSize][gridSize];
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                SurfaceType surface = plan.getSurfaceType(x, y);
+                cells[y][x] = new Cell(surface.getLabel(), plan.isObstacle(x, y), plan.isChargingStation(x, y),
+                        (x ^ y) & 3);
+            }
+        }
+        int[] start = GeneratedFloors.openCells(plan, 1);
+        simulator = new SensorSimulator(cells, start[0] % gridSize, start[0] / gridSize);
+
+        SplittableRandom random = new SplittableRandom(GeneratedFloors.SEED);
+        for (int i = 0; i < COMMANDS; i++) {
+            commands[i] = random.nextInt(4);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public int moveAll() {
+        return simulator.moveAll(commands);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public int moveEach() {
+        int moves = 0;
+        for (int command : commands) {
+            if (simulator.move(command)) {
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public int moveEachWithFrame() {
+        int dirt = 0;
+        for (int command : commands) {
+            simulator.move(command, frame);
+            dirt += frame.getDirt();
+        }
+        return dirt;
+    }
+}
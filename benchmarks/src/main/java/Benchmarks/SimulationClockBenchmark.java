@@ -0,0 +1,91 @@
+package Benchmarks;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.Logger;
+import ControlSystems.SharedCoverageMap;
+import ControlSystems.SimulationScheduler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sizing a fleet by simulated time: cooperative robots share one generated
+ * floor on the simulated clock, with the scheduler's default move and charging
+ * durations, until the last robot shuts down. The score is the wall-clock time
+ * of the whole run; the secondary results give the scheduler ticks and the
+ * simulated second the last robot finished at, which is what a fleet is sized by.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Thread)
+public class SimulationClockBenchmark {
+
+    @Param({ "64", "192" })
+    public int gridSize;
+
+    @Param({ "1", "4", "16" })
+    public int robots;
+
+    private CompactFloorPlan plan;
+
+    /**
+     * Counters of the last run, reported next to its time.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Run {
+        public long ticks;
+        public long simulatedSeconds;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plan = GeneratedFloors.generate(gridSize, 0.05, "mixed");
+    }
+
+    @Benchmark
+    public long runToFinish(Run run) {
+        SimulationScheduler scheduler = new SimulationScheduler();
+        SharedCoverageMap shared = new SharedCoverageMap(gridSize * gridSize);
+        for (int i = 0; i < robots; i++) {
+            int start = freeCellFrom((long) gridSize * gridSize * i / robots);
+            CleanSweepNavigation robot = new CleanSweepNavigation(start % gridSize, start / gridSize, plan,
+                    new Logger());
+            robot.setSharedCoverage(shared);
+            scheduler.addRobot(robot);
+        }
+        scheduler.run();
+        run.ticks = scheduler.getTickCount();
+        run.simulatedSeconds = scheduler.getFinishTime() / 1000;
+        return scheduler.getFinishTime();
+    }
+
+    /**
+     * Finds the first obstacle-free cell at or after an index, wrapping around the grid.
+     */
+    private int freeCellFrom(long index) {
+        long cells = (long) gridSize * gridSize;
+        for (long probe = 0; probe < cells; probe++) {
+            int candidate = (int) ((index + probe) % cells);
+            if (!plan.isObstacle(candidate % gridSize, candidate / gridSize)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Floor plan has no free cell");
+    }
+}
@@ -0,0 +1,162 @@
+package ControlSystems;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A* planner weighted by the energy of entering each cell, guided by the
+ * Manhattan distance to the goal times the cheapest cell cost. That heuristic
+ * never overestimates and is consistent, so each cell is expanded at most once
+ * and the returned path is the cheapest one. Ties on estimated total cost go to
+ * the entry closer to the goal, which keeps the search from fanning out across
+ * equally good cells on open floors.
+ */
+public class AStarPlanner implements PathPlanner {
+    private final int gridSize;
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private final IntUnaryOperator cost;        // Energy to enter a cell, by index
+    private final int minCost;                  // Lower bound of any cell cost
+    private final int[] energy;                 // Cheapest known energy from the start, start cell included
+    private final int[] parent;                 // Predecessor on the cheapest known path
+    private final int[] stamp;                  // Generation in which energy/parent were set
+    private final int[] closed;                 // Generation in which a cell was expanded
+    private final CellHeap open;                // Frontier ordered by estimated total energy
+    private int generation;
+    private int expanded;
+    private int pathCost;
+
+    /**
+     * Creates a planner where every cell costs one unit.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public AStarPlanner(int gridSize, GridSearch.CellTest passable) {
+        this(gridSize, passable, index -> 1, 1);
+    }
+
+    /**
+     * Creates a planner weighted by cell costs.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     * @param cost Energy needed to enter each cell, by cell index.
+     * @param minCost Smallest value {@code cost} returns for any passable cell.
+     */
+    public AStarPlanner(int gridSize, GridSearch.CellTest passable, IntUnaryOperator cost, int minCost) {
+        this.gridSize = gridSize;
+        this.passable = passable;
+        this.cost = cost;
+        this.minCost = minCost;
+        int cells = gridSize * gridSize;
+        this.energy = new int[cells];
+        this.parent = new int[cells];
+        this.stamp = new int[cells];
+        this.closed = new int[cells];
+        this.open = new CellHeap(1024);
+    }
+
+    @Override
+    public int plan(int start, int goal, int[] path) {
+        nextGeneration();
+        open.clear();
+        expanded = 0;
+        pathCost = 0;
+        if (start != goal && !passable.test(goal)) {
+            return 0;
+        }
+
+        int goalX = goal % gridSize;
+        int goalY = goal / gridSize;
+        energy[start] = cost.applyAsInt(start);
+        parent[start] = -1;
+        stamp[start] = generation;
+        open.push(priority(start, energy[start], goalX, goalY), start);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (closed[current] == generation) {
+                continue; // Stale entry: the cell was expanded with a lower energy
+            }
+            closed[current] = generation;
+            expanded++;
+            if (current == goal) {
+                pathCost = energy[goal];
+                return reconstruct(goal, path);
+            }
+
+            int cx = current % gridSize;
+            int cy = current / gridSize;
+            int base = energy[current];
+            if (cx + 1 < gridSize) {
+                relax(current + 1, current, base, goalX, goalY);
+            }
+            if (cy + 1 < gridSize) {
+                relax(current + gridSize, current, base, goalX, goalY);
+            }
+            if (cx > 0) {
+                relax(current - 1, current, base, goalX, goalY);
+            }
+            if (cy > 0) {
+                relax(current - gridSize, current, base, goalX, goalY);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Gets the energy of the last path found, counting every cell including the start.
+     * @return Path energy, or 0 if the last query found nothing.
+     */
+    public int getPathCost() {
+        return pathCost;
+    }
+
+    private void relax(int neighbor, int from, int base, int goalX, int goalY) {
+        if (closed[neighbor] == generation || !passable.test(neighbor)) {
+            return;
+        }
+        int candidate = base + cost.applyAsInt(neighbor);
+        if (stamp[neighbor] == generation && candidate >= energy[neighbor]) {
+            return;
+        }
+        energy[neighbor] = candidate;
+        parent[neighbor] = from;
+        stamp[neighbor] = generation;
+        open.push(priority(neighbor, candidate, goalX, goalY), neighbor);
+    }
+
+    /**
+     * Packs the estimated total energy into the high word and the remaining
+     * estimate into the low word, so ties prefer cells nearer the goal.
+     */
+    private long priority(int cell, int cellEnergy, int goalX, int goalY) {
+        int h = (Math.abs(cell % gridSize - goalX) + Math.abs(cell / gridSize - goalY)) * minCost;
+        return ((long) (cellEnergy + h) << 32) | h;
+    }
+
+    private int reconstruct(int goal, int[] path) {
+        int length = 0;
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            length++;
+        }
+        int position = length;
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            path[--position] = cell;
+        }
+        return length;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation == 0) {
+            // Counter wrapped: clear the stamps once so stale marks cannot match
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ControlSystems;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the binary floor plan format.
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "CSFP"
+ *      4     4  format version
+ *      8     4  gridSize
+ *     12     4  charging station count
+ *     16   n*n  packed cells in row-major order (see {@link CompactFloorPlan})
+ * </pre>
+ * Integers are big-endian. Opening a file maps it with {@link FileChannel#map}
+ * and wraps the cell region directly, so no cell data is copied or parsed.
+ */
+public class BinaryFloorPlanFile {
+    /** File extension of binary floor plans. */
+    public static final String EXTENSION = ".cfp";
+    /** Magic number at the start of every file ("CSFP"). */
+    public static final int MAGIC = 0x43534650;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Size of the header preceding the cells. */
+    public static final int HEADER_SIZE = 16;
+
+    private BinaryFloorPlanFile() {
+    }
+
+    /**
+     * Maps a binary floor plan read-only. Mutating the returned plan throws
+     * {@link java.nio.ReadOnlyBufferException}.
+     * @param path Path of the binary file.
+     * @return Floor plan backed by the mapped file.
+     * @throws IOException If the file cannot be read or is not a valid plan.
+     */
+    public static CompactFloorPlan open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Maps a binary floor plan.
+     * @param path Path of the binary file.
+     * @param writable True to map read-write so cell changes are written back to the file.
+     * @return Floor plan backed by the mapped file.
+     * @throws IOException If the file cannot be read or is not a valid plan.
+     */
+    public static CompactFloorPlan open(Path path, boolean writable) throws IOException {
+        try (FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException(path + " is too small to be a floor plan");
+            }
+            MappedByteBuffer mapped = channel.map(writable ? FileChannel.MapMode.READ_WRITE
+                    : FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a binary floor plan");
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported format version " + version);
+            }
+            int gridSize = mapped.getInt(8);
+            int chargingStations = mapped.getInt(12);
+            long cellCount = (long) gridSize * gridSize;
+            if (gridSize < 0 || size - HEADER_SIZE != cellCount) {
+                throw new IOException(path + " holds " + (size - HEADER_SIZE) + " cells, expected "
+                        + cellCount + " for gridSize " + gridSize);
+            }
+
+            // The mapping stays valid after the channel is closed
+            ByteBuffer cells = mapped.position(HEADER_SIZE).slice();
+            return new CompactFloorPlan(gridSize, cells, chargingStations);
+        }
+    }
+
+    /**
+     * Writes a floor plan in the binary format.
+     * @param floorPlan The floor plan to write.
+     * @param path Destination path; an existing file is replaced.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(CompactFloorPlan floorPlan, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(floorPlan.getGridSize())
+                    .putInt(floorPlan.getChargingStationCount()).flip();
+            writeFully(channel, header);
+            writeFully(channel, floorPlan.cellBuffer());
+        }
+    }
+
+    /**
+     * Writes any floor plan in the binary format, packing it first if needed.
+     * @param floorPlan The floor plan to write.
+     * @param path Destination path; an existing file is replaced.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(FloorGrid floorPlan, Path path) throws IOException {
+        write(floorPlan instanceof CompactFloorPlan ? (CompactFloorPlan) floorPlan
+                : CompactFloorPlan.fromFloorPlan(floorPlan), path);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Plans a lawn-mower route that covers every reachable free cell.
+ * <p>
+ * The free space is first decomposed, column by column, into vertical runs of
+ * free cells (segments). Runs in neighboring columns that overlap one-to-one
+ * belong to the same region. Wherever an obstacle splits a run into two, or
+ * two runs merge again, a new region starts, as in a boustrophedon
+ * decomposition. A region can then be covered by sweeping its columns in
+ * alternating directions without retracing.
+ * <p>
+ * Regions are visited greedily. The next one is an unswept neighbor whose
+ * corner is nearest to the robot, or otherwise the nearest unswept region in
+ * the region adjacency graph. Moves between columns and regions are planned
+ * with a {@link PathPlanner}. Decomposition and sweeping are linear in the
+ * number of cells, so planning a whole floor takes near-linear time instead of
+ * one grid search per cleaned cell.
+ */
+public class BoustrophedonPlanner {
+    private final int gridSize;
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private final PathPlanner stitcher;         // Plans the moves between sweeps
+
+    // Segments: vertical runs of free cells, ordered by column then row
+    private int segmentCount;
+    private int[] segmentColumn = new int[1024];
+    private int[] segmentTop = new int[1024];    // Smallest y of the run
+    private int[] segmentBottom = new int[1024]; // Largest y of the run
+    private int[] segmentRegion = new int[1024];
+    private int[] segmentNext = new int[1024];   // Segment of the same region in the next column, or -1
+    private int[] segmentPrevious = new int[1024];
+    private int[] leftCount = new int[1024];     // Overlapping segments in the previous column
+    private int[] rightCount = new int[1024];    // Overlapping segments in the next column
+    private int[] leftNeighbor = new int[1024];  // Last overlapping segment in the previous column
+    private int[] columnStart;                   // First segment of each column, gridSize + 1 entries
+
+    // Overlapping segment pairs across neighboring columns, for the adjacency graph
+    private int pairCount;
+    private int[] pairLeft = new int[1024];
+    private int[] pairRight = new int[1024];
+
+    // Regions and their adjacency in compressed sparse row form
+    private int regionCount;
+    private int[] regionFirst = new int[256];
+    private int[] regionLast = new int[256];
+    private int[] adjacencyStart;
+    private int[] adjacency;
+
+    // Route under construction
+    private int[] route;
+    private int routeLength;
+    private int coveredCount;
+    private CoverageMap covered;
+    private int[] stitch;                        // Path buffer for the stitcher
+
+    /**
+     * Creates a planner that stitches sweeps with shortest paths in moves.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public BoustrophedonPlanner(int gridSize, GridSearch.CellTest passable) {
+        this(gridSize, passable, new AStarPlanner(gridSize, passable));
+    }
+
+    /**
+     * Creates a planner.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     * @param stitcher Planner for moves between sweeps, over the same grid.
+     */
+    public BoustrophedonPlanner(int gridSize, GridSearch.CellTest passable, PathPlanner stitcher) {
+        this.gridSize = gridSize;
+        this.passable = passable;
+        this.stitcher = stitcher;
+        this.columnStart = new int[gridSize + 1];
+    }
+
+    /**
+     * Plans a route covering every free cell reachable from the start.
+     * @param start Index of the robot's cell; the route begins there.
+     * @return The coverage plan.
+     */
+    public CoveragePlan plan(int start) {
+        long begin = System.nanoTime();
+        decompose();
+        buildAdjacency();
+
+        route = new int[Math.max(16, gridSize * gridSize)];
+        routeLength = 0;
+        coveredCount = 0;
+        covered = new CoverageMap(gridSize * gridSize);
+        if (stitch == null) {
+            stitch = new int[gridSize * gridSize];
+        }
+        append(start);
+
+        boolean[] done = new boolean[regionCount];
+        int[] queue = new int[regionCount];
+        int[] seen = new int[regionCount];
+        int generation = 0;
+        int unreachable = 0;
+        int scan = 0; // Regions below this index are all done
+
+        int region = regionOf(start);
+        while (true) {
+            if (region == -1) {
+                // No unswept region is linked to the last one: take any that is left
+                while (scan < regionCount && done[scan]) {
+                    scan++;
+                }
+                if (scan == regionCount) {
+                    break;
+                }
+                region = scan;
+            }
+            done[region] = true;
+            if (!sweep(region)) {
+                unreachable += cellsIn(region);
+            }
+
+            // Prefer the unswept neighbor whose nearest corner is closest to the robot
+            int next = -1;
+            int best = Integer.MAX_VALUE;
+            for (int e = adjacencyStart[region]; e < adjacencyStart[region + 1]; e++) {
+                int neighbor = adjacency[e];
+                if (!done[neighbor]) {
+                    int distance = entryDistance(neighbor);
+                    if (distance < best) {
+                        best = distance;
+                        next = neighbor;
+                    }
+                }
+            }
+            if (next == -1) {
+                // Breadth-first over the region graph for the closest unswept region
+                generation++;
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = region;
+                seen[region] = generation;
+                while (head < tail && next == -1) {
+                    int current = queue[head++];
+                    for (int e = adjacencyStart[current]; e < adjacencyStart[current + 1]; e++) {
+                        int neighbor = adjacency[e];
+                        if (seen[neighbor] == generation) {
+                            continue;
+                        }
+                        seen[neighbor] = generation;
+                        if (!done[neighbor]) {
+                            next = neighbor;
+                            break;
+                        }
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            region = next;
+        }
+
+        CoveragePlan plan = new CoveragePlan(route, routeLength, coveredCount, regionCount, unreachable,
+                System.nanoTime() - begin);
+        route = null;
+        covered = null;
+        return plan;
+    }
+
+    /**
+     * Splits every column into runs of free cells and groups runs into regions.
+     */
+    private void decompose() {
+        segmentCount = 0;
+        pairCount = 0;
+        regionCount = 0;
+        for (int x = 0; x < gridSize; x++) {
+            columnStart[x] = segmentCount;
+            int y = 0;
+            while (y < gridSize) {
+                if (!passable.test(y * gridSize + x)) {
+                    y++;
+                    continue;
+                }
+                int top = y;
+                while (y + 1 < gridSize && passable.test((y + 1) * gridSize + x)) {
+                    y++;
+                }
+                addSegment(x, top, y);
+                y++;
+            }
+            if (x > 0) {
+                linkColumns(columnStart[x - 1], columnStart[x], segmentCount);
+            }
+            assignRegions(columnStart[x], segmentCount);
+        }
+        columnStart[gridSize] = segmentCount;
+    }
+
+    private void addSegment(int x, int top, int bottom) {
+        if (segmentCount == segmentColumn.length) {
+            int size = segmentCount * 2;
+            segmentColumn = Arrays.copyOf(segmentColumn, size);
+            segmentTop = Arrays.copyOf(segmentTop, size);
+            segmentBottom = Arrays.copyOf(segmentBottom, size);
+            segmentRegion = Arrays.copyOf(segmentRegion, size);
+            segmentNext = Arrays.copyOf(segmentNext, size);
+            segmentPrevious = Arrays.copyOf(segmentPrevious, size);
+            leftCount = Arrays.copyOf(leftCount, size);
+            rightCount = Arrays.copyOf(rightCount, size);
+            leftNeighbor = Arrays.copyOf(leftNeighbor, size);
+        }
+        int s = segmentCount++;
+        segmentColumn[s] = x;
+        segmentTop[s] = top;
+        segmentBottom[s] = bottom;
+        segmentNext[s] = -1;
+        segmentPrevious[s] = -1;
+        leftCount[s] = 0;
+        rightCount[s] = 0;
+        leftNeighbor[s] = -1;
+    }
+
+    /**
+     * Records which runs of two neighboring columns overlap, merging the two
+     * sorted run lists in one pass.
+     */
+    private void linkColumns(int left, int right, int end) {
+        int i = left;
+        int j = right;
+        while (i < right && j < end) {
+            if (segmentTop[i] <= segmentBottom[j] && segmentTop[j] <= segmentBottom[i]) {
+                rightCount[i]++;
+                leftCount[j]++;
+                leftNeighbor[j] = i;
+                addPair(i, j);
+            }
+            if (segmentBottom[i] < segmentBottom[j]) {
+                i++;
+            } else if (segmentBottom[j] < segmentBottom[i]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private void addPair(int left, int right) {
+        if (pairCount == pairLeft.length) {
+            pairLeft = Arrays.copyOf(pairLeft, pairCount * 2);
+            pairRight = Arrays.copyOf(pairRight, pairCount * 2);
+        }
+        pairLeft[pairCount] = left;
+        pairRight[pairCount++] = right;
+    }
+
+    /**
+     * Continues a region into a column where it overlaps exactly one run on
+     * each side, and opens a new region everywhere else.
+     */
+    private void assignRegions(int from, int to) {
+        for (int s = from; s < to; s++) {
+            int left = leftNeighbor[s];
+            if (leftCount[s] == 1 && rightCount[left] == 1) {
+                int region = segmentRegion[left];
+                segmentRegion[s] = region;
+                segmentNext[left] = s;
+                segmentPrevious[s] = left;
+                regionLast[region] = s;
+            } else {
+                if (regionCount == regionFirst.length) {
+                    regionFirst = Arrays.copyOf(regionFirst, regionCount * 2);
+                    regionLast = Arrays.copyOf(regionLast, regionCount * 2);
+                }
+                int region = regionCount++;
+                segmentRegion[s] = region;
+                regionFirst[region] = s;
+                regionLast[region] = s;
+            }
+        }
+    }
+
+    private void buildAdjacency() {
+        adjacencyStart = new int[regionCount + 1];
+        for (int p = 0; p < pairCount; p++) {
+            int a = segmentRegion[pairLeft[p]];
+            int b = segmentRegion[pairRight[p]];
+            if (a != b) {
+                adjacencyStart[a + 1]++;
+                adjacencyStart[b + 1]++;
+            }
+        }
+        for (int r = 0; r < regionCount; r++) {
+            adjacencyStart[r + 1] += adjacencyStart[r];
+        }
+        adjacency = new int[adjacencyStart[regionCount]];
+        int[] fill = Arrays.copyOf(adjacencyStart, regionCount);
+        for (int p = 0; p < pairCount; p++) {
+            int a = segmentRegion[pairLeft[p]];
+            int b = segmentRegion[pairRight[p]];
+            if (a != b) {
+                adjacency[fill[a]++] = b;
+                adjacency[fill[b]++] = a;
+            }
+        }
+    }
+
+    /**
+     * Finds the region containing a cell.
+     * @return Region index, or -1 if the cell is not free.
+     */
+    private int regionOf(int cell) {
+        int x = cell % gridSize;
+        int y = cell / gridSize;
+        for (int s = columnStart[x]; s < columnStart[x + 1]; s++) {
+            if (segmentTop[s] <= y && y <= segmentBottom[s]) {
+                return segmentRegion[s];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sweeps a region column by column, entering at the corner nearest the robot.
+     * @return True if the region was covered, false if it cannot be reached.
+     */
+    private boolean sweep(int region) {
+        int first = regionFirst[region];
+        int last = regionLast[region];
+        int current = route[routeLength - 1];
+        int cx = current % gridSize;
+        int cy = current / gridSize;
+
+        boolean forward = Math.abs(segmentColumn[first] - cx) + nearestEndDistance(first, cy)
+                <= Math.abs(segmentColumn[last] - cx) + nearestEndDistance(last, cy);
+        for (int s = forward ? first : last; s != -1; s = forward ? segmentNext[s] : segmentPrevious[s]) {
+            // Only the part of the run not yet crossed by earlier moves needs sweeping
+            int x = segmentColumn[s];
+            int top = segmentTop[s];
+            int bottom = segmentBottom[s];
+            while (top <= bottom && covered.isVisited(top * gridSize + x)) {
+                top++;
+            }
+            while (bottom >= top && covered.isVisited(bottom * gridSize + x)) {
+                bottom--;
+            }
+            if (top > bottom) {
+                continue;
+            }
+            int y = route[routeLength - 1] / gridSize;
+            boolean downward = Math.abs(top - y) <= Math.abs(bottom - y);
+            int entryY = downward ? top : bottom;
+            int exitY = downward ? bottom : top;
+            if (!travelTo(entryY * gridSize + x)) {
+                return false;
+            }
+            int step = downward ? 1 : -1;
+            for (int sy = entryY; sy != exitY; ) {
+                sy += step;
+                append(sy * gridSize + x);
+            }
+        }
+        return true;
+    }
+
+    private boolean travelTo(int target) {
+        int current = route[routeLength - 1];
+        if (current == target) {
+            return true;
+        }
+        int distance = Math.abs(current % gridSize - target % gridSize) + Math.abs(current / gridSize - target / gridSize);
+        if (distance == 1) {
+            append(target);
+            return true;
+        }
+        int length = stitcher.plan(current, target, stitch);
+        for (int i = 1; i < length; i++) {
+            append(stitch[i]);
+        }
+        return length > 0;
+    }
+
+    private int entryDistance(int region) {
+        int current = route[routeLength - 1];
+        int cx = current % gridSize;
+        int cy = current / gridSize;
+        int first = regionFirst[region];
+        int last = regionLast[region];
+        return Math.min(Math.abs(segmentColumn[first] - cx) + nearestEndDistance(first, cy),
+                Math.abs(segmentColumn[last] - cx) + nearestEndDistance(last, cy));
+    }
+
+    private int nearestEndDistance(int segment, int y) {
+        return Math.min(Math.abs(segmentTop[segment] - y), Math.abs(segmentBottom[segment] - y));
+    }
+
+    private int cellsIn(int region) {
+        int cells = 0;
+        for (int s = regionFirst[region]; s != -1; s = segmentNext[s]) {
+            cells += segmentBottom[s] - segmentTop[s] + 1;
+        }
+        return cells;
+    }
+
+    private void append(int cell) {
+        if (routeLength == route.length) {
+            route = Arrays.copyOf(route, routeLength * 2);
+        }
+        route[routeLength++] = cell;
+        if (covered.visit(cell)) {
+            coveredCount++;
+        }
+    }
+}
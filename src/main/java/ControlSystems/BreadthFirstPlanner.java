@@ -0,0 +1,38 @@
+package ControlSystems;
+
+/**
+ * Reference planner that floods the grid breadth-first from the start until it
+ * dequeues the goal. Paths are shortest in moves and ignore surface costs.
+ */
+public class BreadthFirstPlanner implements PathPlanner {
+    private final GridSearch search;          // Reusable BFS engine
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private int goal;                         // Goal of the running query
+    private final GridSearch.CellTest isGoal = index -> index == goal;
+
+    /**
+     * Creates a planner for a grid.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public BreadthFirstPlanner(int gridSize, GridSearch.CellTest passable) {
+        this.search = new GridSearch(gridSize);
+        this.passable = passable;
+    }
+
+    @Override
+    public int plan(int start, int goal, int[] path) {
+        this.goal = goal;
+        if (search.search(start, passable, isGoal) == -1) {
+            return 0;
+        }
+        int length = search.getPathLength();
+        System.arraycopy(search.getPath(), 0, path, 0, length);
+        return length;
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return search.getExpandedCount();
+    }
+}
@@ -0,0 +1,112 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices ordered by a long priority, stored in two
+ * parallel primitive arrays so pushing and popping allocate nothing once the
+ * arrays have grown. Entries are never updated in place; planners push a cell
+ * again when its priority improves and skip the stale copy when it is popped.
+ */
+public class CellHeap {
+    private long[] priorities;   // Heap-ordered priorities
+    private int[] cells;         // Cell index of each entry
+    private int size;            // Number of entries in the heap
+
+    /**
+     * Creates an empty heap.
+     * @param initialCapacity Number of entries to reserve room for.
+     */
+    public CellHeap(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.priorities = new long[capacity];
+        this.cells = new int[capacity];
+    }
+
+    /**
+     * Adds a cell to the heap.
+     * @param priority Priority of the entry; smaller values are popped first.
+     * @param cell Cell index.
+     */
+    public void push(long priority, int cell) {
+        if (size == cells.length) {
+            priorities = Arrays.copyOf(priorities, size * 2);
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        int position = size++;
+        // Sift up: move parents down until the new entry fits
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            priorities[position] = priorities[parent];
+            cells[position] = cells[parent];
+            position = parent;
+        }
+        priorities[position] = priority;
+        cells[position] = cell;
+    }
+
+    /**
+     * Gets the smallest priority in the heap.
+     * @return Priority of the entry {@link #pop()} would return.
+     */
+    public long peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the entry with the smallest priority.
+     * @return Cell index of the removed entry.
+     */
+    public int pop() {
+        int top = cells[0];
+        size--;
+        if (size > 0) {
+            long priority = priorities[size];
+            int cell = cells[size];
+            // Sift down: move the smaller child up until the last entry fits
+            int position = 0;
+            int half = size >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priority <= priorities[child]) {
+                    break;
+                }
+                priorities[position] = priorities[child];
+                cells[position] = cells[child];
+                position = child;
+            }
+            priorities[position] = priority;
+            cells[position] = cell;
+        }
+        return top;
+    }
+
+    /**
+     * Checks if the heap has no entries.
+     * @return True if empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of entries, including stale ones.
+     * @return Entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated storage.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
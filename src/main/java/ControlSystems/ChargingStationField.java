@@ -0,0 +1,414 @@
+package ControlSystems;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Energy and next-hop field from every cell to its cheapest charging station,
+ * built with one multi-source Dijkstra seeded at all stations. Each cell on a
+ * path costs the energy of entering it, including the first and the last, which
+ * matches how the robot is charged when it follows a route. Because cell costs
+ * are small integers the search uses a circular bucket queue (Dial's algorithm)
+ * instead of a heap.
+ * The field is computed lazily and reused until the floor plan's revision
+ * changes or it is invalidated, so a return-to-charge path is read off in
+ * O(path length) and "can I still get home from here?" is a single array read.
+ * Registered as an {@link ObstacleListener}, it repairs itself around a changed
+ * cell instead: a new obstacle resets the cells whose cheapest path ran
+ * through it and re-derives them from their neighbors, and a removed one
+ * spreads the cheaper paths it opens.
+ * <p>
+ * Robots on one plan with the same energy costs can share a single field,
+ * built once for the plan; see
+ * {@link CleanSweepNavigation#CleanSweepNavigation(int, int, FloorGrid, Logger, EnergyGrid, ChargingStationField)}.
+ * A shared field is then registered with the plan by its owner rather than
+ * by each robot. Reads do not modify a built field, so robots on different
+ * threads may share one as long as it is built before they start and the
+ * plan does not change while they run.
+ */
+public class ChargingStationField implements ObstacleListener {
+    /** Energy of cells from which no station is reachable. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final FloorGrid floorPlan;   // Plan the field is derived from
+    private final IntUnaryOperator cost; // Energy to enter a cell, by index
+    private final int gridSize;
+    private final int[] energy;          // Energy to reach the cheapest station, or UNREACHABLE
+    private final int[] nextHop;         // Neighbor on the cheapest path, -1 at stations
+    private int[][] buckets;             // Circular bucket queue, one bucket per energy mod size
+    private int[] bucketSizes;
+    private int stationCount;            // Reachable seeds of the last build
+    private long revision;               // Plan revision the field was built from
+    private boolean valid;               // False until built or after invalidate()
+    private CellHeap repairQueue;        // Cells to settle during a local repair, by energy
+    private int[] affected = new int[64]; // Cells whose path ran through a new obstacle
+    private int repairedCount;           // Cells touched by the last local repair
+
+    /**
+     * Creates a field where every cell costs one unit, i.e. distances are move counts.
+     * @param floorPlan The floor plan to derive distances from.
+     */
+    public ChargingStationField(FloorGrid floorPlan) {
+        this(floorPlan, index -> 1);
+    }
+
+    /**
+     * Creates a field for a floor plan. Nothing is computed until first use.
+     * @param floorPlan The floor plan to derive energies from.
+     * @param cost Non-negative energy needed to enter each cell, by cell index.
+     */
+    public ChargingStationField(FloorGrid floorPlan, IntUnaryOperator cost) {
+        this.floorPlan = floorPlan;
+        this.cost = cost;
+        this.gridSize = floorPlan.getGridSize();
+        int cells = gridSize * gridSize;
+        this.energy = new int[cells];
+        this.nextHop = new int[cells];
+    }
+
+    /**
+     * Gets the floor plan the field is derived from.
+     * @return The floor plan.
+     */
+    public FloorGrid getFloorPlan() {
+        return floorPlan;
+    }
+
+    /**
+     * Forces the field to be rebuilt on next use.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Checks if any charging station exists in the floor plan.
+     * @return True if there is a charging station, false otherwise.
+     */
+    public boolean hasStation() {
+        ensureCurrent();
+        return stationCount > 0;
+    }
+
+    /**
+     * Gets the energy needed to reach the cheapest charging station from a cell,
+     * counting the cost of the cell itself.
+     * @param index Cell index.
+     * @return Energy units, or {@link #UNREACHABLE}.
+     */
+    public int getEnergy(int index) {
+        ensureCurrent();
+        return energy[index];
+    }
+
+    /**
+     * Gets the neighbor one step along the cheapest path to a charging station.
+     * @param index Cell index.
+     * @return Index of the next cell, or -1 at a station or when unreachable.
+     */
+    public int getNextHop(int index) {
+        ensureCurrent();
+        return nextHop[index];
+    }
+
+    /**
+     * Gets the number of cells on the cheapest path from a cell to a charging
+     * station, so a caller can size the buffer for {@link #pathFrom(int, int[])}.
+     * @param start Index of the start cell.
+     * @return Number of cells, start and station included, or 0 if no station is reachable.
+     */
+    public int getPathLength(int start) {
+        ensureCurrent();
+        if (energy[start] == UNREACHABLE) {
+            return 0;
+        }
+        int length = 0;
+        for (int cell = start; cell != -1; cell = nextHop[cell]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the cheapest path from a cell to a charging station.
+     * @param start Index of the start cell.
+     * @param path Buffer receiving cell indices from start to the station, inclusive.
+     * @return Number of cells written, or 0 if no station is reachable.
+     */
+    public int pathFrom(int start, int[] path) {
+        ensureCurrent();
+        if (energy[start] == UNREACHABLE) {
+            return 0;
+        }
+        int length = 0;
+        for (int cell = start; cell != -1; cell = nextHop[cell]) {
+            path[length++] = cell;
+        }
+        return length;
+    }
+
+    /**
+     * Rebuilds the field if it was invalidated or the plan's revision changed.
+     */
+    public void ensureCurrent() {
+        if (!valid || revision != floorPlan.getRevision()) {
+            build();
+        }
+    }
+
+    /**
+     * Repairs the field around a cell whose obstacle flag changed. If the field
+     * is not built or has missed another change, it is left to be rebuilt.
+     * @param x X coordinate of the changed cell.
+     * @param y Y coordinate of the changed cell.
+     * @param obstacle True if the cell now has an obstacle.
+     */
+    @Override
+    public void obstacleChanged(int x, int y, boolean obstacle) {
+        repairedCount = 0;
+        if (!valid || revision != floorPlan.getRevision() - 1) {
+            return;
+        }
+        revision = floorPlan.getRevision();
+        if (repairQueue == null) {
+            repairQueue = new CellHeap(64);
+        }
+        int index = y * gridSize + x;
+        if (obstacle) {
+            block(index);
+        } else {
+            unblock(index);
+        }
+        // Settle the queued cells in energy order, as the full build would
+        while (!repairQueue.isEmpty()) {
+            long level = repairQueue.peekPriority();
+            int current = repairQueue.pop();
+            if (energy[current] != level) {
+                continue; // Superseded by a cheaper entry
+            }
+            repairedCount++;
+            int cx = current % gridSize;
+            int cy = current / gridSize;
+            if (cx + 1 < gridSize) {
+                repairRelax(current + 1, current);
+            }
+            if (cy + 1 < gridSize) {
+                repairRelax(current + gridSize, current);
+            }
+            if (cx > 0) {
+                repairRelax(current - 1, current);
+            }
+            if (cy > 0) {
+                repairRelax(current - gridSize, current);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cells touched by the last local repair.
+     * @return Repaired cell count, 0 if the last change was left to a rebuild.
+     */
+    public int getRepairedCount() {
+        return repairedCount;
+    }
+
+    /**
+     * Resets the new obstacle and every cell whose cheapest path ran through
+     * it, then queues those cells with the best energy offered by the cells
+     * around them that kept their paths.
+     */
+    private void block(int index) {
+        if (floorPlan.isChargingStation(index % gridSize, index / gridSize) && energy[index] != UNREACHABLE
+                && nextHop[index] == -1) {
+            stationCount--;
+        }
+        // The cells whose next hop leads into the obstacle form a tree rooted at it
+        int count = 0;
+        affected[count++] = index;
+        for (int head = 0; head < count; head++) {
+            int current = affected[head];
+            energy[current] = UNREACHABLE;
+            int cx = current % gridSize;
+            int cy = current / gridSize;
+            if (cx + 1 < gridSize && nextHop[current + 1] == current) {
+                count = addAffected(count, current + 1);
+            }
+            if (cy + 1 < gridSize && nextHop[current + gridSize] == current) {
+                count = addAffected(count, current + gridSize);
+            }
+            if (cx > 0 && nextHop[current - 1] == current) {
+                count = addAffected(count, current - 1);
+            }
+            if (cy > 0 && nextHop[current - gridSize] == current) {
+                count = addAffected(count, current - gridSize);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            nextHop[affected[i]] = -1;
+        }
+        repairedCount += count;
+        for (int i = 1; i < count; i++) {
+            int cell = affected[i];
+            int best = cheapestNeighbor(cell);
+            if (best != -1) {
+                energy[cell] = energy[best] + cost.applyAsInt(cell);
+                nextHop[cell] = best;
+                repairQueue.push(energy[cell], cell);
+            }
+        }
+    }
+
+    private int addAffected(int count, int cell) {
+        if (count == affected.length) {
+            affected = Arrays.copyOf(affected, count * 2);
+        }
+        affected[count] = cell;
+        return count + 1;
+    }
+
+    /**
+     * Gives a cell that is no longer an obstacle its energy, from its neighbors
+     * or as a station, and queues it so the cheaper paths through it spread.
+     */
+    private void unblock(int index) {
+        if (floorPlan.isObstacle(index % gridSize, index / gridSize)) {
+            return;
+        }
+        if (floorPlan.isChargingStation(index % gridSize, index / gridSize)) {
+            if (nextHop[index] != -1 || energy[index] == UNREACHABLE) {
+                stationCount++;
+            }
+            energy[index] = cost.applyAsInt(index);
+            nextHop[index] = -1;
+        } else {
+            int best = cheapestNeighbor(index);
+            if (best == -1) {
+                return;
+            }
+            energy[index] = energy[best] + cost.applyAsInt(index);
+            nextHop[index] = best;
+        }
+        repairQueue.push(energy[index], index);
+    }
+
+    /**
+     * Finds the passable neighbor with the lowest finite energy.
+     * @return Neighbor index, or -1 if no neighbor reaches a station.
+     */
+    private int cheapestNeighbor(int index) {
+        int x = index % gridSize;
+        int y = index / gridSize;
+        int best = -1;
+        if (x + 1 < gridSize) {
+            best = cheaper(best, index + 1);
+        }
+        if (y + 1 < gridSize) {
+            best = cheaper(best, index + gridSize);
+        }
+        if (x > 0) {
+            best = cheaper(best, index - 1);
+        }
+        if (y > 0) {
+            best = cheaper(best, index - gridSize);
+        }
+        return best;
+    }
+
+    private int cheaper(int best, int candidate) {
+        if (energy[candidate] == UNREACHABLE || floorPlan.isObstacle(candidate % gridSize, candidate / gridSize)) {
+            return best;
+        }
+        return best == -1 || energy[candidate] < energy[best] ? candidate : best;
+    }
+
+    private void repairRelax(int neighbor, int from) {
+        if (floorPlan.isObstacle(neighbor % gridSize, neighbor / gridSize)) {
+            return;
+        }
+        int candidate = energy[from] + cost.applyAsInt(neighbor);
+        if (candidate < energy[neighbor]) {
+            energy[neighbor] = candidate;
+            nextHop[neighbor] = from;
+            repairQueue.push(candidate, neighbor);
+        }
+    }
+
+    private void build() {
+        revision = floorPlan.getRevision();
+        Arrays.fill(energy, UNREACHABLE);
+        Arrays.fill(nextHop, -1);
+
+        int maxCost = 0;
+        for (int index = 0; index < energy.length; index++) {
+            maxCost = Math.max(maxCost, cost.applyAsInt(index));
+        }
+        int bucketCount = maxCost + 1;
+        if (buckets == null || buckets.length != bucketCount) {
+            buckets = new int[bucketCount][16];
+            bucketSizes = new int[bucketCount];
+        }
+
+        int pending = 0;
+        stationCount = 0;
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                if (floorPlan.isChargingStation(x, y) && !floorPlan.isObstacle(x, y)) {
+                    int index = y * gridSize + x;
+                    energy[index] = cost.applyAsInt(index);
+                    push(energy[index], index);
+                    pending++;
+                    stationCount++;
+                }
+            }
+        }
+
+        // Dial's algorithm: drain buckets in increasing energy order, skipping stale entries
+        for (int level = 0; pending > 0; level++) {
+            int bucket = level % bucketCount;
+            while (bucketSizes[bucket] > 0) {
+                int current = buckets[bucket][--bucketSizes[bucket]];
+                pending--;
+                if (energy[current] != level) {
+                    continue; // Superseded by a cheaper entry
+                }
+                int cx = current % gridSize;
+                int cy = current / gridSize;
+                if (cx + 1 < gridSize) {
+                    pending += relax(current + 1, current, level);
+                }
+                if (cy + 1 < gridSize) {
+                    pending += relax(current + gridSize, current, level);
+                }
+                if (cx > 0) {
+                    pending += relax(current - 1, current, level);
+                }
+                if (cy > 0) {
+                    pending += relax(current - gridSize, current, level);
+                }
+            }
+        }
+        valid = true;
+    }
+
+    private int relax(int neighbor, int from, int fromEnergy) {
+        if (floorPlan.isObstacle(neighbor % gridSize, neighbor / gridSize)) {
+            return 0;
+        }
+        int candidate = fromEnergy + cost.applyAsInt(neighbor);
+        if (candidate >= energy[neighbor]) {
+            return 0;
+        }
+        energy[neighbor] = candidate;
+        nextHop[neighbor] = from;
+        push(candidate, neighbor);
+        return 1;
+    }
+
+    private void push(int level, int index) {
+        int bucket = level % buckets.length;
+        if (bucketSizes[bucket] == buckets[bucket].length) {
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        }
+        buckets[bucket][bucketSizes[bucket]++] = index;
+    }
+}
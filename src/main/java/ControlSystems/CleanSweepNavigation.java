@@ -1,23 +1,114 @@
 package ControlSystems;
 
 import java.io.IOException;
-import java.util.*;
+import java.util.Arrays;
 
 /**
  * Represents the Clean Sweep robot's navigation system.
  */
 public class CleanSweepNavigation {
+
+    /**
+     * How the robot chooses the cells to clean next.
+     */
+    public enum CoverageMode {
+        /** Head for the nearest unvisited cell, one grid search per target. */
+        NEAREST_UNVISITED,
+        /** Follow a boustrophedon route planned once for the whole floor. */
+        BOUSTROPHEDON,
+        /** Clean room by room, charging between rooms when the next one would not fit the battery. */
+        ROOM_BUDGET
+    }
+
+    /**
+     * What a call to {@link #step()} did.
+     */
+    public enum StepResult {
+        /** Moved into a cell, or cleaned the cell it is on, paying the energy for it. */
+        MOVED,
+        /** Recharged the battery at a charging station. */
+        RECHARGED,
+        /** Nothing; the robot is inactive or has shut down. */
+        NONE
+    }
+
+    /**
+     * What the robot is in the middle of between steps.
+     */
+    private enum Phase {
+        /** Nothing; the next step decides what to do. */
+        IDLE,
+        /** Following the route to the nearest unvisited cell. */
+        CLEAN,
+        /** Following the route of a call to moveTo. */
+        TARGET,
+        /** Moving along the boustrophedon route cell by cell. */
+        SWEEP,
+        /** Following the route back to the boustrophedon route. */
+        REJOIN,
+        /** Following the route to a charging station. */
+        CHARGE,
+        /** Arrived at a charging station, about to recharge. */
+        RECHARGE
+    }
+
     private int x, y;                // Current position on the grid
     private boolean isActive;        // Indicates if the robot is active
     private boolean shutdown;        // Indicates if the robot has shut down
-    private FloorPlan floorPlan;     // The floor plan the robot navigates
-    private Set<String> visitedCells;// Set of visited cells to avoid revisiting
+    private FloorGrid floorPlan;     // The floor plan the robot navigates
+    private CoverageMap visitedCells;// Bitset of visited cells to avoid revisiting
+    private int firstOpenWord;       // First coverage word that may hold an unvisited cleanable cell, -1 if none
+    private SharedCoverageMap sharedCoverage; // Cells claimed by any robot on this floor, if cooperating
+    private int claimedTarget = -1;  // Cell claimed in sharedCoverage as the current route's target, or -1
     private int batteryLevel;        // Battery level of the robot
     private Logger logger;           // Logger for recording actions
+    private NavigationListener[] listeners = NO_LISTENERS; // Notified of navigation events, in order
+    private TelemetryListener telemetry; // Listener recording to the telemetry journal, if one is set
+    private long stepCount;          // Number of cell moves made
+    private int chargeCycles;        // Number of completed recharges
+    private int visitedAtLastCharge = -1; // Visited cell count when the robot last recharged
+    private boolean energyAwareReturn = true; // Return to charge based on energy needed to get home
+    private final GridSearch search; // Reusable BFS engine for path queries
+    private NearestTargetField nearestUnvisited; // Incremental replacement for search, null unless enabled
+    private final GridSearch.CellTest passable;        // Cells the robot may enter
+    private final GridSearch.CellTest unvisited;       // Unvisited, obstacle-free cells
+    private ChargingStationField chargingField; // Distances to the nearest charging station
+    private boolean sharedChargingField; // True while chargingField was given by the caller and kept current by it
+    private PathPlanner pathPlanner; // Planner for moves to a known target, created on first use
+    private boolean defaultPlanner;  // True while pathPlanner is the A* planner created here
+    private EnergyGrid energyGrid;   // Energy of each cell, shared by the battery, field and planner
+    private CoverageMode coverageMode = CoverageMode.NEAREST_UNVISITED;
+    private CoveragePlan coveragePlan; // Route of the boustrophedon mode, planned on first use
+    private int coverageCursor;      // Next entry of the coverage route to move to
+    private RoomBudgetPlanner roomPlanner; // Room choice of the room-budget mode, created on first use
+    private int roomSize = DEFAULT_ROOM_SIZE; // Side of a room in the room-budget mode
+    private int currentRoom = RoomBudgetPlanner.NONE; // Room being cleaned in the room-budget mode
+    private final GridSearch.CellTest roomUnvisited;   // Unvisited cells of the current room
+    private int preemptiveCharges;   // Charges started between rooms because the next room would not fit
+    private int[] route;             // Cells of the path being followed, start first; grown on demand
+    private int routeLength;         // Number of valid entries in route
+    private int routeCursor;         // Next entry of route to move to
+    private Phase phase = Phase.IDLE; // What the robot is in the middle of between steps
+    private final RouteRepairer routeRepairer; // Local detours around cells blocked mid-route
+    private final ObstacleListener obstacleListener = this::onObstacleChanged; // Registered with the floor plan
+    private long revisionAtShutdown; // Floor plan revision when the obstacle listener was removed
+    private int replanCount;         // Routes repaired after a cell on them became blocked
+    private long replanNanos;        // Time spent repairing them
+
+    private static final NavigationListener[] NO_LISTENERS = new NavigationListener[0];
 
     // Battery threshold to trigger return-to-charge behavior
     private static final int LOW_BATTERY_THRESHOLD = 20;
 
+    // Energy of a full battery
+    private static final int BATTERY_CAPACITY = 100;
+
+    // Side of a room in the room-budget mode unless set
+    private static final int DEFAULT_ROOM_SIZE = 16;
+
+    // Initial length of the route buffer, which grows to the longest route followed
+    private static final int INITIAL_ROUTE_CAPACITY = 256;
+
     // Directions for movement: right, down, left, up
     private static final int[][] DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
 
@@ -28,15 +119,84 @@ public class CleanSweepNavigation {
      * @param floorPlan The floor plan to navigate.
      * @throws IOException If the logger cannot be initialized.
      */
-    public CleanSweepNavigation(int startX, int startY, FloorPlan floorPlan) throws IOException {
+    public CleanSweepNavigation(int startX, int startY, FloorGrid floorPlan) throws IOException {
+        this(startX, startY, floorPlan, new Logger(new FileLogSink("clean_sweep_log.txt"), new ConsoleLogSink()));
+    }
+
+    /**
+     * Constructor to initialize the robot with its own logger. Navigation events
+     * are written to the logger through a {@link LoggingNavigationListener}
+     * unless it has no sinks, in which case the robot runs headless and
+     * reports events only to listeners added later.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @param floorPlan The floor plan to navigate.
+     * @param logger Logger for recording actions; it is shut down with the robot.
+     */
+    public CleanSweepNavigation(int startX, int startY, FloorGrid floorPlan, Logger logger) {
+        this(startX, startY, floorPlan, logger, null);
+    }
+
+    /**
+     * Constructor to initialize the robot with its own logger and per-cell
+     * energy costs, so robots on one plan can share a grid resolved once.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @param floorPlan The floor plan to navigate.
+     * @param logger Logger for recording actions; it is shut down with the robot.
+     * @param energyGrid Costs resolved against the floor plan, or null for {@code new EnergyModel()}.
+     */
+    public CleanSweepNavigation(int startX, int startY, FloorGrid floorPlan, Logger logger, EnergyGrid energyGrid) {
+        this(startX, startY, floorPlan, logger, energyGrid, null);
+    }
+
+    /**
+     * Constructor to initialize the robot with its own logger, per-cell energy
+     * costs and charging station field, so robots on one plan can share data
+     * derived from it once. A shared field is not repaired by the robot; its
+     * owner registers it with the floor plan as an {@link ObstacleListener}.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @param floorPlan The floor plan to navigate.
+     * @param logger Logger for recording actions; it is shut down with the robot.
+     * @param energyGrid Costs resolved against the floor plan, or null for {@code new EnergyModel()}.
+     * @param chargingField Field over the floor plan with the move costs of {@code energyGrid}, or null
+     *                      for one of the robot's own.
+     */
+    public CleanSweepNavigation(int startX, int startY, FloorGrid floorPlan, Logger logger, EnergyGrid energyGrid,
+                                ChargingStationField chargingField) {
         this.x = startX;
         this.y = startY;
         this.floorPlan = floorPlan;
         this.isActive = true;
         this.shutdown = false;
-        this.visitedCells = new HashSet<>();
-        this.batteryLevel = 100; // Assume battery starts at 100%
-        this.logger = new Logger("clean_sweep_log.txt"); // Initialize the logger
+        this.visitedCells = new CoverageMap(floorPlan);
+        this.batteryLevel = BATTERY_CAPACITY; // Assume battery starts at 100%
+        this.logger = logger;
+
+        // Search engine and predicates are built once so path queries allocate nothing
+        int gridSize = floorPlan.getGridSize();
+        this.search = new GridSearch(gridSize);
+        this.passable = index -> !isObstacle(index % gridSize, index / gridSize);
+        this.unvisited = index -> visitedCells.isUnvisited(index)
+                && (sharedCoverage == null || !sharedCoverage.isClaimed(index))
+                && !isObstacle(index % gridSize, index / gridSize);
+        this.roomUnvisited = index -> unvisited.test(index) && roomPlanner.getRoom(index) == currentRoom;
+        this.energyGrid = energyGrid != null ? checkEnergyGrid(energyGrid) : new EnergyModel().resolve(floorPlan);
+        if (chargingField != null && chargingField.getFloorPlan() != floorPlan) {
+            throw new IllegalArgumentException("Charging station field does not match the floor plan");
+        }
+        this.sharedChargingField = chargingField != null;
+        this.chargingField = sharedChargingField ? chargingField
+                : new ChargingStationField(floorPlan, this::getMoveCost);
+        this.route = new int[INITIAL_ROUTE_CAPACITY];
+        this.routeRepairer = new RouteRepairer(gridSize, index -> !floorPlan.isObstacle(index % gridSize,
+                index / gridSize));
+        // Cached fields repair themselves around changed cells instead of being rebuilt
+        floorPlan.addObstacleListener(obstacleListener);
+        if (logger.getLevel() != Logger.Level.OFF) {
+            addNavigationListener(new LoggingNavigationListener(logger));
+        }
     }
 
     // Existing methods (getX, getY, isShutDown, setPosition, setActive, isAtChargingStation) remain unchanged
@@ -45,150 +205,759 @@ public class CleanSweepNavigation {
     public int getY() { return y; }
     public boolean isShutDown() { return shutdown; }
     public int getBatteryLevel() { return batteryLevel; }
+    public CoverageMap getCoverageMap() { return visitedCells; }
+    public Logger getLogger() { return logger; }
+    public FloorGrid getFloorPlan() { return floorPlan; }
+    public EnergyGrid getEnergyGrid() { return energyGrid; }
+    public ChargingStationField getChargingStationField() { return chargingField; }
+    public long getStepCount() { return stepCount; }
+    public int getChargeCycles() { return chargeCycles; }
+    public int getReplanCount() { return replanCount; }
+    public long getReplanNanos() { return replanNanos; }
+
+    /**
+     * Chooses how the robot decides to recharge. Energy-aware return (the default)
+     * keeps cleaning until the next move would leave just enough energy to reach
+     * the cheapest charging station; otherwise the robot heads back once the
+     * battery drops to the fixed low-battery threshold.
+     * @param energyAwareReturn True for energy-aware return, false for the threshold.
+     */
+    public void setEnergyAwareReturn(boolean energyAwareReturn) {
+        this.energyAwareReturn = energyAwareReturn;
+    }
+
+    /**
+     * Chooses how the nearest unvisited cell is found. By default each query is
+     * a breadth-first search from the robot, which is cheapest while unvisited
+     * cells are close by. The incremental search keeps a distance field to all
+     * unvisited cells and repairs it where cells were cleaned, so its cost
+     * follows the amount of change rather than the distance searched; it wins
+     * when the remaining cells are few and far apart. Both pick the same target
+     * and path.
+     * @param incremental True to use a {@link NearestTargetField}, false for breadth-first search.
+     */
+    public void setIncrementalSearch(boolean incremental) {
+        if (!incremental) {
+            nearestUnvisited = null;
+        } else if (nearestUnvisited == null) {
+            // The field probes every cell when it is built, so it reads the plan without tracing obstacles
+            int gridSize = floorPlan.getGridSize();
+            GridSearch.CellTest open = index -> !floorPlan.isObstacle(index % gridSize, index / gridSize);
+            nearestUnvisited = new NearestTargetField(floorPlan, open, index -> open.test(index)
+                    && visitedCells.isUnvisited(index) && (sharedCoverage == null || !sharedCoverage.isClaimed(index)));
+        }
+    }
+
+    /**
+     * Shares coverage with other robots cleaning the same floor. Cells claimed by
+     * any robot are skipped when searching for the nearest unvisited cell.
+     * @param sharedCoverage Map shared by the cooperating robots, or null to clean alone.
+     */
+    public void setSharedCoverage(SharedCoverageMap sharedCoverage) {
+        this.sharedCoverage = sharedCoverage;
+    }
+
+    /**
+     * Sets how the robot chooses cells to clean. In boustrophedon mode, cells the
+     * route missed (for example behind obstacles added later) are cleaned by
+     * nearest-unvisited search once the route is finished.
+     * @param coverageMode Strategy to use from the next call to {@link #navigate()}.
+     */
+    public void setCoverageMode(CoverageMode coverageMode) {
+        this.coverageMode = coverageMode;
+    }
+
+    /**
+     * Sets the side of the square rooms the floor is cut into in room-budget mode.
+     * @param roomSize Side of a room in cells; takes effect before the first room is chosen.
+     */
+    public void setRoomSize(int roomSize) {
+        if (roomSize < 1) {
+            throw new IllegalArgumentException("Room size must be positive: " + roomSize);
+        }
+        this.roomSize = roomSize;
+    }
+
+    /**
+     * Gets the room planner of the room-budget mode.
+     * @return The planner, or null if no room has been chosen yet.
+     */
+    public RoomBudgetPlanner getRoomBudgetPlanner() {
+        return roomPlanner;
+    }
+
+    /**
+     * Gets the number of charges the room-budget mode started between rooms.
+     * @return Preemptive charges, also counted in {@link #getChargeCycles()} once completed.
+     */
+    public int getPreemptiveChargeCount() {
+        return preemptiveCharges;
+    }
+
+    /**
+     * Gets the boustrophedon route being followed.
+     * @return The coverage plan, or null if none has been planned.
+     */
+    public CoveragePlan getCoveragePlan() {
+        return coveragePlan;
+    }
+
+    /**
+     * Sets the planner used for moves to a known target cell. The default is an
+     * {@link AStarPlanner} weighted by surface energy.
+     * @param pathPlanner Planner built over this robot's floor plan.
+     */
+    public void setPathPlanner(PathPlanner pathPlanner) {
+        this.pathPlanner = pathPlanner;
+        this.defaultPlanner = false;
+    }
+
+    /**
+     * Sets the energy the robot spends per surface, resolving it against this
+     * robot's floor plan. The default is {@code new EnergyModel()}.
+     * @param energyModel Energy costs per surface.
+     */
+    public void setEnergyModel(EnergyModel energyModel) {
+        setEnergyGrid(energyModel.resolve(floorPlan));
+    }
+
+    /**
+     * Sets the per-cell energy costs, so robots on one plan can share a grid
+     * resolved once. The charging station field and the default path planner
+     * are rebuilt on their next use; a shared field, built with the old costs,
+     * is replaced by one of the robot's own.
+     * @param energyGrid Costs resolved against this robot's floor plan.
+     */
+    public void setEnergyGrid(EnergyGrid energyGrid) {
+        this.energyGrid = checkEnergyGrid(energyGrid);
+        if (sharedChargingField) {
+            chargingField = new ChargingStationField(floorPlan, this::getMoveCost);
+            sharedChargingField = false;
+        } else {
+            chargingField.invalidate();
+        }
+        roomPlanner = null; // Room energies are read again from the new grid
+        currentRoom = RoomBudgetPlanner.NONE;
+        if (defaultPlanner) {
+            pathPlanner = null;
+        }
+    }
+
+    /**
+     * Checks that an energy grid has one entry per cell of this robot's floor plan.
+     * @param energyGrid Grid to check.
+     * @return The same grid.
+     */
+    private EnergyGrid checkEnergyGrid(EnergyGrid energyGrid) {
+        int gridSize = floorPlan.getGridSize();
+        if (energyGrid.getCellCount() != gridSize * gridSize) {
+            throw new IllegalArgumentException("Energy grid does not match the floor plan");
+        }
+        return energyGrid;
+    }
+
+    /**
+     * Registers a listener for navigation events.
+     * @param listener Listener to call after the ones already registered.
+     */
+    public void addNavigationListener(NavigationListener listener) {
+        NavigationListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Unregisters a listener for navigation events.
+     * @param listener Listener to remove; nothing happens if it is not registered.
+     */
+    public void removeNavigationListener(NavigationListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                NavigationListener[] shrunk = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, shrunk, i, listeners.length - i - 1);
+                listeners = shrunk;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records robot events in a binary telemetry journal through a
+     * {@link TelemetryListener}. The journal is flushed when the robot shuts
+     * down; closing it remains the caller's responsibility.
+     * @param telemetry Journal to append to, or null to stop recording.
+     */
+    public void setTelemetryJournal(TelemetryJournal telemetry) {
+        if (this.telemetry != null) {
+            removeNavigationListener(this.telemetry);
+        }
+        this.telemetry = telemetry != null ? new TelemetryListener(telemetry) : null;
+        if (this.telemetry != null) {
+            addNavigationListener(this.telemetry);
+        }
+    }
 
     public void setPosition(int x, int y) {
         this.x = x;
         this.y = y;
-        System.out.println("Robot position manually set to: (" + x + ", " + y + ")");
+        releaseTarget();
+        phase = Phase.IDLE; // A route from the old position no longer applies
         logger.log("Robot position manually set to: (" + x + ", " + y + ")");
     }
 
     public void setActive(boolean active) {
         this.isActive = active;
         if (active) {
+            if (shutdown) {
+                resumeObstacleEvents();
+            }
             this.shutdown = false; // Reset shutdown flag on reactivation
-            System.out.println("Robot reactivated.");
             logger.log("Robot reactivated.");
         } else {
-            System.out.println("Robot deactivated.");
             logger.log("Robot deactivated.");
         }
     }
 
     public boolean isAtChargingStation() {
-        return floorPlan.getCells()[y][x].isChargingStation();
+        return floorPlan.isChargingStation(x, y);
     }
 
     /**
-     * Navigates the robot based on sensor inputs and floor plan.
+     * Navigates the robot based on sensor inputs and floor plan. One call makes
+     * one decision, such as the next cell to clean or a trip to charge, and
+     * carries it out; a decision started by {@link #step()} is finished first.
      */
     public void navigate() {
         if (!isActive || shutdown) {
-            System.out.println("Robot is inactive or has shut down.");
             logger.log("Robot is inactive or has shut down.");
             return; // Stop navigating if the robot is inactive or shutdown
         }
+        if (phase == Phase.IDLE) {
+            decide();
+        }
+        while (phase != Phase.IDLE && !shutdown) {
+            advance();
+        }
+    }
 
+    /**
+     * Makes the robot's next move, or recharges it when it has just arrived at
+     * a charging station. Planning happens as needed along the way, so stepping
+     * until shutdown visits the same cells as calling {@link #navigate()} until
+     * shutdown; stepping lets a scheduler interleave robots and charge each
+     * action its own duration.
+     * @return What the robot did, or NONE if it is inactive or shut down without acting.
+     */
+    public StepResult step() {
+        long steps = stepCount;
+        int charges = chargeCycles;
+        // Every pass either acts, shuts down or moves a plan forward, so the loop ends
+        while (isActive && !shutdown) {
+            if (phase == Phase.IDLE) {
+                decide();
+            } else {
+                advance();
+            }
+            if (stepCount != steps) {
+                return StepResult.MOVED;
+            }
+            if (chargeCycles != charges) {
+                return StepResult.RECHARGED;
+            }
+        }
+        return stepCount != steps ? StepResult.MOVED : StepResult.NONE;
+    }
+
+    /**
+     * Chooses what to do next: charge, follow the coverage plan, head for the
+     * nearest unvisited cell or shut down once nothing is left to clean.
+     */
+    private void decide() {
         // Mark the current position as visited
-        String currentPosition = x + "," + y;
-        visitedCells.add(currentPosition);
+        int current = y * floorPlan.getGridSize() + x;
+        markVisited(current);
+
+        // With a reachable station, every step checks the energy needed to get home instead,
+        // so the fixed threshold only applies when that check cannot be made
+        boolean plannedReturn = energyAwareReturn
+                && chargingField.getEnergy(current) != ChargingStationField.UNREACHABLE;
 
         // Existing code to check battery level and move to charging station
-        if (batteryLevel <= LOW_BATTERY_THRESHOLD && floorPlan.hasChargingStation() && !isAtChargingStation()) {
+        if (!plannedReturn && batteryLevel <= LOW_BATTERY_THRESHOLD && chargingField.hasStation()
+                && !isAtChargingStation()) {
             moveToChargingStation();
             return;
         }
 
+        if (coverageMode == CoverageMode.BOUSTROPHEDON && startCoveragePlan()) {
+            return;
+        }
+        if (coverageMode == CoverageMode.ROOM_BUDGET && startRoomBudget()) {
+            return;
+        }
+        startNearestUnvisited();
+    }
+
+    /**
+     * Carries out one action of the current decision.
+     */
+    private void advance() {
+        switch (phase) {
+            case SWEEP:
+                followCoveragePlan();
+                break;
+            case RECHARGE:
+                recharge();
+                break;
+            case IDLE:
+                break;
+            default:
+                followPath();
+                break;
+        }
+    }
+
+    /**
+     * Sets off for the nearest unvisited cell, or shuts down if there is none.
+     */
+    private void startNearestUnvisited() {
         // Existing movement logic (modified to integrate new pathfinding and obstacle detection)
-        List<Cell> path = findNearestUnvisitedCell();
-        if (path.isEmpty()) {
-            System.out.println("No unvisited cells left. Cleaning complete.");
-            logger.log("No unvisited cells left. Cleaning complete.");
-            shutdown();
+        if (!findNearestUnvisitedCell()) {
+            shutdown(NavigationListener.ShutdownReason.CLEANING_COMPLETE);
             return;
         }
+        startRoute(Phase.CLEAN);
+    }
 
-        // Move along the path
-        for (Cell cell : path) {
-            moveToCell(cell);
-            if (shutdown) {
-                return;
+    /**
+     * Moves the robot to a cell along the planner's path, cleaning on the way and
+     * heading for a charging station if the battery would not last the trip.
+     * @param targetX X coordinate of the target cell.
+     * @param targetY Y coordinate of the target cell.
+     * @return True if the robot reached the target, false otherwise.
+     */
+    public boolean moveTo(int targetX, int targetY) {
+        if (!isActive || shutdown || !isValidPosition(targetX, targetY)) {
+            return false;
+        }
+        if (!planRouteTo(targetY * floorPlan.getGridSize() + targetX)) {
+            logger.log(Logger.Level.WARN, "No path to (" + targetX + ", " + targetY + ") found.");
+            return false;
+        }
+        startRoute(Phase.TARGET);
+        while (phase != Phase.IDLE && !shutdown) {
+            advance();
+        }
+        return x == targetX && y == targetY;
+    }
+
+    /**
+     * Plans the route to a cell with the path planner.
+     * @param target Index of the target cell.
+     * @return True if a route was found, false otherwise.
+     */
+    private boolean planRouteTo(int target) {
+        int gridSize = floorPlan.getGridSize();
+        if (pathPlanner == null) {
+            pathPlanner = new AStarPlanner(gridSize, passable, this::getMoveCost, energyGrid.getMinMoveCost());
+            defaultPlanner = true;
+        }
+        ensureRouteCapacity(gridSize * gridSize); // Planners may write a path through every cell
+        routeLength = pathPlanner.plan(y * gridSize + x, target, route);
+        return routeLength > 0;
+    }
+
+    /**
+     * Starts following the boustrophedon route, planning it on first use.
+     * @return True if the route has cells left, false once it is finished.
+     */
+    private boolean startCoveragePlan() {
+        int gridSize = floorPlan.getGridSize();
+        if (coveragePlan == null) {
+            coveragePlan = new BoustrophedonPlanner(gridSize, passable).plan(y * gridSize + x);
+            coverageCursor = 1; // The route starts at the current cell
+            logger.log("Coverage plan: " + coveragePlan);
+        }
+        if (coverageCursor < coveragePlan.getLength()) {
+            phase = Phase.SWEEP;
+            return true;
+        }
+        finishCoveragePlan();
+        return false;
+    }
+
+    /**
+     * Sets off for the nearest unvisited cell of the room being cleaned. Once
+     * the room is done the room planner chooses the next one, or has the robot
+     * charge first when no room would fit the battery left. Rooms whose
+     * remaining cells cannot be reached are given up.
+     * @return True if the robot set off, false once no room has cells left.
+     */
+    private boolean startRoomBudget() {
+        int gridSize = floorPlan.getGridSize();
+        if (roomPlanner == null) {
+            roomPlanner = new RoomBudgetPlanner(floorPlan, energyGrid, visitedCells, chargingField, roomSize);
+        }
+        while (true) {
+            if (currentRoom == RoomBudgetPlanner.NONE || roomPlanner.getUnvisitedCount(currentRoom) <= 0) {
+                // Without a station a charge is impossible, so every battery level counts as full
+                int capacity = chargingField.hasStation() ? BATTERY_CAPACITY : batteryLevel;
+                int choice = roomPlanner.chooseRoom(x, y, batteryLevel, capacity);
+                if (choice == RoomBudgetPlanner.CHARGE) {
+                    preemptiveCharges++;
+                    moveToChargingStation();
+                    return true;
+                }
+                currentRoom = choice;
+                if (choice == RoomBudgetPlanner.NONE) {
+                    return false;
+                }
             }
+            int target = search.search(y * gridSize + x, passable, roomUnvisited);
+            if (target == -1) {
+                roomPlanner.abandon(currentRoom);
+                currentRoom = RoomBudgetPlanner.NONE;
+            } else if (sharedCoverage == null || sharedCoverage.claim(target)) {
+                claimedTarget = sharedCoverage != null ? target : -1;
+                routeLength = search.getPathLength();
+                ensureRouteCapacity(routeLength);
+                System.arraycopy(search.getPath(), 0, route, 0, routeLength);
+                startRoute(Phase.CLEAN);
+                return true;
+            }
+            // Losing a claim race means searching the room again
         }
     }
 
     /**
-     * Moves the robot to the specified cell.
-     * @param cell The cell to move to.
+     * Makes one move along the boustrophedon route. After leaving the route,
+     * for a charge or around a cell that has become blocked, the robot skips
+     * entries that are already clean and travels back to the first one that
+     * is not. Once the route ends the robot carries on with nearest-unvisited
+     * search.
      */
-    private void moveToCell(Cell cell) {
-        x = cell.getX();
-        y = cell.getY();
-        String positionKey = x + "," + y;
-        visitedCells.add(positionKey);
+    private void followCoveragePlan() {
+        int gridSize = floorPlan.getGridSize();
+        int[] cells = coveragePlan.getRoute();
+        int length = coveragePlan.getLength();
+        int next = cells[coverageCursor];
+        int nextX = next % gridSize;
+        int nextY = next / gridSize;
+        if (Math.abs(nextX - x) + Math.abs(nextY - y) != 1 || isObstacle(nextX, nextY)) {
+            while (coverageCursor < length && !unvisited.test(cells[coverageCursor])) {
+                coverageCursor++;
+            }
+            if (coverageCursor == length) {
+                finishCoveragePlan();
+                startNearestUnvisited();
+            } else if (planRouteTo(cells[coverageCursor])) {
+                startRoute(Phase.REJOIN);
+            } else {
+                coverageCursor++; // Unreachable and skipped
+                phase = Phase.IDLE;
+            }
+            return;
+        }
+        if (!canReturnAfterMoving(next)) {
+            returnBeforeBatteryRunsOut();
+            return;
+        }
+        moveToCell(nextX, nextY);
+        coverageCursor++;
+        if (!shutdown && coverageCursor == length) {
+            finishCoveragePlan();
+            startNearestUnvisited();
+        }
+    }
 
-        System.out.println("Moved to position (" + x + ", " + y + ")");
-        logger.log("Moved to position (" + x + ", " + y + ")");
+    /**
+     * Reports the end of the boustrophedon route the first time it is reached.
+     */
+    private void finishCoveragePlan() {
+        if (coverageCursor == coveragePlan.getLength()) {
+            coverageCursor++; // Report completion once
+            logger.log("Coverage route complete.");
+        }
+    }
 
-        System.out.println("Surface Type: " + cell.getType());
-        logger.log("Surface Type: " + cell.getType());
+    /**
+     * Starts following the route just planned.
+     * @param purpose Why the route is followed, which decides what happens at its end.
+     */
+    private void startRoute(Phase purpose) {
+        phase = purpose;
+        routeCursor = 0;
+    }
 
-        // Update battery level based on floor type
-        int energyConsumption = getEnergyConsumption(cell.getType());
-        batteryLevel -= energyConsumption;
+    /**
+     * Makes one move along the current route. Except on the way to a charging
+     * station, the robot heads for one instead as soon as the move would leave
+     * too little energy to get back.
+     */
+    private void followPath() {
+        int gridSize = floorPlan.getGridSize();
+        int i = routeCursor;
+        if (i > 0 && floorPlan.isObstacle(route[i] % gridSize, route[i] / gridSize)) {
+            i = repairRoute(i);
+            if (i < 0) {
+                endRoute();
+                return;
+            }
+        }
+        if (phase != Phase.CHARGE && !canReturnAfterMoving(route[i])) {
+            returnBeforeBatteryRunsOut();
+            return;
+        }
+        moveToCell(route[i] % gridSize, route[i] / gridSize);
+        routeCursor = i + 1;
+        if (!shutdown && routeCursor >= routeLength) {
+            endRoute();
+        }
+    }
 
-        System.out.println("Battery Level after move: " + batteryLevel + "%");
-        logger.log("Battery Level after move: " + batteryLevel + "%");
+    /**
+     * Finishes the current route once it is complete or cannot be completed.
+     */
+    private void endRoute() {
+        releaseTarget();
+        if (phase == Phase.CHARGE) {
+            if (isAtChargingStation()) {
+                phase = Phase.RECHARGE;
+            } else {
+                shutdown(NavigationListener.ShutdownReason.CHARGING_FAILED);
+            }
+            return;
+        }
+        if (phase == Phase.REJOIN) {
+            int gridSize = floorPlan.getGridSize();
+            if (y * gridSize + x == coveragePlan.getRoute()[coverageCursor] || routeLength == 0) {
+                coverageCursor++; // Arrived, or unreachable and skipped
+            }
+        }
+        phase = Phase.IDLE;
+    }
 
-        // Simulate cleaning the cell
-        System.out.println("Cleaned cell at position (" + x + ", " + y + ")");
-        logger.log("Cleaned cell at position (" + x + ", " + y + ")");
+    /**
+     * Reroutes around cells of the current route that have become obstacles,
+     * with a local detour if one exists and otherwise a new route to the same
+     * destination.
+     * @param cursor Index of the blocked route cell the robot was about to enter.
+     * @return Index of the next route cell to move to, or -1 if the destination cannot be reached.
+     */
+    private int repairRoute(int cursor) {
+        long start = System.nanoTime();
+        int gridSize = floorPlan.getGridSize();
+        int destination = route[routeLength - 1];
+        int length = routeRepairer.repair(route, routeLength, cursor);
+        if (length == 0 && routeRepairer.getRequiredLength() > 0) {
+            ensureRouteCapacity(routeRepairer.getRequiredLength());
+            length = routeRepairer.repair(route, routeLength, cursor);
+        }
+        int next = cursor;
+        if (length > 0) {
+            routeLength = length;
+        } else if (!floorPlan.isObstacle(destination % gridSize, destination / gridSize) && planRouteTo(destination)) {
+            next = 1; // The new route starts at the robot's cell
+        } else {
+            next = -1;
+        }
+        replanCount++;
+        replanNanos += System.nanoTime() - start;
+        if (logger.isEnabled(Logger.Level.DEBUG)) {
+            logger.log(Logger.Level.DEBUG, "Route blocked at (" + route[cursor] % gridSize + ", "
+                    + route[cursor] / gridSize + "); " + (length > 0 ? "detoured locally" : next > 0 ? "replanned"
+                    : "destination unreachable"));
+        }
+        return next;
+    }
 
-        if (batteryLevel <= 0) {
-            System.out.println("Battery depleted! Shutting down.");
-            logger.log("Battery depleted! Shutting down.");
-            shutdown();
+    /**
+     * Checks if the robot could still reach a charging station after moving into a cell.
+     * @param index Index of the cell about to be entered.
+     * @return True if the move is safe or no station energy is known, false otherwise.
+     */
+    private boolean canReturnAfterMoving(int index) {
+        if (!energyAwareReturn) {
+            return true;
         }
+        int energyHome = chargingField.getEnergy(index);
+        if (energyHome == ChargingStationField.UNREACHABLE) {
+            return true; // No station reachable from there; the threshold check handles this case
+        }
+        return batteryLevel - getMoveCost(index) - energyHome > 0;
     }
 
     /**
-     * Finds the shortest path to the nearest unvisited cell using BFS.
-     * @return List of cells representing the path.
+     * Heads for a charging station because the route cannot continue safely. If
+     * nothing new was cleaned since the last recharge, the remaining cells are out
+     * of range of a single charge and the robot shuts down instead of looping. In
+     * room-budget mode only the room being headed for is given up, and the robot
+     * charges to try the others. Either way the route's target is left for
+     * cooperating robots.
      */
-    private List<Cell> findNearestUnvisitedCell() {
-        Queue<List<Cell>> queue = new LinkedList<>();
-        Set<String> bfsVisited = new HashSet<>();
+    private void returnBeforeBatteryRunsOut() {
+        releaseTarget();
+        if (visitedCells.getVisitedCount() == visitedAtLastCharge) {
+            if (currentRoom == RoomBudgetPlanner.NONE || coverageMode != CoverageMode.ROOM_BUDGET) {
+                shutdown(NavigationListener.ShutdownReason.OUT_OF_RANGE);
+                return;
+            }
+            roomPlanner.abandon(currentRoom);
+            currentRoom = RoomBudgetPlanner.NONE;
+        }
+        moveToChargingStation();
+    }
 
-        Cell startCell = floorPlan.getCells()[y][x];
-        List<Cell> startPath = new ArrayList<>();
-        startPath.add(startCell);
-        queue.add(startPath);
-        bfsVisited.add(x + "," + y);
+    /**
+     * Moves the robot to the specified cell.
+     * @param cellX X coordinate of the cell to move to.
+     * @param cellY Y coordinate of the cell to move to.
+     */
+    private void moveToCell(int cellX, int cellY) {
+        x = cellX;
+        y = cellY;
+        int index = y * floorPlan.getGridSize() + x;
+        markVisited(index);
 
-        while (!queue.isEmpty()) {
-            List<Cell> path = queue.poll();
-            Cell currentCell = path.get(path.size() - 1);
-            int currX = currentCell.getX();
-            int currY = currentCell.getY();
+        // Update battery level based on floor type
+        batteryLevel -= energyGrid.getMoveCost(index);
+        stepCount++;
 
-            String positionKey = currX + "," + currY;
+        if (listeners.length > 0) {
+            reportMove();
+        }
+        if (batteryLevel <= 0) {
+            shutdown(NavigationListener.ShutdownReason.BATTERY_DEPLETED);
+        }
+    }
 
-            // Only consider cells that have not been visited by the robot
-            if (!visitedCells.contains(positionKey)) {
-                if (!isObstacle(currX, currY)) {
-                    return path;
+    /**
+     * Tells the listeners about the move just made, the cell cleaned and the
+     * obstacles the robot's sensors see around it.
+     */
+    private void reportMove() {
+        SurfaceType surface = floorPlan.getSurfaceType(x, y);
+        for (NavigationListener listener : listeners) {
+            listener.moved(this, x, y, surface);
+        }
+        for (NavigationListener listener : listeners) {
+            listener.cleaned(this, x, y);
+        }
+        for (int[] direction : DIRECTIONS) {
+            int nx = x + direction[0];
+            int ny = y + direction[1];
+            if (isValidPosition(nx, ny) && floorPlan.isObstacle(nx, ny)) {
+                for (NavigationListener listener : listeners) {
+                    listener.obstacleDetected(this, nx, ny);
                 }
             }
+        }
+    }
 
-            // Explore neighbors in all four directions
-            for (int[] dir : DIRECTIONS) {
-                int newX = currX + dir[0];
-                int newY = currY + dir[1];
-                String newPositionKey = newX + "," + newY;
-
-                if (isValidPosition(newX, newY) && !bfsVisited.contains(newPositionKey)) {
-                    if (!isObstacle(newX, newY)) {
-                        Cell neighbor = floorPlan.getCells()[newY][newX];
-                        List<Cell> newPath = new ArrayList<>(path);
-                        newPath.add(neighbor);
-                        queue.add(newPath);
-                        bfsVisited.add(newPositionKey);
-                    }
-                }
+    /**
+     * Finds the shortest path to the nearest unvisited cell using BFS, or the
+     * incremental field when enabled. The path is copied into the route buffer.
+     * @return True if an unvisited cell was found, false otherwise.
+     */
+    private boolean findNearestUnvisitedCell() {
+        // Words cleaned in full are skipped; with none left a search would expand the whole floor for nothing
+        firstOpenWord = firstOpenWord < 0 ? -1 : visitedCells.nextUnvisitedWord(firstOpenWord);
+        if (firstOpenWord < 0) {
+            return false;
+        }
+        int start = y * floorPlan.getGridSize() + x;
+        while (true) {
+            int target = nearestUnvisited != null ? nearestUnvisited.search(start)
+                    : search.search(start, passable, unvisited);
+            if (target == -1) {
+                return false;
+            }
+            // Claim the target so cooperating robots head elsewhere; losing the race means search again
+            if (sharedCoverage == null || sharedCoverage.claim(target)) {
+                claimedTarget = sharedCoverage != null ? target : -1;
+                routeLength = nearestUnvisited != null ? nearestUnvisited.getPathLength() : search.getPathLength();
+                ensureRouteCapacity(routeLength);
+                System.arraycopy(nearestUnvisited != null ? nearestUnvisited.getPath() : search.getPath(), 0,
+                        route, 0, routeLength);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marks a cell as cleaned by this robot and, when cooperating, claims it for the fleet.
+     * @param index Cell index.
+     */
+    private void markVisited(int index) {
+        if (visitedCells.visit(index)) {
+            if (nearestUnvisited != null) {
+                nearestUnvisited.remove(index);
+            }
+            if (roomPlanner != null) {
+                roomPlanner.visited(index);
             }
         }
+        if (sharedCoverage != null) {
+            sharedCoverage.claim(index);
+        }
+    }
 
-        return new ArrayList<>(); // No unvisited cells found
+    /**
+     * Releases the claim on the current route's target unless the robot has
+     * cleaned it, so a target given up on is not skipped by every robot.
+     */
+    private void releaseTarget() {
+        if (claimedTarget >= 0 && visitedCells.isUnvisited(claimedTarget)) {
+            sharedCoverage.release(claimedTarget);
+        }
+        claimedTarget = -1;
+    }
+
+    /**
+     * Keeps the cached fields and the path planner in step with an obstacle
+     * change; the current route is checked cell by cell as it is followed.
+     */
+    private void onObstacleChanged(int cellX, int cellY, boolean obstacle) {
+        int index = cellY * floorPlan.getGridSize() + cellX;
+        visitedCells.setCleanable(index, !obstacle);
+        if (!obstacle && visitedCells.isUnvisited(index) && (firstOpenWord < 0 || index >>> 6 < firstOpenWord)) {
+            firstOpenWord = index >>> 6;
+        }
+        if (!sharedChargingField) {
+            chargingField.obstacleChanged(cellX, cellY, obstacle);
+        }
+        if (nearestUnvisited != null) {
+            nearestUnvisited.obstacleChanged(cellX, cellY, obstacle);
+        }
+        if (pathPlanner instanceof ObstacleListener) {
+            ((ObstacleListener) pathPlanner).obstacleChanged(cellX, cellY, obstacle);
+        }
+        if (roomPlanner != null) {
+            roomPlanner.obstacleChanged(cellX, cellY, obstacle);
+        }
+    }
+
+    /**
+     * Registers for obstacle changes again after a shutdown. Caches that were
+     * not told about changes made in between are dropped or rebuilt.
+     */
+    private void resumeObstacleEvents() {
+        floorPlan.addObstacleListener(obstacleListener);
+        if (floorPlan.getRevision() != revisionAtShutdown) {
+            visitedCells.setCleanableCells(floorPlan);
+            firstOpenWord = 0;
+            if (!sharedChargingField) {
+                chargingField.invalidate();
+            }
+            if (nearestUnvisited != null) {
+                nearestUnvisited.invalidate();
+            }
+            if (pathPlanner instanceof HierarchicalPlanner) {
+                ((HierarchicalPlanner) pathPlanner).invalidate();
+            }
+            roomPlanner = null; // Room counts are read again from the plan
+            currentRoom = RoomBudgetPlanner.NONE;
+        }
     }
 
     /**
@@ -202,151 +971,116 @@ public class CleanSweepNavigation {
     }
 
     /**
-     * Moves the robot to the nearest charging station and recharges the battery.
+     * Sets off for the nearest charging station; the battery is recharged on arrival.
      */
     private void moveToChargingStation() {
-        System.out.println("Battery level low (" + batteryLevel + "%). Navigating to charging station...");
-        logger.log("Battery level low (" + batteryLevel + "%). Navigating to charging station...");
-
-        List<Cell> path = findPathToChargingStation();
-        if (path.isEmpty()) {
-            System.out.println("No path to charging station found. Shutting down.");
-            logger.log("No path to charging station found. Shutting down.");
-            shutdown();
-            return;
+        for (NavigationListener listener : listeners) {
+            listener.batteryChanged(this, batteryLevel, NavigationListener.BatteryEvent.LOW);
         }
 
-        for (Cell cell : path) {
-            moveToCell(cell);
-            if (shutdown) {
-                return;
-            }
+        if (!findPathToChargingStation()) {
+            shutdown(NavigationListener.ShutdownReason.NO_CHARGING_STATION);
+            return;
         }
+        startRoute(Phase.CHARGE);
+    }
 
-        if (isAtChargingStation()) {
-            System.out.println("Reached charging station. Recharging...");
-            logger.log("Reached charging station. Recharging...");
-            batteryLevel = 100; // Recharge battery
-            System.out.println("Battery fully recharged.");
-            logger.log("Battery fully recharged.");
-        } else {
-            System.out.println("Failed to reach charging station. Shutting down.");
-            logger.log("Failed to reach charging station. Shutting down.");
-            shutdown();
+    /**
+     * Recharges the battery at the charging station the robot has arrived at.
+     */
+    private void recharge() {
+        batteryLevel = BATTERY_CAPACITY; // Recharge battery
+        chargeCycles++;
+        visitedAtLastCharge = visitedCells.getVisitedCount();
+        phase = Phase.IDLE;
+        for (NavigationListener listener : listeners) {
+            listener.batteryChanged(this, batteryLevel, NavigationListener.BatteryEvent.RECHARGED);
         }
     }
 
     /**
-     * Finds the shortest path to the nearest charging station using BFS.
-     * @return List of cells representing the path.
+     * Finds the shortest path to the nearest charging station by following the
+     * precomputed station field. If the field is stale because an obstacle was
+     * set directly on a Cell, it is rebuilt once.
+     * @return True if a charging station was found, false otherwise.
      */
-    private List<Cell> findPathToChargingStation() {
-        Queue<List<Cell>> queue = new LinkedList<>();
-        Set<String> bfsVisited = new HashSet<>();
-
-        Cell startCell = floorPlan.getCells()[y][x];
-        List<Cell> startPath = new ArrayList<>();
-        startPath.add(startCell);
-        queue.add(startPath);
-        bfsVisited.add(x + "," + y);
-
-        while (!queue.isEmpty()) {
-            List<Cell> path = queue.poll();
-            Cell currentCell = path.get(path.size() - 1);
-            int currX = currentCell.getX();
-            int currY = currentCell.getY();
-
-            String positionKey = currX + "," + currY;
-
-            if (floorPlan.getCells()[currY][currX].isChargingStation()) {
-                return path;
-            }
-
-            // Explore neighbors
-            for (int[] dir : DIRECTIONS) {
-                int newX = currX + dir[0];
-                int newY = currY + dir[1];
-                String newPositionKey = newX + "," + newY;
-
-                if (isValidPosition(newX, newY) && !bfsVisited.contains(newPositionKey)) {
-                    if (!isObstacle(newX, newY)) {
-                        Cell neighbor = floorPlan.getCells()[newY][newX];
-                        List<Cell> newPath = new ArrayList<>(path);
-                        newPath.add(neighbor);
-                        queue.add(newPath);
-                        bfsVisited.add(newPositionKey);
-                    }
-                }
-            }
+    private boolean findPathToChargingStation() {
+        int start = y * floorPlan.getGridSize() + x;
+        ensureRouteCapacity(chargingField.getPathLength(start));
+        routeLength = chargingField.pathFrom(start, route);
+        if (routeLength > 0 && !isRouteClear()) {
+            chargingField.invalidate();
+            ensureRouteCapacity(chargingField.getPathLength(start));
+            routeLength = chargingField.pathFrom(start, route);
         }
-
-        return new ArrayList<>(); // No path to charging station found
+        return routeLength > 0;
     }
 
     /**
-     * Checks if the cell at the specified coordinates has an obstacle.
-     * @param x X coordinate.
-     * @param y Y coordinate.
-     * @return True if there is an obstacle or out of bounds, false otherwise.
+     * Grows the route buffer so it holds at least the given number of cells.
+     * Routes are usually short, so the buffer starts small instead of at the
+     * cell count; the current route is kept.
+     * @param length Number of cells the next route needs.
      */
-    private boolean isObstacle(int x, int y) {
-        if (!isValidPosition(x, y)) {
-            return true; // Treat out-of-bounds as obstacles
+    private void ensureRouteCapacity(int length) {
+        if (route.length < length) {
+            route = Arrays.copyOf(route, Math.max(length, route.length * 2));
         }
-        Cell cell = floorPlan.getCells()[y][x];
+    }
 
-        // Simulate dynamic obstacle detection
-        if (cell.isObstacle()) {
-            System.out.println("Obstacle detected at (" + x + ", " + y + ")");
-            logger.log("Obstacle detected at (" + x + ", " + y + ")");
-            return true;
+    /**
+     * Checks that no cell after the start of the route has become an obstacle.
+     * @return True if the route can be followed, false otherwise.
+     */
+    private boolean isRouteClear() {
+        int gridSize = floorPlan.getGridSize();
+        for (int i = 1; i < routeLength; i++) {
+            if (floorPlan.isObstacle(route[i] % gridSize, route[i] / gridSize)) {
+                return false;
+            }
         }
-
-        // Additional logic for dynamic obstacles can be added here
-
-        return false;
+        return floorPlan.isChargingStation(route[routeLength - 1] % gridSize, route[routeLength - 1] / gridSize);
     }
 
     /**
-     * Gets the floor type of the cell at the specified coordinates.
+     * Checks if the cell at the specified coordinates has an obstacle.
      * @param x X coordinate.
      * @param y Y coordinate.
-     * @return Floor type as a String, or "Unknown" if out of bounds.
+     * @return True if there is an obstacle or out of bounds, false otherwise.
      */
-    private String getFloorType(int x, int y) {
+    private boolean isObstacle(int x, int y) {
         if (!isValidPosition(x, y)) {
-            return "Unknown"; // Out-of-bounds
+            return true; // Treat out-of-bounds as obstacles
         }
-        return floorPlan.getCells()[y][x].getType();
+        // Dynamic obstacles are set through the floor plan's mutators, which notify onObstacleChanged.
+        // Searches call this for every neighbor, so it reports nothing; see reportMove
+        return floorPlan.isObstacle(x, y);
     }
 
     /**
-     * Calculates the energy consumption based on the floor type.
-     * @param floorType Type of the floor.
+     * Gets the energy needed to move into a cell.
+     * @param index Cell index.
      * @return Energy consumption as an integer.
      */
-    private int getEnergyConsumption(String floorType) {
-        switch (floorType.toLowerCase()) {
-            case "hardwood":
-                return 1; // Lower energy consumption
-            case "tile":
-                return 2; // Moderate energy consumption
-            case "carpet":
-                return 5; // Higher energy consumption for carpet
-            default:
-                return 1; // Default consumption
-        }
+    private int getMoveCost(int index) {
+        return energyGrid.getMoveCost(index);
     }
 
     /**
      * Shuts down the robot.
+     * @param reason Why the robot shut down, passed on to the listeners.
      */
-    private void shutdown() {
+    private void shutdown(NavigationListener.ShutdownReason reason) {
         isActive = false;
         shutdown = true;
-        System.out.println("Clean Sweep has shut down.");
-        logger.log("Clean Sweep has shut down.");
-        logger.close(); // Close the logger
+        phase = Phase.IDLE;
+        releaseTarget();
+        floorPlan.removeObstacleListener(obstacleListener);
+        revisionAtShutdown = floorPlan.getRevision();
+        for (NavigationListener listener : listeners) {
+            listener.shutDown(this, reason);
+        }
+        logger.shutdown(); // Drain and close the logger
     }
 
     /**
@@ -359,7 +1093,7 @@ public class CleanSweepNavigation {
         if (!isValidPosition(x, y)) {
             return false; // Out-of-bounds, no stairs detected
         }
-        return floorPlan.getCells()[y][x].isStairs(); // Check if the current cell has stairs
+        return floorPlan.isStairs(x, y); // Check if the current cell has stairs
     }
 
     // Existing movement methods (moveRight, moveLeft, moveUp, moveDown) remain unchanged
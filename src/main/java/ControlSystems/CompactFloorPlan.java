@@ -0,0 +1,246 @@
+package ControlSystems;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Floor plan stored as one packed byte per cell instead of a Cell object graph.
+ * The low four bits of each byte hold the {@link SurfaceType} ordinal and the
+ * upper bits hold the obstacle, charging station and stairs flags. Cells are
+ * addressed as {@code index = y * gridSize + x}; Cell views are created only
+ * when {@link #getCell(int, int)} is called. The bytes live in a ByteBuffer so
+ * a plan can be backed by the heap or by a memory-mapped binary file.
+ */
+public class CompactFloorPlan implements FloorGrid {
+    /** Mask selecting the surface type ordinal of a packed cell. */
+    public static final int SURFACE_MASK = 0x0F;
+    /** Flag bit set when the cell has an obstacle. */
+    public static final int OBSTACLE = 0x10;
+    /** Flag bit set when the cell has a charging station. */
+    public static final int CHARGING_STATION = 0x20;
+    /** Flag bit set when the cell has stairs. */
+    public static final int STAIRS = 0x40;
+
+    private final int gridSize;       // Width and height of the grid
+    private final ByteBuffer cells;   // Packed cells in row-major order
+    private int chargingStationCount; // Number of cells with a charging station
+    private long revision;            // Bumped when obstacles or stations change
+    private volatile ObstacleListener[] listeners = ObstacleListeners.NONE; // Notified when an obstacle flag changes
+
+    /**
+     * Creates a plan in which every cell is unobstructed hardwood.
+     * @param gridSize Width and height of the grid.
+     */
+    public CompactFloorPlan(int gridSize) {
+        this.gridSize = gridSize;
+        this.cells = ByteBuffer.allocate(gridSize * gridSize);
+    }
+
+    /**
+     * Wraps existing packed cells, e.g. a memory-mapped region of a binary plan.
+     * @param gridSize Width and height of the grid.
+     * @param cells Buffer of gridSize * gridSize packed cells starting at index 0.
+     * @param chargingStationCount Number of cells with a charging station.
+     */
+    public CompactFloorPlan(int gridSize, ByteBuffer cells, int chargingStationCount) {
+        if (cells.capacity() < gridSize * gridSize) {
+            throw new IllegalArgumentException("Buffer holds " + cells.capacity() + " cells, expected "
+                    + gridSize * gridSize);
+        }
+        this.gridSize = gridSize;
+        this.cells = cells;
+        this.chargingStationCount = chargingStationCount;
+    }
+
+    /**
+     * Packs an existing floor plan.
+     * @param floorPlan The floor plan to copy.
+     * @return Compact copy of the floor plan.
+     */
+    public static CompactFloorPlan fromFloorPlan(FloorGrid floorPlan) {
+        int gridSize = floorPlan.getGridSize();
+        CompactFloorPlan compact = new CompactFloorPlan(gridSize);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                compact.setCell(x, y, floorPlan.getSurfaceType(x, y), floorPlan.isObstacle(x, y),
+                        floorPlan.isChargingStation(x, y), floorPlan.isStairs(x, y));
+            }
+        }
+        return compact;
+    }
+
+    /**
+     * Packs cell properties into a single byte.
+     * @param type Surface type.
+     * @param obstacle True if the cell has an obstacle.
+     * @param chargingStation True if the cell has a charging station.
+     * @param stairs True if the cell has stairs.
+     * @return Packed cell.
+     */
+    public static byte pack(SurfaceType type, boolean obstacle, boolean chargingStation, boolean stairs) {
+        int packed = type.ordinal();
+        if (obstacle) {
+            packed |= OBSTACLE;
+        }
+        if (chargingStation) {
+            packed |= CHARGING_STATION;
+        }
+        if (stairs) {
+            packed |= STAIRS;
+        }
+        return (byte) packed;
+    }
+
+    /**
+     * Sets every property of a cell.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param type Surface type.
+     * @param obstacle True if the cell has an obstacle.
+     * @param chargingStation True if the cell has a charging station.
+     * @param stairs True if the cell has stairs.
+     */
+    public void setCell(int x, int y, SurfaceType type, boolean obstacle, boolean chargingStation, boolean stairs) {
+        setPacked(y * gridSize + x, pack(type, obstacle, chargingStation, stairs));
+    }
+
+    /**
+     * Sets whether a cell has an obstacle, keeping its other properties.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param obstacle True if the cell has an obstacle.
+     */
+    public void setObstacle(int x, int y, boolean obstacle) {
+        int index = y * gridSize + x;
+        int packed = cells.get(index);
+        setPacked(index, (byte) (obstacle ? packed | OBSTACLE : packed & ~OBSTACLE));
+    }
+
+    /**
+     * Gets the packed byte of a cell for use in hot loops.
+     * @param index Cell index.
+     * @return Packed cell.
+     */
+    public int getPacked(int index) {
+        return cells.get(index);
+    }
+
+    /**
+     * Replaces the packed byte of a cell.
+     * @param index Cell index.
+     * @param packed Packed cell.
+     */
+    public void setPacked(int index, byte packed) {
+        int previous = cells.get(index);
+        if ((previous & CHARGING_STATION) != 0) {
+            chargingStationCount--;
+        }
+        if ((packed & CHARGING_STATION) != 0) {
+            chargingStationCount++;
+        }
+        cells.put(index, packed);
+        if (((previous ^ packed) & CHARGING_STATION) != 0) {
+            revision++;
+        }
+        if (((previous ^ packed) & OBSTACLE) != 0) {
+            // Listeners expect one revision per event, so a station change above stays unreported
+            revision++;
+            for (ObstacleListener listener : listeners) {
+                listener.obstacleChanged(index % gridSize, index / gridSize, (packed & OBSTACLE) != 0);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void addObstacleListener(ObstacleListener listener) {
+        listeners = ObstacleListeners.add(listeners, listener);
+    }
+
+    @Override
+    public synchronized void removeObstacleListener(ObstacleListener listener) {
+        listeners = ObstacleListeners.remove(listeners, listener);
+    }
+
+    /**
+     * Gets the number of cells in the plan.
+     * @return Cell count.
+     */
+    public int getCellCount() {
+        return gridSize * gridSize;
+    }
+
+    /**
+     * Gets the number of cells with a charging station.
+     * @return Charging station count.
+     */
+    public int getChargingStationCount() {
+        return chargingStationCount;
+    }
+
+    /**
+     * Gets an independent view of the packed cells for bulk writes.
+     * @return Buffer positioned at the first cell and limited to the last.
+     */
+    ByteBuffer cellBuffer() {
+        ByteBuffer view = cells.duplicate();
+        view.clear().limit(getCellCount());
+        return view;
+    }
+
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+
+    @Override
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return (cells.get(y * gridSize + x) & OBSTACLE) != 0;
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return (cells.get(y * gridSize + x) & CHARGING_STATION) != 0;
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return (cells.get(y * gridSize + x) & STAIRS) != 0;
+    }
+
+    @Override
+    public String getType(int x, int y) {
+        return getSurfaceType(x, y).getLabel();
+    }
+
+    @Override
+    public SurfaceType getSurfaceType(int x, int y) {
+        return SurfaceType.fromOrdinal(cells.get(y * gridSize + x) & SURFACE_MASK);
+    }
+
+    @Override
+    public Cell getCell(int x, int y) {
+        int packed = cells.get(y * gridSize + x);
+        Cell cell = new Cell();
+        cell.setX(x);
+        cell.setY(y);
+        cell.setType(SurfaceType.fromOrdinal(packed & SURFACE_MASK).getLabel());
+        cell.setObstacle((packed & OBSTACLE) != 0);
+        cell.setChargingStation((packed & CHARGING_STATION) != 0);
+        cell.setStairs((packed & STAIRS) != 0);
+        return cell;
+    }
+
+    /**
+     * Checks if the floor plan has at least one charging station. The count is
+     * maintained as cells change, so this does not scan the grid.
+     * @return True if there is a charging station, false otherwise.
+     */
+    @Override
+    public boolean hasChargingStation() {
+        return chargingStationCount > 0;
+    }
+}
@@ -0,0 +1,40 @@
+package ControlSystems;
+
+import java.io.PrintStream;
+
+/**
+ * Log sink printing messages to the console without timestamps.
+ */
+public class ConsoleLogSink implements LogSink {
+    private final PrintStream out;
+
+    /**
+     * Creates a sink printing to standard output.
+     */
+    public ConsoleLogSink() {
+        this(System.out);
+    }
+
+    /**
+     * Creates a sink printing to the given stream.
+     * @param out Stream to print to.
+     */
+    public ConsoleLogSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(long timestampMillis, Logger.Level level, String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.flush(); // The console stream is shared, so it is never closed here
+    }
+}
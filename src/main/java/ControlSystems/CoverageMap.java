@@ -0,0 +1,276 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which cells of the floor plan have been visited, one bit per cell.
+ * Cells are addressed as {@code index = y * gridSize + x}, matching {@link GridSearch}.
+ * A second bitset marks the cleanable cells, those without an obstacle, so
+ * coverage is measured against the cells that can be cleaned and scans skip
+ * the ones that cannot.
+ */
+public class CoverageMap {
+    private final int cellCount;   // Number of cells tracked
+    private final long[] words;    // Visited bits, 64 cells per word
+    private final long[] cleanable; // Cleanable bits, same layout; padding bits stay clear
+    private int visitedCount;      // Number of bits currently set
+    private int cleanableCount;    // Number of cleanable bits set
+
+    /**
+     * Creates an empty coverage map in which every cell is cleanable.
+     * @param cellCount Number of cells to track.
+     */
+    public CoverageMap(int cellCount) {
+        this.cellCount = cellCount;
+        this.words = new long[(cellCount + 63) >>> 6];
+        this.cleanable = new long[words.length];
+        for (int index = 0; index < cellCount; index++) {
+            setCleanable(index, true);
+        }
+    }
+
+    /**
+     * Creates an empty coverage map for a floor plan, in which the cells
+     * without an obstacle are cleanable.
+     * @param floorPlan The floor plan to track.
+     */
+    public CoverageMap(FloorGrid floorPlan) {
+        this.cellCount = floorPlan.getGridSize() * floorPlan.getGridSize();
+        this.words = new long[(cellCount + 63) >>> 6];
+        this.cleanable = new long[words.length];
+        setCleanableCells(floorPlan);
+    }
+
+    /**
+     * Marks the cells without an obstacle as the cleanable ones, replacing the current marks.
+     * @param floorPlan Floor plan of the same size.
+     */
+    public void setCleanableCells(FloorGrid floorPlan) {
+        int gridSize = floorPlan.getGridSize();
+        Arrays.fill(cleanable, 0L);
+        cleanableCount = 0;
+        for (int index = 0; index < cellCount; index++) {
+            if (!floorPlan.isObstacle(index % gridSize, index / gridSize)) {
+                cleanable[index >>> 6] |= 1L << index;
+                cleanableCount++;
+            }
+        }
+    }
+
+    /**
+     * Sets whether a cell counts towards coverage, for example when an
+     * obstacle is placed on it or removed.
+     * @param index Cell index.
+     * @param cleanable True if the cell can be cleaned.
+     */
+    public void setCleanable(int index, boolean cleanable) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if (((this.cleanable[word] & bit) != 0) == cleanable) {
+            return;
+        }
+        this.cleanable[word] ^= bit;
+        cleanableCount += cleanable ? 1 : -1;
+    }
+
+    /**
+     * Checks if a cell counts towards coverage.
+     * @param index Cell index.
+     * @return True if the cell can be cleaned, false otherwise.
+     */
+    public boolean isCleanable(int index) {
+        return (cleanable[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the number of cells that count towards coverage.
+     * @return Cleanable cell count.
+     */
+    public int getCleanableCount() {
+        return cleanableCount;
+    }
+
+    /**
+     * Marks a cell as visited.
+     * @param index Cell index.
+     * @return True if the cell was not visited before, false otherwise.
+     */
+    public boolean visit(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        words[word] |= bit;
+        visitedCount++;
+        return true;
+    }
+
+    /**
+     * Checks if a cell has been visited.
+     * @param index Cell index.
+     * @return True if visited, false otherwise.
+     */
+    public boolean isVisited(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks if a cell has not been visited.
+     * @param index Cell index.
+     * @return True if unvisited, false otherwise.
+     */
+    public boolean isUnvisited(int index) {
+        return (words[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * Clears every visited bit.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        visitedCount = 0;
+    }
+
+    /**
+     * Marks every cell visited in another map as visited, for example to
+     * combine what several robots cleaned.
+     * @param other Coverage map of the same size.
+     */
+    public void union(CoverageMap other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        visitedCount = countVisited();
+    }
+
+    /**
+     * Gets the number of visited cells.
+     * @return Visited cell count.
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Gets the number of tracked cells.
+     * @return Cell count.
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * Recounts the visited cells with a popcount over the bitset.
+     * @return Visited cell count.
+     */
+    public int countVisited() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the visited cells that are also set in the given mask, using
+     * popcount on the intersection of the two bitsets.
+     * @param mask Coverage map of the same size, e.g. the cleanable cells.
+     * @return Number of cells set in both maps.
+     */
+    public int countVisited(CoverageMap mask) {
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i] & mask.words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the percentage of the cleanable cells that have been visited,
+     * counted with popcount over the intersection of the two bitsets.
+     * @return Coverage percentage between 0 and 100.
+     */
+    public double getCoveragePercentage() {
+        if (cleanableCount == 0) {
+            return 100.0;
+        }
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i] & cleanable[i]);
+        }
+        return 100.0 * count / cleanableCount;
+    }
+
+    /**
+     * Gets the percentage of the cells in a mask that have been visited.
+     * @param mask Coverage map of the same size marking the cells that count.
+     * @return Coverage percentage between 0 and 100.
+     */
+    public double getCoveragePercentage(CoverageMap mask) {
+        int total = mask.countVisited();
+        return total == 0 ? 100.0 : 100.0 * countVisited(mask) / total;
+    }
+
+    /**
+     * Finds the first unvisited cleanable cell at or after the given index.
+     * Words without one are skipped 64 cells at a time.
+     * @param fromIndex Index to start scanning from.
+     * @return Index of the next unvisited cleanable cell, or -1 if there is none.
+     */
+    public int nextUnvisited(int fromIndex) {
+        if (fromIndex >= cellCount) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long open = ~words[word] & cleanable[word] & (-1L << fromIndex);
+        while (open == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            open = ~words[word] & cleanable[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(open);
+    }
+
+    /**
+     * Finds the first word at or after the given word index that still has an
+     * unvisited cleanable cell, so planners can skip fully cleaned regions.
+     * @param fromWord Word index to start scanning from.
+     * @return Index of the word, or -1 if every remaining word is fully visited.
+     */
+    public int nextUnvisitedWord(int fromWord) {
+        for (int word = fromWord; word < words.length; word++) {
+            if ((~words[word] & cleanable[word]) != 0) {
+                return word;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the visited bits of one word.
+     * @param word Word index; covers cells {@code word * 64} to {@code word * 64 + 63}.
+     * @return Visited bits, cell {@code word * 64} in the lowest bit.
+     */
+    public long getWord(int word) {
+        return words[word];
+    }
+
+    /**
+     * Gets the cleanable bits of one word.
+     * @param word Word index; covers cells {@code word * 64} to {@code word * 64 + 63}.
+     * @return Cleanable bits, cell {@code word * 64} in the lowest bit.
+     */
+    public long getCleanableWord(int word) {
+        return cleanable[word];
+    }
+
+    /**
+     * Gets the number of 64-cell words in the bitset.
+     * @return Word count.
+     */
+    public int getWordCount() {
+        return words.length;
+    }
+}
@@ -0,0 +1,63 @@
+package ControlSystems;
+
+/**
+ * Result of a coverage planner: one route that visits every reachable free
+ * cell, as consecutive neighboring cell indices starting at the robot.
+ */
+public class CoveragePlan {
+    private final int[] route;          // Cell indices, start first; only the first length entries are valid
+    private final int length;           // Number of cells in the route, start included
+    private final int coveredCount;     // Distinct cells on the route
+    private final int regionCount;      // Regions the free space was decomposed into
+    private final int unreachableCount; // Free cells that could not be reached from the start
+    private final long planningNanos;   // Time taken to plan
+
+    /**
+     * Creates a coverage plan.
+     * @param route Route buffer, start first.
+     * @param length Number of valid entries in the route.
+     * @param coveredCount Distinct cells on the route.
+     * @param regionCount Number of regions the free space was decomposed into.
+     * @param unreachableCount Free cells that could not be reached.
+     * @param planningNanos Time taken to plan, in nanoseconds.
+     */
+    public CoveragePlan(int[] route, int length, int coveredCount, int regionCount, int unreachableCount,
+                        long planningNanos) {
+        this.route = route;
+        this.length = length;
+        this.coveredCount = coveredCount;
+        this.regionCount = regionCount;
+        this.unreachableCount = unreachableCount;
+        this.planningNanos = planningNanos;
+    }
+
+    public int[] getRoute() { return route; }
+    public int getLength() { return length; }
+    public int getCoveredCount() { return coveredCount; }
+    public int getRegionCount() { return regionCount; }
+    public int getUnreachableCount() { return unreachableCount; }
+    public long getPlanningNanos() { return planningNanos; }
+
+    /**
+     * Gets the number of moves along the route.
+     * @return Route length minus the start cell.
+     */
+    public int getMoveCount() {
+        return Math.max(0, length - 1);
+    }
+
+    /**
+     * Gets the share of moves that enter a cell already on the route.
+     * @return Revisiting moves divided by covered cells, 0 for a route without revisits.
+     */
+    public double getRevisitRatio() {
+        return coveredCount == 0 ? 0.0 : (double) (length - coveredCount) / coveredCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cells covered in %d moves (revisit ratio %.3f), %d regions, %d unreachable, "
+                + "planned in %.1f ms", coveredCount, getMoveCount(), getRevisitRatio(), regionCount,
+                unreachableCount, planningNanos / 1e6);
+    }
+}
@@ -0,0 +1,61 @@
+package ControlSystems;
+
+/**
+ * Energy costs of every cell of a floor, resolved once from an
+ * {@link EnergyModel}. The navigation, its charging station field and its
+ * path planner all read the same grid, so a move costs one array read and
+ * every estimate agrees with what the battery is charged.
+ */
+public class EnergyGrid {
+
+    private final int[] moveCost;          // Energy to enter each cell
+    private final int[] cleanCost;         // Energy of one cleaning action in each cell
+    private final float[] dirtMultiplier;  // Extra fraction of the clean cost per dirt unit above one
+    private final int minMoveCost;         // Smallest move cost of any cell
+
+    EnergyGrid(int[] moveCost, int[] cleanCost, float[] dirtMultiplier) {
+        this.moveCost = moveCost;
+        this.cleanCost = cleanCost;
+        this.dirtMultiplier = dirtMultiplier;
+        int min = Integer.MAX_VALUE;
+        for (int cost : moveCost) {
+            min = Math.min(min, cost);
+        }
+        this.minMoveCost = moveCost.length == 0 ? 0 : min;
+    }
+
+    public int getCellCount() { return moveCost.length; }
+    public int getMinMoveCost() { return minMoveCost; }
+
+    /**
+     * Gets the energy needed to move into a cell.
+     * @param index Cell index.
+     * @return Energy cost.
+     */
+    public int getMoveCost(int index) {
+        return moveCost[index];
+    }
+
+    /**
+     * Gets the energy of one cleaning action in a cell holding one unit of dirt.
+     * @param index Cell index.
+     * @return Energy cost.
+     */
+    public int getCleanCost(int index) {
+        return cleanCost[index];
+    }
+
+    /**
+     * Gets the energy of one cleaning action in a cell, scaled by its dirt level.
+     * @param index Cell index.
+     * @param dirt Units of dirt in the cell before the action.
+     * @return Energy cost.
+     */
+    public int getCleanEnergy(int index, int dirt) {
+        float multiplier = dirtMultiplier[index];
+        if (multiplier == 0 || dirt <= 1) {
+            return cleanCost[index];
+        }
+        return Math.round(cleanCost[index] * (1 + multiplier * (dirt - 1)));
+    }
+}
@@ -0,0 +1,187 @@
+package ControlSystems;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Energy the robot spends per surface type: the cost of moving into a cell,
+ * the cost of one cleaning action there, and a dirt multiplier that makes each
+ * action dearer on dirtier cells. A model is configured once, usually from a
+ * JSON file, and resolved against a floor plan into an {@link EnergyGrid} so
+ * the hot paths read costs from primitive arrays instead of mapping surface
+ * names on every move.
+ * <p>
+ * The configuration lists only the surfaces it changes; the others keep their
+ * defaults:
+ * <pre>
+ * { "surfaces": {
+ *     "carpet": { "move": 4, "clean": 3, "dirtMultiplier": 0.25 },
+ *     "tile":   { "move": 2 } } }
+ * </pre>
+ * Costs range from 0 to {@link #MAX_COST}.
+ */
+public class EnergyModel {
+    /**
+     * Largest move or clean cost accepted. The charging station field keeps a
+     * bucket per cost value, and path energies are summed in an int, which
+     * this bound keeps from overflowing for paths of up to 8 million cells.
+     */
+    public static final int MAX_COST = 255;
+
+    private static final SurfaceType[] SURFACES = SurfaceType.values();
+
+    private final int[] moveCosts = new int[SURFACES.length];     // Energy to enter a cell, by surface ordinal
+    private final int[] cleanCosts = new int[SURFACES.length];    // Energy of one cleaning action, by surface ordinal
+    private final float[] dirtMultipliers = new float[SURFACES.length]; // Extra fraction per dirt unit above one
+
+    /**
+     * Creates a model with the default costs: hardwood, bare floor and unknown
+     * surfaces cost 1 to move into or clean, tile and low-pile carpet 2,
+     * high-pile carpet 3 and carpet 5, and dirt does not change the cost of cleaning.
+     */
+    public EnergyModel() {
+        setCosts(SurfaceType.HARDWOOD, 1, 1);
+        setCosts(SurfaceType.TILE, 2, 2);
+        setCosts(SurfaceType.CARPET, 5, 5);
+        setCosts(SurfaceType.BARE_FLOOR, 1, 1);
+        setCosts(SurfaceType.LOW_PILE_CARPET, 2, 2);
+        setCosts(SurfaceType.HIGH_PILE_CARPET, 3, 3);
+        setCosts(SurfaceType.UNKNOWN, 1, 1);
+    }
+
+    /**
+     * Loads a model from a JSON file.
+     * @param path Path of the JSON file.
+     * @return Model with the file's costs over the defaults.
+     * @throws IOException If there is an error reading the file, it names an unknown surface or a
+     *                     value is out of range.
+     */
+    public static EnergyModel load(Path path) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return load(inputStream);
+        }
+    }
+
+    /**
+     * Loads a model from a JSON stream.
+     * @param inputStream InputStream of the JSON configuration.
+     * @return Model with the stream's costs over the defaults.
+     * @throws IOException If there is an error reading the stream, it names an unknown surface or a
+     *                     value is out of range.
+     */
+    public static EnergyModel load(InputStream inputStream) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(inputStream);
+        EnergyModel model = new EnergyModel();
+        JsonNode surfaces = root == null ? null : root.get("surfaces");
+        if (surfaces == null) {
+            return model;
+        }
+        Iterator<Map.Entry<String, JsonNode>> entries = surfaces.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            SurfaceType surface = SurfaceType.fromLabel(entry.getKey());
+            if (surface == SurfaceType.UNKNOWN && !entry.getKey().equalsIgnoreCase(SurfaceType.UNKNOWN.getLabel())) {
+                throw new IOException("Unknown surface in energy model: " + entry.getKey());
+            }
+            JsonNode costs = entry.getValue();
+            try {
+                model.setCosts(surface, readCost(costs, "move", model.getMoveCost(surface)),
+                        readCost(costs, "clean", model.getCleanCost(surface)));
+                model.setDirtMultiplier(surface, (float) costs.path("dirtMultiplier").asDouble(
+                        model.getDirtMultiplier(surface)));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid energy model entry: " + e.getMessage());
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Reads one cost of a surface entry, rejecting values that do not fit an int
+     * instead of letting them wrap.
+     */
+    private static int readCost(JsonNode costs, String field, int fallback) {
+        JsonNode value = costs.path(field);
+        if (value.isMissingNode()) {
+            return fallback;
+        }
+        if (!value.canConvertToInt()) {
+            throw new IllegalArgumentException(field + " cost " + value + " is out of range");
+        }
+        return value.asInt();
+    }
+
+    public int getMoveCost(SurfaceType surface) { return moveCosts[surface.ordinal()]; }
+    public int getCleanCost(SurfaceType surface) { return cleanCosts[surface.ordinal()]; }
+    public float getDirtMultiplier(SurfaceType surface) { return dirtMultipliers[surface.ordinal()]; }
+
+    /**
+     * Sets the energy costs of a surface.
+     * @param surface Surface type.
+     * @param moveCost Energy to move into a cell of this surface, from 0 to {@link #MAX_COST}.
+     * @param cleanCost Energy of one cleaning action on this surface, from 0 to {@link #MAX_COST}.
+     */
+    public void setCosts(SurfaceType surface, int moveCost, int cleanCost) {
+        if (moveCost < 0 || cleanCost < 0 || moveCost > MAX_COST || cleanCost > MAX_COST) {
+            throw new IllegalArgumentException("Energy costs must be between 0 and " + MAX_COST + ": "
+                    + surface.getLabel());
+        }
+        moveCosts[surface.ordinal()] = moveCost;
+        cleanCosts[surface.ordinal()] = cleanCost;
+    }
+
+    /**
+     * Sets how much dirtier cells raise the cost of cleaning a surface. An
+     * action on a cell holding {@code d} units costs the clean cost times
+     * {@code 1 + multiplier * (d - 1)}, rounded.
+     * @param surface Surface type.
+     * @param multiplier Extra fraction of the clean cost per unit of dirt above one, at least 0.
+     */
+    public void setDirtMultiplier(SurfaceType surface, float multiplier) {
+        if (multiplier < 0) {
+            throw new IllegalArgumentException("Dirt multiplier must not be negative: " + surface.getLabel());
+        }
+        dirtMultipliers[surface.ordinal()] = multiplier;
+    }
+
+    /**
+     * Resolves the model against a floor plan. Surface types are fixed for the
+     * life of a plan, so the grid stays valid as obstacles change.
+     * @param floorPlan The floor plan to resolve.
+     * @return Per-cell costs indexed y * gridSize + x.
+     */
+    public EnergyGrid resolve(FloorGrid floorPlan) {
+        int gridSize = floorPlan.getGridSize();
+        SurfaceType[] surfaces = new SurfaceType[gridSize * gridSize];
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                surfaces[y * gridSize + x] = floorPlan.getSurfaceType(x, y);
+            }
+        }
+        return resolve(surfaces);
+    }
+
+    /**
+     * Resolves the model against the surfaces of a grid.
+     * @param surfaces Surface type of each cell, by cell index.
+     * @return Per-cell costs with the same indexing.
+     */
+    public EnergyGrid resolve(SurfaceType[] surfaces) {
+        int[] move = new int[surfaces.length];
+        int[] clean = new int[surfaces.length];
+        float[] dirt = new float[surfaces.length];
+        for (int index = 0; index < surfaces.length; index++) {
+            int ordinal = surfaces[index].ordinal();
+            move[index] = moveCosts[ordinal];
+            clean[index] = cleanCosts[ordinal];
+            dirt[index] = dirtMultipliers[ordinal];
+        }
+        return new EnergyGrid(move, clean, dirt);
+    }
+}
@@ -0,0 +1,50 @@
+package ControlSystems;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Log sink appending timestamped lines to a text file.
+ */
+public class FileLogSink implements LogSink {
+    private final Writer writer;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private long cachedMillis = Long.MIN_VALUE; // Timestamp of the cached prefix
+    private String cachedPrefix;                // Formatted "timestamp - " for cachedMillis
+
+    /**
+     * Opens the log file for appending.
+     * @param filename Name of the log file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public FileLogSink(String filename) throws IOException {
+        writer = new BufferedWriter(new FileWriter(filename, true), 1 << 16);
+    }
+
+    @Override
+    public void write(long timestampMillis, Logger.Level level, String message) throws IOException {
+        if (timestampMillis != cachedMillis) {
+            // Entries logged in the same millisecond share one formatted prefix
+            cachedPrefix = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), zone) + " - ";
+            cachedMillis = timestampMillis;
+        }
+        writer.write(cachedPrefix);
+        writer.write(message);
+        writer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,92 @@
+package ControlSystems;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated results of a {@link FleetSimulator} run.
+ */
+public class FleetReport {
+
+    /**
+     * Final state of one simulated robot.
+     */
+    public static class RobotResult {
+        private final int robotId;        // Index of the robot in the fleet
+        private final int planIndex;      // Index of the floor plan it cleaned
+        private final int cellsCleaned;   // Distinct cells this robot visited
+        private final long steps;         // Cell moves made
+        private final int chargeCycles;   // Recharges completed
+        private final int batteryLevel;   // Battery level at shutdown
+
+        public RobotResult(int robotId, int planIndex, int cellsCleaned, long steps, int chargeCycles,
+                           int batteryLevel) {
+            this.robotId = robotId;
+            this.planIndex = planIndex;
+            this.cellsCleaned = cellsCleaned;
+            this.steps = steps;
+            this.chargeCycles = chargeCycles;
+            this.batteryLevel = batteryLevel;
+        }
+
+        public int getRobotId() { return robotId; }
+        public int getPlanIndex() { return planIndex; }
+        public int getCellsCleaned() { return cellsCleaned; }
+        public long getSteps() { return steps; }
+        public int getChargeCycles() { return chargeCycles; }
+        public int getBatteryLevel() { return batteryLevel; }
+    }
+
+    private final List<RobotResult> robots;
+    private final long elapsedNanos;
+    private final int parallelism;
+    private final long cellsCleaned;  // Distinct cells cleaned over all plans
+    private long steps;
+    private long chargeCycles;
+    private long maxSteps;
+
+    /**
+     * Aggregates per-robot results.
+     * @param robots Results of every robot.
+     * @param cellsCleaned Distinct cells cleaned by any robot, summed over the floor plans. Robots
+     *                     passing through cells another robot cleaned make this less than the sum
+     *                     of their own counts.
+     * @param elapsedNanos Wall-clock duration of the run.
+     * @param parallelism Number of worker threads used.
+     */
+    public FleetReport(List<RobotResult> robots, long cellsCleaned, long elapsedNanos, int parallelism) {
+        this.robots = Collections.unmodifiableList(robots);
+        this.cellsCleaned = cellsCleaned;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+        for (RobotResult robot : robots) {
+            steps += robot.getSteps();
+            chargeCycles += robot.getChargeCycles();
+            maxSteps = Math.max(maxSteps, robot.getSteps());
+        }
+    }
+
+    public List<RobotResult> getRobots() { return robots; }
+    public int getRobotCount() { return robots.size(); }
+    public long getCellsCleaned() { return cellsCleaned; }
+    public long getSteps() { return steps; }
+    public long getChargeCycles() { return chargeCycles; }
+    public long getMaxSteps() { return maxSteps; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public int getParallelism() { return parallelism; }
+
+    /**
+     * Gets the simulation throughput across all robots.
+     * @return Robot steps simulated per wall-clock second.
+     */
+    public double getStepsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : steps * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d robots on %d threads: %,d cells cleaned, %,d steps, %,d charge cycles in %.1f ms"
+                        + " (%,.0f steps/sec)", robots.size(), parallelism, cellsCleaned, steps, chargeCycles,
+                elapsedNanos / 1e6, getStepsPerSecond());
+    }
+}
@@ -0,0 +1,208 @@
+package ControlSystems;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Runs many independent Clean Sweep robots concurrently on a work-stealing pool.
+ * Floor plans are shared between robots and must not be modified during a run;
+ * every robot has its own navigation state and logger, so robots never contend.
+ * Data derived from a plan, its energy grid and charging station field, is
+ * built once before the run and read by all of the plan's robots.
+ * In cooperative mode robots on the same plan share a {@link SharedCoverageMap}
+ * and divide the floor between them instead of each cleaning all of it.
+ */
+public class FleetSimulator {
+
+    private final List<FloorGrid> plans = new ArrayList<>();
+    private final List<int[]> robots = new ArrayList<>(); // {planIndex, startX, startY}
+    private final int parallelism;
+    private IntFunction<Logger> loggerFactory = id -> new Logger(); // Silent by default
+    private boolean cooperative;           // Robots on one plan share coverage
+    private EnergyModel energyModel = new EnergyModel(); // Resolved once per plan for all its robots
+
+    /**
+     * Creates a simulator using every available processor.
+     */
+    public FleetSimulator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a simulator with a fixed number of worker threads.
+     * @param parallelism Number of worker threads.
+     */
+    public FleetSimulator(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Sets how each robot's logger is created.
+     * @param loggerFactory Function from robot id to a logger owned by that robot.
+     */
+    public void setLoggerFactory(IntFunction<Logger> loggerFactory) {
+        this.loggerFactory = loggerFactory;
+    }
+
+    /**
+     * Sets whether robots on the same plan share coverage.
+     * @param cooperative True to divide each floor between its robots.
+     */
+    public void setCooperative(boolean cooperative) {
+        this.cooperative = cooperative;
+    }
+
+    /**
+     * Sets the energy the robots spend per surface.
+     * @param energyModel Energy costs per surface.
+     */
+    public void setEnergyModel(EnergyModel energyModel) {
+        this.energyModel = energyModel;
+    }
+
+    /**
+     * Adds a robot at a given start position.
+     * @param plan Floor plan the robot cleans.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @return Id of the new robot.
+     */
+    public int addRobot(FloorGrid plan, int startX, int startY) {
+        int planIndex = plans.indexOf(plan);
+        if (planIndex < 0) {
+            planIndex = plans.size();
+            plans.add(plan);
+        }
+        robots.add(new int[] { planIndex, startX, startY });
+        return robots.size() - 1;
+    }
+
+    /**
+     * Adds robots spread evenly over the obstacle-free cells of a plan.
+     * @param plan Floor plan the robots clean.
+     * @param count Number of robots to add.
+     */
+    public void addRobots(FloorGrid plan, int count) {
+        int gridSize = plan.getGridSize();
+        long cells = (long) gridSize * gridSize;
+        for (int i = 0; i < count; i++) {
+            long index = cells * i / count;
+            // Walk forward to the next free cell, wrapping around the grid
+            for (long probe = 0; probe < cells; probe++) {
+                int candidate = (int) ((index + probe) % cells);
+                if (!plan.isObstacle(candidate % gridSize, candidate / gridSize)) {
+                    addRobot(plan, candidate % gridSize, candidate / gridSize);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs every robot until it shuts down.
+     * @return Aggregated results.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public FleetReport run() throws InterruptedException {
+        SharedCoverageMap[] shared = new SharedCoverageMap[plans.size()];
+        EnergyGrid[] energyGrids = new EnergyGrid[plans.size()];
+        ChargingStationField[] chargingFields = new ChargingStationField[plans.size()];
+        CoverageMap[] cleaned = new CoverageMap[plans.size()]; // Union of what the plan's robots cleaned
+        for (int i = 0; i < energyGrids.length; i++) {
+            energyGrids[i] = energyModel.resolve(plans.get(i));
+            chargingFields[i] = new ChargingStationField(plans.get(i), energyGrids[i]::getMoveCost);
+            chargingFields[i].ensureCurrent(); // Built here, so the robots' threads only read it
+            int gridSize = plans.get(i).getGridSize();
+            cleaned[i] = new CoverageMap(gridSize * gridSize);
+        }
+        if (cooperative) {
+            for (int i = 0; i < shared.length; i++) {
+                int gridSize = plans.get(i).getGridSize();
+                shared[i] = new SharedCoverageMap(gridSize * gridSize);
+            }
+        }
+
+        List<Callable<FleetReport.RobotResult>> tasks = new ArrayList<>(robots.size());
+        for (int id = 0; id < robots.size(); id++) {
+            int robotId = id;
+            int[] spec = robots.get(id);
+            tasks.add(() -> simulate(robotId, spec[0], spec[1], spec[2], shared[spec[0]],
+                    energyGrids[spec[0]], chargingFields[spec[0]], cleaned[spec[0]]));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            List<Future<FleetReport.RobotResult>> futures = pool.invokeAll(tasks);
+            List<FleetReport.RobotResult> results = new ArrayList<>(futures.size());
+            for (Future<FleetReport.RobotResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Robot simulation failed", e.getCause());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            long cellsCleaned = 0;
+            for (CoverageMap plan : cleaned) {
+                cellsCleaned += plan.getVisitedCount();
+            }
+            return new FleetReport(results, cellsCleaned, elapsed, parallelism);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private FleetReport.RobotResult simulate(int robotId, int planIndex, int startX, int startY,
+                                             SharedCoverageMap shared, EnergyGrid energyGrid,
+                                             ChargingStationField chargingField, CoverageMap cleaned) {
+        CleanSweepNavigation robot = new CleanSweepNavigation(startX, startY, plans.get(planIndex),
+                loggerFactory.apply(robotId), energyGrid, chargingField);
+        robot.setSharedCoverage(shared);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        synchronized (cleaned) {
+            cleaned.union(robot.getCoverageMap());
+        }
+        return new FleetReport.RobotResult(robotId, planIndex, robot.getCoverageMap().getVisitedCount(),
+                robot.getStepCount(), robot.getChargeCycles(), robot.getBatteryLevel());
+    }
+
+    /**
+     * Simulates a fleet on one or more floor plan files.
+     * Usage: {@code FleetSimulator <robotsPerPlan> <threads> <plan>...}; set the
+     * system property {@code cooperative=true} to share coverage per plan and
+     * {@code energyModel=<file.json>} to load surface energy costs.
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: FleetSimulator <robotsPerPlan> <threads> <plan.json|plan.cfp>...");
+            return;
+        }
+        try {
+            int robotsPerPlan = Integer.parseInt(args[0]);
+            FleetSimulator simulator = new FleetSimulator(Integer.parseInt(args[1]));
+            simulator.setCooperative(Boolean.getBoolean("cooperative"));
+            if (System.getProperty("energyModel") != null) {
+                simulator.setEnergyModel(EnergyModel.load(Paths.get(System.getProperty("energyModel"))));
+            }
+            for (int i = 2; i < args.length; i++) {
+                simulator.addRobots(FloorPlanLoader.loadFloorPlan(Paths.get(args[i])), robotsPerPlan);
+            }
+            System.out.println(simulator.run());
+        } catch (IOException e) {
+            System.err.println("Error loading floor plan or energy model: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Simulation interrupted.");
+        }
+    }
+}
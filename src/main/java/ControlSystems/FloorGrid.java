@@ -0,0 +1,90 @@
+package ControlSystems;
+
+/**
+ * Read access to a square floor plan grid, independent of how the cells are stored.
+ */
+public interface FloorGrid {
+
+    /**
+     * Gets the size of the grid.
+     * @return Width and height of the grid.
+     */
+    int getGridSize();
+
+    /**
+     * Checks if the cell has an obstacle.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return True if there is an obstacle, false otherwise.
+     */
+    boolean isObstacle(int x, int y);
+
+    /**
+     * Checks if the cell has a charging station.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return True if there is a charging station, false otherwise.
+     */
+    boolean isChargingStation(int x, int y);
+
+    /**
+     * Checks if the cell has stairs.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return True if there are stairs, false otherwise.
+     */
+    boolean isStairs(int x, int y);
+
+    /**
+     * Gets the floor type name of the cell.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return Floor type (e.g., hardwood, carpet, tile).
+     */
+    String getType(int x, int y);
+
+    /**
+     * Gets the surface type of the cell.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return Surface type.
+     */
+    SurfaceType getSurfaceType(int x, int y);
+
+    /**
+     * Gets a Cell view of the given position. Implementations that do not store
+     * Cell objects create the view on demand, so it should not be used in hot loops.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return Cell at the position.
+     */
+    Cell getCell(int x, int y);
+
+    /**
+     * Checks if the floor plan has at least one charging station.
+     * @return True if there is a charging station, false otherwise.
+     */
+    boolean hasChargingStation();
+
+    /**
+     * Gets a counter that changes whenever obstacles or charging stations change
+     * through the floor plan's own mutators, so derived data can be cached.
+     * @return Current revision.
+     */
+    long getRevision();
+
+    /**
+     * Registers a listener for obstacle changes made through this plan's mutators.
+     * Plans that never change need not keep listeners, which is the default.
+     * @param listener Listener to call after each change.
+     */
+    default void addObstacleListener(ObstacleListener listener) {
+    }
+
+    /**
+     * Unregisters a listener added with {@link #addObstacleListener(ObstacleListener)}.
+     * @param listener Listener to remove; unknown listeners are ignored.
+     */
+    default void removeObstacleListener(ObstacleListener listener) {
+    }
+}
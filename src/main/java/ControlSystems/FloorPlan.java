@@ -6,9 +6,11 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  * Represents the floor plan consisting of a grid of cells.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class FloorPlan {
+public class FloorPlan implements FloorGrid {
     private int gridSize;   // Size of the grid (e.g., 10 for a 10x10 grid)
     private Cell[][] cells; // 2D array representing the grid of cells
+    private long revision;  // Bumped by setObstacle and setCells
+    private volatile ObstacleListener[] listeners = ObstacleListeners.NONE; // Notified by setObstacle
 
     // Default constructor
     public FloorPlan() {
@@ -18,6 +20,7 @@ public class FloorPlan {
      * Checks if the floor plan has at least one charging station.
      * @return True if there is a charging station, false otherwise.
      */
+    @Override
     public boolean hasChargingStation() {
         for (int y = 0; y < gridSize; y++) {
             for (int x = 0; x < gridSize; x++) {
@@ -29,12 +32,81 @@ public class FloorPlan {
         return false;
     }
 
+    @Override
+    public boolean isObstacle(int x, int y) {
+        return cells[y][x].isObstacle();
+    }
+
+    @Override
+    public boolean isChargingStation(int x, int y) {
+        return cells[y][x].isChargingStation();
+    }
+
+    @Override
+    public boolean isStairs(int x, int y) {
+        return cells[y][x].isStairs();
+    }
+
+    @Override
+    public String getType(int x, int y) {
+        return cells[y][x].getType();
+    }
+
+    @Override
+    public SurfaceType getSurfaceType(int x, int y) {
+        return SurfaceType.fromLabel(cells[y][x].getType());
+    }
+
+    @Override
+    public Cell getCell(int x, int y) {
+        return cells[y][x];
+    }
+
+    /**
+     * Gets the revision counter. Changes made directly on Cell objects are not
+     * counted; use {@link #setObstacle(int, int, boolean)} so caches notice them.
+     * @return Current revision.
+     */
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Sets whether a cell has an obstacle. If that changes the cell, bumps the
+     * revision and notifies the obstacle listeners.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param obstacle True if the cell has an obstacle.
+     */
+    public void setObstacle(int x, int y, boolean obstacle) {
+        if (cells[y][x].isObstacle() == obstacle) {
+            return;
+        }
+        cells[y][x].setObstacle(obstacle);
+        revision++;
+        for (ObstacleListener listener : listeners) {
+            listener.obstacleChanged(x, y, obstacle);
+        }
+    }
+
+    @Override
+    public synchronized void addObstacleListener(ObstacleListener listener) {
+        listeners = ObstacleListeners.add(listeners, listener);
+    }
+
+    @Override
+    public synchronized void removeObstacleListener(ObstacleListener listener) {
+        listeners = ObstacleListeners.remove(listeners, listener);
+    }
+
     // Getters and setters
 
     /**
      * Gets the size of the grid.
      * @return Grid size as an integer.
      */
+    @Override
     public int getGridSize() {
         return gridSize;
     }
@@ -61,5 +133,6 @@ public class FloorPlan {
      */
     public void setCells(Cell[][] cells) {
         this.cells = cells;
+        revision++;
     }
 }
@@ -0,0 +1,43 @@
+package ControlSystems;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line tool converting a JSON floor plan to the binary format.
+ * Usage: {@code FloorPlanConverter <input.json> [output.cfp]}
+ */
+public class FloorPlanConverter {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: FloorPlanConverter <input.json> [output" + BinaryFloorPlanFile.EXTENSION + "]");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        Path output = args.length > 1 ? Paths.get(args[1]) : defaultOutput(input);
+        try {
+            convert(input, output);
+            System.out.println("Wrote " + output);
+        } catch (IOException e) {
+            System.err.println("Error converting floor plan: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converts a JSON floor plan to the binary format.
+     * @param input Path of the JSON floor plan.
+     * @param output Path of the binary file to write.
+     * @throws IOException If the input cannot be parsed or the output cannot be written.
+     */
+    public static void convert(Path input, Path output) throws IOException {
+        BinaryFloorPlanFile.write(FloorPlanLoader.loadFloorPlan(input), output);
+    }
+
+    private static Path defaultOutput(Path input) {
+        String name = input.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return input.resolveSibling(base + BinaryFloorPlanFile.EXTENSION);
+    }
+}
@@ -0,0 +1,421 @@
+package ControlSystems;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Generates floor plans of any size from a seed, for scale and stress tests.
+ * The floor is divided into square rooms with a door in every wall, the rooms
+ * are grouped into bands separated by corridors, and each room gets one
+ * surface, some furniture and occasionally a flight of stairs. Charging
+ * stations sit in the corner of every few rooms.
+ * <p>
+ * Every cell is computed from the seed and its own coordinates, so the same
+ * settings always give the same plan and any row can be produced on its own.
+ * That lets {@link #write(int, Path)} stream plans far larger than memory
+ * straight to disk, one row at a time.
+ * Usage: {@code FloorPlanGenerator <gridSize> <output.json|output.cfp> [seed]}
+ */
+public class FloorPlanGenerator {
+    /** Size of the surface, stairs and station patches of a floor without rooms. */
+    public static final int OPEN_PATCH = 16;
+
+    // Salts keeping the hashes of different decisions about one cell or room independent
+    private static final long FURNITURE = 1;
+    private static final long DOOR_RIGHT = 2;
+    private static final long DOOR_BOTTOM = 3;
+    private static final long DOOR_TOP = 4;
+    private static final long SURFACE = 5;
+    private static final long STAIRS = 6;
+
+    private static final int ROW_BUFFER = 1 << 16; // Bytes written to a binary file at a time
+
+    private final long seed;
+    private int roomSize = 12;             // Room pitch in cells, its right and bottom walls included; 0 for no walls
+    private int roomsPerBand = 3;          // Rows of rooms between two corridors
+    private int corridorWidth = 2;         // Width of the corridors; 0 for none
+    private int doorWidth = 2;             // Width of the door in each wall
+    private double obstacleDensity = 0.05; // Fraction of furnished cells inside rooms
+    private double stairsRate = 0.02;      // Fraction of rooms with a flight of stairs
+    private int stationSpacing = 4;        // Rooms between charging stations, along both axes
+    private final int[] surfaceWeights = new int[SurfaceType.values().length]; // Relative frequency of room surfaces
+    private int totalWeight;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: FloorPlanGenerator <gridSize> <output.json|output"
+                    + BinaryFloorPlanFile.EXTENSION + "> [seed]");
+            return;
+        }
+        int gridSize = Integer.parseInt(args[0]);
+        Path output = Paths.get(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        try {
+            new FloorPlanGenerator(seed).write(gridSize, output);
+            System.out.println("Wrote " + output + " (" + Files.size(output) + " bytes)");
+        } catch (IOException e) {
+            System.err.println("Error writing floor plan: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a generator with the default layout: 12-cell rooms in bands of
+     * three, mostly hardwood, with a little furniture.
+     * @param seed Seed from which every cell is derived.
+     */
+    public FloorPlanGenerator(long seed) {
+        this.seed = seed;
+        setSurfaceWeight(SurfaceType.HARDWOOD, 5);
+        setSurfaceWeight(SurfaceType.TILE, 2);
+        setSurfaceWeight(SurfaceType.CARPET, 3);
+    }
+
+    /**
+     * Sets the room size. Without rooms the floor is one open space.
+     * @param roomSize Room pitch in cells, walls included, or 0 for no walls.
+     * @throws IllegalArgumentException If the rooms are too small for their doors.
+     */
+    public void setRoomSize(int roomSize) {
+        if (roomSize != 0 && roomSize < doorWidth + 2) {
+            throw new IllegalArgumentException("Rooms of " + roomSize + " cells cannot fit a door of " + doorWidth);
+        }
+        this.roomSize = roomSize;
+    }
+
+    /**
+     * Sets how rooms are grouped between corridors.
+     * @param roomsPerBand Rows of rooms between two corridors, at least 1.
+     * @param corridorWidth Width of the corridors, or 0 for none.
+     */
+    public void setCorridors(int roomsPerBand, int corridorWidth) {
+        if (roomsPerBand < 1 || corridorWidth < 0) {
+            throw new IllegalArgumentException("Invalid corridors: " + roomsPerBand + " rooms, width " + corridorWidth);
+        }
+        this.roomsPerBand = roomsPerBand;
+        this.corridorWidth = corridorWidth;
+    }
+
+    /**
+     * Sets the width of the door in each wall.
+     * @param doorWidth Door width, at least 1 and at most the room size minus 2.
+     */
+    public void setDoorWidth(int doorWidth) {
+        if (doorWidth < 1 || roomSize != 0 && doorWidth > roomSize - 2) {
+            throw new IllegalArgumentException("Doors of " + doorWidth + " cells do not fit rooms of " + roomSize);
+        }
+        this.doorWidth = doorWidth;
+    }
+
+    /**
+     * Sets how much furniture there is. A walkway along the walls of each room
+     * is kept clear so furniture never blocks a door.
+     * @param obstacleDensity Fraction of the remaining room cells that are obstacles.
+     */
+    public void setObstacleDensity(double obstacleDensity) {
+        this.obstacleDensity = obstacleDensity;
+    }
+
+    /**
+     * Sets how many rooms have a two-by-two flight of stairs in the middle.
+     * @param stairsRate Fraction of rooms with stairs.
+     */
+    public void setStairsRate(double stairsRate) {
+        this.stairsRate = stairsRate;
+    }
+
+    /**
+     * Sets how far apart the charging stations are. The first room always has one.
+     * @param stationSpacing Rooms between stations along both axes, at least 1.
+     */
+    public void setStationSpacing(int stationSpacing) {
+        if (stationSpacing < 1) {
+            throw new IllegalArgumentException("Station spacing must be positive: " + stationSpacing);
+        }
+        this.stationSpacing = stationSpacing;
+    }
+
+    /**
+     * Sets how often rooms get a surface.
+     * @param type Surface type.
+     * @param weight Relative frequency, 0 to never use the surface.
+     */
+    public void setSurfaceWeight(SurfaceType type, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for " + type + ": " + weight);
+        }
+        totalWeight += weight - surfaceWeights[type.ordinal()];
+        surfaceWeights[type.ordinal()] = weight;
+    }
+
+    /**
+     * Generates a plan into a compact grid.
+     * @param gridSize Width and height of the grid.
+     * @return The generated plan.
+     */
+    public CompactFloorPlan generate(int gridSize) {
+        ByteBuffer cells = ByteBuffer.allocate(gridSize * gridSize);
+        byte[] row = new byte[gridSize];
+        int stations = 0;
+        for (int y = 0; y < gridSize; y++) {
+            stations += generateRow(y, gridSize, row);
+            cells.put(row);
+        }
+        cells.clear();
+        return new CompactFloorPlan(gridSize, cells, stations);
+    }
+
+    /**
+     * Generates a plan of Cell objects, as loaded from a JSON file.
+     * @param gridSize Width and height of the grid.
+     * @return The generated plan.
+     */
+    public FloorPlan generateFloorPlan(int gridSize) {
+        Cell[][] cells = new Cell[gridSize][gridSize];
+        byte[] row = new byte[gridSize];
+        for (int y = 0; y < gridSize; y++) {
+            generateRow(y, gridSize, row);
+            for (int x = 0; x < gridSize; x++) {
+                Cell cell = new Cell();
+                cell.setX(x);
+                cell.setY(y);
+                cell.setType(SurfaceType.fromOrdinal(row[x] & CompactFloorPlan.SURFACE_MASK).getLabel());
+                cell.setObstacle((row[x] & CompactFloorPlan.OBSTACLE) != 0);
+                cell.setChargingStation((row[x] & CompactFloorPlan.CHARGING_STATION) != 0);
+                cell.setStairs((row[x] & CompactFloorPlan.STAIRS) != 0);
+                cells[y][x] = cell;
+            }
+        }
+        FloorPlan floorPlan = new FloorPlan();
+        floorPlan.setGridSize(gridSize);
+        floorPlan.setCells(cells);
+        return floorPlan;
+    }
+
+    /**
+     * Streams a plan to a file, choosing the format by extension like
+     * {@link FloorPlanLoader#loadFloorPlan(Path)}. Only one row is held in memory.
+     * @param gridSize Width and height of the grid.
+     * @param path Destination path; an existing file is replaced.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(int gridSize, Path path) throws IOException {
+        if (path.getFileName().toString().toLowerCase().endsWith(BinaryFloorPlanFile.EXTENSION)) {
+            writeBinary(gridSize, path);
+            return;
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            writeJson(gridSize, out);
+        }
+    }
+
+    /**
+     * Streams a plan in the JSON layout format. The stream is flushed but not closed.
+     * @param gridSize Width and height of the grid.
+     * @param out Destination stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void writeJson(int gridSize, OutputStream out) throws IOException {
+        JsonFactory factory = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        byte[] row = new byte[gridSize];
+        try (JsonGenerator json = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeNumberField("gridSize", gridSize);
+            json.writeArrayFieldStart("cells");
+            for (int y = 0; y < gridSize; y++) {
+                generateRow(y, gridSize, row);
+                json.writeStartArray();
+                for (int x = 0; x < gridSize; x++) {
+                    json.writeStartObject();
+                    json.writeStringField("type",
+                            SurfaceType.fromOrdinal(row[x] & CompactFloorPlan.SURFACE_MASK).getLabel());
+                    json.writeBooleanField("obstacle", (row[x] & CompactFloorPlan.OBSTACLE) != 0);
+                    json.writeBooleanField("chargingStation", (row[x] & CompactFloorPlan.CHARGING_STATION) != 0);
+                    json.writeBooleanField("stairs", (row[x] & CompactFloorPlan.STAIRS) != 0);
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        out.flush();
+    }
+
+    /**
+     * Streams a plan in the binary format of {@link BinaryFloorPlanFile}. The
+     * station count in the header is filled in once every row is written.
+     * @param gridSize Width and height of the grid.
+     * @param path Destination path; an existing file is replaced.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeBinary(int gridSize, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryFloorPlanFile.HEADER_SIZE);
+            header.putInt(BinaryFloorPlanFile.MAGIC).putInt(BinaryFloorPlanFile.VERSION).putInt(gridSize).putInt(0);
+            writeFully(channel, header.flip());
+
+            byte[] row = new byte[gridSize];
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(ROW_BUFFER, gridSize));
+            int stations = 0;
+            for (int y = 0; y < gridSize; y++) {
+                stations += generateRow(y, gridSize, row);
+                if (buffer.remaining() < gridSize) {
+                    writeFully(channel, buffer.flip());
+                    buffer.clear();
+                }
+                buffer.put(row);
+            }
+            writeFully(channel, buffer.flip());
+
+            header.clear();
+            header.putInt(stations).flip();
+            channel.position(BinaryFloorPlanFile.HEADER_SIZE - Integer.BYTES);
+            writeFully(channel, header);
+        }
+    }
+
+    /**
+     * Generates one row of a plan.
+     * @param y Row to generate.
+     * @param gridSize Width and height of the grid.
+     * @param row Destination of the packed cells, at least gridSize long.
+     * @return Number of charging stations in the row.
+     */
+    public int generateRow(int y, int gridSize, byte[] row) {
+        int stations = 0;
+        for (int x = 0; x < gridSize; x++) {
+            row[x] = cellAt(x, y, gridSize);
+            if ((row[x] & CompactFloorPlan.CHARGING_STATION) != 0) {
+                stations++;
+            }
+        }
+        return stations;
+    }
+
+    /**
+     * Computes one cell of a plan without generating any other.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param gridSize Width and height of the grid, which decides where doors of cut-off rooms go.
+     * @return Packed cell, as stored by {@link CompactFloorPlan}.
+     */
+    public byte cellAt(int x, int y, int gridSize) {
+        boolean walls = roomSize > 0;
+        int pitch = walls ? roomSize : OPEN_PATCH;
+        int roomRow;
+        int ly;
+        int roomTop;           // Row of the room's first cell
+        boolean topWall = false; // Rooms below a corridor are walled off from it
+        if (walls && corridorWidth > 0) {
+            int bandHeight = roomsPerBand * pitch;
+            int band = y / (bandHeight + corridorWidth);
+            int py = y % (bandHeight + corridorWidth);
+            if (py >= bandHeight) {
+                return CompactFloorPlan.pack(SurfaceType.HARDWOOD, false, false, false); // Corridor
+            }
+            roomRow = band * roomsPerBand + py / pitch;
+            ly = py % pitch;
+            roomTop = y - ly;
+            topWall = band > 0 && py < pitch;
+        } else {
+            roomRow = y / pitch;
+            ly = y % pitch;
+            roomTop = y - ly;
+        }
+        int roomColumn = x / pitch;
+        int lx = x % pitch;
+        SurfaceType surface = pickSurface(hash(roomRow, roomColumn, SURFACE));
+
+        int top = topWall ? 1 : 0; // First row inside the room
+        if (walls) {
+            boolean wallRight = lx == pitch - 1;
+            boolean wallBelow = ly == pitch - 1;
+            boolean wallAbove = topWall && ly == 0;
+            if (wallRight && (wallBelow || wallAbove)) {
+                return CompactFloorPlan.pack(surface, true, false, false); // Corner
+            }
+            boolean door;
+            if (wallRight) {
+                door = isDoor(ly, roomRow, roomColumn, DOOR_RIGHT, gridSize - roomTop);
+            } else if (wallBelow || wallAbove) {
+                door = isDoor(lx, roomRow, roomColumn, wallBelow ? DOOR_BOTTOM : DOOR_TOP, gridSize - (x - lx));
+            } else {
+                door = true; // Not a wall
+            }
+            if (!door) {
+                return CompactFloorPlan.pack(surface, true, false, false);
+            }
+            if (wallRight || wallBelow || wallAbove) {
+                return CompactFloorPlan.pack(surface, false, false, false);
+            }
+        }
+
+        boolean station = lx == 0 && ly == top && roomRow % stationSpacing == 0 && roomColumn % stationSpacing == 0;
+        int middle = pitch / 2;
+        boolean stairs = !station && (lx == middle - 1 || lx == middle) && (ly == middle - 1 || ly == middle)
+                && unit(hash(roomRow, roomColumn, STAIRS)) < stairsRate;
+        boolean walkway = walls && (lx == 0 || lx == pitch - 2 || ly == top || ly == pitch - 2);
+        boolean furniture = !station && !stairs && !walkway && unit(hash(x, y, FURNITURE)) < obstacleDensity;
+        return CompactFloorPlan.pack(surface, furniture, station, stairs);
+    }
+
+    /**
+     * Decides whether a wall cell is part of the wall's door. Doors keep clear
+     * of both ends of the wall and of the grid edge where a room is cut off.
+     * @param offset Position of the cell along the wall.
+     * @param length Cells of the wall inside the grid, counted from its start.
+     */
+    private boolean isDoor(int offset, int roomRow, int roomColumn, long salt, int length) {
+        int positions = Math.min(roomSize, length) - 1 - doorWidth; // Door starts between the wall's ends
+        int start = positions > 0 ? 1 + (int) Long.remainderUnsigned(hash(roomRow, roomColumn, salt), positions) : 0;
+        return offset >= start && offset < start + doorWidth;
+    }
+
+    private SurfaceType pickSurface(long hash) {
+        if (totalWeight == 0) {
+            return SurfaceType.HARDWOOD;
+        }
+        long pick = Long.remainderUnsigned(hash, totalWeight);
+        for (int i = 0; i < surfaceWeights.length; i++) {
+            pick -= surfaceWeights[i];
+            if (pick < 0) {
+                return SurfaceType.fromOrdinal(i);
+            }
+        }
+        return SurfaceType.HARDWOOD;
+    }
+
+    /**
+     * Mixes the seed with two coordinates and a salt (SplitMix64 finalizer).
+     */
+    private long hash(long a, long b, long salt) {
+        long z = seed + a * 0x9E3779B97F4A7C15L + b * 0xC2B2AE3D27D4EB4FL + salt * 0x165667B19E3779F9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Maps a hash to a double in [0, 1).
+     */
+    private static double unit(long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package ControlSystems;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
- * Utility class to load the floor plan from a JSON file.
+ * Utility class to load the floor plan from a JSON or binary file.
  */
 public class FloorPlanLoader {
 
@@ -30,4 +33,32 @@ public class FloorPlanLoader {
 
         return floorPlan;
     }
+
+    /**
+     * Loads the floor plan from the specified JSON file into a compact grid,
+     * streaming the tokens instead of building a Cell object graph.
+     * @param inputStream InputStream of the JSON file.
+     * @return CompactFloorPlan representing the floor plan.
+     * @throws IOException If there is an error reading the file or its rows do not match gridSize.
+     */
+    public static CompactFloorPlan loadCompactFloorPlan(InputStream inputStream) throws IOException {
+        return new StreamingFloorPlanLoader().load(inputStream);
+    }
+
+    /**
+     * Loads the floor plan from a file, choosing the format by extension:
+     * {@value BinaryFloorPlanFile#EXTENSION} files are memory-mapped and anything
+     * else is streamed as JSON.
+     * @param path Path of the floor plan file.
+     * @return Floor plan read from the file.
+     * @throws IOException If there is an error reading the file.
+     */
+    public static CompactFloorPlan loadFloorPlan(Path path) throws IOException {
+        if (path.getFileName().toString().toLowerCase().endsWith(BinaryFloorPlanFile.EXTENSION)) {
+            return BinaryFloorPlanFile.open(path);
+        }
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            return loadCompactFloorPlan(inputStream);
+        }
+    }
 }
@@ -0,0 +1,188 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Reusable breadth-first search engine over an int-indexed square grid.
+ * Cells are addressed as {@code index = y * gridSize + x}. Each cell has one
+ * 16-bit mark holding the search generation that discovered it and the
+ * direction it was entered from, so the discovered set is reset in O(1) by
+ * bumping the generation and parent links cost no extra storage. The marks
+ * are allocated on the first search; the queue and the path buffer start
+ * small and grow to the largest frontier and path seen, so a search
+ * allocates nothing in steady state.
+ */
+public class GridSearch {
+
+    /**
+     * Predicate over a cell index.
+     */
+    public interface CellTest {
+        boolean test(int index);
+    }
+
+    private static final int MAX_GENERATION = (1 << 14) - 1; // Generations fit the upper 14 bits of a mark
+    private static final int INITIAL_BUFFER = 256;
+
+    private final int gridSize;     // Width and height of the grid
+    private final int capacity;     // Number of cells in the grid
+    private final int[] offsets;    // Index step of each direction: right, down, left, up
+    private char[] marks;           // Generation << 2 | direction entered from, per cell; null until first search
+    private int[] queue = new int[INITIAL_BUFFER]; // Ring-buffer frontier, a power of two in size
+    private int[] path = new int[INITIAL_BUFFER];  // Path of the last successful search, start first
+    private int head;               // Next queue entry to dequeue
+    private int size;               // Number of queued cells
+    private int start;              // Start cell of the last search
+    private int generation;         // Current search generation
+    private int pathLength;         // Number of valid entries in path
+    private int expanded;           // Cells dequeued by the last search
+
+    /**
+     * Creates a search engine for a grid of the given size.
+     * @param gridSize Width and height of the grid.
+     */
+    public GridSearch(int gridSize) {
+        this.gridSize = gridSize;
+        this.capacity = gridSize * gridSize;
+        this.offsets = new int[] { 1, gridSize, -1, -gridSize };
+    }
+
+    /**
+     * Runs a breadth-first search from the start cell. Neighbors are explored
+     * right, down, left, up and a cell is tested as a target when it is dequeued,
+     * so the start cell itself may be the result.
+     * @param start Index of the start cell.
+     * @param passable Test deciding whether a neighbor may be entered.
+     * @param target Test deciding whether a dequeued cell ends the search.
+     * @return Index of the target found, or -1 if none is reachable.
+     */
+    public int search(int start, CellTest passable, CellTest target) {
+        if (marks == null) {
+            marks = new char[capacity];
+        }
+        nextGeneration();
+        pathLength = 0;
+        expanded = 0;
+        this.start = start;
+
+        head = 0;
+        size = 0;
+        enqueue(start);
+        marks[start] = (char) (generation << 2);
+
+        while (size > 0) {
+            int current = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            size--;
+            expanded++;
+
+            if (target.test(current)) {
+                reconstruct(current);
+                return current;
+            }
+
+            int cx = current % gridSize;
+            int cy = current / gridSize;
+
+            // Explore neighbors in all four directions: right, down, left, up
+            if (cx + 1 < gridSize && discover(current + 1, 0, passable)) {
+                enqueue(current + 1);
+            }
+            if (cy + 1 < gridSize && discover(current + gridSize, 1, passable)) {
+                enqueue(current + gridSize);
+            }
+            if (cx > 0 && discover(current - 1, 2, passable)) {
+                enqueue(current - 1);
+            }
+            if (cy > 0 && discover(current - gridSize, 3, passable)) {
+                enqueue(current - gridSize);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the path buffer of the last successful search. Only the first
+     * {@link #getPathLength()} entries are valid; the buffer is overwritten by
+     * the next search.
+     * @return Cell indices from the start cell to the target, inclusive.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of cells in the last path.
+     * @return Path length, or 0 if the last search found nothing.
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Gets the number of cells dequeued by the last search.
+     * @return Expanded node count.
+     */
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Gets the size of the grid this engine searches.
+     * @return Grid size.
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    private boolean discover(int neighbor, int direction, CellTest passable) {
+        if (marks[neighbor] >>> 2 == generation || !passable.test(neighbor)) {
+            return false;
+        }
+        marks[neighbor] = (char) (generation << 2 | direction);
+        return true;
+    }
+
+    private void enqueue(int cell) {
+        if (size == queue.length) {
+            // Unroll the ring into a buffer twice the size
+            int[] grown = new int[queue.length * 2];
+            int first = queue.length - head;
+            System.arraycopy(queue, head, grown, 0, Math.min(first, size));
+            if (first < size) {
+                System.arraycopy(queue, 0, grown, first, size - first);
+            }
+            queue = grown;
+            head = 0;
+        }
+        queue[(head + size) & (queue.length - 1)] = cell;
+        size++;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation > MAX_GENERATION) {
+            // Counter wrapped: clear the marks once so stale generations cannot match
+            Arrays.fill(marks, (char) 0);
+            generation = 1;
+        }
+    }
+
+    private void reconstruct(int target) {
+        int length = 1;
+        for (int cell = target; cell != start; cell -= offsets[marks[cell] & 3]) {
+            length++;
+        }
+        if (path.length < length) {
+            path = new int[Math.max(length, path.length * 2)];
+        }
+        pathLength = length;
+        for (int cell = target; ; cell -= offsets[marks[cell] & 3]) {
+            path[--length] = cell;
+            if (cell == start) {
+                break;
+            }
+        }
+    }
+}
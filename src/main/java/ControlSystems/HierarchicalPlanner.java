@@ -0,0 +1,538 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical path planner (HPA*) for floor plans too large for a grid
+ * search per query. The grid is cut into square clusters. Wherever two
+ * neighboring clusters share a run of passable cells on their common border,
+ * the run becomes an entrance: one transition in its middle, or one at each
+ * end for runs of {@value #WIDE_ENTRANCE} cells or more. The two border cells
+ * of a transition are abstract nodes, connected by one move, and the nodes of
+ * a cluster are connected to each other by their shortest distance inside the
+ * cluster.
+ * <p>
+ * A query searches the abstract graph with A*, entering it from the start's
+ * cluster and leaving it into the goal's, and then refines each abstract edge
+ * with a breadth-first search confined to one cluster. Paths are usually a
+ * few percent longer than the shortest one, since they pass through
+ * transitions. Costs are move counts; surface energy is not considered.
+ * <p>
+ * Clusters are built on first use and no storage scales with the number of
+ * cells, so only the clusters a query touches cost anything. When a cell's
+ * obstacle flag changes, {@link #obstacleChanged(int, int, boolean)} discards just the
+ * clusters whose entrances or distances it can affect; they are rebuilt when a
+ * later query reaches them. Changes that are not reported are not seen.
+ * A robot on such a floor uses it through
+ * {@link CleanSweepNavigation#setPathPlanner(PathPlanner)}.
+ */
+public class HierarchicalPlanner implements PathPlanner, ObstacleListener {
+    /** Side of a cluster when none is given. */
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    /** Entrances at least this wide get a transition at each end instead of one in the middle. */
+    public static final int WIDE_ENTRANCE = 6;
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int gridSize;
+    private final int clusterSize;
+    private final int clustersPerSide;
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private final int[] nodeBase;               // First node id of each cluster, -1 until built
+    private final int[] nodeCount;              // Abstract nodes of each cluster
+    private final int[] nodeCapacity;           // Node ids reserved for each cluster
+    private final int[] reservedBase;           // First reserved node id of each cluster, kept across rebuilds
+    private final int[][] nodeDistances;        // Per cluster, moves between its nodes, row-major
+    private int[] nodeCells = new int[256];     // Cell index of each node id
+    private int nodeIds;                        // Node ids handed out so far
+    private int builtClusters;
+
+    // Abstract search, indexed by node id
+    private int[] cost = new int[256];          // Moves from the start
+    private int[] parent = new int[256];        // Previous node, -1 for nodes seeded from the start
+    private int[] stamp = new int[256];         // Generation in which cost/parent were set
+    private int[] closed = new int[256];        // Generation in which a node was expanded
+    private final CellHeap open = new CellHeap(256);
+    private int generation;
+    private int[] goalDistance = new int[16];   // Moves from each node of the goal's cluster to the goal
+    private int[] abstractPath = new int[64];   // Nodes of the last abstract path, goal side first
+    private int abstractPathLength;
+    private final int[] transitions;            // Transition cells of the cluster being built
+
+    // Breadth-first search inside one cluster, indexed by local cell
+    private final int[] localDistance;
+    private final int[] localParent;
+    private final int[] localStamp;
+    private final int[] localQueue;
+    private int localGeneration;
+    private int expanded;
+
+    /**
+     * Creates a planner with the default cluster size.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public HierarchicalPlanner(int gridSize, GridSearch.CellTest passable) {
+        this(gridSize, passable, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Creates a planner. Nothing is computed until the first query.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     * @param clusterSize Side of a cluster in cells; the last row and column of clusters may be smaller.
+     */
+    public HierarchicalPlanner(int gridSize, GridSearch.CellTest passable, int clusterSize) {
+        this.gridSize = gridSize;
+        this.passable = passable;
+        this.clusterSize = clusterSize;
+        this.clustersPerSide = (gridSize + clusterSize - 1) / clusterSize;
+        int clusters = clustersPerSide * clustersPerSide;
+        this.nodeBase = new int[clusters];
+        this.nodeCount = new int[clusters];
+        this.nodeCapacity = new int[clusters];
+        this.nodeDistances = new int[clusters][];
+        this.reservedBase = new int[clusters];
+        this.transitions = new int[4 * clusterSize + 4];
+        Arrays.fill(nodeBase, -1);
+        int localCells = clusterSize * clusterSize;
+        this.localDistance = new int[localCells];
+        this.localParent = new int[localCells];
+        this.localStamp = new int[localCells];
+        this.localQueue = new int[localCells];
+    }
+
+    @Override
+    public int plan(int start, int goal, int[] path) {
+        expanded = 0;
+        path[0] = start;
+        if (start == goal) {
+            return 1;
+        }
+        if (!passable.test(goal)) {
+            return 0;
+        }
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+        ensureBuilt(startCluster);
+        ensureBuilt(goalCluster);
+
+        // Moves from the goal to each node of its cluster, read when the search reaches them
+        localSearch(goalCluster, goal, -1);
+        int goalNodes = nodeCount[goalCluster];
+        if (goalDistance.length < goalNodes) {
+            goalDistance = new int[goalNodes];
+        }
+        for (int i = 0; i < goalNodes; i++) {
+            goalDistance[i] = localDistanceTo(goalCluster, nodeCells[nodeBase[goalCluster] + i]);
+        }
+
+        // Seed the abstract search with the start cluster's nodes; a direct path inside it is a candidate too
+        nextGeneration();
+        open.clear();
+        localSearch(startCluster, start, -1);
+        int best = startCluster == goalCluster ? localDistanceTo(startCluster, goal) : UNREACHABLE;
+        int bestNode = -1;
+        int goalX = goal % gridSize;
+        int goalY = goal / gridSize;
+        for (int i = 0; i < nodeCount[startCluster]; i++) {
+            int node = nodeBase[startCluster] + i;
+            int moves = localDistanceTo(startCluster, nodeCells[node]);
+            if (moves != UNREACHABLE) {
+                reach(node, -1, moves, goalX, goalY);
+            }
+        }
+
+        while (!open.isEmpty() && (open.peekPriority() >>> 32) < best) {
+            int node = open.pop();
+            if (closed[node] == generation) {
+                continue; // Stale entry: reached again more cheaply
+            }
+            closed[node] = generation;
+            expanded++;
+            int cluster = clusterOf(nodeCells[node]);
+            int local = node - nodeBase[cluster];
+            if (cluster == goalCluster && goalDistance[local] != UNREACHABLE
+                    && cost[node] + goalDistance[local] < best) {
+                best = cost[node] + goalDistance[local];
+                bestNode = node;
+            }
+            expandNode(node, cluster, local, goalX, goalY);
+        }
+        if (best == UNREACHABLE) {
+            return 0;
+        }
+        if (bestNode == -1) {
+            return localPath(startCluster, start, goal, path, 0); // Staying inside the cluster was best
+        }
+        return refine(start, goal, bestNode, path);
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Records that a cell's obstacle flag changed. The clusters whose entrances
+     * or inner distances depend on the cell are rebuilt on their next use.
+     * @param x X coordinate of the changed cell.
+     * @param y Y coordinate of the changed cell.
+     * @param obstacle True if the cell now has an obstacle; both directions are handled alike.
+     */
+    @Override
+    public void obstacleChanged(int x, int y, boolean obstacle) {
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        discard(cx, cy);
+        // A border cell also decides the entrances of the cluster on the other side
+        if (x % clusterSize == 0) {
+            discard(cx - 1, cy);
+        }
+        if (x % clusterSize == clusterSize - 1) {
+            discard(cx + 1, cy);
+        }
+        if (y % clusterSize == 0) {
+            discard(cx, cy - 1);
+        }
+        if (y % clusterSize == clusterSize - 1) {
+            discard(cx, cy + 1);
+        }
+    }
+
+    /**
+     * Discards every cluster, for example after the floor plan was replaced.
+     */
+    public void invalidate() {
+        Arrays.fill(nodeBase, -1);
+        Arrays.fill(nodeCapacity, 0);
+        Arrays.fill(nodeDistances, null);
+        nodeIds = 0;
+        builtClusters = 0;
+    }
+
+    /**
+     * Gets the side of a cluster.
+     * @return Cluster size in cells.
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * Gets the number of clusters whose entrances and distances are currently built.
+     * @return Built cluster count.
+     */
+    public int getBuiltClusterCount() {
+        return builtClusters;
+    }
+
+    /**
+     * Gets the number of abstract nodes in the last path found, excluding the start and goal.
+     * @return Abstract path length in nodes.
+     */
+    public int getAbstractPathLength() {
+        return abstractPathLength;
+    }
+
+    private void discard(int cx, int cy) {
+        if (cx < 0 || cy < 0 || cx >= clustersPerSide || cy >= clustersPerSide) {
+            return;
+        }
+        int cluster = cy * clustersPerSide + cx;
+        if (nodeBase[cluster] != -1) {
+            nodeBase[cluster] = -1; // Keeps its reserved node ids for the rebuild
+            builtClusters--;
+        }
+    }
+
+    /**
+     * Relaxes the edges of an abstract node: to the other nodes of its cluster,
+     * and one move across the border to nodes of neighboring clusters.
+     */
+    private void expandNode(int node, int cluster, int local, int goalX, int goalY) {
+        int count = nodeCount[cluster];
+        int base = nodeBase[cluster];
+        int[] distances = nodeDistances[cluster];
+        int moves = cost[node];
+        for (int i = 0; i < count; i++) {
+            int d = distances[local * count + i];
+            if (i != local && d != UNREACHABLE) {
+                reach(base + i, node, moves + d, goalX, goalY);
+            }
+        }
+        int cell = nodeCells[node];
+        int x = cell % gridSize;
+        int y = cell / gridSize;
+        if (x + 1 < gridSize && (x + 1) % clusterSize == 0) {
+            cross(cell + 1, node, moves, goalX, goalY);
+        }
+        if (y + 1 < gridSize && (y + 1) % clusterSize == 0) {
+            cross(cell + gridSize, node, moves, goalX, goalY);
+        }
+        if (x > 0 && x % clusterSize == 0) {
+            cross(cell - 1, node, moves, goalX, goalY);
+        }
+        if (y > 0 && y % clusterSize == 0) {
+            cross(cell - gridSize, node, moves, goalX, goalY);
+        }
+    }
+
+    private void cross(int cell, int from, int moves, int goalX, int goalY) {
+        int cluster = clusterOf(cell);
+        ensureBuilt(cluster);
+        int base = nodeBase[cluster];
+        for (int i = 0; i < nodeCount[cluster]; i++) {
+            if (nodeCells[base + i] == cell) {
+                reach(base + i, from, moves + 1, goalX, goalY);
+                return;
+            }
+        }
+    }
+
+    private void reach(int node, int from, int moves, int goalX, int goalY) {
+        if (closed[node] == generation || (stamp[node] == generation && moves >= cost[node])) {
+            return;
+        }
+        cost[node] = moves;
+        parent[node] = from;
+        stamp[node] = generation;
+        int cell = nodeCells[node];
+        int h = Math.abs(cell % gridSize - goalX) + Math.abs(cell / gridSize - goalY);
+        open.push(((long) (moves + h) << 32) | h, node);
+    }
+
+    /**
+     * Writes the path from the start through the abstract nodes ending at
+     * {@code last} to the goal, refining each step inside one cluster.
+     */
+    private int refine(int start, int goal, int last, int[] path) {
+        abstractPathLength = 0;
+        for (int node = last; node != -1; node = parent[node]) {
+            if (abstractPathLength == abstractPath.length) {
+                abstractPath = Arrays.copyOf(abstractPath, abstractPathLength * 2);
+            }
+            abstractPath[abstractPathLength++] = node;
+        }
+        int length = 0;
+        int from = start;
+        for (int i = abstractPathLength - 1; i >= 0; i--) {
+            int to = nodeCells[abstractPath[i]];
+            if (clusterOf(from) == clusterOf(to)) {
+                length = localPath(clusterOf(to), from, to, path, length);
+            } else {
+                path[length++] = to; // One move across a cluster border
+            }
+            from = to;
+        }
+        return localPath(clusterOf(goal), from, goal, path, length);
+    }
+
+    /**
+     * Appends the shortest path between two cells of a cluster, staying inside it.
+     * The first cell is skipped when the path already ends with it.
+     * @return New path length.
+     */
+    private int localPath(int cluster, int from, int to, int[] path, int length) {
+        localSearch(cluster, from, to);
+        int x0 = cluster % clustersPerSide * clusterSize;
+        int y0 = cluster / clustersPerSide * clusterSize;
+        int steps = localDistance[local(to, x0, y0)];
+        int end = length + steps + (length == 0 ? 1 : 0);
+        int position = end;
+        for (int local = local(to, x0, y0); position > length; local = localParent[local]) {
+            path[--position] = (y0 + local / clusterSize) * gridSize + x0 + local % clusterSize;
+        }
+        return end;
+    }
+
+    /**
+     * Breadth-first search from a cell over its cluster only, neighbors right,
+     * down, left, up. Stops early once {@code target} is dequeued.
+     */
+    private void localSearch(int cluster, int from, int target) {
+        localGeneration++;
+        if (localGeneration == 0) {
+            Arrays.fill(localStamp, 0);
+            localGeneration = 1;
+        }
+        int x0 = cluster % clustersPerSide * clusterSize;
+        int y0 = cluster / clustersPerSide * clusterSize;
+        int width = Math.min(clusterSize, gridSize - x0);
+        int height = Math.min(clusterSize, gridSize - y0);
+        int origin = local(from, x0, y0);
+        localStamp[origin] = localGeneration;
+        localDistance[origin] = 0;
+        localParent[origin] = -1;
+        localQueue[0] = origin;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int current = localQueue[head];
+            expanded++;
+            int lx = current % clusterSize;
+            int ly = current / clusterSize;
+            if (target != -1 && (y0 + ly) * gridSize + x0 + lx == target) {
+                return;
+            }
+            int next = localDistance[current] + 1;
+            if (lx + 1 < width && visitLocal(current + 1, current, next, x0, y0)) {
+                localQueue[tail++] = current + 1;
+            }
+            if (ly + 1 < height && visitLocal(current + clusterSize, current, next, x0, y0)) {
+                localQueue[tail++] = current + clusterSize;
+            }
+            if (lx > 0 && visitLocal(current - 1, current, next, x0, y0)) {
+                localQueue[tail++] = current - 1;
+            }
+            if (ly > 0 && visitLocal(current - clusterSize, current, next, x0, y0)) {
+                localQueue[tail++] = current - clusterSize;
+            }
+        }
+    }
+
+    private boolean visitLocal(int local, int from, int distance, int x0, int y0) {
+        if (localStamp[local] == localGeneration
+                || !passable.test((y0 + local / clusterSize) * gridSize + x0 + local % clusterSize)) {
+            return false;
+        }
+        localStamp[local] = localGeneration;
+        localDistance[local] = distance;
+        localParent[local] = from;
+        return true;
+    }
+
+    private int localDistanceTo(int cluster, int cell) {
+        int local = local(cell, cluster % clustersPerSide * clusterSize, cluster / clustersPerSide * clusterSize);
+        return localStamp[local] == localGeneration ? localDistance[local] : UNREACHABLE;
+    }
+
+    private int local(int cell, int x0, int y0) {
+        return (cell / gridSize - y0) * clusterSize + cell % gridSize - x0;
+    }
+
+    private int clusterOf(int cell) {
+        return cell / gridSize / clusterSize * clustersPerSide + cell % gridSize / clusterSize;
+    }
+
+    /**
+     * Finds the transitions on the cluster's four borders and the distances
+     * between them, unless the cluster is already built.
+     */
+    private void ensureBuilt(int cluster) {
+        if (nodeBase[cluster] != -1) {
+            return;
+        }
+        int cx = cluster % clustersPerSide;
+        int cy = cluster / clustersPerSide;
+        int x0 = cx * clusterSize;
+        int y0 = cy * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, gridSize) - 1;
+        int y1 = Math.min(y0 + clusterSize, gridSize) - 1;
+
+        // Transitions are placed from both sides of a border alike, so neighbors agree on them
+        int count = 0;
+        int[] cells = transitions;
+        if (x1 + 1 < gridSize) {
+            count = addTransitions(cells, count, x1, y0, 0, 1, y1 - y0 + 1, 1);
+        }
+        if (y1 + 1 < gridSize) {
+            count = addTransitions(cells, count, x0, y1, 1, 0, x1 - x0 + 1, gridSize);
+        }
+        if (x0 > 0) {
+            count = addTransitions(cells, count, x0, y0, 0, 1, y1 - y0 + 1, -1);
+        }
+        if (y0 > 0) {
+            count = addTransitions(cells, count, x0, y0, 1, 0, x1 - x0 + 1, -gridSize);
+        }
+
+        if (nodeCapacity[cluster] < count) {
+            nodeCapacity[cluster] = Math.max(count, 4);
+            reservedBase[cluster] = reserveNodes(nodeCapacity[cluster]);
+        }
+        int base = reservedBase[cluster];
+        System.arraycopy(cells, 0, nodeCells, base, count);
+        nodeBase[cluster] = base;
+        nodeCount[cluster] = count;
+
+        int[] distances = new int[count * count];
+        int[] nodes = Arrays.copyOfRange(nodeCells, base, base + count);
+        for (int i = 0; i < count; i++) {
+            localSearch(cluster, nodes[i], -1);
+            for (int j = 0; j < count; j++) {
+                distances[i * count + j] = localDistanceTo(cluster, nodes[j]);
+            }
+        }
+        nodeDistances[cluster] = distances;
+        builtClusters++;
+    }
+
+    /**
+     * Hands out node ids, growing the per-node arrays when needed.
+     * @return First of {@code count} consecutive new ids.
+     */
+    private int reserveNodes(int count) {
+        int first = nodeIds;
+        nodeIds += count;
+        if (nodeIds > nodeCells.length) {
+            int size = Math.max(nodeIds, nodeCells.length * 2);
+            nodeCells = Arrays.copyOf(nodeCells, size);
+            cost = Arrays.copyOf(cost, size);
+            parent = Arrays.copyOf(parent, size);
+            stamp = Arrays.copyOf(stamp, size);
+            closed = Arrays.copyOf(closed, size);
+        }
+        return first;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation == 0) {
+            // Counter wrapped: clear the stamps once so stale marks cannot match
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Scans one border of a cluster for runs of cells passable on both sides.
+     * @param x First border cell's x inside the cluster.
+     * @param y First border cell's y inside the cluster.
+     * @param dx Step along the border in x.
+     * @param dy Step along the border in y.
+     * @param span Number of cells along the border.
+     * @param across Index offset to the matching cell in the neighboring cluster.
+     * @return New number of transition cells in {@code cells}.
+     */
+    private int addTransitions(int[] cells, int count, int x, int y, int dx, int dy, int span, int across) {
+        int runStart = -1;
+        for (int i = 0; i <= span; i++) {
+            int cell = (y + i * dy) * gridSize + x + i * dx;
+            boolean open = i < span && passable.test(cell) && passable.test(cell + across);
+            if (open && runStart == -1) {
+                runStart = i;
+            } else if (!open && runStart != -1) {
+                int runEnd = i - 1;
+                if (runEnd - runStart + 1 >= WIDE_ENTRANCE) {
+                    count = addNode(cells, count, (y + runStart * dy) * gridSize + x + runStart * dx);
+                    count = addNode(cells, count, (y + runEnd * dy) * gridSize + x + runEnd * dx);
+                } else {
+                    int middle = (runStart + runEnd) / 2;
+                    count = addNode(cells, count, (y + middle * dy) * gridSize + x + middle * dx);
+                }
+                runStart = -1;
+            }
+        }
+        return count;
+    }
+
+    private int addNode(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) {
+                return count; // A corner cell can be a transition on two borders
+            }
+        }
+        cells[count] = cell;
+        return count + 1;
+    }
+}
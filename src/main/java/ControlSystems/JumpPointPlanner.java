@@ -0,0 +1,234 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Jump Point Search for four-connected grids where every move costs the same.
+ * Among the many equally short paths on an open floor it only considers the
+ * canonical ones that move horizontally first and turn from vertical back to
+ * horizontal only where a wall forces it. Straight runs are scanned without
+ * touching the heap, and only their end points (jump points) are queued:
+ * <ul>
+ *   <li>a horizontal scan stops at a cell from which a vertical scan finds a jump point;</li>
+ *   <li>a vertical scan stops beside a cell that could not have been reached
+ *       horizontally first, because the cell behind it is blocked.</li>
+ * </ul>
+ * Paths are shortest in moves, like {@link BreadthFirstPlanner}; surface costs
+ * are ignored, so use {@link AStarPlanner} when they matter.
+ */
+public class JumpPointPlanner implements PathPlanner {
+    private static final int RIGHT = 0, DOWN = 1, LEFT = 2, UP = 3;
+    private static final int NONE = -1;  // Arrival direction of the start cell
+
+    private final int gridSize;
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private final int[] distance;               // Moves from the start to each jump point
+    private final int[] parent;                 // Previous jump point on the best known path
+    private final byte[] arrival;               // Direction of the scan that reached each jump point
+    private final int[] stamp;                  // Generation in which distance/parent were set
+    private final int[] closed;                 // Generation in which a jump point was expanded
+    private final CellHeap open;                // Jump points ordered by estimated total moves
+    private int generation;
+    private int goal;
+    private int expanded;
+    private int scanned;                        // Cells stepped over by scans in the last query
+
+    /**
+     * Creates a planner for a grid.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public JumpPointPlanner(int gridSize, GridSearch.CellTest passable) {
+        this.gridSize = gridSize;
+        this.passable = passable;
+        int cells = gridSize * gridSize;
+        this.distance = new int[cells];
+        this.parent = new int[cells];
+        this.arrival = new byte[cells];
+        this.stamp = new int[cells];
+        this.closed = new int[cells];
+        this.open = new CellHeap(256);
+    }
+
+    @Override
+    public int plan(int start, int goal, int[] path) {
+        nextGeneration();
+        open.clear();
+        this.goal = goal;
+        expanded = 0;
+        scanned = 0;
+        if (start != goal && !passable.test(goal)) {
+            return 0;
+        }
+
+        distance[start] = 0;
+        parent[start] = -1;
+        arrival[start] = NONE;
+        stamp[start] = generation;
+        open.push(priority(start, 0), start);
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (closed[current] == generation) {
+                continue; // Stale entry
+            }
+            closed[current] = generation;
+            expanded++;
+            if (current == goal) {
+                return reconstruct(path);
+            }
+
+            switch (arrival[current]) {
+                case NONE:
+                    for (int direction = RIGHT; direction <= UP; direction++) {
+                        scan(current, direction);
+                    }
+                    break;
+                case RIGHT:
+                case LEFT:
+                    scan(current, arrival[current]);
+                    scan(current, DOWN);
+                    scan(current, UP);
+                    break;
+                default:
+                    scan(current, arrival[current]);
+                    // Turning sideways is only canonical where the cell behind the side is blocked
+                    int dy = arrival[current] == DOWN ? 1 : -1;
+                    int cx = current % gridSize;
+                    int cy = current / gridSize;
+                    if (isForced(cx + 1, cy, dy)) {
+                        scan(current, RIGHT);
+                    }
+                    if (isForced(cx - 1, cy, dy)) {
+                        scan(current, LEFT);
+                    }
+                    break;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Gets the number of cells the scans of the last query stepped over.
+     * @return Scanned cell count.
+     */
+    public int getScannedCount() {
+        return scanned;
+    }
+
+    /**
+     * Scans from a jump point in one direction and queues the jump point found, if any.
+     */
+    private void scan(int from, int direction) {
+        int jumpPoint = direction == RIGHT || direction == LEFT
+                ? jumpHorizontal(from, direction == RIGHT ? 1 : -1)
+                : jumpVertical(from, direction == DOWN ? 1 : -1);
+        if (jumpPoint == -1 || closed[jumpPoint] == generation) {
+            return;
+        }
+        int candidate = distance[from] + Math.abs(jumpPoint % gridSize - from % gridSize)
+                + Math.abs(jumpPoint / gridSize - from / gridSize);
+        if (stamp[jumpPoint] == generation && candidate >= distance[jumpPoint]) {
+            return;
+        }
+        distance[jumpPoint] = candidate;
+        parent[jumpPoint] = from;
+        arrival[jumpPoint] = (byte) direction;
+        stamp[jumpPoint] = generation;
+        open.push(priority(jumpPoint, candidate), jumpPoint);
+    }
+
+    /**
+     * Steps horizontally until the goal, a cell with a vertical jump point, or a wall.
+     * @return The jump point, or -1 if the scan hit a wall first.
+     */
+    private int jumpHorizontal(int from, int dx) {
+        int x = from % gridSize;
+        int cell = from;
+        while (true) {
+            x += dx;
+            cell += dx;
+            if (x < 0 || x >= gridSize || !passable.test(cell)) {
+                return -1;
+            }
+            scanned++;
+            if (cell == goal || jumpVertical(cell, 1) != -1 || jumpVertical(cell, -1) != -1) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Steps vertically until the goal, a cell with a forced sideways neighbor, or a wall.
+     * @return The jump point, or -1 if the scan hit a wall first.
+     */
+    private int jumpVertical(int from, int dy) {
+        int x = from % gridSize;
+        int y = from / gridSize;
+        int cell = from;
+        while (true) {
+            y += dy;
+            cell += dy * gridSize;
+            if (y < 0 || y >= gridSize || !passable.test(cell)) {
+                return -1;
+            }
+            scanned++;
+            if (cell == goal || isForced(x + 1, y, dy) || isForced(x - 1, y, dy)) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Checks if a side cell can only be reached canonically by turning off a
+     * vertical run: it is open but the cell behind it, against the run, is not.
+     */
+    private boolean isForced(int sideX, int y, int dy) {
+        if (sideX < 0 || sideX >= gridSize) {
+            return false;
+        }
+        int side = y * gridSize + sideX;
+        return passable.test(side) && !passable.test(side - dy * gridSize);
+    }
+
+    private long priority(int cell, int moves) {
+        int h = Math.abs(cell % gridSize - goal % gridSize) + Math.abs(cell / gridSize - goal / gridSize);
+        return ((long) (moves + h) << 32) | h;
+    }
+
+    /**
+     * Writes the path to the goal, filling in the straight runs between jump points.
+     */
+    private int reconstruct(int[] path) {
+        int length = distance[goal] + 1;
+        int position = length;
+        int cell = goal;
+        path[--position] = cell;
+        for (int jumpPoint = goal; parent[jumpPoint] != -1; jumpPoint = parent[jumpPoint]) {
+            int from = parent[jumpPoint];
+            int step = from / gridSize == jumpPoint / gridSize
+                    ? Integer.signum(from - jumpPoint)
+                    : Integer.signum(from - jumpPoint) * gridSize;
+            while (cell != from) {
+                cell += step;
+                path[--position] = cell;
+            }
+        }
+        return length;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation == 0) {
+            // Counter wrapped: clear the stamps once so stale marks cannot match
+            Arrays.fill(stamp, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+}
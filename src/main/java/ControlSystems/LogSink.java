@@ -0,0 +1,31 @@
+package ControlSystems;
+
+import java.io.IOException;
+
+/**
+ * Destination for log entries written by the {@link Logger}'s background thread.
+ * Sinks are only called from that thread, so they need not be thread-safe.
+ */
+public interface LogSink {
+
+    /**
+     * Writes one log entry. Implementations may buffer until {@link #flush()}.
+     * @param timestampMillis Time the entry was logged, in epoch milliseconds.
+     * @param level Severity of the entry.
+     * @param message The message to write.
+     * @throws IOException If the entry cannot be written.
+     */
+    void write(long timestampMillis, Logger.Level level, String message) throws IOException;
+
+    /**
+     * Flushes buffered entries to the destination.
+     * @throws IOException If the entries cannot be flushed.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes and releases the destination.
+     * @throws IOException If the destination cannot be closed.
+     */
+    void close() throws IOException;
+}
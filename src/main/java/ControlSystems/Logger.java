@@ -1,15 +1,52 @@
 package ControlSystems;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Logger class to handle logging of Clean Sweep's actions.
+ * Messages are placed in a lock-free ring buffer and written to the sinks by a
+ * background thread, which flushes them in groups once enough entries are
+ * pending or the flush interval has passed. Callers never block on I/O: when
+ * the buffer is full the message is dropped and counted instead. An idle
+ * writer parks until a message is logged, a flush is requested, the logger is
+ * shut down or, with entries still unflushed, the flush interval runs out.
  */
 public class Logger {
-    private PrintWriter writer;
+
+    /**
+     * Severity levels, from most to least verbose.
+     */
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int DEFAULT_CAPACITY = 8192;        // Ring buffer slots
+    private static final int DEFAULT_FLUSH_BATCH = 512;      // Entries written before a forced flush
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 50; // Maximum age of unflushed entries
+    private static final long SEALED = Long.MIN_VALUE;       // Set on tail once the writer has drained it for good
+
+    private final LogSink[] sinks;
+    private final int mask;                  // capacity - 1, capacity is a power of two
+    private final String[] messages;         // Ring buffer slots
+    private final long[] timestamps;
+    private final Level[] levels;
+    private final AtomicLongArray published; // Sequence + 1 once a slot is filled
+    private final AtomicLong tail = new AtomicLong();     // Next sequence to claim, SEALED once closed and drained
+    private final AtomicLong head = new AtomicLong();     // Next sequence to write
+    private final AtomicLong flushed = new AtomicLong();  // All sequences below this are flushed
+    private final AtomicLong flushRequest = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final int flushBatch;
+    private final long flushIntervalNanos;
+
+    private volatile Level level = Level.TRACE;
+    private volatile boolean closed;
+    private volatile boolean sleeping;       // True while the writer may be parked without a deadline to wake it
+    private volatile Thread writerThread;
+    private volatile long startNanos;
+    private volatile long stopNanos;
 
     /**
      * Initializes the logger with the specified log file.
@@ -17,22 +54,310 @@ public class Logger {
      * @throws IOException If the file cannot be opened.
      */
     public Logger(String filename) throws IOException {
-        writer = new PrintWriter(new FileWriter(filename, true));
+        this(new FileLogSink(filename));
+    }
+
+    /**
+     * Initializes the logger with the given sinks and default buffering.
+     * @param sinks Destinations for log entries; none makes a logger that discards everything.
+     */
+    public Logger(LogSink... sinks) {
+        this(DEFAULT_CAPACITY, DEFAULT_FLUSH_BATCH, DEFAULT_FLUSH_INTERVAL_MILLIS, sinks);
     }
 
     /**
-     * Logs a message with a timestamp.
+     * Initializes the logger with explicit buffering.
+     * @param capacity Ring buffer size, rounded up to a power of two.
+     * @param flushBatch Number of written entries that forces a flush.
+     * @param flushIntervalMillis Maximum time an entry may stay unflushed.
+     * @param sinks Destinations for log entries.
+     */
+    public Logger(int capacity, int flushBatch, long flushIntervalMillis, LogSink... sinks) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.sinks = sinks.clone();
+        this.mask = size - 1;
+        this.messages = new String[size];
+        this.timestamps = new long[size];
+        this.levels = new Level[size];
+        this.published = new AtomicLongArray(size);
+        this.flushBatch = Math.max(1, flushBatch);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        if (sinks.length == 0) {
+            this.level = Level.OFF;
+        }
+    }
+
+    /**
+     * Logs a message with a timestamp at INFO level.
      * @param message The message to log.
      */
     public void log(String message) {
-        writer.println(LocalDateTime.now() + " - " + message);
-        writer.flush();
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a message with a timestamp. Guard expensive message construction
+     * with {@link #isEnabled(Level)}.
+     * @param level Severity of the message.
+     * @param message The message to log.
+     */
+    public void log(Level level, String message) {
+        if (level.ordinal() < this.level.ordinal()) {
+            return;
+        }
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if ((sequence & SEALED) != 0) {
+                dropped.incrementAndGet(); // Closed and drained after the check above: nobody would write it
+                return;
+            }
+            if (sequence - head.get() > mask) {
+                dropped.incrementAndGet(); // Buffer full: drop rather than block the caller
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        messages[slot] = message;
+        timestamps[slot] = System.currentTimeMillis();
+        levels[slot] = level;
+        published.set(slot, sequence + 1); // Ordered before reading sleeping, so the writer cannot miss it
+
+        Thread thread = writerThread;
+        if (thread == null) {
+            startWriter();
+        } else if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Checks if messages at the given level are currently logged.
+     * @param level Severity to check.
+     * @return True if such messages are logged, false if they are discarded.
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= this.level.ordinal();
+    }
+
+    /**
+     * Gets the minimum level of logged messages.
+     * @return Current level.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the minimum level of logged messages.
+     * @param level New level; OFF disables logging.
+     */
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Blocks until every message logged before this call has been written and flushed.
+     */
+    public void flush() {
+        long target = tail.get() & ~SEALED;
+        while (flushed.get() < target && writerThread != null && writerThread.isAlive()) {
+            flushRequest.accumulateAndGet(target, Math::max);
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(100_000);
+        }
     }
 
     /**
-     * Closes the logger.
+     * Stops accepting messages, drains the buffer to the sinks and closes them.
+     * Messages logged afterwards are counted as dropped. Every message counted
+     * as logged has been written by the time this returns.
+     */
+    public synchronized void shutdown() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            runWriter(); // No writer started, but a racing caller may have claimed a slot
+        }
+    }
+
+    /**
+     * Closes the logger, draining pending messages first.
      */
     public void close() {
-        writer.close();
+        shutdown();
+    }
+
+    /**
+     * Gets the number of messages accepted into the buffer.
+     * @return Accepted message count.
+     */
+    public long getLoggedCount() {
+        return tail.get() & ~SEALED;
+    }
+
+    /**
+     * Gets the number of messages written to the sinks.
+     * @return Written message count.
+     */
+    public long getWrittenCount() {
+        return head.get();
+    }
+
+    /**
+     * Gets the number of messages dropped because the buffer was full or the logger was closed.
+     * @return Dropped message count.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the write throughput since the writer thread started.
+     * @return Messages written per second.
+     */
+    public double getMessagesPerSecond() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0.0;
+        }
+        long end = stopNanos != 0 ? stopNanos : System.nanoTime();
+        return end == start ? 0.0 : head.get() * 1_000_000_000.0 / (end - start);
+    }
+
+    private synchronized void startWriter() {
+        if (writerThread != null || closed) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        Thread thread = new Thread(this::runWriter, "clean-sweep-logger");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    private void runWriter() {
+        long lastFlush = System.nanoTime();
+        int unflushed = 0;
+        while (true) {
+            boolean closing = closed;
+            int written = drain();
+            unflushed += written;
+
+            long now = System.nanoTime();
+            long position = head.get();
+            boolean requested = flushRequest.get() > flushed.get();
+            if (unflushed > 0 && (unflushed >= flushBatch || now - lastFlush >= flushIntervalNanos || requested)) {
+                flushSinks();
+                unflushed = 0;
+                lastFlush = now;
+            }
+            if (unflushed == 0) {
+                flushed.set(position);
+            }
+
+            // Sealing fails while any claimed entry is unwritten, and claims after it are dropped
+            if (closing && tail.compareAndSet(position, position | SEALED)) {
+                break;
+            }
+            if (written == 0) {
+                if (closing) {
+                    LockSupport.parkNanos(this, 1_000); // A claimed entry is still being published
+                } else {
+                    idle(unflushed > 0 ? Math.max(1, lastFlush + flushIntervalNanos - now) : 0);
+                }
+            }
+        }
+        flushSinks();
+        closeSinks();
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * Parks the writer until there is work. The flag is raised before checking
+     * for work so that a caller publishing after the check sees it and unparks.
+     * @param timeoutNanos Time until unflushed entries are due, or 0 to park until unparked.
+     */
+    private void idle(long timeoutNanos) {
+        sleeping = true;
+        long position = head.get();
+        if (!closed && published.get((int) position & mask) != position + 1 && flushRequest.get() <= flushed.get()) {
+            if (timeoutNanos > 0) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        sleeping = false;
+    }
+
+    /**
+     * Writes every published entry to the sinks.
+     * @return Number of entries written.
+     */
+    private int drain() {
+        long position = head.get();
+        int written = 0;
+        while (true) {
+            int slot = (int) position & mask;
+            if (published.get(slot) != position + 1) {
+                break;
+            }
+            String message = messages[slot];
+            messages[slot] = null;
+            for (LogSink sink : sinks) {
+                try {
+                    sink.write(timestamps[slot], levels[slot], message);
+                } catch (IOException e) {
+                    dropped.incrementAndGet();
+                }
+            }
+            position++;
+            written++;
+            head.lazySet(position);
+        }
+        return written;
+    }
+
+    private void flushSinks() {
+        for (LogSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (IOException e) {
+                System.err.println("Log flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void closeSinks() {
+        for (LogSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                System.err.println("Log close failed: " + e.getMessage());
+            }
+        }
     }
 }
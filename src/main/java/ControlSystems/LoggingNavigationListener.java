@@ -0,0 +1,74 @@
+package ControlSystems;
+
+/**
+ * Writes navigation events to a logger, which in turn writes them to its
+ * sinks (the console, a file, or both). Per-cell events are logged at TRACE
+ * and their messages are only built when the logger keeps that level.
+ */
+public class LoggingNavigationListener implements NavigationListener {
+
+    private final Logger logger;
+
+    /**
+     * Creates a listener writing to a logger. The logger is not closed by the listener.
+     * @param logger Logger to write to.
+     */
+    public LoggingNavigationListener(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void moved(CleanSweepNavigation robot, int x, int y, SurfaceType surface) {
+        if (logger.isEnabled(Logger.Level.TRACE)) {
+            logger.log(Logger.Level.TRACE, "Moved to position (" + x + ", " + y + ")");
+            logger.log(Logger.Level.TRACE, "Surface Type: " + surface.getLabel());
+            logger.log(Logger.Level.TRACE, "Battery Level after move: " + robot.getBatteryLevel() + "%");
+        }
+    }
+
+    @Override
+    public void cleaned(CleanSweepNavigation robot, int x, int y) {
+        if (logger.isEnabled(Logger.Level.TRACE)) {
+            logger.log(Logger.Level.TRACE, "Cleaned cell at position (" + x + ", " + y + ")");
+        }
+    }
+
+    @Override
+    public void obstacleDetected(CleanSweepNavigation robot, int x, int y) {
+        if (logger.isEnabled(Logger.Level.TRACE)) {
+            logger.log(Logger.Level.TRACE, "Obstacle detected at (" + x + ", " + y + ")");
+        }
+    }
+
+    @Override
+    public void batteryChanged(CleanSweepNavigation robot, int level, BatteryEvent event) {
+        if (event == BatteryEvent.LOW) {
+            logger.log("Battery level low (" + level + "%). Navigating to charging station...");
+        } else {
+            logger.log("Reached charging station. Recharging...");
+            logger.log("Battery fully recharged.");
+        }
+    }
+
+    @Override
+    public void shutDown(CleanSweepNavigation robot, ShutdownReason reason) {
+        switch (reason) {
+            case CLEANING_COMPLETE:
+                logger.log("No unvisited cells left. Cleaning complete.");
+                break;
+            case BATTERY_DEPLETED:
+                logger.log(Logger.Level.WARN, "Battery depleted! Shutting down.");
+                break;
+            case NO_CHARGING_STATION:
+                logger.log(Logger.Level.WARN, "No path to charging station found. Shutting down.");
+                break;
+            case CHARGING_FAILED:
+                logger.log(Logger.Level.WARN, "Failed to reach charging station. Shutting down.");
+                break;
+            case OUT_OF_RANGE:
+                logger.log(Logger.Level.WARN, "Remaining cells cannot be reached on one charge. Shutting down.");
+                break;
+        }
+        logger.log("Clean Sweep has shut down.");
+    }
+}
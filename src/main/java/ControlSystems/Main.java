@@ -2,28 +2,42 @@ package ControlSystems;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 
 /**
  * Main class to run the Clean Sweep Navigation program.
+ * An optional argument names a floor plan file (.json or .cfp) to use instead
+ * of the bundled resource, and an optional second one a JSON energy model
+ * to use instead of the default surface costs.
  */
 public class Main {
     public static void main(String[] args) {
         try {
-            // Load the floor plan from the JSON file
-            InputStream inputStream = Main.class.getResourceAsStream("/floorplan2.json");
-            if (inputStream == null) {
-                System.err.println("Could not find floorplan1.json in resources.");
-                return;
+            FloorGrid floorPlan;
+            if (args.length > 0) {
+                // Load the floor plan from the given file, format chosen by extension
+                floorPlan = FloorPlanLoader.loadFloorPlan(Paths.get(args[0]));
+            } else {
+                // Load the floor plan from the JSON file
+                InputStream inputStream = Main.class.getResourceAsStream("/floorplan2.json");
+                if (inputStream == null) {
+                    System.err.println("Could not find floorplan1.json in resources.");
+                    return;
+                }
+                floorPlan = FloorPlanLoader.loadFloorPlan(inputStream);
             }
-            FloorPlan floorPlan = FloorPlanLoader.loadFloorPlan(inputStream);
 
             // Initialize the robot at position (0, 0)
             CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, floorPlan);
-
-            // Simulate the robot navigating until it shuts down
-            while (!robot.isShutDown()) {
-                robot.navigate();
+            if (args.length > 1) {
+                robot.setEnergyModel(EnergyModel.load(Paths.get(args[1])));
             }
+
+            // Simulate the robot step by step on the simulated clock until it shuts down
+            SimulationScheduler scheduler = new SimulationScheduler();
+            scheduler.addRobot(robot);
+            scheduler.run();
+            System.out.println(scheduler);
         } catch (IOException e) {
             System.err.println("Error during simulation: " + e.getMessage());
         }
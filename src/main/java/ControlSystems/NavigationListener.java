@@ -0,0 +1,84 @@
+package ControlSystems;
+
+/**
+ * Receives the robot's navigation events. Events are plain method calls with
+ * primitive arguments and the robot itself as the source, so reporting them
+ * allocates nothing; a robot without listeners does no output at all. Every
+ * method has an empty default, so a listener overrides only what it needs.
+ * Listeners are called on the thread driving the robot and should return quickly.
+ */
+public interface NavigationListener {
+
+    /**
+     * Battery changes worth reporting; the level after every move is carried by
+     * {@link #moved}.
+     */
+    enum BatteryEvent {
+        /** The robot is heading back to a charging station. */
+        LOW,
+        /** The robot recharged at a charging station. */
+        RECHARGED
+    }
+
+    /**
+     * Why the robot shut down.
+     */
+    enum ShutdownReason {
+        /** Every reachable cell has been cleaned. */
+        CLEANING_COMPLETE,
+        /** The battery ran out during a move. */
+        BATTERY_DEPLETED,
+        /** The battery was low and no charging station could be reached. */
+        NO_CHARGING_STATION,
+        /** The robot set off for a charging station but did not arrive. */
+        CHARGING_FAILED,
+        /** The remaining cells are too far from a charging station to clean on one charge. */
+        OUT_OF_RANGE
+    }
+
+    /**
+     * Called after the robot moved into a cell and paid the energy for it.
+     * @param robot The robot; its battery level and step count already include the move.
+     * @param x X coordinate of the cell.
+     * @param y Y coordinate of the cell.
+     * @param surface Surface of the cell.
+     */
+    default void moved(CleanSweepNavigation robot, int x, int y, SurfaceType surface) {
+    }
+
+    /**
+     * Called after the robot cleaned the cell it moved into.
+     * @param robot The robot.
+     * @param x X coordinate of the cell.
+     * @param y Y coordinate of the cell.
+     */
+    default void cleaned(CleanSweepNavigation robot, int x, int y) {
+    }
+
+    /**
+     * Called for each obstacle next to a cell the robot moved into, in the
+     * order right, down, left, up.
+     * @param robot The robot.
+     * @param x X coordinate of the obstacle.
+     * @param y Y coordinate of the obstacle.
+     */
+    default void obstacleDetected(CleanSweepNavigation robot, int x, int y) {
+    }
+
+    /**
+     * Called when the robot starts returning to charge and when it has recharged.
+     * @param robot The robot.
+     * @param level Battery level in percent.
+     * @param event What happened.
+     */
+    default void batteryChanged(CleanSweepNavigation robot, int level, BatteryEvent event) {
+    }
+
+    /**
+     * Called once when the robot shuts down, before its logger is closed.
+     * @param robot The robot.
+     * @param reason Why it shut down.
+     */
+    default void shutDown(CleanSweepNavigation robot, ShutdownReason reason) {
+    }
+}
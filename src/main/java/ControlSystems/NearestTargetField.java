@@ -0,0 +1,499 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Distance field from every cell to its nearest target cell (for the robot,
+ * the nearest unvisited cell), kept up to date incrementally as targets are
+ * removed.
+ * <p>
+ * The field is built once with a multi-source breadth-first search and then
+ * repaired the way Lifelong Planning A* repairs its search tree. Each cell
+ * keeps its distance and a one-step lookahead (one more than its best
+ * neighbor's distance, or 0 for a target). Removed targets are collected and,
+ * when a query needs the field, become inconsistent and are queued together.
+ * A query only processes queued cells whose key is below the start cell's
+ * distance, so the work per call is proportional to the part of the change
+ * that can affect the answer. Keys are move counts, so the queue is an array
+ * of buckets indexed by key rather than a heap. Changes further away stay queued until a later
+ * query needs them. Queries whose answer is the start or one of its neighbors
+ * are answered directly.
+ * <p>
+ * A query descends the field from the start, trying neighbors right, down,
+ * left, up. That gives the same target and path as a {@link GridSearch}
+ * breadth-first search with the same neighbor order.
+ * <p>
+ * Targets may also stop being targets without being removed (for example when
+ * another robot claims them); a query that reaches such a cell removes it and
+ * descends again. Passability is read once per build; the field is rebuilt
+ * when the plan's revision changes or a descent runs into a cell that is no
+ * longer passable, unless it is registered as an {@link ObstacleListener}, in
+ * which case a changed cell is repaired like a removed target.
+ * <p>
+ * The field pays for every cleaned cell whose removal raises distances around
+ * it, while a breadth-first search pays only for the cells between the robot
+ * and its answer. It is the cheaper of the two when targets are sparse and far
+ * from the robot, not while the robot is sweeping through unvisited space.
+ */
+public class NearestTargetField implements ObstacleListener {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final FloorGrid floorPlan;          // Plan whose revision invalidates the field
+    private final GridSearch.CellTest passable; // Cells that may be entered
+    private final GridSearch.CellTest target;   // Cells that count as targets
+    private final int gridSize;
+    private final int[] distance;               // Moves to the nearest target as last settled
+    private final int[] lookahead;              // 0 at targets, else 1 + smallest neighbor distance
+    private final boolean[] targets;            // Cells the field currently treats as targets
+    private final boolean[] open;               // Passable cells as of the last build
+    private final int[] path;                   // Path of the last successful search, start first
+    private int[][] buckets;                    // Inconsistent cells by key, one stack per distance level
+    private int[] bucketSizes;
+    private int queued;                         // Entries in all buckets, stale ones included
+    private int lowestLevel;                    // No bucket below this level holds entries
+    private int[] removed = new int[64];        // Targets removed since the last repair
+    private int removedCount;
+    private int pathLength;
+    private int expanded;                       // Cells touched by the last search, repairs included
+    private long revision;
+    private boolean valid;
+
+    /**
+     * Creates a field. Nothing is computed until the first search.
+     * @param floorPlan The floor plan; a revision change forces a rebuild.
+     * @param passable Test deciding whether a cell may be entered.
+     * @param target Test deciding whether a passable cell is a target.
+     */
+    public NearestTargetField(FloorGrid floorPlan, GridSearch.CellTest passable, GridSearch.CellTest target) {
+        this.floorPlan = floorPlan;
+        this.passable = passable;
+        this.target = target;
+        this.gridSize = floorPlan.getGridSize();
+        int cells = gridSize * gridSize;
+        this.distance = new int[cells];
+        this.lookahead = new int[cells];
+        this.targets = new boolean[cells];
+        this.open = new boolean[cells];
+        this.path = new int[cells];
+        this.buckets = new int[64][];
+        this.bucketSizes = new int[64];
+    }
+
+    /**
+     * Records that a cell is no longer a target. The field is repaired lazily
+     * by later searches; removing a cell that is not a target does nothing.
+     * @param index Cell index.
+     */
+    public void remove(int index) {
+        if (!valid || !targets[index]) {
+            return;
+        }
+        targets[index] = false;
+        if (removedCount == removed.length) {
+            removed = Arrays.copyOf(removed, removedCount * 2);
+        }
+        removed[removedCount++] = index;
+    }
+
+    /**
+     * Repairs the field around a cell whose obstacle flag changed: the cell and
+     * its neighbors are re-derived and the difference is queued like a removed
+     * target. If the field has missed another change it is rebuilt instead.
+     * @param x X coordinate of the changed cell.
+     * @param y Y coordinate of the changed cell.
+     * @param obstacle True if the cell now has an obstacle.
+     */
+    @Override
+    public void obstacleChanged(int x, int y, boolean obstacle) {
+        if (!valid || revision != floorPlan.getRevision() - 1) {
+            return;
+        }
+        revision = floorPlan.getRevision();
+        int index = y * gridSize + x;
+        boolean nowOpen = passable.test(index);
+        if (nowOpen == open[index]) {
+            return;
+        }
+        open[index] = nowOpen;
+        distance[index] = UNREACHABLE;
+        if (nowOpen) {
+            targets[index] = target.test(index);
+            lookahead[index] = targets[index] ? 0 : UNREACHABLE;
+            update(index);
+            return;
+        }
+        targets[index] = false;
+        lookahead[index] = UNREACHABLE;
+        if (x + 1 < gridSize) {
+            update(index + 1);
+        }
+        if (y + 1 < gridSize) {
+            update(index + gridSize);
+        }
+        if (x > 0) {
+            update(index - 1);
+        }
+        if (y > 0) {
+            update(index - gridSize);
+        }
+    }
+
+    /**
+     * Forces a full rebuild on the next search, for example after cells became
+     * targets again.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Finds the nearest target from a start cell, which may be the start itself.
+     * @param start Index of the start cell.
+     * @return Index of the target found, or -1 if none is reachable.
+     */
+    public int search(int start) {
+        expanded = 0;
+        pathLength = 0;
+        if (findAdjacent(start)) {
+            return path[pathLength - 1];
+        }
+        while (true) {
+            if (!valid || revision != floorPlan.getRevision()) {
+                build();
+            }
+            settle(start);
+
+            int length = descend(start);
+            if (length < 0) {
+                valid = false; // The field led into a blocked cell: rebuild from scratch
+                continue;
+            }
+            if (length == 0) {
+                return -1;
+            }
+            int found = path[length - 1];
+            if (target.test(found)) {
+                pathLength = length;
+                return found;
+            }
+            remove(found); // Stopped being a target behind our back; repair and descend again
+        }
+    }
+
+    /**
+     * Checks the start cell and then its neighbors right, down, left, up for a
+     * target, which is what breadth-first search dequeues first. Most queries
+     * of a cleaning robot end here without touching the field.
+     * @return True if a target was found and written as the path.
+     */
+    private boolean findAdjacent(int start) {
+        path[0] = start;
+        if (passable.test(start) && target.test(start)) {
+            pathLength = 1;
+            return true;
+        }
+        int x = start % gridSize;
+        int y = start / gridSize;
+        if ((x + 1 < gridSize && isTarget(start + 1)) || (y + 1 < gridSize && isTarget(start + gridSize))
+                || (x > 0 && isTarget(start - 1)) || (y > 0 && isTarget(start - gridSize))) {
+            pathLength = 2;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isTarget(int cell) {
+        if (passable.test(cell) && target.test(cell)) {
+            path[1] = cell;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the path buffer of the last successful search. Only the first
+     * {@link #getPathLength()} entries are valid.
+     * @return Cell indices from the start cell to the target, inclusive.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of cells in the last path.
+     * @return Path length, or 0 if the last search found nothing.
+     */
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * Gets the number of cells touched by the last search, including repairs
+     * and rebuilds.
+     * @return Touched cell count.
+     */
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Gets the moves from a cell to its nearest target as of the last search.
+     * @param index Cell index.
+     * @return Distance, or {@link Integer#MAX_VALUE} if no target is reachable.
+     */
+    public int getDistance(int index) {
+        return distance[index];
+    }
+
+    /**
+     * Processes queued cells until the start cell's distance, or for a blocked
+     * start the smallest distance among its neighbors, can no longer change.
+     * Every cell closer to a target than that is then consistent and exact.
+     */
+    private void settle(int start) {
+        // Removals are applied in one batch, so overlapping repairs share their work
+        for (int r = 0; r < removedCount; r++) {
+            update(removed[r]);
+        }
+        removedCount = 0;
+        while (queued > 0 && lowestQueuedLevel() < bound(start)) {
+            int queuedKey = lowestLevel;
+            int cell = buckets[queuedKey][--bucketSizes[queuedKey]];
+            queued--;
+            if (distance[cell] == lookahead[cell]) {
+                continue; // Became consistent after it was queued
+            }
+            int key = Math.min(distance[cell], lookahead[cell]);
+            if (queuedKey < key) {
+                enqueue(key, cell); // Queued before its key rose; requeue in order
+                continue;
+            }
+            expanded++;
+            if (distance[cell] > lookahead[cell]) {
+                distance[cell] = lookahead[cell]; // Distance fell: settle it
+            } else {
+                distance[cell] = UNREACHABLE;      // Distance rose: reopen it and let neighbors re-derive it
+                update(cell);
+            }
+            int x = cell % gridSize;
+            int y = cell / gridSize;
+            if (x + 1 < gridSize) {
+                update(cell + 1);
+            }
+            if (y + 1 < gridSize) {
+                update(cell + gridSize);
+            }
+            if (x > 0) {
+                update(cell - 1);
+            }
+            if (y > 0) {
+                update(cell - gridSize);
+            }
+        }
+    }
+
+    /**
+     * Gets the key below which queued cells must be processed for a query.
+     * For a blocked start the neighbors' own level must be exact too, so the
+     * limit is one past the smallest consistent neighbor distance.
+     */
+    private int bound(int start) {
+        if (open[start]) {
+            return distance[start] != lookahead[start] ? UNREACHABLE : distance[start];
+        }
+        int x = start % gridSize;
+        int y = start / gridSize;
+        int best = UNREACHABLE;
+        if (x + 1 < gridSize) {
+            best = Math.min(best, settledDistance(start + 1));
+        }
+        if (y + 1 < gridSize) {
+            best = Math.min(best, settledDistance(start + gridSize));
+        }
+        if (x > 0) {
+            best = Math.min(best, settledDistance(start - 1));
+        }
+        if (y > 0) {
+            best = Math.min(best, settledDistance(start - gridSize));
+        }
+        return best == UNREACHABLE ? UNREACHABLE : best + 1;
+    }
+
+    private int settledDistance(int cell) {
+        return open[cell] && distance[cell] == lookahead[cell] ? distance[cell] : UNREACHABLE;
+    }
+
+    /**
+     * Recomputes a cell's lookahead and queues it if it disagrees with its distance.
+     */
+    private void update(int cell) {
+        if (!open[cell]) {
+            return;
+        }
+        if (!targets[cell]) {
+            int best = lowestNeighbor(cell);
+            lookahead[cell] = best == -1 ? UNREACHABLE : distance[best] + 1;
+        }
+        if (distance[cell] != lookahead[cell]) {
+            enqueue(Math.min(distance[cell], lookahead[cell]), cell);
+        }
+    }
+
+    /**
+     * Gets the key of the lowest queued entry. Keys are move counts, so the
+     * queue is an array of buckets and never needs a heap.
+     */
+    private int lowestQueuedLevel() {
+        while (bucketSizes[lowestLevel] == 0) {
+            lowestLevel++;
+        }
+        return lowestLevel;
+    }
+
+    private void enqueue(int key, int cell) {
+        if (key >= buckets.length) {
+            int size = Math.max(key + 1, buckets.length * 2);
+            buckets = Arrays.copyOf(buckets, size);
+            bucketSizes = Arrays.copyOf(bucketSizes, size);
+        }
+        int[] bucket = buckets[key];
+        if (bucket == null) {
+            bucket = buckets[key] = new int[16];
+        } else if (bucketSizes[key] == bucket.length) {
+            bucket = buckets[key] = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[bucketSizes[key]++] = cell;
+        queued++;
+        lowestLevel = Math.min(lowestLevel, key);
+    }
+
+    /**
+     * Walks downhill from the start, preferring right, down, left, up.
+     * @return Path length, 0 if no target is reachable, -1 if the field is stale.
+     */
+    private int descend(int start) {
+        int current = start;
+        int length = 0;
+        path[length++] = current;
+        int remaining = distance[current];
+        if (!passable.test(current) || remaining == UNREACHABLE) {
+            // The robot's own cell only matters through its neighbors
+            int best = lowestNeighbor(current);
+            if (best == -1) {
+                return 0;
+            }
+            remaining = distance[best] + 1;
+        }
+        while (remaining > 0) {
+            int next = downhillNeighbor(current, remaining - 1);
+            if (next == -1) {
+                return -1;
+            }
+            current = next;
+            path[length++] = current;
+            remaining--;
+            expanded++;
+        }
+        return length;
+    }
+
+    private int downhillNeighbor(int cell, int wanted) {
+        int x = cell % gridSize;
+        int y = cell / gridSize;
+        if (x + 1 < gridSize && distance[cell + 1] == wanted && passable.test(cell + 1)) {
+            return cell + 1;
+        }
+        if (y + 1 < gridSize && distance[cell + gridSize] == wanted && passable.test(cell + gridSize)) {
+            return cell + gridSize;
+        }
+        if (x > 0 && distance[cell - 1] == wanted && passable.test(cell - 1)) {
+            return cell - 1;
+        }
+        if (y > 0 && distance[cell - gridSize] == wanted && passable.test(cell - gridSize)) {
+            return cell - gridSize;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the passable neighbor with the smallest finite distance.
+     * @return Neighbor index, or -1 if none can reach a target.
+     */
+    private int lowestNeighbor(int cell) {
+        int x = cell % gridSize;
+        int y = cell / gridSize;
+        int best = -1;
+        if (x + 1 < gridSize) {
+            best = lower(best, cell + 1);
+        }
+        if (y + 1 < gridSize) {
+            best = lower(best, cell + gridSize);
+        }
+        if (x > 0) {
+            best = lower(best, cell - 1);
+        }
+        if (y > 0) {
+            best = lower(best, cell - gridSize);
+        }
+        return best;
+    }
+
+    private int lower(int best, int candidate) {
+        if (distance[candidate] == UNREACHABLE || !open[candidate]) {
+            return best;
+        }
+        return best == -1 || distance[candidate] < distance[best] ? candidate : best;
+    }
+
+    /**
+     * Multi-source breadth-first search from every current target.
+     */
+    private void build() {
+        revision = floorPlan.getRevision();
+        Arrays.fill(bucketSizes, 0);
+        queued = 0;
+        lowestLevel = 0;
+        removedCount = 0;
+        Arrays.fill(distance, UNREACHABLE);
+
+        int[] queue = path; // Free until the descent; every cell is queued at most once
+        int tail = 0;
+        for (int index = 0; index < distance.length; index++) {
+            open[index] = passable.test(index);
+            targets[index] = open[index] && target.test(index);
+            if (targets[index]) {
+                distance[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int current = queue[head];
+            int x = current % gridSize;
+            int y = current / gridSize;
+            int next = distance[current] + 1;
+            if (x + 1 < gridSize && reach(current + 1, next)) {
+                queue[tail++] = current + 1;
+            }
+            if (y + 1 < gridSize && reach(current + gridSize, next)) {
+                queue[tail++] = current + gridSize;
+            }
+            if (x > 0 && reach(current - 1, next)) {
+                queue[tail++] = current - 1;
+            }
+            if (y > 0 && reach(current - gridSize, next)) {
+                queue[tail++] = current - gridSize;
+            }
+        }
+        System.arraycopy(distance, 0, lookahead, 0, distance.length);
+        expanded += distance.length;
+        valid = true;
+    }
+
+    private boolean reach(int neighbor, int neighborDistance) {
+        if (distance[neighbor] <= neighborDistance || !open[neighbor]) {
+            return false;
+        }
+        distance[neighbor] = neighborDistance;
+        return true;
+    }
+}
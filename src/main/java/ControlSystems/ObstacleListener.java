@@ -0,0 +1,19 @@
+package ControlSystems;
+
+/**
+ * Receives obstacle changes made through a floor plan's mutators, so data
+ * derived from the plan can be repaired around the changed cell instead of
+ * being rebuilt. Each call follows exactly one revision bump, after the cell
+ * has changed; a listener that finds the revision advanced by more than one
+ * has missed a change (for example a Cell edited directly) and should rebuild.
+ */
+public interface ObstacleListener {
+
+    /**
+     * Called after a cell's obstacle flag was set.
+     * @param x X coordinate of the cell.
+     * @param y Y coordinate of the cell.
+     * @param obstacle True if the cell now has an obstacle.
+     */
+    void obstacleChanged(int x, int y, boolean obstacle);
+}
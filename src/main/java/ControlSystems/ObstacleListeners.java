@@ -0,0 +1,32 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write listener arrays for the floor plans, so notifying listeners
+ * iterates a plain array and allocates nothing. Plans swap in the new array
+ * under their own lock, since robots may register from several threads.
+ */
+final class ObstacleListeners {
+    static final ObstacleListener[] NONE = new ObstacleListener[0];
+
+    private ObstacleListeners() {
+    }
+
+    static ObstacleListener[] add(ObstacleListener[] listeners, ObstacleListener listener) {
+        ObstacleListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        return grown;
+    }
+
+    static ObstacleListener[] remove(ObstacleListener[] listeners, ObstacleListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ObstacleListener[] shrunk = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, shrunk, i, listeners.length - i - 1);
+                return shrunk;
+            }
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,25 @@
+package ControlSystems;
+
+/**
+ * Point-to-point path planner over an int-indexed square grid. Cells are
+ * addressed as {@code index = y * gridSize + x} and robots move in four
+ * directions. Implementations keep their working storage between queries, so
+ * a planner instance must not be shared between threads.
+ */
+public interface PathPlanner {
+
+    /**
+     * Plans a path between two cells.
+     * @param start Index of the start cell.
+     * @param goal Index of the goal cell.
+     * @param path Buffer receiving cell indices from start to goal, inclusive.
+     * @return Number of cells written, or 0 if the goal is unreachable.
+     */
+    int plan(int start, int goal, int[] path);
+
+    /**
+     * Gets the number of nodes taken off the frontier by the last query.
+     * @return Expanded node count.
+     */
+    int getExpandedCount();
+}
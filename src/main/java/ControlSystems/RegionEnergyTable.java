@@ -0,0 +1,175 @@
+package ControlSystems;
+
+/**
+ * Summed-area tables over a floor plan: for every cell, the move energy and
+ * the number of the obstacle-free cells above and to the left of it, in total
+ * and counting only cells a robot has not visited. Any rectangle's sums are
+ * then four array reads, so the energy needed to clean a room or any other
+ * rectangular region is estimated in O(1) whatever its size.
+ * <p>
+ * The tables are built in one pass over the grid and rebuilt on first use
+ * after the floor plan's revision changes. The unvisited sums are a snapshot
+ * of the coverage map at that build: cleaning cells does not rebuild them, as
+ * that would cost a pass over the grid per move. {@link RoomBudgetPlanner}
+ * reads the snapshot once to seed its room counts and keeps those current
+ * itself; other callers call {@link #invalidate()} to take a new snapshot.
+ */
+public class RegionEnergyTable {
+
+    private final FloorGrid floorPlan;   // Plan whose obstacles the table reflects
+    private final EnergyGrid energyGrid; // Energy to enter each cell
+    private final CoverageMap visited;   // Cells the robot has cleaned
+    private final int gridSize;
+    private final int stride;            // Row length of the tables, gridSize + 1
+    private final long[] energy;         // Move energy of free cells in [0, x) x [0, y)
+    private final int[] free;            // Free cells in [0, x) x [0, y)
+    private final long[] unvisitedEnergy; // Move energy of unvisited free cells in [0, x) x [0, y)
+    private final int[] unvisited;       // Unvisited free cells in [0, x) x [0, y)
+    private long revision;               // Plan revision the tables were built from
+    private boolean valid;               // False until built or after invalidate()
+
+    /**
+     * Creates the tables for a floor plan. Nothing is computed until first use.
+     * @param floorPlan The floor plan to sum over.
+     * @param energyGrid Energy costs resolved against the plan.
+     * @param visited Cells already cleaned.
+     */
+    public RegionEnergyTable(FloorGrid floorPlan, EnergyGrid energyGrid, CoverageMap visited) {
+        this.floorPlan = floorPlan;
+        this.energyGrid = energyGrid;
+        this.visited = visited;
+        this.gridSize = floorPlan.getGridSize();
+        this.stride = gridSize + 1;
+        int entries = stride * stride;
+        this.energy = new long[entries];
+        this.free = new int[entries];
+        this.unvisitedEnergy = new long[entries];
+        this.unvisited = new int[entries];
+    }
+
+    /**
+     * Forces the tables to be rebuilt on next use, for changes made directly to
+     * cells that did not move the floor plan's revision and to take a new
+     * snapshot of the coverage.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Rebuilds the tables if they were invalidated or the floor plan changed since the last build.
+     */
+    public void ensureCurrent() {
+        if (!valid || revision != floorPlan.getRevision()) {
+            build();
+        }
+    }
+
+    /**
+     * Gets the move energy of the free cells in a rectangle, clipped to the grid.
+     * @param x0 Left column, inclusive.
+     * @param y0 Top row, inclusive.
+     * @param x1 Right column, inclusive.
+     * @param y1 Bottom row, inclusive.
+     * @return Energy to enter every free cell of the rectangle once.
+     */
+    public long getEnergy(int x0, int y0, int x1, int y1) {
+        ensureCurrent();
+        return sum(energy, x0, y0, x1, y1);
+    }
+
+    /**
+     * Gets the move energy of the unvisited free cells in a rectangle, clipped to the grid.
+     * @param x0 Left column, inclusive.
+     * @param y0 Top row, inclusive.
+     * @param x1 Right column, inclusive.
+     * @param y1 Bottom row, inclusive.
+     * @return Energy to enter every cell of the rectangle still to be cleaned once.
+     */
+    public long getUnvisitedEnergy(int x0, int y0, int x1, int y1) {
+        ensureCurrent();
+        return sum(unvisitedEnergy, x0, y0, x1, y1);
+    }
+
+    /**
+     * Counts the free cells in a rectangle, clipped to the grid.
+     * @param x0 Left column, inclusive.
+     * @param y0 Top row, inclusive.
+     * @param x1 Right column, inclusive.
+     * @param y1 Bottom row, inclusive.
+     * @return Number of obstacle-free cells.
+     */
+    public int getFreeCount(int x0, int y0, int x1, int y1) {
+        ensureCurrent();
+        return (int) sum(free, x0, y0, x1, y1);
+    }
+
+    /**
+     * Counts the unvisited free cells in a rectangle, clipped to the grid.
+     * @param x0 Left column, inclusive.
+     * @param y0 Top row, inclusive.
+     * @param x1 Right column, inclusive.
+     * @param y1 Bottom row, inclusive.
+     * @return Number of cells still to be cleaned.
+     */
+    public int getUnvisitedCount(int x0, int y0, int x1, int y1) {
+        ensureCurrent();
+        return (int) sum(unvisited, x0, y0, x1, y1);
+    }
+
+    /**
+     * Builds all four tables in one row-major pass.
+     */
+    private void build() {
+        for (int y = 0; y < gridSize; y++) {
+            long rowEnergy = 0;
+            long rowUnvisitedEnergy = 0;
+            int rowFree = 0;
+            int rowUnvisited = 0;
+            int above = y * stride + 1;
+            int here = above + stride;
+            for (int x = 0; x < gridSize; x++) {
+                int index = y * gridSize + x;
+                if (!floorPlan.isObstacle(x, y)) {
+                    int cost = energyGrid.getMoveCost(index);
+                    rowEnergy += cost;
+                    rowFree++;
+                    if (visited.isUnvisited(index)) {
+                        rowUnvisitedEnergy += cost;
+                        rowUnvisited++;
+                    }
+                }
+                energy[here + x] = energy[above + x] + rowEnergy;
+                free[here + x] = free[above + x] + rowFree;
+                unvisitedEnergy[here + x] = unvisitedEnergy[above + x] + rowUnvisitedEnergy;
+                unvisited[here + x] = unvisited[above + x] + rowUnvisited;
+            }
+        }
+        revision = floorPlan.getRevision();
+        valid = true;
+    }
+
+    private long sum(long[] table, int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(gridSize - 1, x1);
+        y1 = Math.min(gridSize - 1, y1);
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+        return table[(y1 + 1) * stride + x1 + 1] - table[y0 * stride + x1 + 1]
+                - table[(y1 + 1) * stride + x0] + table[y0 * stride + x0];
+    }
+
+    private long sum(int[] table, int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(gridSize - 1, x1);
+        y1 = Math.min(gridSize - 1, y1);
+        if (x0 > x1 || y0 > y1) {
+            return 0;
+        }
+        return table[(y1 + 1) * stride + x1 + 1] - table[y0 * stride + x1 + 1]
+                - table[(y1 + 1) * stride + x0] + table[y0 * stride + x0];
+    }
+}
@@ -0,0 +1,243 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Chooses which room a robot cleans next and whether it should charge first,
+ * so that rooms are cleaned on one charge instead of being interrupted by a
+ * trip to a charging station halfway through.
+ * <p>
+ * The floor is cut into square rooms of {@code roomSize} cells. The energy
+ * still needed in each room is read from a {@link RegionEnergyTable} when the
+ * planner is created, in O(1) per room, and then kept current in O(1) per
+ * cleaned cell or obstacle change. A room's budget is the energy to reach it,
+ * clean it with some allowance for revisits, and get back to a charging
+ * station from its farthest cell. The robot goes to the nearest room whose
+ * budget fits the battery; if none fits it charges first, which costs one
+ * trip from between rooms instead of one from the middle of a room. Rooms too
+ * large for a single charge are started on at least half a battery.
+ */
+public class RoomBudgetPlanner {
+    /** Returned by {@link #chooseRoom} when every room is clean or out of reach. */
+    public static final int NONE = -1;
+    /** Returned by {@link #chooseRoom} when the robot should charge before starting a room. */
+    public static final int CHARGE = -2;
+
+    // Cleaning energy allowance over entering each cell once. The navigation cleans a room with one
+    // route per cell and charges the first cell of each route, the one it stands on, again
+    private static final int REVISIT_PERCENT = 200;
+
+    private final FloorGrid floorPlan;
+    private final EnergyGrid energyGrid;
+    private final CoverageMap visited;
+    private final ChargingStationField chargingField;
+    private final RegionEnergyTable table;  // Summed-area tables the room sums are read from
+    private final int gridSize;
+    private final int roomSize;             // Side of a room in cells
+    private final int roomsPerRow;
+    private final int[] unvisitedCount;     // Cells left to clean in each room
+    private final long[] unvisitedEnergy;   // Move energy of those cells
+    private final int[] homeEnergy;         // Largest energy home from a free cell of each room, or -1 if stale
+    private final boolean[] abandoned;      // Rooms whose remaining cells cannot be reached
+    private final boolean[] counted;        // Cells included in the room counts: free and not yet cleaned
+
+    /**
+     * Creates a planner and reads each room's remaining energy from the
+     * summed-area tables of the floor plan.
+     * @param floorPlan The floor plan being cleaned.
+     * @param energyGrid Energy costs resolved against the plan.
+     * @param visited Cells already cleaned; report later ones with {@link #visited(int)}.
+     * @param chargingField Energy from each cell to the nearest charging station.
+     * @param roomSize Side of a room in cells.
+     */
+    public RoomBudgetPlanner(FloorGrid floorPlan, EnergyGrid energyGrid, CoverageMap visited,
+                             ChargingStationField chargingField, int roomSize) {
+        if (roomSize < 1) {
+            throw new IllegalArgumentException("Room size must be positive: " + roomSize);
+        }
+        this.floorPlan = floorPlan;
+        this.energyGrid = energyGrid;
+        this.visited = visited;
+        this.chargingField = chargingField;
+        this.gridSize = floorPlan.getGridSize();
+        this.roomSize = roomSize;
+        this.roomsPerRow = (gridSize + roomSize - 1) / roomSize;
+        int rooms = roomsPerRow * roomsPerRow;
+        this.unvisitedCount = new int[rooms];
+        this.unvisitedEnergy = new long[rooms];
+        this.homeEnergy = new int[rooms];
+        this.abandoned = new boolean[rooms];
+        Arrays.fill(homeEnergy, -1);
+        this.counted = new boolean[gridSize * gridSize];
+        for (int index = 0; index < counted.length; index++) {
+            counted[index] = visited.isUnvisited(index) && !floorPlan.isObstacle(index % gridSize, index / gridSize);
+        }
+
+        this.table = new RegionEnergyTable(floorPlan, energyGrid, visited);
+        for (int room = 0; room < rooms; room++) {
+            int x0 = getRoomX(room);
+            int y0 = getRoomY(room);
+            unvisitedCount[room] = table.getUnvisitedCount(x0, y0, x0 + roomSize - 1, y0 + roomSize - 1);
+            unvisitedEnergy[room] = table.getUnvisitedEnergy(x0, y0, x0 + roomSize - 1, y0 + roomSize - 1);
+        }
+    }
+
+    public int getRoomSize() { return roomSize; }
+    public int getRoomCount() { return unvisitedCount.length; }
+    public RegionEnergyTable getRegionEnergyTable() { return table; }
+
+    /**
+     * Gets the room a cell belongs to.
+     * @param index Cell index.
+     * @return Room index.
+     */
+    public int getRoom(int index) {
+        return (index / gridSize / roomSize) * roomsPerRow + index % gridSize / roomSize;
+    }
+
+    public int getRoomX(int room) { return room % roomsPerRow * roomSize; }
+    public int getRoomY(int room) { return room / roomsPerRow * roomSize; }
+    public int getUnvisitedCount(int room) { return unvisitedCount[room]; }
+    public long getUnvisitedEnergy(int room) { return unvisitedEnergy[room]; }
+
+    /**
+     * Records that a free cell was cleaned; cells already cleaned are ignored.
+     * @param index Cell index.
+     */
+    public void visited(int index) {
+        uncount(index);
+    }
+
+    /**
+     * Keeps the room counts in step with an obstacle change. Call after the
+     * charging station field has been told, since home energies are re-read.
+     * Repeated notifications of the same state change nothing.
+     * @param x X coordinate of the changed cell.
+     * @param y Y coordinate of the changed cell.
+     * @param obstacle True if the cell became blocked, false if it was cleared.
+     */
+    public void obstacleChanged(int x, int y, boolean obstacle) {
+        int index = y * gridSize + x;
+        if (obstacle) {
+            uncount(index);
+        } else if (!counted[index] && visited.isUnvisited(index)) {
+            int room = getRoom(index);
+            counted[index] = true;
+            unvisitedCount[room]++;
+            unvisitedEnergy[room] += energyGrid.getMoveCost(index);
+            abandoned[room] = false; // The new opening may make it reachable
+        }
+        Arrays.fill(homeEnergy, -1); // A change can move the cheapest path home from anywhere
+    }
+
+    /**
+     * Gives up on the remaining cells of a room, for rooms whose unvisited
+     * cells the robot found it cannot reach.
+     * @param room Room index.
+     */
+    public void abandon(int room) {
+        abandoned[room] = true;
+    }
+
+    /**
+     * Estimates the energy to go from a cell to a room, clean it and get back to a charging station.
+     * @param room Room index.
+     * @param x X coordinate of the robot.
+     * @param y Y coordinate of the robot.
+     * @return Estimated energy.
+     */
+    public long getBudget(int room, int x, int y) {
+        int x0 = getRoomX(room);
+        int y0 = getRoomY(room);
+        int dx = Math.max(0, Math.max(x0 - x, x - (x0 + roomSize - 1)));
+        int dy = Math.max(0, Math.max(y0 - y, y - (y0 + roomSize - 1)));
+        long travel = (long) (dx + dy) * energyGrid.getMinMoveCost();
+        return travel + getCleaningEnergy(room) + getHomeEnergy(room);
+    }
+
+    /**
+     * Chooses what the robot does next: the nearest room that can be cleaned
+     * and left on the battery it has, a charge if none can, or nothing once
+     * every room is done.
+     * @param x X coordinate of the robot.
+     * @param y Y coordinate of the robot.
+     * @param battery Energy left.
+     * @param capacity Energy of a full battery.
+     * @return Room index, {@link #CHARGE} or {@link #NONE}.
+     */
+    public int chooseRoom(int x, int y, int battery, int capacity) {
+        int nearest = NONE;
+        long nearestDistance = Long.MAX_VALUE;
+        int best = NONE;
+        long bestDistance = Long.MAX_VALUE;
+        for (int room = 0; room < unvisitedCount.length; room++) {
+            if (unvisitedCount[room] <= 0 || abandoned[room]) {
+                continue;
+            }
+            int x0 = getRoomX(room);
+            int y0 = getRoomY(room);
+            long distance = Math.max(0, Math.max(x0 - x, x - (x0 + roomSize - 1)))
+                    + Math.max(0, Math.max(y0 - y, y - (y0 + roomSize - 1)));
+            if (distance < nearestDistance) {
+                nearest = room;
+                nearestDistance = distance;
+            }
+            if (distance >= bestDistance) {
+                continue;
+            }
+            long budget = getBudget(room, x, y);
+            boolean oversized = getCleaningEnergy(room) + getHomeEnergy(room) >= capacity;
+            if (budget < battery || (oversized && 2 * battery >= capacity)) {
+                best = room;
+                bestDistance = distance;
+            }
+        }
+        if (best != NONE || nearest == NONE) {
+            return best;
+        }
+        return battery >= capacity ? nearest : CHARGE;
+    }
+
+    /**
+     * Drops a cell from its room's counts if it is still included.
+     */
+    private void uncount(int index) {
+        if (counted[index]) {
+            int room = getRoom(index);
+            counted[index] = false;
+            unvisitedCount[room]--;
+            unvisitedEnergy[room] -= energyGrid.getMoveCost(index);
+        }
+    }
+
+    /**
+     * Estimates the energy to clean the rest of a room once inside it.
+     */
+    private long getCleaningEnergy(int room) {
+        return unvisitedEnergy[room] * REVISIT_PERCENT / 100;
+    }
+
+    /**
+     * Gets the largest energy from a free cell of a room to a charging station,
+     * reading the charging station field again after obstacle changes.
+     */
+    private int getHomeEnergy(int room) {
+        if (homeEnergy[room] < 0) {
+            int x0 = getRoomX(room);
+            int y0 = getRoomY(room);
+            int x1 = Math.min(gridSize, x0 + roomSize);
+            int y1 = Math.min(gridSize, y0 + roomSize);
+            int largest = 0;
+            for (int cy = y0; cy < y1; cy++) {
+                for (int cx = x0; cx < x1; cx++) {
+                    int energy = chargingField.getEnergy(cy * gridSize + cx);
+                    if (energy != ChargingStationField.UNREACHABLE && !floorPlan.isObstacle(cx, cy)) {
+                        largest = Math.max(largest, energy);
+                    }
+                }
+            }
+            homeEnergy[room] = largest;
+        }
+        return homeEnergy[room];
+    }
+}
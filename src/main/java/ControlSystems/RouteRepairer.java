@@ -0,0 +1,180 @@
+package ControlSystems;
+
+import java.util.Arrays;
+
+/**
+ * Repairs a route whose next cells have become obstacles by detouring around
+ * them locally. The detour is a breadth-first search from the robot's cell to
+ * the first free route cell past the blocked stretch, confined to the box
+ * spanning both plus a margin, and it is spliced into the route in place of
+ * the stretch. Only when no detour fits in the box does the caller need to
+ * replan the whole route.
+ */
+public class RouteRepairer {
+    /** Cells the search box extends beyond the robot and the rejoin cell when none is given. */
+    public static final int DEFAULT_MARGIN = 8;
+
+    private final int gridSize;
+    private final GridSearch.CellTest passable; // Cells the robot may enter
+    private final int margin;
+    private int[] parent = new int[256];        // Predecessor in the box, by local index
+    private int[] stamp = new int[256];         // Generation in which a local cell was reached
+    private int[] queue = new int[256];
+    private int[] detour = new int[64];         // Detour of the last repair, robot's cell first
+    private int generation;
+    private int expanded;
+    private int requiredLength;                 // Route length the last repair needed, 0 unless the buffer was too short
+
+    /**
+     * Creates a repairer with the default margin.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     */
+    public RouteRepairer(int gridSize, GridSearch.CellTest passable) {
+        this(gridSize, passable, DEFAULT_MARGIN);
+    }
+
+    /**
+     * Creates a repairer.
+     * @param gridSize Width and height of the grid.
+     * @param passable Test deciding whether a cell may be entered.
+     * @param margin Cells the search box extends beyond the robot and the rejoin cell.
+     */
+    public RouteRepairer(int gridSize, GridSearch.CellTest passable, int margin) {
+        this.gridSize = gridSize;
+        this.passable = passable;
+        this.margin = margin;
+    }
+
+    /**
+     * Detours around the blocked cells that start at {@code cursor}. The robot
+     * stands on {@code route[cursor - 1]}, which stays where it is, so the
+     * caller carries on moving from index {@code cursor}.
+     * @param route Route buffer, rewritten in place.
+     * @param length Number of valid entries in the route.
+     * @param cursor Index of the next cell to move to, at least 1.
+     * @return New route length, or 0 if no local detour exists or the route
+     *         buffer is too short for it; the route is then left unchanged.
+     */
+    public int repair(int[] route, int length, int cursor) {
+        expanded = 0;
+        requiredLength = 0;
+        int rejoin = cursor;
+        while (rejoin < length && !passable.test(route[rejoin])) {
+            rejoin++;
+        }
+        if (rejoin == length) {
+            return 0; // The destination itself is blocked
+        }
+        int from = route[cursor - 1];
+        int detourLength = search(from, route[rejoin]);
+        if (detourLength == 0) {
+            return 0;
+        }
+        // The detour replaces route[cursor - 1 .. rejoin], both ends included
+        int newLength = length - (rejoin - cursor + 2) + detourLength;
+        if (newLength > route.length) {
+            requiredLength = newLength;
+            return 0;
+        }
+        System.arraycopy(route, rejoin + 1, route, cursor - 1 + detourLength, length - rejoin - 1);
+        System.arraycopy(detour, 0, route, cursor - 1, detourLength);
+        return newLength;
+    }
+
+    /**
+     * Gets the route length the last repair needed when it was rejected
+     * because the route buffer was too short.
+     * @return Required buffer length, or 0 if the last repair was not rejected for room.
+     */
+    public int getRequiredLength() {
+        return requiredLength;
+    }
+
+    /**
+     * Gets the number of cells dequeued by the last repair.
+     * @return Expanded cell count.
+     */
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * Breadth-first search from one cell to another inside their bounding box
+     * grown by the margin. The path is left in {@link #detour}.
+     * @return Number of path cells, or 0 if the target is not reachable in the box.
+     */
+    private int search(int from, int to) {
+        int x0 = Math.max(0, Math.min(from % gridSize, to % gridSize) - margin);
+        int y0 = Math.max(0, Math.min(from / gridSize, to / gridSize) - margin);
+        int x1 = Math.min(gridSize - 1, Math.max(from % gridSize, to % gridSize) + margin);
+        int y1 = Math.min(gridSize - 1, Math.max(from / gridSize, to / gridSize) + margin);
+        int width = x1 - x0 + 1;
+        int cells = width * (y1 - y0 + 1);
+        if (stamp.length < cells) {
+            int size = Math.max(cells, stamp.length * 2);
+            parent = new int[size];
+            stamp = new int[size];
+            queue = new int[size];
+            generation = 0;
+        }
+        generation++;
+        if (generation == 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+
+        int origin = (from / gridSize - y0) * width + from % gridSize - x0;
+        int goal = (to / gridSize - y0) * width + to % gridSize - x0;
+        stamp[origin] = generation;
+        parent[origin] = -1;
+        queue[0] = origin;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int current = queue[head];
+            expanded++;
+            if (current == goal) {
+                return tracePath(goal, width, x0, y0);
+            }
+            int lx = current % width;
+            int ly = current / width;
+            if (lx + 1 < width && reach(current + 1, current, width, x0, y0)) {
+                queue[tail++] = current + 1;
+            }
+            if (y0 + ly < y1 && reach(current + width, current, width, x0, y0)) {
+                queue[tail++] = current + width;
+            }
+            if (lx > 0 && reach(current - 1, current, width, x0, y0)) {
+                queue[tail++] = current - 1;
+            }
+            if (ly > 0 && reach(current - width, current, width, x0, y0)) {
+                queue[tail++] = current - width;
+            }
+        }
+        return 0;
+    }
+
+    private boolean reach(int local, int from, int width, int x0, int y0) {
+        if (stamp[local] == generation || !passable.test((y0 + local / width) * gridSize + x0 + local % width)) {
+            return false;
+        }
+        stamp[local] = generation;
+        parent[local] = from;
+        return true;
+    }
+
+    private int tracePath(int goal, int width, int x0, int y0) {
+        int length = 0;
+        for (int local = goal; local != -1; local = parent[local]) {
+            length++;
+        }
+        if (detour.length < length) {
+            detour = new int[Math.max(length, detour.length * 2)];
+        }
+        int position = length;
+        for (int local = goal; local != -1; local = parent[local]) {
+            detour[--position] = (y0 + local / width) * gridSize + x0 + local % width;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,126 @@
+package ControlSystems;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coverage bitset shared by several robots cleaning the same floor. A robot
+ * claims a cell with a compare-and-set on the word holding its bit, so exactly
+ * one robot wins each cell without locks. Cells are addressed like {@link CoverageMap}.
+ */
+public class SharedCoverageMap {
+    private final int cellCount;            // Number of cells tracked
+    private final AtomicLongArray words;    // Claimed bits, 64 cells per word
+    private final AtomicInteger claimedCount = new AtomicInteger();
+    private final AtomicInteger contention = new AtomicInteger(); // CAS retries caused by other robots
+
+    /**
+     * Creates a map with no claimed cells.
+     * @param cellCount Number of cells to track.
+     */
+    public SharedCoverageMap(int cellCount) {
+        this.cellCount = cellCount;
+        this.words = new AtomicLongArray((cellCount + 63) >>> 6);
+    }
+
+    /**
+     * Claims a cell for the calling robot.
+     * @param index Cell index.
+     * @return True if this call claimed the cell, false if it was already claimed.
+     */
+    public boolean claim(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        while (true) {
+            long current = words.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current | bit)) {
+                claimedCount.incrementAndGet();
+                return true;
+            }
+            contention.incrementAndGet(); // Another bit in the same word changed; retry
+        }
+    }
+
+    /**
+     * Releases a claim so other robots can head for the cell again, for
+     * robots that give up on a target before reaching it.
+     * @param index Cell index.
+     * @return True if this call released the cell, false if it was not claimed.
+     */
+    public boolean release(int index) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        while (true) {
+            long current = words.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(word, current, current & ~bit)) {
+                claimedCount.decrementAndGet();
+                return true;
+            }
+            contention.incrementAndGet(); // Another bit in the same word changed; retry
+        }
+    }
+
+    /**
+     * Checks if any robot has claimed a cell.
+     * @param index Cell index.
+     * @return True if claimed, false otherwise.
+     */
+    public boolean isClaimed(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the number of claimed cells.
+     * @return Claimed cell count.
+     */
+    public int getClaimedCount() {
+        return claimedCount.get();
+    }
+
+    /**
+     * Gets the number of compare-and-set retries caused by concurrent claims.
+     * @return Retry count.
+     */
+    public int getContentionCount() {
+        return contention.get();
+    }
+
+    /**
+     * Gets the percentage of all tracked cells that have been claimed.
+     * @return Coverage percentage between 0 and 100.
+     */
+    public double getCoveragePercentage() {
+        return cellCount == 0 ? 100.0 : 100.0 * claimedCount.get() / cellCount;
+    }
+
+    /**
+     * Gets the percentage of the cleanable cells of a coverage map that have
+     * been claimed, counted with popcount over the intersection of the bitsets.
+     * @param cleanable Coverage map of the same size whose cleanable cells count.
+     * @return Coverage percentage between 0 and 100.
+     */
+    public double getCoveragePercentage(CoverageMap cleanable) {
+        if (cleanable.getCleanableCount() == 0) {
+            return 100.0;
+        }
+        int count = 0;
+        for (int word = 0; word < words.length(); word++) {
+            count += Long.bitCount(words.get(word) & cleanable.getCleanableWord(word));
+        }
+        return 100.0 * count / cleanable.getCleanableCount();
+    }
+
+    /**
+     * Gets the number of tracked cells.
+     * @return Cell count.
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+}
@@ -0,0 +1,272 @@
+package ControlSystems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Discrete-event scheduler running robots on one simulated clock. Each robot
+ * has a single pending tick event; a tick makes the robot's next
+ * {@link CleanSweepNavigation#step() step} and schedules its next tick once
+ * that step is over: a move lasts the time set for the surface entered and a
+ * recharge lasts the charging duration. Pending ticks are kept in a binary
+ * min-heap on time, robots added earlier going first on ties, so a run is
+ * deterministic. Time advances as fast as robots can be stepped unless a
+ * real-time ratio is set. Robots are stepped on the calling thread; robots
+ * sharing coverage take turns instead of racing for cells.
+ */
+public class SimulationScheduler {
+
+    private final List<CleanSweepNavigation> robots = new ArrayList<>();
+    private long[] eventTimes = new long[8]; // Next tick of each robot by id, or its finish time once done
+    private int[] heap = new int[8];         // Ids of robots with a pending tick, earliest first
+    private int heapSize;                    // Number of valid entries in heap
+    private final long[] moveMillis = new long[SurfaceType.values().length]; // Move duration per surface ordinal
+    private long chargeMillis = 20 * 60_000; // Duration of a recharge
+    private double realTimeRatio;            // Simulated time per unit of wall time, 0 for as fast as possible
+    private long time;                       // Simulated time of the latest tick, in milliseconds
+    private long finishTime;                 // Simulated time the last robot to finish was done
+    private long ticks;                      // Ticks processed
+    private long moves;                      // Ticks that moved a robot
+    private long recharges;                  // Ticks that recharged a robot
+    private long elapsedNanos;               // Wall-clock time spent running
+
+    /**
+     * Creates a scheduler with default durations: one second per move on hard
+     * floors, longer on carpet, and twenty minutes per recharge.
+     */
+    public SimulationScheduler() {
+        Arrays.fill(moveMillis, 1000);
+        moveMillis[SurfaceType.TILE.ordinal()] = 1200;
+        moveMillis[SurfaceType.CARPET.ordinal()] = 2000;
+        moveMillis[SurfaceType.LOW_PILE_CARPET.ordinal()] = 1500;
+        moveMillis[SurfaceType.HIGH_PILE_CARPET.ordinal()] = 2500;
+    }
+
+    /**
+     * Sets how long a move into a cell takes.
+     * @param surface Surface of the cell entered.
+     * @param millis Simulated duration in milliseconds.
+     */
+    public void setMoveDuration(SurfaceType surface, long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Duration must not be negative: " + millis);
+        }
+        moveMillis[surface.ordinal()] = millis;
+    }
+
+    /**
+     * Gets how long a move into a cell takes.
+     * @param surface Surface of the cell entered.
+     * @return Simulated duration in milliseconds.
+     */
+    public long getMoveDuration(SurfaceType surface) {
+        return moveMillis[surface.ordinal()];
+    }
+
+    /**
+     * Sets how long a recharge at a charging station takes.
+     * @param millis Simulated duration in milliseconds.
+     */
+    public void setChargeDuration(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Duration must not be negative: " + millis);
+        }
+        this.chargeMillis = millis;
+    }
+
+    /**
+     * Sets how fast simulated time runs. At ratio 1 a simulated second takes a
+     * wall-clock second, at ratio 60 a simulated minute does.
+     * @param realTimeRatio Simulated time per unit of wall time, or 0 to run as fast as possible.
+     */
+    public void setRealTimeRatio(double realTimeRatio) {
+        if (realTimeRatio < 0) {
+            throw new IllegalArgumentException("Ratio must not be negative: " + realTimeRatio);
+        }
+        this.realTimeRatio = realTimeRatio;
+    }
+
+    /**
+     * Adds a robot whose first tick is at the current simulated time.
+     * @param robot Robot to schedule; it is stepped only by this scheduler from now on.
+     * @return Id of the robot.
+     */
+    public int addRobot(CleanSweepNavigation robot) {
+        int id = robots.size();
+        robots.add(robot);
+        if (id == eventTimes.length) {
+            eventTimes = Arrays.copyOf(eventTimes, id * 2);
+            heap = Arrays.copyOf(heap, id * 2);
+        }
+        eventTimes[id] = time;
+        push(id);
+        return id;
+    }
+
+    /**
+     * Runs until every robot has shut down or stopped.
+     */
+    public void run() {
+        runUntil(Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs every tick due up to a simulated time. Ticks after it stay pending,
+     * so a run can be continued by calling this again.
+     * @param endTime Simulated time in milliseconds.
+     */
+    public void runUntil(long endTime) {
+        long startNanos = System.nanoTime();
+        long startTime = time;
+        while (heapSize > 0 && eventTimes[heap[0]] <= endTime) {
+            if (realTimeRatio > 0) {
+                waitForWallClock(startNanos, eventTimes[heap[0]] - startTime);
+            }
+            tick();
+        }
+        elapsedNanos += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Processes the earliest pending tick.
+     * @return True if a tick was processed, false if no robot has one pending.
+     */
+    public boolean tick() {
+        if (heapSize == 0) {
+            return false;
+        }
+        int id = pop();
+        time = eventTimes[id];
+        CleanSweepNavigation robot = robots.get(id);
+        CleanSweepNavigation.StepResult result = robot.step();
+        ticks++;
+
+        long duration = 0;
+        if (result == CleanSweepNavigation.StepResult.MOVED) {
+            moves++;
+            duration = moveMillis[robot.getFloorPlan().getSurfaceType(robot.getX(), robot.getY()).ordinal()];
+        } else if (result == CleanSweepNavigation.StepResult.RECHARGED) {
+            recharges++;
+            duration = chargeMillis;
+        }
+        eventTimes[id] = time + duration;
+        if (result == CleanSweepNavigation.StepResult.NONE || robot.isShutDown()) {
+            finishTime = Math.max(finishTime, eventTimes[id]); // Done; the last move still takes its time
+        } else {
+            push(id);
+        }
+        return true;
+    }
+
+    /**
+     * Sleeps until the wall clock catches up with the simulated time about to be reached.
+     * @param startNanos Wall-clock time the run started.
+     * @param simulatedMillis Simulated time passed since the run started.
+     */
+    private void waitForWallClock(long startNanos, long simulatedMillis) {
+        long due = startNanos + (long) (simulatedMillis * 1_000_000 / realTimeRatio);
+        for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    public int getRobotCount() { return robots.size(); }
+    public CleanSweepNavigation getRobot(int id) { return robots.get(id); }
+    public int getPendingCount() { return heapSize; }
+    public long getTime() { return time; }
+    public long getTickCount() { return ticks; }
+    public long getMoveCount() { return moves; }
+    public long getRechargeCount() { return recharges; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * Gets when the robots that have finished were done.
+     * @return Simulated time in milliseconds at which the last of them finished its final step.
+     */
+    public long getFinishTime() {
+        return finishTime;
+    }
+
+    /**
+     * Gets when a robot has its next tick, or when it was done.
+     * @param id Id of the robot.
+     * @return Simulated time in milliseconds.
+     */
+    public long getEventTime(int id) {
+        return eventTimes[id];
+    }
+
+    /**
+     * Gets the scheduling throughput.
+     * @return Ticks processed per wall-clock second.
+     */
+    public double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : ticks * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Gets how much faster than real time the run went.
+     * @return Simulated time divided by the wall-clock time spent running.
+     */
+    public double getSpeedup() {
+        return elapsedNanos == 0 ? 0.0 : Math.max(time, finishTime) * 1_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        long end = Math.max(time, finishTime) / 1000;
+        return String.format("%d robots: %,d ticks (%,d moves, %,d recharges) simulating %d:%02d:%02d in %.1f ms"
+                        + " (%,.0f ticks/sec, %,.0fx real time)", robots.size(), ticks, moves, recharges, end / 3600,
+                end / 60 % 60, end % 60, elapsedNanos / 1e6, getTicksPerSecond(), getSpeedup());
+    }
+
+    /**
+     * Adds a robot to the heap and restores heap order.
+     */
+    private void push(int id) {
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(id, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = id;
+    }
+
+    /**
+     * Removes the robot with the earliest tick from the heap.
+     */
+    private int pop() {
+        int first = heap[0];
+        int last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], last)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return first;
+    }
+
+    /**
+     * Orders ticks by time, then by robot id.
+     */
+    private boolean before(int a, int b) {
+        return eventTimes[a] < eventTimes[b] || eventTimes[a] == eventTimes[b] && a < b;
+    }
+}
@@ -0,0 +1,210 @@
+package ControlSystems;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Loads a JSON floor plan with Jackson's token stream, writing each cell
+ * straight into a {@link CompactFloorPlan}. No Cell objects or per-cell
+ * strings are created, so peak memory is the packed grid plus the parser buffer.
+ * The loader keeps the statistics of its last load.
+ */
+public class StreamingFloorPlanLoader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SurfaceType[] SURFACES = SurfaceType.values();
+
+    private long cellsLoaded;  // Cells parsed by the last load
+    private long elapsedNanos; // Wall-clock duration of the last load
+
+    /**
+     * Loads the floor plan from the specified JSON stream.
+     * @param inputStream InputStream of the JSON file.
+     * @return Compact floor plan with the parsed cells.
+     * @throws IOException If the stream cannot be read or the layout is invalid.
+     */
+    public CompactFloorPlan load(InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        cellsLoaded = 0;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Floor plan must be a JSON object");
+            }
+
+            int gridSize = -1;
+            CompactFloorPlan plan = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("gridSize".equals(field)) {
+                    int declared = parser.getIntValue();
+                    if (plan != null && plan.getGridSize() != declared) {
+                        throw new JsonParseException(parser, "gridSize " + declared
+                                + " does not match row length " + plan.getGridSize());
+                    }
+                    gridSize = declared;
+                } else if ("cells".equals(field)) {
+                    plan = readCells(parser, gridSize);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (plan == null) {
+                throw new JsonParseException(parser, "Floor plan has no cells");
+            }
+            return plan;
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Reads the cells array row by row. When gridSize has not been seen yet the
+     * first row is buffered and its length decides the grid size.
+     */
+    private CompactFloorPlan readCells(JsonParser parser, int gridSize) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "cells must be an array of rows");
+        }
+
+        CompactFloorPlan plan = gridSize >= 0 ? new CompactFloorPlan(gridSize) : null;
+        byte[] firstRow = plan == null ? new byte[16] : null;
+        int y = 0;
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (plan != null && y >= plan.getGridSize()) {
+                throw new JsonParseException(parser, "More rows than gridSize " + plan.getGridSize());
+            }
+            int x = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                byte packed = readCell(parser);
+                if (plan == null) {
+                    if (x == firstRow.length) {
+                        firstRow = Arrays.copyOf(firstRow, x * 2);
+                    }
+                    firstRow[x] = packed;
+                } else {
+                    if (x >= plan.getGridSize()) {
+                        throw new JsonParseException(parser, "Row " + y + " has more than gridSize "
+                                + plan.getGridSize() + " cells");
+                    }
+                    plan.setPacked(y * plan.getGridSize() + x, packed);
+                }
+                x++;
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Row " + y + " must contain only cell objects");
+            }
+            if (plan == null) {
+                plan = new CompactFloorPlan(x);
+                for (int i = 0; i < x; i++) {
+                    plan.setPacked(i, firstRow[i]);
+                }
+                firstRow = null;
+            } else if (x != plan.getGridSize()) {
+                throw new JsonParseException(parser, "Row " + y + " has " + x + " cells, expected gridSize "
+                        + plan.getGridSize());
+            }
+            cellsLoaded += x;
+            y++;
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "cells must contain only rows");
+        }
+        if (plan == null) {
+            plan = new CompactFloorPlan(0);
+        }
+        if (y != plan.getGridSize()) {
+            throw new JsonParseException(parser, "Floor plan has " + y + " rows, expected gridSize "
+                    + plan.getGridSize());
+        }
+        return plan;
+    }
+
+    /**
+     * Reads one cell object, leaving the parser on its END_OBJECT token.
+     */
+    private byte readCell(JsonParser parser) throws IOException {
+        SurfaceType type = SurfaceType.UNKNOWN;
+        boolean obstacle = false;
+        boolean chargingStation = false;
+        boolean stairs = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "type":
+                    type = value == JsonToken.VALUE_STRING ? matchSurface(parser) : SurfaceType.UNKNOWN;
+                    break;
+                case "obstacle":
+                    obstacle = value == JsonToken.VALUE_TRUE;
+                    break;
+                case "chargingStation":
+                    chargingStation = value == JsonToken.VALUE_TRUE;
+                    break;
+                case "stairs":
+                    stairs = value == JsonToken.VALUE_TRUE;
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return CompactFloorPlan.pack(type, obstacle, chargingStation, stairs);
+    }
+
+    /**
+     * Matches the current string token against the surface labels without
+     * materializing it as a String.
+     */
+    private static SurfaceType matchSurface(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        for (SurfaceType surface : SURFACES) {
+            String label = surface.getLabel();
+            if (label.length() == length && regionMatches(label, text, offset)) {
+                return surface;
+            }
+        }
+        return SurfaceType.UNKNOWN;
+    }
+
+    private static boolean regionMatches(String label, char[] text, int offset) {
+        for (int i = 0; i < label.length(); i++) {
+            if (Character.toLowerCase(text[offset + i]) != label.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of cells parsed by the last load.
+     * @return Cell count.
+     */
+    public long getCellsLoaded() {
+        return cellsLoaded;
+    }
+
+    /**
+     * Gets the duration of the last load.
+     * @return Elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the parse throughput of the last load.
+     * @return Cells parsed per second.
+     */
+    public double getCellsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : cellsLoaded * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,70 @@
+package ControlSystems;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Surface types known to the control system and the sensor simulator.
+ * The ordinal is what compact floor plans store per cell, so new constants
+ * must be appended and the total kept within {@link #MAX_TYPES}.
+ */
+public enum SurfaceType {
+    HARDWOOD("hardwood"),
+    TILE("tile"),
+    CARPET("carpet"),
+    BARE_FLOOR("bare floor"),
+    LOW_PILE_CARPET("low-pile carpet"),
+    HIGH_PILE_CARPET("high-pile carpet"),
+    UNKNOWN("unknown");
+
+    /** Number of surface ordinals that fit in a packed cell. */
+    public static final int MAX_TYPES = 16;
+
+    private static final SurfaceType[] VALUES = values();
+    private static final Map<String, SurfaceType> BY_NAME = new HashMap<>();
+
+    static {
+        for (SurfaceType type : VALUES) {
+            BY_NAME.put(type.label, type);
+        }
+    }
+
+    private final String label; // Name used in floor plan files
+
+    SurfaceType(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name of the surface as written in floor plan files.
+     * @return Surface name.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Resolves a surface name from a floor plan file.
+     * @param name Surface name, case-insensitive.
+     * @return Matching surface type, or UNKNOWN if the name is not recognized.
+     */
+    public static SurfaceType fromLabel(String name) {
+        if (name == null) {
+            return UNKNOWN;
+        }
+        SurfaceType type = BY_NAME.get(name);
+        if (type == null) {
+            type = BY_NAME.get(name.toLowerCase());
+        }
+        return type == null ? UNKNOWN : type;
+    }
+
+    /**
+     * Resolves a surface type from its ordinal.
+     * @param ordinal Ordinal stored in a packed cell.
+     * @return Matching surface type, or UNKNOWN if out of range.
+     */
+    public static SurfaceType fromOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : UNKNOWN;
+    }
+}
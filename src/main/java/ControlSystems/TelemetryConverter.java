@@ -0,0 +1,64 @@
+package ControlSystems;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line tool converting a binary telemetry journal to the text log format.
+ * Usage: {@code TelemetryConverter <journal> [output.txt]}; without an output
+ * file the text is printed to the console.
+ */
+public class TelemetryConverter {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: TelemetryConverter <journal> [output.txt]");
+            return;
+        }
+        try (TelemetryReader reader = new TelemetryReader(Paths.get(args[0]))) {
+            if (args.length > 1) {
+                try (Writer out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                    convert(reader, out);
+                }
+            } else {
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                convert(reader, out);
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Error converting telemetry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes every remaining record of a journal as text log lines.
+     * @param reader Journal to read.
+     * @param out Destination of the text lines.
+     * @throws IOException If the text cannot be written.
+     */
+    public static void convert(TelemetryReader reader, Writer out) throws IOException {
+        TelemetryRecord record = new TelemetryRecord();
+        while (reader.next(record)) {
+            out.write(record.toLogText());
+            out.write(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Converts a journal file to a text log file.
+     * @param journal Path of the binary journal.
+     * @param output Path of the text file to write.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public static void convert(Path journal, Path output) throws IOException {
+        try (TelemetryReader reader = new TelemetryReader(journal);
+             Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            convert(reader, out);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ControlSystems;
+
+/**
+ * Kinds of events recorded in the binary telemetry journal. The ordinal is
+ * stored in each record, so new constants must be appended.
+ */
+public enum TelemetryEvent {
+    MOVE,          // Robot moved to and cleaned a cell
+    LOW_BATTERY,   // Robot started returning to a charging station
+    RECHARGE,      // Robot recharged at a charging station
+    SHUTDOWN;      // Robot shut down
+
+    private static final TelemetryEvent[] VALUES = values();
+
+    /**
+     * Resolves an event from its stored ordinal.
+     * @param ordinal Ordinal read from a record.
+     * @return Matching event.
+     * @throws IllegalArgumentException If the ordinal is unknown.
+     */
+    public static TelemetryEvent fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown telemetry event " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,111 @@
+package ControlSystems;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of robot telemetry.
+ * <pre>
+ * header (16 bytes): magic "CSTJ", version, record size, reserved
+ * record (24 bytes): step (long), x (int), y (int), battery (int),
+ *                    surface ordinal (byte), event ordinal (byte), reserved (short)
+ * </pre>
+ * Records are packed into a direct buffer and written to the channel when it fills,
+ * so recording a step is a handful of stores. Integers are big-endian.
+ */
+public class TelemetryJournal implements Closeable {
+    /** Magic number at the start of every journal ("CSTJ"). */
+    public static final int MAGIC = 0x4353544A;
+    /** Current format version. */
+    public static final int VERSION = 1;
+    /** Size of the journal header. */
+    public static final int HEADER_SIZE = 16;
+    /** Size of one record. */
+    public static final int RECORD_SIZE = 24;
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+    private long recordCount;
+
+    /**
+     * Creates a journal, replacing any existing file.
+     * @param path Path of the journal file.
+     * @throws IOException If the file cannot be created.
+     */
+    public TelemetryJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+    }
+
+    /**
+     * Appends one record.
+     * @param step Step number of the robot.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param surface Surface at the position.
+     * @param batteryLevel Battery level after the event.
+     * @param event Kind of event.
+     * @throws IOException If a full buffer cannot be written.
+     */
+    public void record(long step, int x, int y, SurfaceType surface, int batteryLevel, TelemetryEvent event)
+            throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            writeBuffer();
+        }
+        buffer.putLong(step)
+                .putInt(x)
+                .putInt(y)
+                .putInt(batteryLevel)
+                .put((byte) surface.ordinal())
+                .put((byte) event.ordinal())
+                .putShort((short) 0);
+        recordCount++;
+    }
+
+    /**
+     * Gets the number of records appended so far.
+     * @return Record count.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes buffered records to the file.
+     * @throws IOException If the records cannot be written.
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    /**
+     * Writes buffered records and closes the file.
+     * @throws IOException If the records cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
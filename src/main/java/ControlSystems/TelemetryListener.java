@@ -0,0 +1,71 @@
+package ControlSystems;
+
+import java.io.IOException;
+
+/**
+ * Records navigation events in a binary telemetry journal. The journal is
+ * flushed when the robot shuts down; closing it remains the caller's
+ * responsibility. A write failure is reported to the robot's logger and
+ * stops recording, so navigation carries on without the journal.
+ */
+public class TelemetryListener implements NavigationListener {
+
+    private TelemetryJournal journal; // Null once a write has failed
+
+    /**
+     * Creates a listener appending to a journal.
+     * @param journal Journal to append to.
+     */
+    public TelemetryListener(TelemetryJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the journal being recorded to.
+     * @return The journal, or null if recording stopped after a write failure.
+     */
+    public TelemetryJournal getJournal() {
+        return journal;
+    }
+
+    @Override
+    public void moved(CleanSweepNavigation robot, int x, int y, SurfaceType surface) {
+        record(robot, x, y, surface, TelemetryEvent.MOVE);
+    }
+
+    @Override
+    public void batteryChanged(CleanSweepNavigation robot, int level, BatteryEvent event) {
+        record(robot, robot.getX(), robot.getY(), null,
+                event == BatteryEvent.LOW ? TelemetryEvent.LOW_BATTERY : TelemetryEvent.RECHARGE);
+    }
+
+    @Override
+    public void shutDown(CleanSweepNavigation robot, ShutdownReason reason) {
+        record(robot, robot.getX(), robot.getY(), null, TelemetryEvent.SHUTDOWN);
+        if (journal != null) {
+            try {
+                journal.flush();
+            } catch (IOException e) {
+                robot.getLogger().log(Logger.Level.ERROR, "Could not flush telemetry: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Appends the robot's state to the journal.
+     * @param surface Surface of the robot's cell, or null to look it up.
+     */
+    private void record(CleanSweepNavigation robot, int x, int y, SurfaceType surface, TelemetryEvent event) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.record(robot.getStepCount(), x, y,
+                    surface != null ? surface : robot.getFloorPlan().getSurfaceType(x, y), robot.getBatteryLevel(),
+                    event);
+        } catch (IOException e) {
+            robot.getLogger().log(Logger.Level.ERROR, "Telemetry disabled: " + e.getMessage());
+            journal = null;
+        }
+    }
+}
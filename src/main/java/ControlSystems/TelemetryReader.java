@@ -0,0 +1,164 @@
+package ControlSystems;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a binary telemetry journal written by {@link TelemetryJournal}. The file
+ * is memory-mapped a window of records at a time, so journals of any length
+ * can be read; {@link #next(TelemetryRecord)} decodes into a caller-owned
+ * record without allocating, while {@link #iterator()} yields new records.
+ * A partial record at the end of a truncated journal is ignored.
+ */
+public class TelemetryReader implements Iterable<TelemetryRecord>, Closeable {
+    /** Records mapped at a time by default, 24 MiB of the file. */
+    public static final int DEFAULT_WINDOW_RECORDS = 1 << 20;
+
+    private final FileChannel channel;
+    private final long recordCount;   // Complete records in the file
+    private final int windowRecords;  // Records mapped at a time
+    private MappedByteBuffer buffer;  // Mapped window holding the next record, null before the first
+    private long windowEnd;           // Index of the first record after the mapped window
+    private long nextRecord;          // Index of the next record to decode
+
+    /**
+     * Opens a journal for reading.
+     * @param path Path of the journal file.
+     * @throws IOException If the file cannot be read or is not a telemetry journal.
+     */
+    public TelemetryReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_RECORDS);
+    }
+
+    /**
+     * Opens a journal for reading, mapping a given number of records at a time.
+     * @param path Path of the journal file.
+     * @param windowRecords Records per mapped window.
+     * @throws IOException If the file cannot be read or is not a telemetry journal.
+     */
+    public TelemetryReader(Path path, int windowRecords) throws IOException {
+        if (windowRecords < 1) {
+            throw new IllegalArgumentException("Window must hold at least one record: " + windowRecords);
+        }
+        this.windowRecords = windowRecords;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < TelemetryJournal.HEADER_SIZE) {
+                throw new IOException(path + " is too small to be a telemetry journal");
+            }
+            ByteBuffer header = ByteBuffer.allocate(TelemetryJournal.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                channel.read(header, header.position()); // The size check above rules out end of file
+            }
+            header.flip();
+            if (header.getInt() != TelemetryJournal.MAGIC) {
+                throw new IOException(path + " is not a telemetry journal");
+            }
+            int version = header.getInt();
+            int recordSize = header.getInt();
+            if (version != TelemetryJournal.VERSION || recordSize != TelemetryJournal.RECORD_SIZE) {
+                throw new IOException(path + " has unsupported version " + version + " or record size "
+                        + recordSize);
+            }
+            recordCount = (size - TelemetryJournal.HEADER_SIZE) / TelemetryJournal.RECORD_SIZE;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of complete records in the journal.
+     * @return Record count.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Checks if another record can be read.
+     * @return True if a record remains, false otherwise.
+     */
+    public boolean hasNext() {
+        return nextRecord < recordCount;
+    }
+
+    /**
+     * Decodes the next record, mapping the next window of the file when the
+     * current one is used up.
+     * @param into Record to overwrite.
+     * @return True if a record was read, false at the end of the journal.
+     * @throws UncheckedIOException If the next window cannot be mapped.
+     */
+    public boolean next(TelemetryRecord into) {
+        if (!hasNext()) {
+            return false;
+        }
+        if (nextRecord == windowEnd) {
+            mapWindow();
+        }
+        long step = buffer.getLong();
+        int x = buffer.getInt();
+        int y = buffer.getInt();
+        int battery = buffer.getInt();
+        SurfaceType surface = SurfaceType.fromOrdinal(buffer.get());
+        TelemetryEvent event = TelemetryEvent.fromOrdinal(buffer.get());
+        buffer.getShort(); // Reserved
+        into.set(step, x, y, surface, battery, event);
+        nextRecord++;
+        return true;
+    }
+
+    /**
+     * Iterates over the records remaining in the journal.
+     * @return Iterator creating one record per entry.
+     */
+    @Override
+    public Iterator<TelemetryRecord> iterator() {
+        return new Iterator<TelemetryRecord>() {
+            @Override
+            public boolean hasNext() {
+                return TelemetryReader.this.hasNext();
+            }
+
+            @Override
+            public TelemetryRecord next() {
+                TelemetryRecord record = new TelemetryRecord();
+                if (!TelemetryReader.this.next(record)) {
+                    throw new NoSuchElementException();
+                }
+                return record;
+            }
+        };
+    }
+
+    /**
+     * Closes the file. Mapped windows are released when garbage collected.
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void mapWindow() {
+        long count = Math.min(windowRecords, recordCount - nextRecord);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    TelemetryJournal.HEADER_SIZE + nextRecord * TelemetryJournal.RECORD_SIZE,
+                    count * TelemetryJournal.RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowEnd = nextRecord + count;
+    }
+}
@@ -0,0 +1,77 @@
+package ControlSystems;
+
+/**
+ * One fixed-size record of the binary telemetry journal. Instances are mutable
+ * so a reader can decode into the same record repeatedly.
+ */
+public class TelemetryRecord {
+    private long step;              // Step number of the robot
+    private int x, y;               // Position of the robot
+    private SurfaceType surface;    // Surface at the position
+    private int batteryLevel;       // Battery level after the event
+    private TelemetryEvent event;   // Kind of event
+
+    // Default constructor
+    public TelemetryRecord() {
+    }
+
+    /**
+     * Creates a record with every field set.
+     * @param step Step number of the robot.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param surface Surface at the position.
+     * @param batteryLevel Battery level after the event.
+     * @param event Kind of event.
+     */
+    public TelemetryRecord(long step, int x, int y, SurfaceType surface, int batteryLevel, TelemetryEvent event) {
+        set(step, x, y, surface, batteryLevel, event);
+    }
+
+    /**
+     * Replaces every field of the record, see {@link #TelemetryRecord(long, int, int, SurfaceType, int, TelemetryEvent)}.
+     */
+    public void set(long step, int x, int y, SurfaceType surface, int batteryLevel, TelemetryEvent event) {
+        this.step = step;
+        this.x = x;
+        this.y = y;
+        this.surface = surface;
+        this.batteryLevel = batteryLevel;
+        this.event = event;
+    }
+
+    public long getStep() { return step; }
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public SurfaceType getSurface() { return surface; }
+    public int getBatteryLevel() { return batteryLevel; }
+    public TelemetryEvent getEvent() { return event; }
+
+    /**
+     * Formats the record as the lines the text log uses for the same event.
+     * @return Human-readable log lines separated by line breaks.
+     */
+    public String toLogText() {
+        switch (event) {
+            case MOVE:
+                return "Moved to position (" + x + ", " + y + ")" + System.lineSeparator()
+                        + "Surface Type: " + surface.getLabel() + System.lineSeparator()
+                        + "Battery Level after move: " + batteryLevel + "%" + System.lineSeparator()
+                        + "Cleaned cell at position (" + x + ", " + y + ")";
+            case LOW_BATTERY:
+                return "Battery level low (" + batteryLevel + "%). Navigating to charging station...";
+            case RECHARGE:
+                return "Reached charging station. Recharging..." + System.lineSeparator()
+                        + "Battery fully recharged.";
+            case SHUTDOWN:
+            default:
+                return "Clean Sweep has shut down.";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryRecord{step=" + step + ", x=" + x + ", y=" + y + ", surface=" + surface
+                + ", batteryLevel=" + batteryLevel + ", event=" + event + "}";
+    }
+}
@@ -0,0 +1,121 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.BinaryFloorPlanFile;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorGrid;
+import ControlSystems.FloorPlan;
+import ControlSystems.FloorPlanGenerator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test class for the memory-mapped binary floor plan format.
+ */
+public class BinaryFloorPlanFileTest {
+
+    private static final int GRID_SIZE = 48;
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("plan-", BinaryFloorPlanFile.EXTENSION);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that packed and Cell-based plans read back cell for cell, with their station count.
+     */
+    @Test
+    public void testWriteReadRoundTrip() throws IOException {
+        CompactFloorPlan compact = new FloorPlanGenerator(11).generate(GRID_SIZE);
+        BinaryFloorPlanFile.write(compact, file);
+        assertEquals(BinaryFloorPlanFile.HEADER_SIZE + GRID_SIZE * GRID_SIZE, Files.size(file));
+        CompactFloorPlan loaded = BinaryFloorPlanFile.open(file);
+        assertSameCells(compact, loaded);
+        assertEquals(compact.getChargingStationCount(), loaded.getChargingStationCount());
+
+        FloorPlan cells = new FloorPlanGenerator(12).generateFloorPlan(GRID_SIZE);
+        BinaryFloorPlanFile.write((FloorGrid) cells, file);
+        assertSameCells(cells, BinaryFloorPlanFile.open(file));
+    }
+
+    /**
+     * Test that read-only plans reject changes and writable ones write them to the file.
+     */
+    @Test
+    public void testMappingModes() throws IOException {
+        BinaryFloorPlanFile.write(new CompactFloorPlan(GRID_SIZE), file);
+        try {
+            BinaryFloorPlanFile.open(file).setObstacle(3, 4, true);
+            fail("Expected a read-only plan to reject changes");
+        } catch (ReadOnlyBufferException expected) {
+            // Expected
+        }
+        CompactFloorPlan writable = BinaryFloorPlanFile.open(file, true);
+        writable.setObstacle(3, 4, true);
+        assertTrue(BinaryFloorPlanFile.open(file).isObstacle(3, 4));
+        assertFalse(BinaryFloorPlanFile.open(file).isObstacle(4, 3));
+    }
+
+    /**
+     * Test that files with a bad header or the wrong number of cells are rejected.
+     */
+    @Test
+    public void testRejectsInvalidFiles() throws IOException {
+        Files.write(file, new byte[BinaryFloorPlanFile.HEADER_SIZE - 1]);
+        assertRejected();
+        Files.write(file, header(0x12345678, BinaryFloorPlanFile.VERSION, 2, 4));
+        assertRejected();
+        Files.write(file, header(BinaryFloorPlanFile.MAGIC, BinaryFloorPlanFile.VERSION + 1, 2, 4));
+        assertRejected();
+        Files.write(file, header(BinaryFloorPlanFile.MAGIC, BinaryFloorPlanFile.VERSION, 2, 3));
+        assertRejected();
+        Files.write(file, header(BinaryFloorPlanFile.MAGIC, BinaryFloorPlanFile.VERSION, -2, 4));
+        assertRejected();
+        Files.write(file, header(BinaryFloorPlanFile.MAGIC, BinaryFloorPlanFile.VERSION, 2, 4));
+        assertEquals(2, BinaryFloorPlanFile.open(file).getGridSize());
+    }
+
+    /**
+     * Builds a header for a plan with no stations, followed by a number of empty cells.
+     */
+    private static byte[] header(int magic, int version, int gridSize, int cells) {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryFloorPlanFile.HEADER_SIZE + cells);
+        buffer.putInt(magic).putInt(version).putInt(gridSize).putInt(0);
+        return buffer.array();
+    }
+
+    private void assertRejected() {
+        try {
+            BinaryFloorPlanFile.open(file);
+            fail("Expected an invalid file to be rejected");
+        } catch (IOException expected) {
+            // Expected
+        }
+    }
+
+    private static void assertSameCells(FloorGrid expected, FloorGrid actual) {
+        assertEquals(expected.getGridSize(), actual.getGridSize());
+        for (int y = 0; y < expected.getGridSize(); y++) {
+            for (int x = 0; x < expected.getGridSize(); x++) {
+                String cell = "Cell (" + x + ", " + y + ")";
+                assertEquals(cell, expected.getSurfaceType(x, y), actual.getSurfaceType(x, y));
+                assertEquals(cell, expected.isObstacle(x, y), actual.isObstacle(x, y));
+                assertEquals(cell, expected.isChargingStation(x, y), actual.isChargingStation(x, y));
+                assertEquals(cell, expected.isStairs(x, y), actual.isStairs(x, y));
+            }
+        }
+    }
+}
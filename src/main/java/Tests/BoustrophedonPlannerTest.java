@@ -0,0 +1,134 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.BoustrophedonPlanner;
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoveragePlan;
+import ControlSystems.Logger;
+import ControlSystems.SurfaceType;
+
+import java.util.Random;
+
+/**
+ * Test class for boustrophedon coverage, checked against a flood fill of the
+ * free cells reachable from the start.
+ */
+public class BoustrophedonPlannerTest {
+
+    private static final int GRID_SIZE = 40;
+
+    /**
+     * Test that planned routes are connected moves through free cells that
+     * visit exactly the reachable cells, on floors split into several regions
+     * and disconnected areas.
+     */
+    @Test
+    public void testRouteCoversEveryReachableCell() {
+        Random random = new Random(31);
+        for (int round = 0; round < 40; round++) {
+            String name = "Round " + round;
+            boolean[] obstacle = new boolean[GRID_SIZE * GRID_SIZE];
+            int obstaclePercent = random.nextInt(45);
+            for (int index = 0; index < obstacle.length; index++) {
+                obstacle[index] = random.nextInt(100) < obstaclePercent;
+            }
+            if (round % 4 == 0) {
+                // A wall with one gap adds a narrow passage between two halves
+                for (int y = 0; y < GRID_SIZE; y++) {
+                    obstacle[y * GRID_SIZE + GRID_SIZE / 2] = y != round % GRID_SIZE;
+                }
+            }
+            int start = random.nextInt(obstacle.length);
+            obstacle[start] = false;
+
+            boolean[] reachable = floodFill(obstacle, start);
+            int reachableCount = 0;
+            int freeCount = 0;
+            for (int index = 0; index < obstacle.length; index++) {
+                reachableCount += reachable[index] ? 1 : 0;
+                freeCount += obstacle[index] ? 0 : 1;
+            }
+
+            CoveragePlan plan = new BoustrophedonPlanner(GRID_SIZE, index -> !obstacle[index]).plan(start);
+            int[] route = plan.getRoute();
+            assertEquals(name, start, route[0]);
+            boolean[] visited = new boolean[obstacle.length];
+            for (int i = 0; i < plan.getLength(); i++) {
+                assertTrue(name, reachable[route[i]]);
+                visited[route[i]] = true;
+                if (i > 0) {
+                    int dx = Math.abs(route[i] % GRID_SIZE - route[i - 1] % GRID_SIZE);
+                    int dy = Math.abs(route[i] / GRID_SIZE - route[i - 1] / GRID_SIZE);
+                    assertEquals(name + ", step " + i, 1, dx + dy);
+                }
+            }
+            for (int index = 0; index < obstacle.length; index++) {
+                assertEquals(name + ", cell " + index, reachable[index], visited[index]);
+            }
+            assertEquals(name, reachableCount, plan.getCoveredCount());
+            assertEquals(name, freeCount - reachableCount, plan.getUnreachableCount());
+        }
+    }
+
+    /**
+     * Test that a robot following the route, with its trips to charge, cleans
+     * every reachable cell.
+     */
+    @Test
+    public void testRobotCleansEveryReachableCell() {
+        int gridSize = 64;
+        CompactFloorPlan floorPlan = new CompactFloorPlan(gridSize);
+        boolean[] obstacle = new boolean[gridSize * gridSize];
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.HARDWOOD, SurfaceType.TILE };
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                boolean station = x % 8 == 4 && y % 8 == 4;
+                obstacle[y * gridSize + x] = !station && (x * 7 + y * 13) % 29 == 0;
+                floorPlan.setCell(x, y, surfaces[(x / 8 + y / 8) % surfaces.length], obstacle[y * gridSize + x],
+                        station, false);
+            }
+        }
+        CleanSweepNavigation robot = new CleanSweepNavigation(1, 1, floorPlan, new Logger());
+        robot.setCoverageMode(CleanSweepNavigation.CoverageMode.BOUSTROPHEDON);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+
+        boolean[] reachable = floodFill(obstacle, gridSize + 1, gridSize);
+        for (int index = 0; index < reachable.length; index++) {
+            assertEquals("Cell " + index, reachable[index], robot.getCoverageMap().isVisited(index));
+        }
+    }
+
+    private static boolean[] floodFill(boolean[] obstacle, int start) {
+        return floodFill(obstacle, start, GRID_SIZE);
+    }
+
+    /**
+     * Marks the free cells connected to the start through four-way moves.
+     */
+    private static boolean[] floodFill(boolean[] obstacle, int start, int gridSize) {
+        boolean[] reached = new boolean[obstacle.length];
+        int[] stack = new int[obstacle.length];
+        int size = 0;
+        stack[size++] = start;
+        reached[start] = true;
+        while (size > 0) {
+            int current = stack[--size];
+            int x = current % gridSize;
+            int y = current / gridSize;
+            int[] neighbors = { x + 1 < gridSize ? current + 1 : -1, y + 1 < gridSize ? current + gridSize : -1,
+                    x > 0 ? current - 1 : -1, y > 0 ? current - gridSize : -1 };
+            for (int neighbor : neighbors) {
+                if (neighbor != -1 && !obstacle[neighbor] && !reached[neighbor]) {
+                    reached[neighbor] = true;
+                    stack[size++] = neighbor;
+                }
+            }
+        }
+        return reached;
+    }
+}
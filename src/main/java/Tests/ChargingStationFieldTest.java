@@ -0,0 +1,219 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.ChargingStationField;
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.Logger;
+import ControlSystems.SurfaceType;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Test class for ChargingStationField, checked against a plain Dijkstra search
+ * run separately from every cell.
+ */
+public class ChargingStationFieldTest {
+
+    private static final int GRID_SIZE = 24;
+
+    // Directions for movement: right, down, left, up
+    private static final int[][] DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+
+    /**
+     * Test that energies match the cheapest path to any station on random
+     * floors with several stations, uneven cell costs and walled-off cells.
+     */
+    @Test
+    public void testEnergiesMatchDijkstra() {
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            CompactFloorPlan plan = randomPlan(random, round % 4 == 0 ? 0 : 1 + random.nextInt(5));
+            int maxCost = round % 5 == 0 ? 0 : 1 + random.nextInt(12);
+            int[] costs = new int[GRID_SIZE * GRID_SIZE];
+            for (int index = 0; index < costs.length; index++) {
+                costs[index] = random.nextInt(maxCost + 1);
+            }
+            ChargingStationField field = new ChargingStationField(plan, index -> costs[index]);
+            boolean openStation = false;
+            for (int index = 0; index < costs.length; index++) {
+                int x = index % GRID_SIZE;
+                int y = index / GRID_SIZE;
+                openStation |= plan.isChargingStation(x, y) && !plan.isObstacle(x, y);
+            }
+            assertEquals("Round " + round, openStation, field.hasStation());
+
+            int[] path = new int[costs.length];
+            for (int start = 0; start < costs.length; start++) {
+                if (plan.isObstacle(start % GRID_SIZE, start / GRID_SIZE)) {
+                    continue;
+                }
+                String cell = "Round " + round + ", cell " + start;
+                int expected = cheapestToStation(plan, costs, start);
+                assertEquals(cell, expected, field.getEnergy(start));
+
+                int length = field.pathFrom(start, path);
+                if (expected == ChargingStationField.UNREACHABLE) {
+                    assertEquals(cell, 0, length);
+                    assertEquals(cell, -1, field.getNextHop(start));
+                    continue;
+                }
+                assertPathCosts(plan, costs, path, length, expected, cell);
+            }
+        }
+    }
+
+    /**
+     * Test that unit costs give move counts, with the station itself costing one.
+     */
+    @Test
+    public void testUnitCostsCountMoves() {
+        CompactFloorPlan plan = new CompactFloorPlan(GRID_SIZE);
+        plan.setCell(0, 0, SurfaceType.TILE, false, true, false);
+        plan.setCell(GRID_SIZE - 1, GRID_SIZE - 1, SurfaceType.TILE, false, true, false);
+        ChargingStationField field = new ChargingStationField(plan);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                int moves = Math.min(x + y, 2 * (GRID_SIZE - 1) - x - y);
+                assertEquals("Cell (" + x + ", " + y + ")", moves + 1, field.getEnergy(y * GRID_SIZE + x));
+            }
+        }
+    }
+
+    /**
+     * Test that robots sharing one field, repaired once per obstacle change,
+     * move exactly like robots that each keep their own.
+     */
+    @Test
+    public void testRobotsShareOneField() {
+        CompactFloorPlan plan = randomPlan(new Random(41), 3);
+        EnergyGrid energyGrid = new EnergyModel().resolve(plan);
+        ChargingStationField shared = new ChargingStationField(plan, energyGrid::getMoveCost);
+        plan.addObstacleListener(shared);
+        CleanSweepNavigation[] sharing = new CleanSweepNavigation[2];
+        CleanSweepNavigation[] owning = new CleanSweepNavigation[2];
+        for (int i = 0; i < 2; i++) {
+            int start = i * (GRID_SIZE * GRID_SIZE / 2);
+            while (plan.isObstacle(start % GRID_SIZE, start / GRID_SIZE)) {
+                start++;
+            }
+            sharing[i] = new CleanSweepNavigation(start % GRID_SIZE, start / GRID_SIZE, plan, new Logger(),
+                    energyGrid, shared);
+            owning[i] = new CleanSweepNavigation(start % GRID_SIZE, start / GRID_SIZE, plan, new Logger(),
+                    energyGrid);
+            assertSame(shared, sharing[i].getChargingStationField());
+            assertNotSame(shared, owning[i].getChargingStationField());
+        }
+
+        Random random = new Random(43);
+        for (int round = 0; round < 400; round++) {
+            if (round % 20 == 0) {
+                int x = random.nextInt(GRID_SIZE);
+                int y = random.nextInt(GRID_SIZE);
+                plan.setObstacle(x, y, !plan.isObstacle(x, y));
+            }
+            for (int i = 0; i < 2; i++) {
+                sharing[i].step();
+                owning[i].step();
+                assertEquals("Robot " + i + ", round " + round, owning[i].getX(), sharing[i].getX());
+                assertEquals("Robot " + i + ", round " + round, owning[i].getY(), sharing[i].getY());
+                assertEquals(owning[i].getBatteryLevel(), sharing[i].getBatteryLevel());
+            }
+        }
+        assertTrue(sharing[0].getChargeCycles() > 0);
+
+        try {
+            new CleanSweepNavigation(0, 0, new CompactFloorPlan(GRID_SIZE), new Logger(), null, shared);
+            fail("Expected a field over another plan to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Builds a floor with random obstacles and stations, some of them blocked.
+     */
+    private static CompactFloorPlan randomPlan(Random random, int stations) {
+        CompactFloorPlan plan = new CompactFloorPlan(GRID_SIZE);
+        SurfaceType[] surfaces = SurfaceType.values();
+        int obstaclePercent = random.nextInt(35);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                plan.setCell(x, y, surfaces[random.nextInt(surfaces.length)],
+                        random.nextInt(100) < obstaclePercent, false, false);
+            }
+        }
+        for (int i = 0; i < stations; i++) {
+            int x = random.nextInt(GRID_SIZE);
+            int y = random.nextInt(GRID_SIZE);
+            plan.setCell(x, y, plan.getSurfaceType(x, y), i == 0 && random.nextBoolean(), true, false);
+        }
+        return plan;
+    }
+
+    /**
+     * Dijkstra from one cell to the nearest station, charging the energy of
+     * every cell entered, the start included.
+     */
+    private static int cheapestToStation(CompactFloorPlan plan, int[] costs, int start) {
+        int[] best = new int[costs.length];
+        Arrays.fill(best, ChargingStationField.UNREACHABLE);
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        best[start] = costs[start];
+        queue.add(new int[] { best[start], start });
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int current = entry[1];
+            if (entry[0] != best[current]) {
+                continue;
+            }
+            int x = current % GRID_SIZE;
+            int y = current / GRID_SIZE;
+            if (plan.isChargingStation(x, y)) {
+                return best[current];
+            }
+            for (int[] direction : DIRECTIONS) {
+                int nx = x + direction[0];
+                int ny = y + direction[1];
+                if (nx < 0 || nx >= GRID_SIZE || ny < 0 || ny >= GRID_SIZE || plan.isObstacle(nx, ny)) {
+                    continue;
+                }
+                int next = ny * GRID_SIZE + nx;
+                if (best[current] + costs[next] < best[next]) {
+                    best[next] = best[current] + costs[next];
+                    queue.add(new int[] { best[next], next });
+                }
+            }
+        }
+        return ChargingStationField.UNREACHABLE;
+    }
+
+    /**
+     * Checks that a path is made of passable adjacent cells, ends at a
+     * station and costs the expected energy.
+     */
+    private static void assertPathCosts(CompactFloorPlan plan, int[] costs, int[] path, int length, int expected,
+                                        String cell) {
+        int energy = 0;
+        for (int i = 0; i < length; i++) {
+            int x = path[i] % GRID_SIZE;
+            int y = path[i] / GRID_SIZE;
+            assertFalse(cell, plan.isObstacle(x, y));
+            if (i > 0) {
+                int dx = Math.abs(x - path[i - 1] % GRID_SIZE);
+                int dy = Math.abs(y - path[i - 1] / GRID_SIZE);
+                assertEquals(cell, 1, dx + dy);
+            }
+            energy += costs[path[i]];
+        }
+        int end = path[length - 1];
+        assertTrue(cell, plan.isChargingStation(end % GRID_SIZE, end / GRID_SIZE));
+        assertEquals(cell, expected, energy);
+    }
+}
@@ -6,10 +6,14 @@ import org.junit.*;
 import ControlSystems.CleanSweepNavigation;
 import ControlSystems.FloorPlan;
 import ControlSystems.Cell;
+import ControlSystems.Logger;
+import ControlSystems.NavigationListener;
+import ControlSystems.SurfaceType;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -252,10 +256,55 @@ public class CleanSweepNavigationTest {
     @Test
     public void testLogging() throws IOException {
         robot.navigate();
+        robot.getLogger().flush(); // Logging is asynchronous; wait for the writer
         List<String> lines = Files.readAllLines(Paths.get("clean_sweep_log.txt"));
         assertFalse("Log file should contain entries", lines.isEmpty());
     }
 
+    /**
+     * Test that a headless robot reports every move, cleaned cell and sensed
+     * obstacle to its listeners, and why it shut down.
+     */
+    @Test
+    public void testNavigationListenerReceivesEvents() {
+        floorPlan.getCells()[1][1].setObstacle(true);
+        robot = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+        int[] counts = new int[3]; // Moves, cleaned cells, obstacles
+        List<NavigationListener.ShutdownReason> reasons = new ArrayList<>();
+        robot.addNavigationListener(new NavigationListener() {
+            @Override
+            public void moved(CleanSweepNavigation source, int x, int y, SurfaceType surface) {
+                assertEquals(source.getX(), x);
+                assertEquals(SurfaceType.HARDWOOD, surface);
+                counts[0]++;
+            }
+
+            @Override
+            public void cleaned(CleanSweepNavigation source, int x, int y) {
+                counts[1]++;
+            }
+
+            @Override
+            public void obstacleDetected(CleanSweepNavigation source, int x, int y) {
+                assertEquals("Only (1, 1) is blocked", 6, y * 5 + x);
+                assertEquals(1, Math.abs(source.getX() - x) + Math.abs(source.getY() - y));
+                counts[2]++;
+            }
+
+            @Override
+            public void shutDown(CleanSweepNavigation source, NavigationListener.ShutdownReason reason) {
+                reasons.add(reason);
+            }
+        });
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        assertEquals(robot.getStepCount(), counts[0]);
+        assertEquals(counts[0], counts[1]);
+        assertTrue(counts[2] > 0);
+        assertEquals(List.of(NavigationListener.ShutdownReason.CLEANING_COMPLETE), reasons);
+    }
+
     /**
      * Test that the robot detects dynamic obstacles and avoids them.
      */
@@ -5,7 +5,30 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-        CleanSweepNavigationTest.class
+        CleanSweepNavigationTest.class,
+        NearestTargetFieldTest.class,
+        HierarchicalPlannerTest.class,
+        DynamicObstacleTest.class,
+        FloorPlanGeneratorTest.class,
+        SimulationSchedulerTest.class,
+        DirtAwareCleanerTest.class,
+        SensorSimulatorTest.class,
+        FrontierExplorerTest.class,
+        EnergyModelTest.class,
+        RoomBudgetPlannerTest.class,
+        CooperativeCoverageTest.class,
+        TelemetryJournalTest.class,
+        FleetSimulatorTest.class,
+        CoverageMapTest.class,
+        GridSearchTest.class,
+        CompactFloorPlanTest.class,
+        StreamingFloorPlanLoaderTest.class,
+        BinaryFloorPlanFileTest.class,
+        LoggerTest.class,
+        SharedCoverageMapTest.class,
+        ChargingStationFieldTest.class,
+        PathPlannerTest.class,
+        BoustrophedonPlannerTest.class
 })
 public class CleanSweepTestSuite {
     // This class remains empty; it is used only as a holder for the above annotations
@@ -0,0 +1,95 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.Cell;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorPlan;
+import ControlSystems.FloorPlanGenerator;
+import ControlSystems.SurfaceType;
+
+/**
+ * Test class for the packed CompactFloorPlan.
+ */
+public class CompactFloorPlanTest {
+
+    /**
+     * Test that every combination of surface and flags reads back as it was
+     * packed, through the getters and through a Cell view.
+     */
+    @Test
+    public void testPackUnpackEveryCombination() {
+        SurfaceType[] surfaces = SurfaceType.values();
+        CompactFloorPlan plan = new CompactFloorPlan(surfaces.length * 8);
+        for (int i = 0; i < surfaces.length; i++) {
+            for (int flags = 0; flags < 8; flags++) {
+                int x = i * 8 + flags;
+                boolean obstacle = (flags & 1) != 0;
+                boolean station = (flags & 2) != 0;
+                boolean stairs = (flags & 4) != 0;
+                plan.setCell(x, 0, surfaces[i], obstacle, station, stairs);
+                assertEquals(CompactFloorPlan.pack(surfaces[i], obstacle, station, stairs), (byte) plan.getPacked(x));
+                assertEquals(surfaces[i].ordinal(), plan.getPacked(x) & CompactFloorPlan.SURFACE_MASK);
+
+                assertEquals(surfaces[i], plan.getSurfaceType(x, 0));
+                assertEquals(obstacle, plan.isObstacle(x, 0));
+                assertEquals(station, plan.isChargingStation(x, 0));
+                assertEquals(stairs, plan.isStairs(x, 0));
+                Cell cell = plan.getCell(x, 0);
+                assertEquals(x, cell.getX());
+                assertEquals(0, cell.getY());
+                assertEquals(surfaces[i].getLabel(), cell.getType());
+                assertEquals(obstacle, cell.isObstacle());
+                assertEquals(station, cell.isChargingStation());
+                assertEquals(stairs, cell.isStairs());
+            }
+        }
+        assertEquals(surfaces.length * 4, plan.getChargingStationCount());
+    }
+
+    /**
+     * Test that changing one property keeps the others and keeps the station count.
+     */
+    @Test
+    public void testUpdatesKeepOtherProperties() {
+        CompactFloorPlan plan = new CompactFloorPlan(4);
+        plan.setCell(1, 2, SurfaceType.HIGH_PILE_CARPET, false, true, true);
+        plan.setObstacle(1, 2, true);
+        assertEquals(SurfaceType.HIGH_PILE_CARPET, plan.getSurfaceType(1, 2));
+        assertTrue(plan.isObstacle(1, 2));
+        assertTrue(plan.isChargingStation(1, 2));
+        assertTrue(plan.isStairs(1, 2));
+        plan.setObstacle(1, 2, false);
+        assertFalse(plan.isObstacle(1, 2));
+        assertTrue(plan.isStairs(1, 2));
+
+        assertEquals(1, plan.getChargingStationCount());
+        plan.setCell(1, 2, SurfaceType.TILE, false, true, false); // Still a station, counted once
+        assertEquals(1, plan.getChargingStationCount());
+        plan.setCell(1, 2, SurfaceType.TILE, false, false, false);
+        assertEquals(0, plan.getChargingStationCount());
+        assertFalse(plan.hasChargingStation());
+    }
+
+    /**
+     * Test that packing a Cell-based plan copies every cell.
+     */
+    @Test
+    public void testFromFloorPlanCopiesEveryCell() {
+        FloorPlan source = new FloorPlanGenerator(5).generateFloorPlan(40);
+        CompactFloorPlan packed = CompactFloorPlan.fromFloorPlan(source);
+        int stations = 0;
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertEquals(source.getSurfaceType(x, y), packed.getSurfaceType(x, y));
+                assertEquals(source.isObstacle(x, y), packed.isObstacle(x, y));
+                assertEquals(source.isChargingStation(x, y), packed.isChargingStation(x, y));
+                assertEquals(source.isStairs(x, y), packed.isStairs(x, y));
+                stations += source.isChargingStation(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(stations, packed.getChargingStationCount());
+        assertTrue(stations > 0);
+    }
+}
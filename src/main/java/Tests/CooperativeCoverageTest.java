@@ -0,0 +1,112 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.GridSearch;
+import ControlSystems.Logger;
+import ControlSystems.SharedCoverageMap;
+import ControlSystems.SurfaceType;
+
+/**
+ * Test class for robots dividing one floor through a SharedCoverageMap.
+ */
+public class CooperativeCoverageTest {
+
+    private static final int GRID_SIZE = 64;
+
+    private CompactFloorPlan floorPlan;
+
+    @Before
+    public void setup() {
+        // Hardwood and tile with scattered obstacles and a charging station every 8 cells
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.HARDWOOD, SurfaceType.TILE };
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean station = x % 8 == 4 && y % 8 == 4;
+                boolean obstacle = !station && (x * 7 + y * 13) % 29 == 0;
+                floorPlan.setCell(x, y, surfaces[(x / 8 + y / 8) % surfaces.length], obstacle, station, false);
+            }
+        }
+    }
+
+    /**
+     * Test that robots turning back to charge mid-route leave their targets for
+     * the fleet, so together they clean every reachable free cell.
+     */
+    @Test
+    public void testCombinedCoverageReachesEveryCell() {
+        CleanSweepNavigation[] robots = startRobots(4, CleanSweepNavigation.CoverageMode.NEAREST_UNVISITED);
+        assertEquals(countReachable(robots[0]), countCleaned(robots));
+    }
+
+    /**
+     * Test that robots in room-budget mode release their targets when they give
+     * up a room to charge, so together they still clean every reachable cell.
+     */
+    @Test
+    public void testRoomBudgetCombinedCoverageReachesEveryCell() {
+        CleanSweepNavigation[] robots = startRobots(4, CleanSweepNavigation.CoverageMode.ROOM_BUDGET);
+        assertEquals(countReachable(robots[0]), countCleaned(robots));
+    }
+
+    /**
+     * Starts robots spread over the floor on one shared map and steps them in
+     * turn until all have shut down.
+     */
+    private CleanSweepNavigation[] startRobots(int count, CleanSweepNavigation.CoverageMode mode) {
+        SharedCoverageMap shared = new SharedCoverageMap(GRID_SIZE * GRID_SIZE);
+        CleanSweepNavigation[] robots = new CleanSweepNavigation[count];
+        for (int i = 0; i < count; i++) {
+            int index = GRID_SIZE * GRID_SIZE * i / count;
+            while (floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE)) {
+                index++;
+            }
+            robots[i] = new CleanSweepNavigation(index % GRID_SIZE, index / GRID_SIZE, floorPlan, new Logger());
+            robots[i].setSharedCoverage(shared);
+            robots[i].setCoverageMode(mode);
+            robots[i].setRoomSize(8);
+        }
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (CleanSweepNavigation robot : robots) {
+                if (!robot.isShutDown()) {
+                    robot.step();
+                    running = true;
+                }
+            }
+        }
+        return robots;
+    }
+
+    /**
+     * Counts the free cells connected to a robot's start.
+     */
+    private int countReachable(CleanSweepNavigation robot) {
+        GridSearch search = new GridSearch(GRID_SIZE);
+        GridSearch.CellTest passable = index -> !floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE);
+        // With no target the search expands every reachable cell
+        search.search(robot.getY() * GRID_SIZE + robot.getX(), passable, index -> false);
+        return search.getExpandedCount();
+    }
+
+    /**
+     * Counts the cells cleaned by at least one of the robots.
+     */
+    private int countCleaned(CleanSweepNavigation[] robots) {
+        int cleaned = 0;
+        for (int index = 0; index < GRID_SIZE * GRID_SIZE; index++) {
+            for (CleanSweepNavigation robot : robots) {
+                if (robot.getCoverageMap().isVisited(index)) {
+                    cleaned++;
+                    break;
+                }
+            }
+        }
+        return cleaned;
+    }
+}
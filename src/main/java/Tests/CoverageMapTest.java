@@ -0,0 +1,178 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.Logger;
+import ControlSystems.SurfaceType;
+
+/**
+ * Test class for the CoverageMap bitset, around the edges of its 64-cell words.
+ */
+public class CoverageMapTest {
+
+    /**
+     * Test that cells on either side of each word boundary are tracked separately.
+     */
+    @Test
+    public void testWordBoundaries() {
+        CoverageMap map = new CoverageMap(130); // Two full words and two cells of a third
+        assertEquals(3, map.getWordCount());
+        int[] edges = { 0, 63, 64, 127, 128, 129 };
+        for (int index : edges) {
+            assertTrue(map.visit(index));
+            assertFalse("Cell " + index + " counted twice", map.visit(index));
+        }
+        for (int index = 0; index < 130; index++) {
+            boolean edge = index == 0 || index == 63 || index == 64 || index == 127 || index >= 128;
+            assertEquals("Cell " + index, edge, map.isVisited(index));
+            assertEquals("Cell " + index, !edge, map.isUnvisited(index));
+        }
+        assertEquals(1L | 1L << 63, map.getWord(0));
+        assertEquals(1L | 1L << 63, map.getWord(1));
+        assertEquals(3L, map.getWord(2));
+        assertEquals(edges.length, map.getVisitedCount());
+        assertEquals(edges.length, map.countVisited());
+
+        map.clear();
+        assertEquals(0, map.getVisitedCount());
+        assertEquals(0, map.countVisited());
+        assertTrue(map.isUnvisited(129));
+    }
+
+    /**
+     * Test maps whose size is an exact number of words or empty.
+     */
+    @Test
+    public void testExactAndEmptySizes() {
+        CoverageMap word = new CoverageMap(64);
+        assertEquals(1, word.getWordCount());
+        for (int index = 0; index < 64; index++) {
+            word.visit(index);
+        }
+        assertEquals(-1L, word.getWord(0));
+        assertEquals(64, word.countVisited());
+
+        CoverageMap empty = new CoverageMap(0);
+        assertEquals(0, empty.getWordCount());
+        assertEquals(0, empty.countVisited());
+    }
+
+    /**
+     * Test that a union counts cells visited in both maps once.
+     */
+    @Test
+    public void testUnionCountsSharedCellsOnce() {
+        CoverageMap first = new CoverageMap(200);
+        CoverageMap second = new CoverageMap(200);
+        for (int index = 0; index < 200; index += 2) {
+            first.visit(index);
+        }
+        for (int index = 0; index < 200; index += 3) {
+            second.visit(index);
+        }
+        first.union(second);
+        int expected = 0;
+        for (int index = 0; index < 200; index++) {
+            boolean visited = index % 2 == 0 || index % 3 == 0;
+            assertEquals("Cell " + index, visited, first.isVisited(index));
+            expected += visited ? 1 : 0;
+        }
+        assertEquals(expected, first.getVisitedCount());
+        assertEquals(67, second.getVisitedCount());
+    }
+
+    /**
+     * Test that coverage is measured against the cleanable cells and that the
+     * scans skip visited and uncleanable cells across word boundaries.
+     */
+    @Test
+    public void testCleanableCellsAndScans() {
+        CompactFloorPlan plan = new CompactFloorPlan(12); // 144 cells, a partial third word
+        for (int index = 60; index < 70; index++) {
+            plan.setObstacle(index % 12, index / 12, true);
+        }
+        CoverageMap map = new CoverageMap(plan);
+        assertEquals(134, map.getCleanableCount());
+        assertFalse(map.isCleanable(60));
+        assertTrue(map.isCleanable(70));
+        assertEquals(0.0, map.getCoveragePercentage(), 0.0);
+
+        for (int index = 0; index < 60; index++) {
+            map.visit(index);
+        }
+        assertEquals(70, map.nextUnvisited(0));
+        assertEquals(1, map.nextUnvisitedWord(0)); // Cells 64-69 are obstacles, 70 is open
+        for (int index = 70; index < 140; index++) {
+            map.visit(index);
+        }
+        assertEquals(140, map.nextUnvisited(0));
+        assertEquals(2, map.nextUnvisitedWord(0));
+        assertEquals(100.0 * 130 / 134, map.getCoveragePercentage(), 1e-9);
+        for (int index = 140; index < 144; index++) {
+            map.visit(index);
+        }
+        assertEquals(-1, map.nextUnvisited(0));
+        assertEquals(-1, map.nextUnvisitedWord(0));
+        assertEquals(100.0, map.getCoveragePercentage(), 0.0);
+
+        // Visiting an obstacle does not count, and clearing one makes it open again
+        map.visit(61);
+        assertEquals(100.0, map.getCoveragePercentage(), 0.0);
+        map.setCleanable(65, true);
+        map.setCleanable(65, true);
+        assertEquals(135, map.getCleanableCount());
+        assertEquals(65, map.nextUnvisited(0));
+        assertEquals(65, map.nextUnvisited(65));
+        assertEquals(-1, map.nextUnvisited(66));
+        assertEquals(1, map.nextUnvisitedWord(1));
+        assertEquals(-1, map.nextUnvisitedWord(2));
+
+        CoverageMap mask = new CoverageMap(144);
+        for (int index = 0; index < 144; index += 2) {
+            mask.visit(index);
+        }
+        assertEquals(67, map.countVisited(mask)); // Even cells other than 60-68
+        assertEquals(100.0 * 67 / 72, map.getCoveragePercentage(mask), 1e-9);
+    }
+
+    /**
+     * Test that a robot cleans every cleanable cell, including obstacles
+     * removed behind it, in words it has already passed over, while it runs
+     * and while it is shut down.
+     */
+    @Test
+    public void testRobotReachesFullCoverage() {
+        // A wall along row 4 with a gap at the far end: rows 0-3, the first word, are cleaned first
+        CompactFloorPlan plan = new CompactFloorPlan(16);
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                boolean obstacle = (x == 3 && y == 0) || (y == 4 && x < 15);
+                plan.setCell(x, y, SurfaceType.HARDWOOD, obstacle, x == 0 && y == 0, false);
+            }
+        }
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, plan, new Logger());
+        CoverageMap visited = robot.getCoverageMap();
+        while (visited.getVisitedCount() < visited.getCleanableCount()) {
+            robot.navigate();
+        }
+        assertFalse(robot.isShutDown());
+        plan.setObstacle(3, 0, false);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        assertTrue(visited.isVisited(3));
+        assertEquals(100.0, visited.getCoveragePercentage(), 0.0);
+
+        plan.setObstacle(5, 4, false);
+        robot.setActive(true);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        assertTrue(visited.isVisited(4 * 16 + 5));
+        assertEquals(100.0, visited.getCoveragePercentage(), 0.0);
+    }
+}
@@ -0,0 +1,109 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import org.example.Cell;
+import org.example.DirtAwareCleaner;
+import org.example.IndexedCellQueue;
+
+import java.util.Random;
+
+/**
+ * Test class for the dirt-aware cleaner and its indexed priority queue.
+ */
+public class DirtAwareCleanerTest {
+
+    private static final int GRID_SIZE = 24;
+
+    /**
+     * Test that the queue pops cells in priority order after arbitrary updates and removals.
+     */
+    @Test
+    public void testQueueFollowsUpdates() {
+        Random random = new Random(11);
+        IndexedCellQueue queue = new IndexedCellQueue(200);
+        long[] expected = new long[200];
+        boolean[] queued = new boolean[200];
+        for (int i = 0; i < 5000; i++) {
+            int cell = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                queue.remove(cell);
+                queued[cell] = false;
+            } else {
+                expected[cell] = random.nextInt(50) - 10;
+                queued[cell] = true;
+                queue.set(cell, expected[cell]);
+            }
+        }
+
+        int count = 0;
+        for (boolean q : queued) {
+            count += q ? 1 : 0;
+        }
+        assertEquals(count, queue.size());
+        long previous = Long.MAX_VALUE;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            assertTrue("Cell " + cell + " was not queued", queued[cell]);
+            assertTrue(expected[cell] <= previous);
+            previous = expected[cell];
+            queued[cell] = false;
+        }
+        assertEquals(-1, queue.poll());
+    }
+
+    /**
+     * Test that on a limited battery, heading for the most dirt per energy
+     * removes more dirt per energy than heading for the nearest dirt, and that
+     * with enough charges both clean everything.
+     */
+    @Test
+    public void testDirtPerEnergyOnLimitedBattery() {
+        double[] dirtPerEnergy = new double[2];
+        for (DirtAwareCleaner.Strategy strategy : DirtAwareCleaner.Strategy.values()) {
+            Cell[][] cells = buildCells();
+            DirtAwareCleaner cleaner = new DirtAwareCleaner(cells, 0, 0, 150);
+            cleaner.setStrategy(strategy);
+            cleaner.setMaxCharges(2);
+            cleaner.run();
+            assertEquals(totalDirt(buildCells()) - totalDirt(cells), cleaner.getDirtRemoved());
+            assertTrue(cleaner.getEnergyUsed() <= 150 * 3);
+            dirtPerEnergy[strategy.ordinal()] = cleaner.getDirtPerEnergy();
+
+            cleaner.setMaxCharges(Integer.MAX_VALUE);
+            cleaner.run();
+            assertEquals(strategy + " left dirt", 0, totalDirt(cells));
+            assertTrue(cleaner.getBattery() >= 0);
+        }
+        assertTrue(dirtPerEnergy[DirtAwareCleaner.Strategy.MOST_DIRT_PER_ENERGY.ordinal()]
+                > dirtPerEnergy[DirtAwareCleaner.Strategy.NEAREST_DIRT.ordinal()]);
+    }
+
+    /**
+     * Builds a lightly dirty floor with a carpeted strip, a wall with a gap and
+     * one very dirty room away from the charging station in the corner.
+     */
+    private static Cell[][] buildCells() {
+        Cell[][] cells = new Cell[GRID_SIZE][GRID_SIZE];
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = x == 8 && y != 10;
+                boolean dirtyRoom = x >= 12 && x < 18 && y >= 12 && y < 18;
+                String surface = y < 4 ? "high-pile carpet" : "bare floor";
+                cells[y][x] = new Cell(surface, wall, x == 0 && y == 0, wall ? 0 : dirtyRoom ? 8 : 1);
+            }
+        }
+        return cells;
+    }
+
+    private static long totalDirt(Cell[][] cells) {
+        long total = 0;
+        for (Cell[] row : cells) {
+            for (Cell cell : row) {
+                total += cell.getDirt();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,196 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.BreadthFirstPlanner;
+import ControlSystems.ChargingStationField;
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorPlan;
+import ControlSystems.FloorPlanGenerator;
+import ControlSystems.GridSearch;
+import ControlSystems.Logger;
+import ControlSystems.NavigationListener;
+import ControlSystems.RoomBudgetPlanner;
+import ControlSystems.RouteRepairer;
+import ControlSystems.SurfaceType;
+
+import java.util.Random;
+
+/**
+ * Test class for obstacle change events and the local repairs driven by them.
+ */
+public class DynamicObstacleTest {
+
+    private static final int GRID_SIZE = 32;
+
+    private CompactFloorPlan floorPlan;
+
+    @Before
+    public void setup() {
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.TILE, SurfaceType.CARPET };
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean station = (x == 4 && y == 4) || (x == 27 && y == 20);
+                floorPlan.setCell(x, y, surfaces[(x / 5 + y / 7) % 3], false, station, false);
+            }
+        }
+    }
+
+    /**
+     * Test that a field repaired after every change matches one built from scratch.
+     */
+    @Test
+    public void testChargingFieldRepairMatchesRebuild() {
+        ChargingStationField repaired = new ChargingStationField(floorPlan, this::costOf);
+        floorPlan.addObstacleListener(repaired);
+        repaired.ensureCurrent();
+
+        Random random = new Random(5);
+        for (int change = 0; change < 400; change++) {
+            int x = random.nextInt(GRID_SIZE);
+            int y = random.nextInt(GRID_SIZE);
+            floorPlan.setObstacle(x, y, !floorPlan.isObstacle(x, y));
+            assertTrue("Change " + change + " was not repaired locally", repaired.getRepairedCount() > 0);
+
+            ChargingStationField rebuilt = new ChargingStationField(floorPlan, this::costOf);
+            for (int index = 0; index < GRID_SIZE * GRID_SIZE; index++) {
+                assertEquals("Energy of cell " + index + " after change " + change, rebuilt.getEnergy(index),
+                        repaired.getEnergy(index));
+                int next = repaired.getNextHop(index);
+                if (next != -1) {
+                    assertEquals(repaired.getEnergy(next) + costOf(index), repaired.getEnergy(index));
+                }
+            }
+            assertEquals(rebuilt.hasStation(), repaired.hasStation());
+        }
+    }
+
+    /**
+     * Test that a blocked route cell is bypassed by a short detour spliced into the route.
+     */
+    @Test
+    public void testRouteRepairSplicesDetour() {
+        GridSearch.CellTest passable = index -> !floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE);
+        int[] route = new int[GRID_SIZE * GRID_SIZE];
+        int length = 0;
+        for (int x = 0; x < 20; x++) {
+            route[length++] = 10 * GRID_SIZE + x; // Straight along row 10
+        }
+        floorPlan.setObstacle(6, 10, true);
+        floorPlan.setObstacle(7, 10, true);
+
+        RouteRepairer repairer = new RouteRepairer(GRID_SIZE, passable);
+        int repaired = repairer.repair(route, length, 6);
+        assertEquals(length + 2, repaired); // Around two cells takes two extra moves
+        assertEquals(10 * GRID_SIZE, route[0]);
+        assertEquals(10 * GRID_SIZE + 19, route[repaired - 1]);
+        for (int i = 1; i < repaired; i++) {
+            assertTrue(passable.test(route[i]));
+            int dx = Math.abs(route[i] % GRID_SIZE - route[i - 1] % GRID_SIZE);
+            int dy = Math.abs(route[i] / GRID_SIZE - route[i - 1] / GRID_SIZE);
+            assertEquals(1, dx + dy);
+        }
+        assertTrue(repairer.getExpandedCount() < 100);
+    }
+
+    /**
+     * Test that a robot whose route is blocked while it is moving detours
+     * around the new obstacle and still arrives.
+     */
+    @Test
+    public void testMoveToDetoursAroundObstacleAppearingMidRoute() {
+        CompactFloorPlan open = new CompactFloorPlan(GRID_SIZE);
+        // Someone steps onto row 0 once the robot has entered three cells
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, open, new Logger());
+        robot.addNavigationListener(new NavigationListener() {
+            private int moves;
+
+            @Override
+            public void moved(CleanSweepNavigation robot, int x, int y, SurfaceType surface) {
+                if (++moves == 3) {
+                    open.setObstacle(10, 0, true);
+                }
+            }
+        });
+        robot.setEnergyAwareReturn(false);
+        robot.setPathPlanner(new BreadthFirstPlanner(GRID_SIZE,
+                index -> !open.isObstacle(index % GRID_SIZE, index / GRID_SIZE)));
+        assertTrue(robot.moveTo(20, 0));
+        assertEquals(1, robot.getReplanCount());
+        assertTrue(robot.getCoverageMap().isVisited(GRID_SIZE + 10)); // Stepped around through row 1
+        assertFalse(robot.getCoverageMap().isVisited(10));
+        assertEquals(23, robot.getStepCount()); // The start cell, 20 moves and 2 to go around
+    }
+
+    /**
+     * Test that both floor plan types report an obstacle change only when the
+     * cell actually changes, so listeners applying deltas see each change once.
+     */
+    @Test
+    public void testUnchangedObstacleIsNotReported() {
+        FloorPlan cellPlan = new FloorPlanGenerator(3).generateFloorPlan(GRID_SIZE);
+        int x = 0;
+        while (cellPlan.isObstacle(x, 0)) {
+            x++;
+        }
+        int[] events = new int[2];
+        cellPlan.addObstacleListener((cellX, cellY, obstacle) -> events[0]++);
+        floorPlan.addObstacleListener((cellX, cellY, obstacle) -> events[1]++);
+        long cellRevision = cellPlan.getRevision();
+        long compactRevision = floorPlan.getRevision();
+        for (int repeat = 0; repeat < 3; repeat++) {
+            cellPlan.setObstacle(x, 0, true);
+            floorPlan.setObstacle(0, 0, true);
+        }
+        cellPlan.setObstacle(x, 0, false);
+        floorPlan.setObstacle(0, 0, false);
+        cellPlan.setObstacle(x, 0, false);
+        floorPlan.setObstacle(0, 0, false);
+        assertArrayEquals(new int[] { 2, 2 }, events);
+        assertEquals(cellRevision + 2, cellPlan.getRevision());
+        assertEquals(compactRevision + 2, floorPlan.getRevision());
+    }
+
+    /**
+     * Test that a robot reactivated after shutting down is told about obstacle
+     * changes again, both those made while it was shut down and later ones.
+     */
+    @Test
+    public void testReactivatedRobotHearsObstacleChanges() {
+        floorPlan.setObstacle(10, 10, true);
+        floorPlan.setObstacle(20, 10, true);
+        CleanSweepNavigation robot = new CleanSweepNavigation(4, 4, floorPlan, new Logger());
+        robot.setCoverageMode(CleanSweepNavigation.CoverageMode.ROOM_BUDGET);
+        robot.setRoomSize(8);
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        floorPlan.setObstacle(10, 10, false);
+        robot.setActive(true);
+        robot.navigate();
+        RoomBudgetPlanner planner = robot.getRoomBudgetPlanner();
+        int room = planner.getRoom(10 * GRID_SIZE + 20);
+        int unvisited = planner.getUnvisitedCount(room);
+        floorPlan.setObstacle(20, 10, false);
+        assertEquals(unvisited + 1, planner.getUnvisitedCount(room));
+        while (!robot.isShutDown()) {
+            robot.navigate();
+        }
+        assertTrue(robot.getCoverageMap().isVisited(10 * GRID_SIZE + 10));
+        assertTrue(robot.getCoverageMap().isVisited(10 * GRID_SIZE + 20));
+    }
+
+    private int costOf(int index) {
+        switch (floorPlan.getSurfaceType(index % GRID_SIZE, index / GRID_SIZE)) {
+            case TILE:
+                return 2;
+            case CARPET:
+                return 3;
+            default:
+                return 1;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.Logger;
+import ControlSystems.SurfaceType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for the configurable surface energy model and its cost grid.
+ */
+public class EnergyModelTest {
+
+    /**
+     * Test that a configuration overrides only what it lists and rejects unknown surfaces.
+     */
+    @Test
+    public void testLoadOverridesDefaults() throws IOException {
+        EnergyModel model = load("{ \"surfaces\": { \"Carpet\": { \"move\": 4, \"clean\": 6, \"dirtMultiplier\": 0.5 },"
+                + " \"high-pile carpet\": { \"clean\": 9 } } }");
+        assertEquals(4, model.getMoveCost(SurfaceType.CARPET));
+        assertEquals(6, model.getCleanCost(SurfaceType.CARPET));
+        assertEquals(3, model.getMoveCost(SurfaceType.HIGH_PILE_CARPET));
+        assertEquals(9, model.getCleanCost(SurfaceType.HIGH_PILE_CARPET));
+        assertEquals(2, model.getMoveCost(SurfaceType.TILE));
+        assertEquals(0.0f, model.getDirtMultiplier(SurfaceType.TILE), 0.0f);
+
+        EnergyGrid grid = model.resolve(new SurfaceType[] { SurfaceType.CARPET, SurfaceType.TILE });
+        assertEquals(4, grid.getMoveCost(0));
+        assertEquals(6, grid.getCleanEnergy(0, 1));
+        assertEquals(12, grid.getCleanEnergy(0, 3)); // 6 * (1 + 0.5 * 2)
+        assertEquals(2, grid.getCleanEnergy(1, 3));
+        assertEquals(2, grid.getMinMoveCost());
+
+        try {
+            load("{ \"surfaces\": { \"marble\": { \"move\": 2 } } }");
+            fail("Expected an unknown surface to be rejected");
+        } catch (IOException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that costs outside 0 to MAX_COST are rejected when a model is loaded.
+     */
+    @Test
+    public void testLoadRejectsOutOfRangeCosts() throws IOException {
+        EnergyModel model = load("{ \"surfaces\": { \"tile\": { \"move\": " + EnergyModel.MAX_COST + " } } }");
+        assertEquals(EnergyModel.MAX_COST, model.getMoveCost(SurfaceType.TILE));
+        String[] invalid = { "{ \"move\": 1000000 }", "{ \"clean\": -1 }", "{ \"move\": 5000000000 }",
+                "{ \"dirtMultiplier\": -0.5 }" };
+        for (String costs : invalid) {
+            try {
+                load("{ \"surfaces\": { \"tile\": " + costs + " } }");
+                fail("Expected " + costs + " to be rejected");
+            } catch (IOException expected) {
+                // Expected
+            }
+        }
+    }
+
+    /**
+     * Test that a robot given a resolved grid uses it instead of resolving its own.
+     */
+    @Test
+    public void testNavigationUsesGivenGrid() {
+        CompactFloorPlan floorPlan = new CompactFloorPlan(4);
+        EnergyGrid grid = new EnergyModel().resolve(floorPlan);
+        assertSame(grid, new CleanSweepNavigation(0, 0, floorPlan, new Logger(), grid).getEnergyGrid());
+        try {
+            new CleanSweepNavigation(0, 0, new CompactFloorPlan(5), new Logger(), grid);
+            fail("Expected a grid of another size to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that the navigation charges each move what the cost grid says.
+     */
+    @Test
+    public void testNavigationChargesGridCosts() throws IOException {
+        int gridSize = 8;
+        CompactFloorPlan floorPlan = new CompactFloorPlan(gridSize);
+        for (int y = 0; y < gridSize; y++) {
+            for (int x = 0; x < gridSize; x++) {
+                SurfaceType surface = x < 4 ? SurfaceType.LOW_PILE_CARPET : SurfaceType.CARPET;
+                floorPlan.setCell(x, y, surface, false, x == 0 && y == 0, false);
+            }
+        }
+        CleanSweepNavigation robot = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+        robot.setEnergyModel(load("{ \"surfaces\": { \"carpet\": { \"move\": 3 } } }"));
+        EnergyGrid grid = robot.getEnergyGrid();
+
+        int moves = 0;
+        while (!robot.isShutDown() && moves < 200) {
+            int battery = robot.getBatteryLevel();
+            if (robot.step() == CleanSweepNavigation.StepResult.MOVED) {
+                int index = robot.getY() * gridSize + robot.getX();
+                assertEquals(battery - grid.getMoveCost(index), robot.getBatteryLevel());
+                assertEquals(robot.getX() < 4 ? 2 : 3, grid.getMoveCost(index));
+                moves++;
+            }
+        }
+        assertTrue(moves > 0);
+    }
+
+    private static EnergyModel load(String json) throws IOException {
+        return EnergyModel.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,87 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FleetReport;
+import ControlSystems.FleetSimulator;
+import ControlSystems.GridSearch;
+import ControlSystems.SurfaceType;
+
+/**
+ * Test class for FleetSimulator and the FleetReport it aggregates.
+ */
+public class FleetSimulatorTest {
+
+    private static final int GRID_SIZE = 48;
+
+    private CompactFloorPlan floorPlan;
+    private int reachable;
+
+    @Before
+    public void setup() {
+        // Hardwood and tile with scattered obstacles and a charging station every 8 cells
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        SurfaceType[] surfaces = { SurfaceType.HARDWOOD, SurfaceType.HARDWOOD, SurfaceType.TILE };
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean station = x % 8 == 4 && y % 8 == 4;
+                boolean obstacle = !station && (x * 7 + y * 13) % 29 == 0;
+                floorPlan.setCell(x, y, surfaces[(x / 8 + y / 8) % surfaces.length], obstacle, station, false);
+            }
+        }
+        GridSearch search = new GridSearch(GRID_SIZE);
+        search.search(4 * GRID_SIZE + 4, index -> !floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE),
+                index -> false);
+        reachable = search.getExpandedCount();
+    }
+
+    /**
+     * Test that cooperating robots clean the whole floor between them and that
+     * cells crossed by more than one robot are counted once.
+     */
+    @Test
+    public void testCooperativeRunCountsDistinctCells() throws InterruptedException {
+        FleetSimulator simulator = new FleetSimulator(4);
+        simulator.setCooperative(true);
+        simulator.addRobots(floorPlan, 4);
+        FleetReport report = simulator.run();
+
+        assertEquals(4, report.getRobotCount());
+        assertEquals(reachable, report.getCellsCleaned());
+        long robotSum = 0;
+        for (FleetReport.RobotResult robot : report.getRobots()) {
+            robotSum += robot.getCellsCleaned();
+        }
+        assertTrue(robotSum >= report.getCellsCleaned());
+    }
+
+    /**
+     * Test that independent robots give the same results on any number of
+     * threads, each cleaning the whole floor, and that the fleet total counts
+     * each plan's cells once.
+     */
+    @Test
+    public void testIndependentRobotsMatchAcrossThreadCounts() throws InterruptedException {
+        FleetReport serial = runIndependent(1);
+        FleetReport parallel = runIndependent(4);
+        assertEquals(3, parallel.getRobotCount());
+        for (int i = 0; i < 3; i++) {
+            FleetReport.RobotResult expected = serial.getRobots().get(i);
+            FleetReport.RobotResult actual = parallel.getRobots().get(i);
+            assertEquals(i, actual.getRobotId());
+            assertEquals(reachable, actual.getCellsCleaned());
+            assertEquals(expected.getSteps(), actual.getSteps());
+            assertEquals(expected.getChargeCycles(), actual.getChargeCycles());
+        }
+        assertEquals(serial.getSteps(), parallel.getSteps());
+        assertEquals(reachable, parallel.getCellsCleaned());
+    }
+
+    private FleetReport runIndependent(int threads) throws InterruptedException {
+        FleetSimulator simulator = new FleetSimulator(threads);
+        simulator.addRobots(floorPlan, 3);
+        return simulator.run();
+    }
+}
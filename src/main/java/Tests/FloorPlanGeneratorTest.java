@@ -0,0 +1,131 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.BinaryFloorPlanFile;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorGrid;
+import ControlSystems.FloorPlanGenerator;
+import ControlSystems.FloorPlanLoader;
+import ControlSystems.GridSearch;
+import ControlSystems.SurfaceType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test class for FloorPlanGenerator.
+ */
+public class FloorPlanGeneratorTest {
+
+    private static final int GRID_SIZE = 100; // Cuts off the last rooms and a band of corridor
+
+    /**
+     * Test that the same seed gives the same plan, in memory and in both file formats.
+     */
+    @Test
+    public void testPlansAreDeterministicInEveryForm() throws IOException {
+        CompactFloorPlan plan = new FloorPlanGenerator(7).generate(GRID_SIZE);
+        assertEquals(plan.getCellCount(), new FloorPlanGenerator(7).generate(GRID_SIZE).getCellCount());
+        assertSameCells(plan, new FloorPlanGenerator(7).generate(GRID_SIZE));
+        assertSameCells(plan, new FloorPlanGenerator(7).generateFloorPlan(GRID_SIZE));
+        assertTrue(plan.getChargingStationCount() > 1);
+
+        for (String extension : new String[] { ".json", BinaryFloorPlanFile.EXTENSION }) {
+            Path file = Files.createTempFile("generated-", extension);
+            try {
+                new FloorPlanGenerator(7).write(GRID_SIZE, file);
+                CompactFloorPlan loaded = FloorPlanLoader.loadFloorPlan(file);
+                assertSameCells(plan, loaded);
+                assertEquals(plan.getChargingStationCount(), loaded.getChargingStationCount());
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        CompactFloorPlan other = new FloorPlanGenerator(8).generate(GRID_SIZE);
+        boolean differs = false;
+        for (int index = 0; index < GRID_SIZE * GRID_SIZE && !differs; index++) {
+            differs = plan.getPacked(index) != other.getPacked(index);
+        }
+        assertTrue("Another seed should give another plan", differs);
+    }
+
+    /**
+     * Test that doors and corridors connect every open cell when there is no
+     * furniture, and every charging station however much furniture there is.
+     */
+    @Test
+    public void testRoomsAreConnected() {
+        FloorPlanGenerator generator = new FloorPlanGenerator(3);
+        generator.setObstacleDensity(0);
+        CompactFloorPlan empty = generator.generate(GRID_SIZE);
+        boolean[] reached = reachableFrom(empty, 0);
+        for (int index = 0; index < GRID_SIZE * GRID_SIZE; index++) {
+            boolean open = !empty.isObstacle(index % GRID_SIZE, index / GRID_SIZE);
+            assertEquals("Cell " + index, open, reached[index]);
+        }
+
+        generator.setObstacleDensity(0.6);
+        CompactFloorPlan furnished = generator.generate(GRID_SIZE);
+        reached = reachableFrom(furnished, 0);
+        int obstacles = 0;
+        for (int index = 0; index < GRID_SIZE * GRID_SIZE; index++) {
+            int x = index % GRID_SIZE;
+            int y = index / GRID_SIZE;
+            if (furnished.isChargingStation(x, y)) {
+                assertTrue("Station " + index, reached[index]);
+            }
+            obstacles += furnished.isObstacle(x, y) ? 1 : 0;
+        }
+        assertTrue(obstacles > GRID_SIZE * GRID_SIZE / 4);
+    }
+
+    /**
+     * Test that surfaces follow their weights and an open floor has no walls.
+     */
+    @Test
+    public void testSurfaceWeightsAndOpenFloor() {
+        FloorPlanGenerator generator = new FloorPlanGenerator(5);
+        generator.setRoomSize(0);
+        generator.setObstacleDensity(0);
+        generator.setSurfaceWeight(SurfaceType.HARDWOOD, 0);
+        generator.setSurfaceWeight(SurfaceType.TILE, 1);
+        generator.setSurfaceWeight(SurfaceType.CARPET, 0);
+        CompactFloorPlan plan = generator.generate(GRID_SIZE);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                assertFalse(plan.isObstacle(x, y));
+                assertEquals(SurfaceType.TILE, plan.getSurfaceType(x, y));
+            }
+        }
+        int patches = (GRID_SIZE + FloorPlanGenerator.OPEN_PATCH - 1) / FloorPlanGenerator.OPEN_PATCH;
+        int stationsPerRow = (patches + 3) / 4; // Default spacing of four patches
+        assertEquals(stationsPerRow * stationsPerRow, plan.getChargingStationCount());
+    }
+
+    private static boolean[] reachableFrom(CompactFloorPlan plan, int start) {
+        GridSearch search = new GridSearch(GRID_SIZE);
+        boolean[] reached = new boolean[GRID_SIZE * GRID_SIZE];
+        search.search(start, index -> !plan.isObstacle(index % GRID_SIZE, index / GRID_SIZE), index -> {
+            reached[index] = true;
+            return false; // Never stop, so the search floods everything reachable
+        });
+        return reached;
+    }
+
+    private static void assertSameCells(FloorGrid expected, FloorGrid actual) {
+        assertEquals(expected.getGridSize(), actual.getGridSize());
+        for (int y = 0; y < expected.getGridSize(); y++) {
+            for (int x = 0; x < expected.getGridSize(); x++) {
+                String cell = "(" + x + ", " + y + ")";
+                assertEquals(cell, expected.getSurfaceType(x, y), actual.getSurfaceType(x, y));
+                assertEquals(cell, expected.isObstacle(x, y), actual.isObstacle(x, y));
+                assertEquals(cell, expected.isChargingStation(x, y), actual.isChargingStation(x, y));
+                assertEquals(cell, expected.isStairs(x, y), actual.isStairs(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import org.example.Cell;
+import org.example.FrontierExplorer;
+import org.example.OccupancyGrid;
+import org.example.SensorSimulator;
+
+import java.util.Random;
+
+/**
+ * Test class for occupancy-grid mapping and frontier exploration.
+ */
+public class FrontierExplorerTest {
+
+    private static final int GRID_SIZE = 20;
+
+    /**
+     * Test that the incremental frontier always matches one recomputed from the whole map.
+     */
+    @Test
+    public void testFrontierMatchesRecomputation() {
+        OccupancyGrid map = new OccupancyGrid(GRID_SIZE, GRID_SIZE);
+        Random random = new Random(9);
+        for (int change = 0; change < 600; change++) {
+            map.mark(random.nextInt(GRID_SIZE), random.nextInt(GRID_SIZE),
+                    random.nextInt(3) == 0 ? OccupancyGrid.OCCUPIED : OccupancyGrid.FREE);
+
+            int expected = 0;
+            for (int y = 0; y < GRID_SIZE; y++) {
+                for (int x = 0; x < GRID_SIZE; x++) {
+                    boolean frontier = map.getState(x, y) == OccupancyGrid.FREE
+                            && (isUnknown(map, x + 1, y) || isUnknown(map, x, y + 1)
+                            || isUnknown(map, x - 1, y) || isUnknown(map, x, y - 1));
+                    assertEquals("Cell (" + x + ", " + y + ") after change " + change, frontier,
+                            map.isFrontier(y * GRID_SIZE + x));
+                    expected += frontier ? 1 : 0;
+                }
+            }
+            assertEquals(expected, map.getFrontierCount());
+        }
+    }
+
+    /**
+     * Test that marking a cell with anything but FREE or OCCUPIED is rejected
+     * and leaves the map unchanged.
+     */
+    @Test
+    public void testMarkRejectsInvalidStates() {
+        OccupancyGrid map = new OccupancyGrid(GRID_SIZE, GRID_SIZE);
+        map.mark(3, 3, OccupancyGrid.FREE);
+        for (byte state : new byte[] { OccupancyGrid.UNKNOWN, 3, -1 }) {
+            try {
+                map.mark(3, 3, state);
+                fail("Expected state " + state + " to be rejected");
+            } catch (IllegalArgumentException expected) {
+                // Expected
+            }
+        }
+        assertEquals(OccupancyGrid.FREE, map.getState(3, 3));
+        assertEquals(1, map.getKnownCount());
+        assertEquals(1, map.getFrontierCount());
+    }
+
+    /**
+     * Test that exploring maps every reachable cell and the obstacles around
+     * them, leaves an enclosed room unknown and does constant work per observation.
+     */
+    @Test
+    public void testExplorationMapsReachableFloor() {
+        Cell[][] cells = new Cell[GRID_SIZE][GRID_SIZE];
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = (x == 6 && y != 15) || (y == 8 && x > 10 && x != 14);
+                boolean enclosure = x >= 16 && y >= 16 && (x == 16 || y == 16);
+                cells[y][x] = new Cell("bare floor", wall || enclosure, x == 3 && y == 3, 0);
+            }
+        }
+        FrontierExplorer explorer = new FrontierExplorer(new SensorSimulator(cells, 0, 0), GRID_SIZE, GRID_SIZE);
+        explorer.explore();
+
+        OccupancyGrid map = explorer.getMap();
+        assertEquals(0, map.getFrontierCount());
+        assertTrue(map.isChargingStation(3, 3));
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                if (x > 16 && y > 16) {
+                    assertEquals(OccupancyGrid.UNKNOWN, map.getState(x, y)); // Inside the enclosure
+                } else if (!cells[y][x].isObstacle()) {
+                    assertEquals("Cell (" + x + ", " + y + ")", OccupancyGrid.FREE, map.getState(x, y));
+                } else if (map.getState(x, y) != OccupancyGrid.UNKNOWN) {
+                    assertEquals(OccupancyGrid.OCCUPIED, map.getState(x, y));
+                }
+            }
+        }
+        assertTrue(map.getFrontierChecks() <= 10 * explorer.getObservationCount());
+    }
+
+    private static boolean isUnknown(OccupancyGrid map, int x, int y) {
+        return x >= 0 && x < GRID_SIZE && y >= 0 && y < GRID_SIZE && map.getState(x, y) == OccupancyGrid.UNKNOWN;
+    }
+}
@@ -0,0 +1,148 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.GridSearch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Test class for GridSearch, checked against the path-copying breadth-first
+ * search it replaced.
+ */
+public class GridSearchTest {
+
+    private static final int GRID_SIZE = 20;
+
+    // Directions for movement: right, down, left, up, as the replaced search explored them
+    private static final int[][] DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+
+    /**
+     * Test that one reused engine finds the same target and path as the old
+     * search, including the choice between equally near targets.
+     */
+    @Test
+    public void testMatchesPathCopyingSearch() {
+        GridSearch search = new GridSearch(GRID_SIZE);
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            boolean[] obstacle = new boolean[GRID_SIZE * GRID_SIZE];
+            boolean[] target = new boolean[GRID_SIZE * GRID_SIZE];
+            int obstaclePercent = random.nextInt(40);
+            int targetPercent = 1 + random.nextInt(10);
+            for (int index = 0; index < obstacle.length; index++) {
+                obstacle[index] = random.nextInt(100) < obstaclePercent;
+                target[index] = random.nextInt(100) < targetPercent;
+            }
+            int start = random.nextInt(obstacle.length);
+            obstacle[start] = false;
+
+            List<Integer> expected = pathCopyingSearch(start, obstacle, target);
+            int found = search.search(start, index -> !obstacle[index], index -> target[index] && !obstacle[index]);
+            if (expected.isEmpty()) {
+                assertEquals("Round " + round, -1, found);
+                assertEquals(0, search.getPathLength());
+                continue;
+            }
+            assertEquals("Round " + round, (int) expected.get(expected.size() - 1), found);
+            assertEquals("Round " + round, expected.size(), search.getPathLength());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals("Round " + round + ", step " + i, (int) expected.get(i), search.getPath()[i]);
+            }
+        }
+    }
+
+    /**
+     * Test that the start cell is returned when it is a target, and that a
+     * search with no target expands exactly the connected cells.
+     */
+    @Test
+    public void testStartTargetAndFullExpansion() {
+        GridSearch search = new GridSearch(GRID_SIZE);
+        assertEquals(5, search.search(5, index -> true, index -> index == 5));
+        assertEquals(1, search.getPathLength());
+
+        // A wall down column 10 cuts the grid in two
+        GridSearch.CellTest passable = index -> index % GRID_SIZE != 10;
+        assertEquals(-1, search.search(0, passable, index -> false));
+        assertEquals(10 * GRID_SIZE, search.getExpandedCount());
+        assertEquals(-1, search.search(0, passable, index -> index % GRID_SIZE == 15));
+    }
+
+    /**
+     * Test that paths and frontiers longer than the initial buffers are
+     * found in full, and that searches keep matching once the generation
+     * counter has wrapped.
+     */
+    @Test
+    public void testLongPathsAndGenerationWrap() {
+        int gridSize = 40;
+        GridSearch search = new GridSearch(gridSize);
+        // Walls on every other row, open at alternating ends, make one serpentine corridor
+        GridSearch.CellTest serpentine = index -> {
+            int x = index % gridSize;
+            int y = index / gridSize;
+            return y % 2 == 0 || x == (y % 4 == 1 ? gridSize - 1 : 0);
+        };
+        int last = (gridSize - 2) * gridSize;
+        assertEquals(last, search.search(0, serpentine, index -> index == last));
+        int length = search.getPathLength();
+        assertEquals(gridSize * gridSize / 2 + gridSize / 2 - 1, length); // Every even row plus the gaps
+        for (int i = 1; i < length; i++) {
+            int step = Math.abs(search.getPath()[i] - search.getPath()[i - 1]);
+            assertTrue("Step " + i, step == 1 || step == gridSize);
+        }
+
+        // An open grid's frontier outgrows the initial queue
+        assertEquals(-1, search.search(gridSize * gridSize / 2, index -> true, index -> false));
+        assertEquals(gridSize * gridSize, search.getExpandedCount());
+
+        for (int round = 0; round < 20000; round++) {
+            int target = round % (gridSize * gridSize);
+            assertEquals(target, search.search(0, index -> true, index -> index == target));
+            assertEquals(target % gridSize + target / gridSize + 1, search.getPathLength());
+        }
+        assertEquals(last, search.search(0, serpentine, index -> index == last));
+        assertEquals(length, search.getPathLength());
+    }
+
+    /**
+     * Breadth-first search as CleanSweepNavigation ran it before GridSearch:
+     * every queue entry is a copy of the path that reached it.
+     */
+    private static List<Integer> pathCopyingSearch(int start, boolean[] obstacle, boolean[] target) {
+        Queue<List<Integer>> queue = new LinkedList<>();
+        Set<String> discovered = new HashSet<>();
+        List<Integer> startPath = new ArrayList<>();
+        startPath.add(start);
+        queue.add(startPath);
+        discovered.add(start % GRID_SIZE + "," + start / GRID_SIZE);
+        while (!queue.isEmpty()) {
+            List<Integer> path = queue.poll();
+            int current = path.get(path.size() - 1);
+            int x = current % GRID_SIZE;
+            int y = current / GRID_SIZE;
+            if (target[current] && !obstacle[current]) {
+                return path;
+            }
+            for (int[] direction : DIRECTIONS) {
+                int nx = x + direction[0];
+                int ny = y + direction[1];
+                if (nx >= 0 && nx < GRID_SIZE && ny >= 0 && ny < GRID_SIZE && !obstacle[ny * GRID_SIZE + nx]
+                        && discovered.add(nx + "," + ny)) {
+                    List<Integer> next = new ArrayList<>(path);
+                    next.add(ny * GRID_SIZE + nx);
+                    queue.add(next);
+                }
+            }
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,138 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.BreadthFirstPlanner;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.GridSearch;
+import ControlSystems.HierarchicalPlanner;
+import ControlSystems.SurfaceType;
+
+import java.util.Random;
+
+/**
+ * Test class for HierarchicalPlanner, checked against breadth-first search.
+ */
+public class HierarchicalPlannerTest {
+
+    private static final int GRID_SIZE = 100;
+    private static final int CLUSTER_SIZE = 16;
+
+    private CompactFloorPlan floorPlan;
+    private HierarchicalPlanner planner;
+    private BreadthFirstPlanner reference;
+    private int[] path;
+
+    @Before
+    public void setup() {
+        // 20x20 rooms with one door in each wall, plus scattered furniture; 100 is not a multiple of 16
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        Random random = new Random(11);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = (x % 20 == 19 && y % 20 != 10) || (y % 20 == 19 && x % 20 != 5);
+                boolean furniture = random.nextInt(100) < 8;
+                floorPlan.setCell(x, y, SurfaceType.HARDWOOD, wall || furniture, false, false);
+            }
+        }
+        GridSearch.CellTest passable = index -> !floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE);
+        planner = new HierarchicalPlanner(GRID_SIZE, passable, CLUSTER_SIZE);
+        reference = new BreadthFirstPlanner(GRID_SIZE, passable);
+        path = new int[GRID_SIZE * GRID_SIZE];
+    }
+
+    /**
+     * Test that paths are valid, found exactly when BFS finds one, and close to the shortest.
+     */
+    @Test
+    public void testPathsAreValidAndNearShortest() {
+        Random random = new Random(3);
+        long hierarchical = 0;
+        long shortest = 0;
+        for (int q = 0; q < 300; q++) {
+            int start = randomOpenCell(random);
+            int goal = randomOpenCell(random);
+            int expected = reference.plan(start, goal, new int[GRID_SIZE * GRID_SIZE]);
+            int length = planner.plan(start, goal, path);
+            assertEquals("Reachability of " + start + " -> " + goal, expected == 0, length == 0);
+            if (length > 0) {
+                assertValidPath(start, goal, length);
+                assertTrue(length >= expected);
+                hierarchical += length;
+                shortest += expected;
+            }
+        }
+        assertTrue("Paths " + hierarchical + " vs shortest " + shortest, hierarchical <= shortest * 1.15);
+    }
+
+    /**
+     * Test that closing a door is seen after it is reported, and only the
+     * affected clusters are rebuilt.
+     */
+    @Test
+    public void testObstacleChangeUpdatesClusters() {
+        // Two rooms side by side joined only by the door at (19, 10)
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = x == 19 && y != 10 || x >= 40 || y >= 20;
+                floorPlan.setCell(x, y, SurfaceType.HARDWOOD, wall, false, false);
+            }
+        }
+        planner.invalidate();
+        int start = 10 * GRID_SIZE + 2;
+        int goal = 10 * GRID_SIZE + 35;
+        int before = planner.plan(start, goal, path);
+        assertTrue(before >= 34);
+        int built = planner.getBuiltClusterCount();
+
+        floorPlan.setObstacle(19, 10, true);
+        planner.obstacleChanged(19, 10, true);
+        assertEquals(built - 1, planner.getBuiltClusterCount()); // The door is inside the cluster at x 16..31
+        assertEquals(0, planner.plan(start, goal, path));
+
+        floorPlan.setObstacle(19, 10, false);
+        planner.obstacleChanged(19, 10, false);
+        assertEquals(before, planner.plan(start, goal, path));
+        assertValidPath(start, goal, before);
+
+        // A cell on a cluster border also changes the entrances of the cluster across it
+        built = planner.getBuiltClusterCount();
+        planner.obstacleChanged(16, 5, true);
+        assertEquals(built - 2, planner.getBuiltClusterCount());
+    }
+
+    /**
+     * Test that a query on a large floor only builds the clusters near its path.
+     */
+    @Test
+    public void testClustersAreBuiltOnDemand() {
+        int gridSize = 4096;
+        HierarchicalPlanner large = new HierarchicalPlanner(gridSize, index -> true, 64);
+        int[] buffer = new int[2 * gridSize];
+        int length = large.plan(0, 200 * gridSize + 200, buffer);
+        assertEquals(401, length);
+        assertTrue("Built " + large.getBuiltClusterCount() + " clusters", large.getBuiltClusterCount() < 100);
+    }
+
+    private int randomOpenCell(Random random) {
+        int cell;
+        do {
+            cell = random.nextInt(GRID_SIZE * GRID_SIZE);
+        } while (floorPlan.isObstacle(cell % GRID_SIZE, cell / GRID_SIZE));
+        return cell;
+    }
+
+    private void assertValidPath(int start, int goal, int length) {
+        assertEquals(start, path[0]);
+        assertEquals(goal, path[length - 1]);
+        for (int i = 1; i < length; i++) {
+            int from = path[i - 1];
+            int to = path[i];
+            assertFalse(floorPlan.isObstacle(to % GRID_SIZE, to / GRID_SIZE));
+            int dx = Math.abs(from % GRID_SIZE - to % GRID_SIZE);
+            int dy = Math.abs(from / GRID_SIZE - to / GRID_SIZE);
+            assertEquals("Step " + i + " from " + from + " to " + to, 1, dx + dy);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.LogSink;
+import ControlSystems.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for the asynchronous Logger.
+ */
+public class LoggerTest {
+
+    /**
+     * Sink recording what the logger's writer thread hands it.
+     */
+    private static class RecordingSink implements LogSink {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        final List<Logger.Level> levels = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release;  // Writes wait on this, so the buffer can be filled
+        volatile int flushes;
+        volatile boolean closed;
+
+        RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(long timestampMillis, Logger.Level level, String message) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(message);
+            levels.add(level);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /**
+     * Test that shutting down writes every message logged by concurrent
+     * callers, in each caller's order, then flushes and closes the sinks.
+     */
+    @Test
+    public void testShutdownDrainsEveryMessage() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(new CountDownLatch(0));
+        Logger logger = new Logger(sink);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    logger.log(id + ":" + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.shutdown();
+
+        assertTrue(sink.closed);
+        assertTrue(sink.flushes > 0);
+        assertEquals(0, logger.getDroppedCount());
+        assertEquals(4000, logger.getLoggedCount());
+        assertEquals(4000, logger.getWrittenCount());
+        assertEquals(4000, sink.messages.size());
+        int[] next = new int[threads.length];
+        for (String message : sink.messages) {
+            int id = Integer.parseInt(message.substring(0, message.indexOf(':')));
+            assertEquals(message, next[id]++, Integer.parseInt(message.substring(message.indexOf(':') + 1)));
+        }
+
+        logger.log("after shutdown");
+        assertEquals(1, logger.getDroppedCount());
+        assertEquals(4000, sink.messages.size());
+    }
+
+    /**
+     * Test that a message logged while the logger shuts down is either written
+     * or counted as dropped, never counted as logged and lost.
+     */
+    @Test
+    public void testLoggingRacingShutdown() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            RecordingSink sink = new RecordingSink(new CountDownLatch(0));
+            Logger logger = new Logger(sink);
+            AtomicLong attempts = new AtomicLong();
+            AtomicBoolean stop = new AtomicBoolean();
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    while (!stop.get()) {
+                        logger.log("message");
+                        attempts.incrementAndGet();
+                    }
+                });
+                threads[t].start();
+            }
+            Thread.sleep(2);
+            logger.shutdown();
+            long written = logger.getWrittenCount();
+            stop.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals("Round " + round, written, logger.getLoggedCount());
+            assertEquals("Round " + round, written, logger.getWrittenCount());
+            assertEquals("Round " + round, written, sink.messages.size());
+            assertEquals("Round " + round, attempts.get(), logger.getLoggedCount() + logger.getDroppedCount());
+        }
+    }
+
+    /**
+     * Test that an idle writer wakes for a new message and for a flush well
+     * before the flush interval runs out.
+     */
+    @Test
+    public void testIdleWriterWakes() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(new CountDownLatch(0));
+        Logger logger = new Logger(16, 1000, 60_000, sink);
+        logger.log("first");
+        awaitWritten(logger, 1);
+        Thread.sleep(20); // Let the writer park
+        logger.log("second");
+        awaitWritten(logger, 2);
+        assertEquals(0, sink.flushes);
+
+        long start = System.nanoTime();
+        logger.flush();
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(1, sink.flushes);
+        logger.shutdown();
+        assertEquals(List.of("first", "second"), sink.messages);
+    }
+
+    /**
+     * Test that messages are dropped and counted instead of blocking while the
+     * buffer is full, and that the accepted ones are still written.
+     */
+    @Test
+    public void testFullBufferDropsAndCounts() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(release);
+        Logger logger = new Logger(4, 1, 1, sink);
+        for (int i = 0; i < 100; i++) {
+            logger.log("message " + i);
+        }
+        // The sink holds the first message, so only the buffer's 4 slots were accepted
+        assertEquals(4, logger.getLoggedCount());
+        assertEquals(96, logger.getDroppedCount());
+
+        release.countDown();
+        logger.shutdown();
+        assertEquals(4, logger.getWrittenCount());
+        assertEquals(List.of("message 0", "message 1", "message 2", "message 3"), sink.messages);
+    }
+
+    /**
+     * Test that messages below the level are discarded without being counted.
+     */
+    @Test
+    public void testLevelFiltering() {
+        RecordingSink sink = new RecordingSink(new CountDownLatch(0));
+        Logger logger = new Logger(sink);
+        assertEquals(Logger.Level.TRACE, logger.getLevel());
+        logger.setLevel(Logger.Level.WARN);
+        assertFalse(logger.isEnabled(Logger.Level.INFO));
+        assertTrue(logger.isEnabled(Logger.Level.ERROR));
+        logger.log(Logger.Level.DEBUG, "debug");
+        logger.log("info");
+        logger.log(Logger.Level.WARN, "warn");
+        logger.log(Logger.Level.ERROR, "error");
+        logger.shutdown();
+
+        assertEquals(List.of("warn", "error"), sink.messages);
+        assertEquals(List.of(Logger.Level.WARN, Logger.Level.ERROR), sink.levels);
+        assertEquals(2, logger.getLoggedCount());
+        assertEquals(0, logger.getDroppedCount());
+
+        Logger silent = new Logger();
+        assertEquals(Logger.Level.OFF, silent.getLevel());
+        silent.log(Logger.Level.ERROR, "discarded");
+        assertEquals(0, silent.getLoggedCount());
+    }
+
+    /**
+     * Waits up to five seconds for the writer thread to write the given number of messages.
+     */
+    private static void awaitWritten(Logger logger, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (logger.getWrittenCount() < count) {
+            assertTrue("Writer did not wake", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
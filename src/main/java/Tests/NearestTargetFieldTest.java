@@ -0,0 +1,161 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.GridSearch;
+import ControlSystems.Logger;
+import ControlSystems.NearestTargetField;
+import ControlSystems.SurfaceType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for NearestTargetField, checked against breadth-first search.
+ */
+public class NearestTargetFieldTest {
+
+    private static final int GRID_SIZE = 24;
+
+    private CompactFloorPlan floorPlan;
+    private CoverageMap visited;
+    private GridSearch.CellTest passable;
+    private GridSearch.CellTest unvisited;
+    private NearestTargetField field;
+    private GridSearch search;
+
+    @Before
+    public void setup() {
+        // Scattered obstacles plus a wall with one gap, so paths have to detour
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        Random random = new Random(7);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = x == GRID_SIZE / 2 && y != 3;
+                boolean obstacle = wall || (x + y > 0 && random.nextInt(100) < 15);
+                floorPlan.setCell(x, y, SurfaceType.HARDWOOD, obstacle, false, false);
+            }
+        }
+        visited = new CoverageMap(GRID_SIZE * GRID_SIZE);
+        passable = index -> !floorPlan.isObstacle(index % GRID_SIZE, index / GRID_SIZE);
+        unvisited = index -> passable.test(index) && visited.isUnvisited(index);
+        field = new NearestTargetField(floorPlan, passable, unvisited);
+        search = new GridSearch(GRID_SIZE);
+    }
+
+    /**
+     * Test that a robot cleaning the whole floor gets the same targets and paths as BFS.
+     */
+    @Test
+    public void testMatchesBreadthFirstSearchWhileCleaning() {
+        int position = 0;
+        visit(position);
+        int targets = 0;
+        while (true) {
+            int expected = search.search(position, passable, unvisited);
+            int actual = field.search(position);
+            assertEquals("Target from " + position, expected, actual);
+            if (expected == -1) {
+                break;
+            }
+            assertArrayEquals("Path from " + position,
+                    Arrays.copyOf(search.getPath(), search.getPathLength()),
+                    Arrays.copyOf(field.getPath(), field.getPathLength()));
+            for (int i = 0; i < field.getPathLength(); i++) {
+                visit(field.getPath()[i]);
+            }
+            position = actual;
+            targets++;
+        }
+        assertTrue("The robot should have cleaned more than a few cells", targets > 50);
+    }
+
+    /**
+     * Test that targets removed out of order, and targets that stop qualifying
+     * without being removed, still give BFS results.
+     */
+    @Test
+    public void testMatchesBreadthFirstSearchAfterScatteredChanges() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            int cell = random.nextInt(GRID_SIZE * GRID_SIZE);
+            if (visited.visit(cell) && round % 3 != 0) {
+                field.remove(cell); // Every third cell is left for the field to discover
+            }
+            int start = random.nextInt(GRID_SIZE * GRID_SIZE);
+            assertEquals("Target from " + start, search.search(start, passable, unvisited), field.search(start));
+            assertEquals(search.getPathLength(), field.getPathLength());
+        }
+    }
+
+    /**
+     * Test that a new obstacle on the floor plan is taken into account.
+     */
+    @Test
+    public void testObstacleChangeRebuildsField() {
+        int start = 3 * GRID_SIZE; // (0, 3), left of the gap in the wall
+        field.search(start);
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE / 2; x++) {
+                visited.visit(y * GRID_SIZE + x);
+                field.remove(y * GRID_SIZE + x);
+            }
+        }
+        assertEquals(search.search(start, passable, unvisited), field.search(start));
+
+        floorPlan.setObstacle(GRID_SIZE / 2, 3, true); // Close the gap
+        assertEquals(-1, search.search(start, passable, unvisited));
+        assertEquals(-1, field.search(start));
+    }
+
+    /**
+     * Test that cleaning one cell on a large open floor only repairs a small area.
+     */
+    @Test
+    public void testRepairIsLocal() {
+        int gridSize = 256;
+        CompactFloorPlan open = new CompactFloorPlan(gridSize);
+        CoverageMap cleaned = new CoverageMap(gridSize * gridSize);
+        NearestTargetField large = new NearestTargetField(open, index -> true, cleaned::isUnvisited);
+        int start = (gridSize / 2) * gridSize + gridSize / 2;
+        cleaned.visit(start);
+        large.remove(start);
+        assertEquals(start + 1, large.search(start));
+
+        cleaned.visit(start + 1);
+        large.remove(start + 1);
+        assertEquals(start + 2, large.search(start + 1));
+        assertTrue("Repair touched " + large.getExpandedCount() + " cells",
+                large.getExpandedCount() < 32);
+    }
+
+    /**
+     * Test that a robot using the incremental search cleans along exactly the
+     * same moves as one using breadth-first search.
+     */
+    @Test
+    public void testNavigationMatchesBreadthFirstSearch() {
+        CleanSweepNavigation bfs = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+        CleanSweepNavigation incremental = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+        incremental.setIncrementalSearch(true);
+        while (!bfs.isShutDown()) {
+            bfs.navigate();
+            incremental.navigate();
+            assertEquals(bfs.getX(), incremental.getX());
+            assertEquals(bfs.getY(), incremental.getY());
+            assertEquals(bfs.getStepCount(), incremental.getStepCount());
+        }
+        assertTrue(incremental.isShutDown());
+        assertEquals(bfs.getCoverageMap().getVisitedCount(), incremental.getCoverageMap().getVisitedCount());
+    }
+
+    private void visit(int cell) {
+        if (visited.visit(cell)) {
+            field.remove(cell);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.AStarPlanner;
+import ControlSystems.BreadthFirstPlanner;
+import ControlSystems.GridSearch;
+import ControlSystems.JumpPointPlanner;
+import ControlSystems.PathPlanner;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Test class for the A* and Jump Point planners, checked against breadth-first
+ * search for move counts and a plain Dijkstra search for energies.
+ */
+public class PathPlannerTest {
+
+    private static final int GRID_SIZE = 32;
+
+    // Directions for movement: right, down, left, up
+    private static final int[][] DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+
+    /**
+     * Test that unit-cost A* and Jump Point Search find paths exactly as short
+     * as breadth-first search, and agree with it on unreachable goals.
+     */
+    @Test
+    public void testPathLengthsMatchBreadthFirst() {
+        Random random = new Random(23);
+        int[] expectedPath = new int[GRID_SIZE * GRID_SIZE];
+        int[] path = new int[GRID_SIZE * GRID_SIZE];
+        for (int round = 0; round < 40; round++) {
+            boolean[] obstacle = randomObstacles(random);
+            GridSearch.CellTest passable = index -> !obstacle[index];
+            PathPlanner breadthFirst = new BreadthFirstPlanner(GRID_SIZE, passable);
+            PathPlanner[] planners = { new AStarPlanner(GRID_SIZE, passable), new JumpPointPlanner(GRID_SIZE, passable) };
+            for (int query = 0; query < 25; query++) {
+                int start = randomFreeCell(random, obstacle);
+                int goal = randomFreeCell(random, obstacle);
+                int expected = breadthFirst.plan(start, goal, expectedPath);
+                for (PathPlanner planner : planners) {
+                    String name = planner.getClass().getSimpleName() + ", round " + round + ", query " + query;
+                    int length = planner.plan(start, goal, path);
+                    assertEquals(name, expected, length);
+                    if (length > 0) {
+                        assertValidPath(obstacle, path, length, start, goal, name);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that weighted A* returns the cheapest energy, matching a plain
+     * Dijkstra search and the cost of the path it writes.
+     */
+    @Test
+    public void testWeightedCostsMatchDijkstra() {
+        Random random = new Random(29);
+        int[] path = new int[GRID_SIZE * GRID_SIZE];
+        for (int round = 0; round < 30; round++) {
+            boolean[] obstacle = randomObstacles(random);
+            int minCost = 1 + random.nextInt(3);
+            int[] costs = new int[GRID_SIZE * GRID_SIZE];
+            for (int index = 0; index < costs.length; index++) {
+                costs[index] = minCost + random.nextInt(1 + random.nextInt(10));
+            }
+            AStarPlanner planner = new AStarPlanner(GRID_SIZE, index -> !obstacle[index], index -> costs[index], minCost);
+            for (int query = 0; query < 25; query++) {
+                String name = "Round " + round + ", query " + query;
+                int start = randomFreeCell(random, obstacle);
+                int goal = randomFreeCell(random, obstacle);
+                int expected = cheapestPath(obstacle, costs, start, goal);
+                int length = planner.plan(start, goal, path);
+                if (expected == Integer.MAX_VALUE) {
+                    assertEquals(name, 0, length);
+                    continue;
+                }
+                assertValidPath(obstacle, path, length, start, goal, name);
+                int energy = 0;
+                for (int i = 0; i < length; i++) {
+                    energy += costs[path[i]];
+                }
+                assertEquals(name, expected, energy);
+                assertEquals(name, expected, planner.getPathCost());
+            }
+        }
+    }
+
+    private static boolean[] randomObstacles(Random random) {
+        boolean[] obstacle = new boolean[GRID_SIZE * GRID_SIZE];
+        int obstaclePercent = random.nextInt(40);
+        for (int index = 0; index < obstacle.length; index++) {
+            obstacle[index] = random.nextInt(100) < obstaclePercent;
+        }
+        return obstacle;
+    }
+
+    private static int randomFreeCell(Random random, boolean[] obstacle) {
+        int index = random.nextInt(obstacle.length);
+        obstacle[index] = false;
+        return index;
+    }
+
+    /**
+     * Dijkstra from start to goal, charging the energy of every cell on the
+     * path, the start included.
+     */
+    private static int cheapestPath(boolean[] obstacle, int[] costs, int start, int goal) {
+        int[] best = new int[costs.length];
+        Arrays.fill(best, Integer.MAX_VALUE);
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        best[start] = costs[start];
+        queue.add(new int[] { best[start], start });
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int current = entry[1];
+            if (current == goal) {
+                return best[current];
+            }
+            if (entry[0] != best[current]) {
+                continue;
+            }
+            for (int[] direction : DIRECTIONS) {
+                int nx = current % GRID_SIZE + direction[0];
+                int ny = current / GRID_SIZE + direction[1];
+                int next = ny * GRID_SIZE + nx;
+                if (nx >= 0 && nx < GRID_SIZE && ny >= 0 && ny < GRID_SIZE && !obstacle[next]
+                        && best[current] + costs[next] < best[next]) {
+                    best[next] = best[current] + costs[next];
+                    queue.add(new int[] { best[next], next });
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks that a path runs from start to goal through passable adjacent cells.
+     */
+    private static void assertValidPath(boolean[] obstacle, int[] path, int length, int start, int goal,
+                                        String name) {
+        assertEquals(name, start, path[0]);
+        assertEquals(name, goal, path[length - 1]);
+        for (int i = 0; i < length; i++) {
+            assertFalse(name, obstacle[path[i]]);
+            if (i > 0) {
+                int dx = Math.abs(path[i] % GRID_SIZE - path[i - 1] % GRID_SIZE);
+                int dy = Math.abs(path[i] / GRID_SIZE - path[i - 1] / GRID_SIZE);
+                assertEquals(name, 1, dx + dy);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.ChargingStationField;
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.CoverageMap;
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.Logger;
+import ControlSystems.RegionEnergyTable;
+import ControlSystems.RoomBudgetPlanner;
+import ControlSystems.SurfaceType;
+
+import java.util.Random;
+
+/**
+ * Test class for the summed-area energy tables and room-by-room charge budgeting.
+ */
+public class RoomBudgetPlannerTest {
+
+    private static final int GRID_SIZE = 24;
+
+    private CompactFloorPlan floorPlan;
+    private EnergyGrid energyGrid;
+
+    @Before
+    public void setup() {
+        floorPlan = new CompactFloorPlan(GRID_SIZE);
+        // 6x6 rooms with a door on the right and bottom walls; hardwood near the station, dearer farther away
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                boolean wall = (x % 6 == 5 && y % 6 != 3) || (y % 6 == 5 && x % 6 != 2);
+                SurfaceType surface = x >= 18 && y >= 18 ? SurfaceType.CARPET
+                        : y >= 12 ? SurfaceType.TILE : SurfaceType.HARDWOOD;
+                floorPlan.setCell(x, y, surface, wall, x == 1 && y == 1, false);
+            }
+        }
+        energyGrid = new EnergyModel().resolve(floorPlan);
+    }
+
+    /**
+     * Test that rectangle sums match summing the cells, as cells are cleaned and
+     * blocked, and that the unvisited sums stay a snapshot until invalidated.
+     */
+    @Test
+    public void testTableMatchesCellSums() {
+        CoverageMap visited = new CoverageMap(GRID_SIZE * GRID_SIZE);
+        RegionEnergyTable table = new RegionEnergyTable(floorPlan, energyGrid, visited);
+        Random random = new Random(4);
+        for (int round = 0; round < 50; round++) {
+            visited.visit(random.nextInt(GRID_SIZE * GRID_SIZE));
+            table.invalidate(); // The unvisited sums are a snapshot of the coverage
+            if (round % 5 == 0) {
+                int x = random.nextInt(GRID_SIZE);
+                int y = random.nextInt(GRID_SIZE);
+                floorPlan.setObstacle(x, y, !floorPlan.isObstacle(x, y));
+            }
+            for (int query = 0; query < 20; query++) {
+                int x0 = random.nextInt(GRID_SIZE + 4) - 2;
+                int y0 = random.nextInt(GRID_SIZE + 4) - 2;
+                int x1 = x0 + random.nextInt(GRID_SIZE);
+                int y1 = y0 + random.nextInt(GRID_SIZE);
+                long energy = 0;
+                long unvisitedEnergy = 0;
+                int unvisited = 0;
+                for (int y = Math.max(0, y0); y <= Math.min(GRID_SIZE - 1, y1); y++) {
+                    for (int x = Math.max(0, x0); x <= Math.min(GRID_SIZE - 1, x1); x++) {
+                        int index = y * GRID_SIZE + x;
+                        if (!floorPlan.isObstacle(x, y)) {
+                            energy += energyGrid.getMoveCost(index);
+                            if (visited.isUnvisited(index)) {
+                                unvisitedEnergy += energyGrid.getMoveCost(index);
+                                unvisited++;
+                            }
+                        }
+                    }
+                }
+                assertEquals(energy, table.getEnergy(x0, y0, x1, y1));
+                assertEquals(unvisitedEnergy, table.getUnvisitedEnergy(x0, y0, x1, y1));
+                assertEquals(unvisited, table.getUnvisitedCount(x0, y0, x1, y1));
+            }
+        }
+
+        int before = table.getUnvisitedCount(0, 0, GRID_SIZE - 1, GRID_SIZE - 1);
+        int cell = visited.nextUnvisited(0);
+        assertTrue(visited.visit(cell));
+        assertEquals(before, table.getUnvisitedCount(0, 0, GRID_SIZE - 1, GRID_SIZE - 1));
+        table.invalidate();
+        assertEquals(floorPlan.isObstacle(cell % GRID_SIZE, cell / GRID_SIZE) ? before : before - 1,
+                table.getUnvisitedCount(0, 0, GRID_SIZE - 1, GRID_SIZE - 1));
+    }
+
+    /**
+     * Test that repeated notifications of the same obstacle state or cleaned
+     * cell change the room counts only once.
+     */
+    @Test
+    public void testRepeatedChangesCountOnce() {
+        CoverageMap visited = new CoverageMap(GRID_SIZE * GRID_SIZE);
+        ChargingStationField field = new ChargingStationField(floorPlan, energyGrid::getMoveCost);
+        RoomBudgetPlanner planner = new RoomBudgetPlanner(floorPlan, energyGrid, visited, field, 6);
+        int room = planner.getRoom(8 * GRID_SIZE + 8);
+        int count = planner.getUnvisitedCount(room);
+        long energy = planner.getUnvisitedEnergy(room);
+
+        for (int repeat = 0; repeat < 2; repeat++) {
+            floorPlan.setObstacle(8, 8, true);
+            planner.obstacleChanged(8, 8, true);
+        }
+        assertEquals(count - 1, planner.getUnvisitedCount(room));
+        assertEquals(energy - energyGrid.getMoveCost(8 * GRID_SIZE + 8), planner.getUnvisitedEnergy(room));
+        for (int repeat = 0; repeat < 2; repeat++) {
+            floorPlan.setObstacle(8, 8, false);
+            planner.obstacleChanged(8, 8, false);
+        }
+        assertEquals(count, planner.getUnvisitedCount(room));
+        assertEquals(energy, planner.getUnvisitedEnergy(room));
+
+        visited.visit(8 * GRID_SIZE + 7);
+        planner.visited(8 * GRID_SIZE + 7);
+        planner.visited(8 * GRID_SIZE + 7);
+        planner.obstacleChanged(7, 8, false);
+        assertEquals(count - 1, planner.getUnvisitedCount(room));
+    }
+
+    /**
+     * Test that the planner charges before a room the battery cannot cover,
+     * keeps its room counts in step with the robot and that a robot in
+     * room-budget mode cleans as much as one heading for the nearest unvisited cell.
+     */
+    @Test
+    public void testRoomChoiceAndCoverage() {
+        CoverageMap visited = new CoverageMap(GRID_SIZE * GRID_SIZE);
+        ChargingStationField field = new ChargingStationField(floorPlan, energyGrid::getMoveCost);
+        RoomBudgetPlanner planner = new RoomBudgetPlanner(floorPlan, energyGrid, visited, field, 6);
+        assertEquals(16, planner.getRoomCount());
+
+        // Clean the station's room, then ask from its door with different battery levels
+        for (int y = 0; y < 6; y++) {
+            for (int x = 0; x < 6; x++) {
+                if (!floorPlan.isObstacle(x, y) && visited.visit(y * GRID_SIZE + x)) {
+                    planner.visited(y * GRID_SIZE + x);
+                }
+            }
+        }
+        assertEquals(0, planner.getUnvisitedCount(0));
+        int room = planner.chooseRoom(5, 3, 100, 100);
+        assertTrue(room > 0);
+        assertTrue(planner.getBudget(room, 5, 3) < 100);
+        assertEquals(RoomBudgetPlanner.CHARGE, planner.chooseRoom(5, 3, 10, 100));
+        RegionEnergyTable table = planner.getRegionEnergyTable();
+        table.invalidate(); // Take a new snapshot to check the planner's own counts against
+        for (int r = 0; r < planner.getRoomCount(); r++) {
+            int x0 = planner.getRoomX(r);
+            int y0 = planner.getRoomY(r);
+            assertEquals(table.getUnvisitedCount(x0, y0, x0 + 5, y0 + 5), planner.getUnvisitedCount(r));
+            assertEquals(table.getUnvisitedEnergy(x0, y0, x0 + 5, y0 + 5), planner.getUnvisitedEnergy(r));
+        }
+
+        CleanSweepNavigation greedy = new CleanSweepNavigation(1, 1, floorPlan, new Logger());
+        CleanSweepNavigation robot = new CleanSweepNavigation(1, 1, floorPlan, new Logger());
+        robot.setCoverageMode(CleanSweepNavigation.CoverageMode.ROOM_BUDGET);
+        robot.setRoomSize(6);
+        while (!greedy.isShutDown() || !robot.isShutDown()) {
+            greedy.navigate();
+            robot.navigate();
+        }
+        assertEquals(greedy.getCoverageMap().getVisitedCount(), robot.getCoverageMap().getVisitedCount());
+        assertTrue(robot.getPreemptiveChargeCount() > 0);
+    }
+}
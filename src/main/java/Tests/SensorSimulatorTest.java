@@ -0,0 +1,93 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import org.example.Cell;
+import org.example.SensorFrame;
+import org.example.SensorSimulator;
+
+import java.util.Random;
+
+/**
+ * Test class for the sensor simulator's typed movement API.
+ */
+public class SensorSimulatorTest {
+
+    private Cell[][] floorPlan;
+
+    @Before
+    public void setup() {
+        // 4 wide, 3 high: an obstacle at (1, 1) and a charging station at (3, 2)
+        floorPlan = new Cell[3][4];
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 4; x++) {
+                floorPlan[y][x] = new Cell(x < 2 ? "bare floor" : "high-pile carpet", x == 1 && y == 1,
+                        x == 3 && y == 2, x + y);
+            }
+        }
+    }
+
+    /**
+     * Test that frames report the cell, the refused move and the blocked neighbors.
+     */
+    @Test
+    public void testFrameReadings() {
+        SensorSimulator simulator = new SensorSimulator(floorPlan, 0, 1);
+        SensorFrame frame = new SensorFrame();
+
+        assertFalse(simulator.move(SensorSimulator.RIGHT, frame)); // Into the obstacle
+        assertTrue(frame.isBlocked());
+        assertEquals(0, frame.getX());
+        assertEquals(1, frame.getY());
+        assertTrue(frame.isNeighborBlocked(SensorSimulator.RIGHT));
+        assertTrue(frame.isNeighborBlocked(SensorSimulator.LEFT));
+        assertFalse(frame.isNeighborBlocked(SensorSimulator.UP));
+        assertFalse(frame.isNeighborBlocked(SensorSimulator.DOWN));
+
+        assertEquals(4, simulator.moveAll(new int[] { SensorSimulator.DOWN, SensorSimulator.RIGHT,
+                SensorSimulator.RIGHT, SensorSimulator.RIGHT, SensorSimulator.DOWN }, frame));
+        assertTrue(frame.isBlocked()); // The last move ran off the grid
+        assertEquals(3, frame.getX());
+        assertEquals(2, frame.getY());
+        assertEquals("high-pile carpet", frame.getSurfaceType());
+        assertEquals(5, frame.getDirt());
+        assertTrue(frame.hasChargingStation());
+        assertEquals(1 << SensorSimulator.RIGHT | 1 << SensorSimulator.DOWN, frame.getNeighborMask());
+
+        try {
+            simulator.move(4);
+            fail("Expected an invalid direction code to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that a batch, single typed moves and named moves end in the same place.
+     */
+    @Test
+    public void testBatchMatchesSingleMoves() {
+        String[] names = { "right", "down", "left", "up" };
+        Random random = new Random(3);
+        int[] commands = new int[200];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = random.nextInt(4);
+        }
+
+        SensorSimulator batch = new SensorSimulator(floorPlan, 0, 0);
+        SensorSimulator single = new SensorSimulator(floorPlan, 0, 0);
+        SensorSimulator named = new SensorSimulator(floorPlan, 0, 0);
+        int moves = 0;
+        for (int command : commands) {
+            boolean moved = single.move(command);
+            assertEquals(moved, named.move(names[command]));
+            moves += moved ? 1 : 0;
+            assertEquals(named.getX(), single.getX());
+            assertEquals(named.getY(), single.getY());
+        }
+        assertEquals(moves, batch.moveAll(commands));
+        assertEquals(single.getX(), batch.getX());
+        assertEquals(single.getY(), batch.getY());
+    }
+}
@@ -0,0 +1,139 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CoverageMap;
+import ControlSystems.SharedCoverageMap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Test class for the lock-free SharedCoverageMap.
+ */
+public class SharedCoverageMapTest {
+
+    private static final int CELL_COUNT = 10_000;
+    private static final int THREADS = 8;
+
+    /**
+     * Test that threads racing to claim every cell, in orders that collide
+     * within the same words, win each cell exactly once.
+     */
+    @Test
+    public void testEachCellClaimedOnce() throws InterruptedException {
+        SharedCoverageMap map = new SharedCoverageMap(CELL_COUNT);
+        AtomicIntegerArray wins = new AtomicIntegerArray(CELL_COUNT);
+        int[] claimedBy = new int[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < CELL_COUNT; i++) {
+                    // Odd threads walk backwards; every thread starts at a different offset
+                    int index = (id % 2 == 0 ? i : CELL_COUNT - 1 - i) + id * 37;
+                    index %= CELL_COUNT;
+                    if (map.claim(index)) {
+                        wins.incrementAndGet(index);
+                        claimedBy[id]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int total = 0;
+        for (int count : claimedBy) {
+            total += count;
+        }
+        assertEquals(CELL_COUNT, total);
+        assertEquals(CELL_COUNT, map.getClaimedCount());
+        for (int index = 0; index < CELL_COUNT; index++) {
+            assertEquals("Cell " + index, 1, wins.get(index));
+            assertTrue(map.isClaimed(index));
+        }
+    }
+
+    /**
+     * Test that a released cell can be claimed again and that releases keep
+     * the claimed count and neighbouring bits intact.
+     */
+    @Test
+    public void testReleaseAndReclaim() {
+        SharedCoverageMap map = new SharedCoverageMap(130);
+        assertEquals(130, map.getCellCount());
+        assertTrue(map.claim(63));
+        assertTrue(map.claim(64));
+        assertTrue(map.claim(129));
+        assertFalse(map.claim(64));
+        assertEquals(3, map.getClaimedCount());
+
+        assertTrue(map.release(64));
+        assertFalse(map.release(64));
+        assertFalse(map.release(65));
+        assertFalse(map.isClaimed(64));
+        assertTrue(map.isClaimed(63));
+        assertTrue(map.isClaimed(129));
+        assertEquals(2, map.getClaimedCount());
+
+        assertTrue(map.claim(64));
+        assertEquals(3, map.getClaimedCount());
+        assertEquals(100.0 * 3 / 130, map.getCoveragePercentage(), 1e-9);
+
+        CoverageMap cleanable = new CoverageMap(130);
+        cleanable.setCleanable(63, false);
+        cleanable.setCleanable(100, false);
+        assertEquals(100.0 * 2 / 128, map.getCoveragePercentage(cleanable), 1e-9);
+    }
+
+    /**
+     * Test that concurrent claims and releases of cells sharing one word
+     * never lose another thread's bit and leave the count matching the bits set.
+     */
+    @Test
+    public void testConcurrentClaimAndRelease() throws InterruptedException {
+        SharedCoverageMap map = new SharedCoverageMap(64);
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                // Each thread owns 8 bits of the one word, so every call on them must succeed
+                for (int round = 0; round < 10_000; round++) {
+                    int index = id * 8 + round % 8;
+                    if (!map.claim(index) || !map.release(index)) {
+                        failures.incrementAndGet();
+                    }
+                }
+                for (int bit = 0; bit < 4; bit++) {
+                    if (!map.claim(id * 8 + bit)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertEquals(THREADS * 4, map.getClaimedCount());
+        for (int index = 0; index < 64; index++) {
+            assertEquals("Cell " + index, index % 8 < 4, map.isClaimed(index));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CleanSweepNavigation;
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.FloorPlanGenerator;
+import ControlSystems.Logger;
+import ControlSystems.NavigationListener;
+import ControlSystems.SharedCoverageMap;
+import ControlSystems.SimulationScheduler;
+import ControlSystems.SurfaceType;
+
+/**
+ * Test class for stepping robots on the simulated clock.
+ */
+public class SimulationSchedulerTest {
+
+    private static final int GRID_SIZE = 48;
+
+    private CompactFloorPlan floorPlan;
+
+    @Before
+    public void setup() {
+        floorPlan = new FloorPlanGenerator(7).generate(GRID_SIZE);
+    }
+
+    /**
+     * Test that a scheduled robot cleans exactly like one calling navigate, and
+     * that the clock adds up the durations of its moves and recharges.
+     */
+    @Test
+    public void testSteppingMatchesNavigate() {
+        for (CleanSweepNavigation.CoverageMode mode : CleanSweepNavigation.CoverageMode.values()) {
+            CleanSweepNavigation navigated = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+            navigated.setCoverageMode(mode);
+            while (!navigated.isShutDown()) {
+                navigated.navigate();
+            }
+
+            CleanSweepNavigation stepped = new CleanSweepNavigation(0, 0, floorPlan, new Logger());
+            stepped.setCoverageMode(mode);
+            SimulationScheduler scheduler = new SimulationScheduler();
+            for (SurfaceType surface : SurfaceType.values()) {
+                scheduler.setMoveDuration(surface, 1000);
+            }
+            scheduler.setChargeDuration(60_000);
+            scheduler.addRobot(stepped);
+            scheduler.run();
+
+            assertTrue(stepped.isShutDown());
+            assertEquals(mode + " steps", navigated.getStepCount(), stepped.getStepCount());
+            assertEquals(mode + " charges", navigated.getChargeCycles(), stepped.getChargeCycles());
+            assertEquals(navigated.getCoverageMap().getVisitedCount(), stepped.getCoverageMap().getVisitedCount());
+            assertEquals(navigated.getX(), stepped.getX());
+            assertEquals(navigated.getY(), stepped.getY());
+            assertEquals(navigated.getStepCount(), scheduler.getMoveCount());
+            assertEquals(stepped.getStepCount() * 1000 + stepped.getChargeCycles() * 60_000L,
+                    scheduler.getFinishTime());
+        }
+    }
+
+    /**
+     * Test that robots sharing a floor act in time order and that a run stops at its end time.
+     */
+    @Test
+    public void testRobotsActInTimeOrder() {
+        SimulationScheduler scheduler = new SimulationScheduler();
+        SharedCoverageMap shared = new SharedCoverageMap(GRID_SIZE * GRID_SIZE);
+        long[] lastMove = new long[1];
+        NavigationListener clockCheck = new NavigationListener() {
+            @Override
+            public void moved(CleanSweepNavigation robot, int x, int y, SurfaceType surface) {
+                assertTrue("Moved back in time", scheduler.getTime() >= lastMove[0]);
+                lastMove[0] = scheduler.getTime();
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            CleanSweepNavigation robot = new CleanSweepNavigation(0, i * 16, floorPlan, new Logger());
+            robot.setSharedCoverage(shared);
+            robot.addNavigationListener(clockCheck);
+            scheduler.addRobot(robot);
+        }
+
+        scheduler.runUntil(120_000);
+        assertTrue(scheduler.getTime() <= 120_000);
+        assertEquals(3, scheduler.getPendingCount());
+        for (int id = 0; id < 3; id++) {
+            assertTrue(scheduler.getEventTime(id) > 120_000);
+        }
+
+        scheduler.run();
+        assertEquals(0, scheduler.getPendingCount());
+        long moves = 0;
+        for (int id = 0; id < 3; id++) {
+            assertTrue(scheduler.getRobot(id).isShutDown());
+            moves += scheduler.getRobot(id).getStepCount();
+        }
+        assertEquals(moves, scheduler.getMoveCount());
+        assertTrue(scheduler.getTicksPerSecond() > 0);
+    }
+}
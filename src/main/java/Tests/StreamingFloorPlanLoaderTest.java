@@ -0,0 +1,79 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.CompactFloorPlan;
+import ControlSystems.StreamingFloorPlanLoader;
+import ControlSystems.SurfaceType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for the streaming JSON floor plan loader.
+ */
+public class StreamingFloorPlanLoaderTest {
+
+    private static final String HARDWOOD = "{ \"type\": \"hardwood\" }";
+
+    /**
+     * Test that cells are read whether gridSize comes before or after them,
+     * with surface labels in any case and unknown fields skipped.
+     */
+    @Test
+    public void testLoadsCellsInEitherFieldOrder() throws IOException {
+        String cells = "\"cells\": [ [ { \"type\": \"Carpet\", \"obstacle\": true, \"notes\": { \"a\": [1] } },"
+                + " { \"type\": \"TILE\", \"chargingStation\": true } ],"
+                + " [ { \"type\": \"marble\", \"stairs\": true }, { \"obstacle\": false } ] ]";
+        for (String json : new String[] { "{ \"gridSize\": 2, " + cells + " }",
+                "{ " + cells + ", \"gridSize\": 2, \"name\": \"hall\" }" }) {
+            StreamingFloorPlanLoader loader = new StreamingFloorPlanLoader();
+            CompactFloorPlan plan = loader.load(stream(json));
+            assertEquals(2, plan.getGridSize());
+            assertEquals(4, loader.getCellsLoaded());
+            assertEquals(SurfaceType.CARPET, plan.getSurfaceType(0, 0));
+            assertTrue(plan.isObstacle(0, 0));
+            assertEquals(SurfaceType.TILE, plan.getSurfaceType(1, 0));
+            assertTrue(plan.isChargingStation(1, 0));
+            assertEquals(SurfaceType.UNKNOWN, plan.getSurfaceType(0, 1));
+            assertTrue(plan.isStairs(0, 1));
+            assertFalse(plan.isObstacle(1, 1));
+            assertEquals(1, plan.getChargingStationCount());
+        }
+    }
+
+    /**
+     * Test that malformed layouts are rejected with an IOException.
+     */
+    @Test
+    public void testRejectsInvalidLayouts() {
+        String row = "[ " + HARDWOOD + ", " + HARDWOOD + " ]";
+        String[] invalid = {
+                "[ ]",                                                                   // Not an object
+                "{ \"gridSize\": 2 }",                                                   // No cells
+                "{ \"gridSize\": 2, \"cells\": { } }",                                   // Cells not an array
+                "{ \"gridSize\": 2, \"cells\": [ " + row + ", [ " + HARDWOOD + " ] ] }", // Short row
+                "{ \"gridSize\": 1, \"cells\": [ " + row + " ] }",                       // Long row
+                "{ \"gridSize\": 2, \"cells\": [ " + row + " ] }",                       // Too few rows
+                "{ \"gridSize\": 2, \"cells\": [ " + row + ", " + row + ", " + row + " ] }", // Too many rows
+                "{ \"cells\": [ " + row + ", " + row + " ], \"gridSize\": 3 }",          // Size after cells differs
+                "{ \"cells\": [ [ " + HARDWOOD + ", 7 ] ] }",                            // Not a cell object
+                "{ \"cells\": [ " + row + ", 7 ] }",                                     // Not a row
+                "{ \"gridSize\": 2, \"cells\": [ " + row                                 // Truncated
+        };
+        for (String json : invalid) {
+            try {
+                new StreamingFloorPlanLoader().load(stream(json));
+                fail("Expected to be rejected: " + json);
+            } catch (IOException expected) {
+                // Expected
+            }
+        }
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,146 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import ControlSystems.SurfaceType;
+import ControlSystems.TelemetryEvent;
+import ControlSystems.TelemetryJournal;
+import ControlSystems.TelemetryReader;
+import ControlSystems.TelemetryRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Test class for writing and reading the binary telemetry journal.
+ */
+public class TelemetryJournalTest {
+
+    // More than the journal buffers before writing, and not a multiple of the read window
+    private static final int RECORDS = 5000;
+    private static final int WINDOW_RECORDS = 7;
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("telemetry-", ".bin");
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that every record written is read back unchanged across mapped windows.
+     */
+    @Test
+    public void testRoundTripAcrossWindows() throws IOException {
+        writeRecords(RECORDS);
+        try (TelemetryReader reader = new TelemetryReader(file, WINDOW_RECORDS)) {
+            assertEquals(RECORDS, reader.getRecordCount());
+            TelemetryRecord record = new TelemetryRecord();
+            for (int i = 0; i < RECORDS; i++) {
+                assertTrue(reader.next(record));
+                assertRecord(i, record);
+            }
+            assertFalse(reader.hasNext());
+            assertFalse(reader.next(record));
+        }
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            int i = 0;
+            for (TelemetryRecord record : reader) {
+                assertRecord(i++, record);
+            }
+            assertEquals(RECORDS, i);
+        }
+    }
+
+    /**
+     * Test that a journal cut off mid-record yields its complete records only.
+     */
+    @Test
+    public void testTruncatedJournalDropsPartialRecord() throws IOException {
+        writeRecords(10);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(TelemetryJournal.HEADER_SIZE + 9 * TelemetryJournal.RECORD_SIZE + 5);
+        }
+        try (TelemetryReader reader = new TelemetryReader(file, WINDOW_RECORDS)) {
+            assertEquals(9, reader.getRecordCount());
+            TelemetryRecord record = new TelemetryRecord();
+            int read = 0;
+            while (reader.next(record)) {
+                assertRecord(read++, record);
+            }
+            assertEquals(9, read);
+        }
+    }
+
+    /**
+     * Test that files without a valid header are rejected.
+     */
+    @Test
+    public void testRejectsInvalidHeaders() throws IOException {
+        Files.write(file, new byte[TelemetryJournal.HEADER_SIZE - 1]);
+        assertRejected();
+
+        ByteBuffer header = ByteBuffer.allocate(TelemetryJournal.HEADER_SIZE);
+        header.putInt(0x12345678).putInt(TelemetryJournal.VERSION).putInt(TelemetryJournal.RECORD_SIZE).putInt(0);
+        Files.write(file, header.array());
+        assertRejected();
+
+        header.clear();
+        header.putInt(TelemetryJournal.MAGIC).putInt(TelemetryJournal.VERSION + 1)
+                .putInt(TelemetryJournal.RECORD_SIZE).putInt(0);
+        Files.write(file, header.array());
+        assertRejected();
+
+        header.clear();
+        header.putInt(TelemetryJournal.MAGIC).putInt(TelemetryJournal.VERSION)
+                .putInt(TelemetryJournal.RECORD_SIZE + 8).putInt(0);
+        Files.write(file, header.array());
+        assertRejected();
+    }
+
+    private void writeRecords(int count) throws IOException {
+        try (TelemetryJournal journal = new TelemetryJournal(file)) {
+            for (int i = 0; i < count; i++) {
+                journal.record(i * 3L, i % 97, i / 97, surfaceOf(i), 100 - i % 100, eventOf(i));
+            }
+            assertEquals(count, journal.getRecordCount());
+        }
+    }
+
+    private void assertRecord(int i, TelemetryRecord record) {
+        assertEquals(i * 3L, record.getStep());
+        assertEquals(i % 97, record.getX());
+        assertEquals(i / 97, record.getY());
+        assertEquals(surfaceOf(i), record.getSurface());
+        assertEquals(100 - i % 100, record.getBatteryLevel());
+        assertEquals(eventOf(i), record.getEvent());
+    }
+
+    private void assertRejected() {
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            fail("Opened an invalid journal with " + reader.getRecordCount() + " records");
+        } catch (IOException expected) {
+            // Rejected as it should be
+        }
+    }
+
+    private static SurfaceType surfaceOf(int i) {
+        SurfaceType[] surfaces = SurfaceType.values();
+        return surfaces[i % surfaces.length];
+    }
+
+    private static TelemetryEvent eventOf(int i) {
+        TelemetryEvent[] events = TelemetryEvent.values();
+        return events[i % events.length];
+    }
+}
@@ -0,0 +1,367 @@
+package org.example;
+
+import ControlSystems.EnergyGrid;
+import ControlSystems.EnergyModel;
+import ControlSystems.SurfaceType;
+import java.util.Arrays;
+
+/**
+ * Cleans a grid of cells by dirt level on a limited battery. Each unit of dirt
+ * takes one cleaning action, and moves and actions cost energy by surface as
+ * set by an {@link EnergyModel}, resolved once into a per-cell grid.
+ * By default the robot heads for the cell that removes the most dirt per unit
+ * of energy: the dirt there, over the energy to travel to it, clean it and,
+ * at half weight, get back to a charging station. Since the next cell of a
+ * dirty room is a short trip, the dirtiest rooms near a station are emptied
+ * first and a battery-limited run removes the most dirt per charge. Dirt
+ * levels are kept in an {@link IndexedCellQueue} updated after every
+ * {@link Cell#cleanDirt()}; the largest level bounds what any farther cell can
+ * score, so each search stops as soon as no unexplored cell can beat the best
+ * found. The robot heads back to charge when the chosen cell could not be
+ * cleaned with enough energy left to get home.
+ */
+public class DirtAwareCleaner {
+
+    /**
+     * How the robot chooses the next cell to clean.
+     */
+    public enum Strategy {
+        /** The nearest dirty cell, however little dirt it has. */
+        NEAREST_DIRT,
+        /** The dirty cell that removes the most dirt per unit of energy. */
+        MOST_DIRT_PER_ENERGY
+    }
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int SCORE_SCALE = 1 << 20; // Fixed-point scale of dirt per energy
+
+    // Directions for movement: right, down, left, up
+    private static final int[][] DIRECTIONS = { {1, 0}, {0, 1}, {-1, 0}, {0, -1} };
+
+    private final Cell[][] floorPlan;  // Grid of cells, indexed [y][x]
+    private final int width, height;   // Grid dimensions
+    private final EnergyGrid energy;   // Energy to enter, or to clean one unit of, each cell
+    private final int minCleanCost;    // Smallest clean cost of any cell, for the search bound
+    private final int[] homeCost;      // Energy from each cell to the nearest charging station
+    private final IndexedCellQueue dirt; // Dirt level of each dirty cell worth a trip, largest first
+    private final int batteryCapacity; // Energy of a full battery
+    private int x, y;                  // Current position on the grid
+    private int battery;               // Energy left
+    private Strategy strategy = Strategy.MOST_DIRT_PER_ENERGY;
+    private int maxCharges = Integer.MAX_VALUE; // Recharges allowed before the run stops
+
+    private final IndexedCellQueue frontier; // Open cells of the energy search, by negated distance
+    private final int[] distance;      // Energy from the robot to each cell reached by the search
+    private final int[] parent;        // Previous cell on the cheapest path to each cell
+    private final int[] searchStamp;   // Search that last set each cell's distance
+    private final int[] route;         // Cells of the path being followed, start excluded
+    private int stamp;                 // Current search
+
+    private long dirtRemoved;          // Units of dirt cleaned
+    private long energyUsed;           // Energy spent on moves and cleaning
+    private long moves;                // Cell moves made
+    private int chargeCycles;          // Completed recharges
+
+    /**
+     * Creates a cleaner with a full battery. Dirt in cells no charging station
+     * can be reached from is left alone.
+     * @param floorPlan Grid of cells indexed [y][x]; the cells are cleaned in place.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @param batteryCapacity Energy of a full battery.
+     */
+    public DirtAwareCleaner(Cell[][] floorPlan, int startX, int startY, int batteryCapacity) {
+        this(floorPlan, startX, startY, batteryCapacity, new EnergyModel());
+    }
+
+    /**
+     * Creates a cleaner with a full battery and its own energy costs.
+     * @param floorPlan Grid of cells indexed [y][x]; the cells are cleaned in place.
+     * @param startX Starting X coordinate.
+     * @param startY Starting Y coordinate.
+     * @param batteryCapacity Energy of a full battery.
+     * @param energyModel Energy costs per surface.
+     */
+    public DirtAwareCleaner(Cell[][] floorPlan, int startX, int startY, int batteryCapacity,
+                            EnergyModel energyModel) {
+        this.floorPlan = floorPlan;
+        this.height = floorPlan.length;
+        this.width = floorPlan[0].length;
+        this.x = startX;
+        this.y = startY;
+        this.batteryCapacity = batteryCapacity;
+        this.battery = batteryCapacity;
+
+        int cells = width * height;
+        SurfaceType[] surfaces = new SurfaceType[cells];
+        int minClean = Integer.MAX_VALUE;
+        for (int index = 0; index < cells; index++) {
+            surfaces[index] = SurfaceType.fromLabel(floorPlan[index / width][index % width].getSurfaceType());
+            minClean = Math.min(minClean, energyModel.getCleanCost(surfaces[index]));
+        }
+        this.energy = energyModel.resolve(surfaces);
+        this.minCleanCost = minClean;
+        this.homeCost = new int[cells];
+        this.frontier = new IndexedCellQueue(cells);
+        this.distance = new int[cells];
+        this.parent = new int[cells];
+        this.searchStamp = new int[cells];
+        this.route = new int[cells];
+        buildHomeCosts();
+
+        this.dirt = new IndexedCellQueue(cells);
+        for (int index = 0; index < cells; index++) {
+            Cell cell = floorPlan[index / width][index % width];
+            if (cell.getDirt() > 0 && !cell.isObstacle() && homeCost[index] != UNREACHABLE) {
+                dirt.set(index, cell.getDirt());
+            }
+        }
+    }
+
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public int getBattery() { return battery; }
+    public long getDirtRemoved() { return dirtRemoved; }
+    public long getEnergyUsed() { return energyUsed; }
+    public long getMoveCount() { return moves; }
+    public int getChargeCycles() { return chargeCycles; }
+
+    /**
+     * Gets how efficiently the run cleaned.
+     * @return Units of dirt removed per unit of energy used.
+     */
+    public double getDirtPerEnergy() {
+        return energyUsed == 0 ? 0.0 : (double) dirtRemoved / energyUsed;
+    }
+
+    /**
+     * Sets how the robot chooses the next cell to clean.
+     * @param strategy Strategy to use.
+     */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Limits the run to a number of recharges, so it measures what a fixed amount of energy cleans.
+     * @param maxCharges Recharges allowed before the run stops.
+     */
+    public void setMaxCharges(int maxCharges) {
+        this.maxCharges = maxCharges;
+    }
+
+    /**
+     * Cleans until no dirt the robot can reach is left, or a recharge is needed
+     * after the allowed number of recharges.
+     */
+    public void run() {
+        while (true) {
+            int target = findTarget();
+            if (target < 0) {
+                break;
+            }
+            int firstAction = energy.getCleanEnergy(target, floorPlan[target / width][target % width].getDirt());
+            if (distance[target] + firstAction + homeCost[target] > battery) {
+                if (isAtChargingStation() && battery == batteryCapacity) {
+                    dirt.remove(target); // Out of range even on a full battery
+                } else if (chargeCycles >= maxCharges) {
+                    break;
+                } else {
+                    returnHome();
+                    recharge();
+                }
+                continue;
+            }
+
+            followPathTo(target);
+            Cell cell = floorPlan[y][x];
+            while (cell.getDirt() > 0) {
+                int action = energy.getCleanEnergy(target, cell.getDirt());
+                if (battery - action < homeCost[target]) {
+                    break;
+                }
+                cell.cleanDirt();
+                battery -= action;
+                energyUsed += action;
+                dirtRemoved++;
+                if (cell.getDirt() > 0) {
+                    dirt.set(target, cell.getDirt());
+                } else {
+                    dirt.remove(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the robot is on a charging station.
+     * @return True if it is, false otherwise.
+     */
+    public boolean isAtChargingStation() {
+        return floorPlan[y][x].hasChargingStation();
+    }
+
+    /**
+     * Searches outward from the robot by Dijkstra's algorithm over move energy
+     * for the next cell to clean. A nearest-dirt search stops at the first
+     * dirty cell; otherwise the search stops once the largest dirt level, at
+     * the distance reached, cannot beat the best score found.
+     * @return Index of the cell, or -1 if no dirty cell can be reached.
+     */
+    private int findTarget() {
+        if (dirt.isEmpty()) {
+            return -1;
+        }
+        long maxDirt = dirt.getPriority(dirt.peek());
+        stamp++;
+        frontier.clear();
+        int start = y * width + x;
+        distance[start] = 0;
+        parent[start] = -1;
+        searchStamp[start] = stamp;
+        frontier.set(start, 0);
+        int best = -1;
+        long bestScore = -1;
+        while (!frontier.isEmpty()) {
+            int current = frontier.poll();
+            long reached = distance[current];
+            // Each unit of dirt costs at least minCleanCost to clean, so this bounds every farther score
+            if (best >= 0 && (strategy == Strategy.NEAREST_DIRT
+                    || maxDirt * SCORE_SCALE / Math.max(1, reached + maxDirt * minCleanCost) <= bestScore)) {
+                break;
+            }
+            if (dirt.contains(current)) {
+                long level = dirt.getPriority(current);
+                long needed = reached + getCleaningEnergy(current, (int) level) + homeCost[current] / 2;
+                long score = level * SCORE_SCALE / Math.max(1, needed);
+                if (score > bestScore) {
+                    best = current;
+                    bestScore = score;
+                }
+            }
+
+            int cx = current % width;
+            int cy = current / width;
+            for (int[] direction : DIRECTIONS) {
+                int nx = cx + direction[0];
+                int ny = cy + direction[1];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height || floorPlan[ny][nx].isObstacle()) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                int nextDistance = distance[current] + energy.getMoveCost(next);
+                if (searchStamp[next] != stamp || nextDistance < distance[next]) {
+                    searchStamp[next] = stamp;
+                    distance[next] = nextDistance;
+                    parent[next] = current;
+                    frontier.set(next, -nextDistance);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Moves the robot along the path found by the last search.
+     * @param target Index of the cell the path leads to.
+     */
+    private void followPathTo(int target) {
+        int length = 0;
+        for (int cell = target; parent[cell] >= 0; cell = parent[cell]) {
+            length++;
+        }
+        int end = length;
+        for (int cell = target; parent[cell] >= 0; cell = parent[cell]) {
+            route[--length] = cell;
+        }
+        for (int i = 0; i < end; i++) {
+            moveInto(route[i]);
+        }
+    }
+
+    /**
+     * Moves the robot down the charging station field to the nearest station.
+     */
+    private void returnHome() {
+        int current = y * width + x;
+        while (homeCost[current] > 0) {
+            int cx = current % width;
+            int cy = current / width;
+            for (int[] direction : DIRECTIONS) {
+                int nx = cx + direction[0];
+                int ny = cy + direction[1];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (homeCost[next] != UNREACHABLE && homeCost[next] + energy.getMoveCost(next) == homeCost[current]) {
+                    current = next;
+                    break;
+                }
+            }
+            moveInto(current);
+        }
+    }
+
+    private void recharge() {
+        battery = batteryCapacity;
+        chargeCycles++;
+    }
+
+    private void moveInto(int index) {
+        x = index % width;
+        y = index / width;
+        battery -= energy.getMoveCost(index);
+        energyUsed += energy.getMoveCost(index);
+        moves++;
+    }
+
+    /**
+     * Computes the energy from every cell to its nearest charging station, by
+     * Dijkstra's algorithm outward from all stations at once.
+     */
+    private void buildHomeCosts() {
+        Arrays.fill(homeCost, UNREACHABLE);
+        frontier.clear();
+        for (int index = 0; index < homeCost.length; index++) {
+            Cell cell = floorPlan[index / width][index % width];
+            if (cell.hasChargingStation() && !cell.isObstacle()) {
+                homeCost[index] = 0;
+                frontier.set(index, 0);
+            }
+        }
+        while (!frontier.isEmpty()) {
+            int current = frontier.poll();
+            int cx = current % width;
+            int cy = current / width;
+            // Stepping from a neighbor into this cell costs this cell's energy
+            int nextCost = homeCost[current] + energy.getMoveCost(current);
+            for (int[] direction : DIRECTIONS) {
+                int nx = cx + direction[0];
+                int ny = cy + direction[1];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height || floorPlan[ny][nx].isObstacle()) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (nextCost < homeCost[next]) {
+                    homeCost[next] = nextCost;
+                    frontier.set(next, -nextCost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the energy needed to clean a cell empty.
+     * @param index Cell index.
+     * @param level Units of dirt in the cell.
+     * @return Energy of all the cleaning actions.
+     */
+    private long getCleaningEnergy(int index, int level) {
+        long total = 0;
+        for (int dirtLeft = level; dirtLeft > 0; dirtLeft--) {
+            total += energy.getCleanEnergy(index, dirtLeft);
+        }
+        return total;
+    }
+}
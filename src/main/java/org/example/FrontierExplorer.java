@@ -0,0 +1,157 @@
+package org.example;
+
+/**
+ * Explores an unknown floor through a {@link SensorSimulator}, mapping what
+ * each sensor frame shows into an {@link OccupancyGrid}. The robot repeatedly
+ * heads for the nearest frontier cell by breadth-first search over cells
+ * known to be free, observing a frame after every move, and replans as soon
+ * as its target stops being a frontier or a move is refused. Exploration ends
+ * when no frontier is left, by which time every cell reachable from the start
+ * is known.
+ */
+public class FrontierExplorer {
+
+    // Neighbor offsets in the order of the SensorSimulator direction codes: right, down, left, up
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final SensorSimulator sensor;  // The robot's only view of the floor
+    private final OccupancyGrid map;       // Map built from the frames
+    private final SensorFrame frame = new SensorFrame(); // Reused for every reading
+    private final int width;               // Width of the mapped area
+    private final int[] queue;             // Breadth-first search queue
+    private final int[] parent;            // Previous cell on the path to each cell searched
+    private final int[] searchStamp;       // Search that last reached each cell
+    private int stamp;                     // Current search
+    private final int[] route;             // Cells from the robot to the target, robot excluded
+    private int routeLength;               // Number of valid entries in route
+    private long moves;                    // Moves made
+    private long observations;             // Frames mapped
+    private long searches;                 // Frontier searches run
+    private long cellsSearched;            // Cells dequeued by those searches
+
+    /**
+     * Creates an explorer that knows only its position.
+     * @param sensor Sensor simulator the robot moves and senses through.
+     * @param width Width of the area to map; must cover the floor.
+     * @param height Height of the area to map; must cover the floor.
+     */
+    public FrontierExplorer(SensorSimulator sensor, int width, int height) {
+        this.sensor = sensor;
+        this.map = new OccupancyGrid(width, height);
+        this.width = width;
+        this.queue = new int[width * height];
+        this.parent = new int[width * height];
+        this.searchStamp = new int[width * height];
+        this.route = new int[width * height];
+    }
+
+    public OccupancyGrid getMap() { return map; }
+    public long getMoveCount() { return moves; }
+    public long getObservationCount() { return observations; }
+    public long getSearchCount() { return searches; }
+    public long getCellsSearched() { return cellsSearched; }
+
+    /**
+     * Explores until no frontier is left.
+     */
+    public void explore() {
+        while (step()) {
+            // Each step travels to one frontier cell
+        }
+    }
+
+    /**
+     * Travels toward the nearest frontier cell, observing on the way.
+     * @return True if the robot had a frontier to head for, false once exploration is complete.
+     */
+    public boolean step() {
+        if (observations == 0) {
+            sensor.sense(frame);
+            observe();
+        }
+        int target = findNearestFrontier();
+        if (target < 0) {
+            return false;
+        }
+        int at = sensor.getY() * width + sensor.getX();
+        for (int i = 0; i < routeLength && map.isFrontier(target); i++) {
+            int next = route[i];
+            boolean moved = sensor.move(directionOf(at, next), frame);
+            observe();
+            if (!moved) {
+                break; // The map now shows the obstacle; plan again
+            }
+            moves++;
+            at = next;
+        }
+        return true;
+    }
+
+    private void observe() {
+        map.observe(frame);
+        observations++;
+    }
+
+    /**
+     * Finds the shortest path over known free cells to the nearest frontier cell.
+     * @return Index of the frontier cell, or -1 if none can be reached.
+     */
+    private int findNearestFrontier() {
+        if (map.getFrontierCount() == 0) {
+            return -1;
+        }
+        searches++;
+        stamp++;
+        int start = sensor.getY() * width + sensor.getX();
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        searchStamp[start] = stamp;
+        parent[start] = -1;
+        while (head < tail) {
+            int current = queue[head++];
+            cellsSearched++;
+            if (map.isFrontier(current)) {
+                routeLength = 0;
+                for (int cell = current; cell != start; cell = parent[cell]) {
+                    routeLength++;
+                }
+                int i = routeLength;
+                for (int cell = current; cell != start; cell = parent[cell]) {
+                    route[--i] = cell;
+                }
+                return current;
+            }
+            int cx = current % width;
+            int cy = current / width;
+            for (int direction = SensorSimulator.RIGHT; direction <= SensorSimulator.UP; direction++) {
+                int nx = cx + DX[direction];
+                int ny = cy + DY[direction];
+                if (map.getState(nx, ny) != OccupancyGrid.FREE) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (searchStamp[next] != stamp) {
+                    searchStamp[next] = stamp;
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the direction code of a move between neighboring cells.
+     */
+    private int directionOf(int from, int to) {
+        if (to == from + 1) {
+            return SensorSimulator.RIGHT;
+        }
+        if (to == from + width) {
+            return SensorSimulator.DOWN;
+        }
+        return to == from - 1 ? SensorSimulator.LEFT : SensorSimulator.UP;
+    }
+}
@@ -0,0 +1,158 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary max-heap of cell indices ordered by a long priority. Each
+ * cell is in the queue at most once and a position array tracks where, so a
+ * cell's priority can be raised, lowered or removed in O(log n) without
+ * stale entries. All storage is primitive arrays sized once for the number
+ * of cells, so no operation allocates.
+ */
+public class IndexedCellQueue {
+    private final long[] priorities; // Priority of each cell, valid while it is queued
+    private final int[] heap;        // Cell indices in heap order, highest priority first
+    private final int[] positions;   // Position of each cell in heap, or -1 if not queued
+    private int size;                // Number of queued cells
+
+    /**
+     * Creates an empty queue.
+     * @param cellCount Number of cells; valid cell indices are 0 to cellCount - 1.
+     */
+    public IndexedCellQueue(int cellCount) {
+        this.priorities = new long[cellCount];
+        this.heap = new int[cellCount];
+        this.positions = new int[cellCount];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Adds a cell or changes the priority of a queued one.
+     * @param cell Cell index.
+     * @param priority New priority; larger values come out first.
+     */
+    public void set(int cell, long priority) {
+        int position = positions[cell];
+        if (position < 0) {
+            position = size++;
+            heap[position] = cell;
+            positions[cell] = position;
+            priorities[cell] = priority;
+            siftUp(position);
+        } else {
+            long old = priorities[cell];
+            priorities[cell] = priority;
+            if (priority > old) {
+                siftUp(position);
+            } else if (priority < old) {
+                siftDown(position);
+            }
+        }
+    }
+
+    /**
+     * Removes a cell from the queue.
+     * @param cell Cell index; nothing happens if it is not queued.
+     */
+    public void remove(int cell) {
+        int position = positions[cell];
+        if (position < 0) {
+            return;
+        }
+        positions[cell] = -1;
+        int last = heap[--size];
+        if (position < size) {
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+    }
+
+    /**
+     * Gets the cell with the highest priority.
+     * @return Cell index, or -1 if the queue is empty.
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Removes the cell with the highest priority.
+     * @return Cell index, or -1 if the queue is empty.
+     */
+    public int poll() {
+        int top = peek();
+        if (top >= 0) {
+            remove(top);
+        }
+        return top;
+    }
+
+    /**
+     * Checks if a cell is queued.
+     * @param cell Cell index.
+     * @return True if queued, false otherwise.
+     */
+    public boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    /**
+     * Gets the priority of a queued cell.
+     * @param cell Cell index.
+     * @return Priority, undefined if the cell is not queued.
+     */
+    public long getPriority(int cell) {
+        return priorities[cell];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    /**
+     * Removes all cells.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int cell = heap[position];
+        long priority = priorities[cell];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (priorities[heap[parent]] >= priority) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = heap[position];
+        long priority = priorities[cell];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && priorities[heap[child + 1]] > priorities[heap[child]]) {
+                child++;
+            }
+            if (priority >= priorities[heap[child]]) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+}
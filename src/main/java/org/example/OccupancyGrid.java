@@ -0,0 +1,172 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Map of a floor built from sensor frames, for a robot that starts without a
+ * floor plan. Every cell is unknown, free or occupied. A frontier cell is a
+ * free cell next to an unknown one, where exploring can continue. Frontier
+ * cells are kept in an indexed set updated as cells become known: a change to
+ * one cell can only affect the frontier status of that cell and its four
+ * neighbors, so each observation costs constant time and mapping a floor is
+ * linear in the number of observations.
+ */
+public class OccupancyGrid {
+    public static final byte UNKNOWN = 0;
+    public static final byte FREE = 1;
+    public static final byte OCCUPIED = 2;
+
+    // Neighbor offsets in the order of the SensorSimulator direction codes: right, down, left, up
+    private static final int[] DX = { 1, 0, -1, 0 };
+    private static final int[] DY = { 0, 1, 0, -1 };
+
+    private final int width, height;   // Grid dimensions
+    private final byte[] states;       // State of each cell
+    private final boolean[] chargers;  // Cells seen to have a charging station
+    private final int[] frontier;      // Frontier cells in no particular order
+    private final int[] frontierSlots; // Position of each cell in frontier, or -1
+    private int frontierSize;          // Number of frontier cells
+    private int knownCount;            // Cells no longer unknown
+    private long frontierChecks;       // Frontier re-evaluations, a measure of mapping work
+
+    /**
+     * Creates a map with every cell unknown.
+     * @param width Width of the area to map.
+     * @param height Height of the area to map.
+     */
+    public OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.states = new byte[width * height];
+        this.chargers = new boolean[width * height];
+        this.frontier = new int[width * height];
+        this.frontierSlots = new int[width * height];
+        Arrays.fill(frontierSlots, -1);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getKnownCount() { return knownCount; }
+    public int getFrontierCount() { return frontierSize; }
+    public long getFrontierChecks() { return frontierChecks; }
+
+    /**
+     * Records what a sensor frame shows: the robot's cell is free, each neighbor
+     * the robot could enter is free and each blocked neighbor inside the map is
+     * occupied.
+     * @param frame Readings taken at the robot's position.
+     */
+    public void observe(SensorFrame frame) {
+        int x = frame.getX();
+        int y = frame.getY();
+        mark(x, y, FREE);
+        if (frame.hasChargingStation()) {
+            chargers[y * width + x] = true;
+        }
+        for (int direction = 0; direction < 4; direction++) {
+            mark(x + DX[direction], y + DY[direction], frame.isNeighborBlocked(direction) ? OCCUPIED : FREE);
+        }
+    }
+
+    /**
+     * Records the state of one cell and updates the frontier around it. Cells
+     * outside the map are ignored; a known cell keeps its first state unless
+     * observed otherwise.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param state FREE or OCCUPIED.
+     * @throws IllegalArgumentException If the state is neither FREE nor OCCUPIED.
+     */
+    public void mark(int x, int y, byte state) {
+        if (state != FREE && state != OCCUPIED) {
+            throw new IllegalArgumentException("Cells can only be marked FREE or OCCUPIED: " + state);
+        }
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        int index = y * width + x;
+        byte old = states[index];
+        if (old == state) {
+            return;
+        }
+        states[index] = state;
+        if (old == UNKNOWN) {
+            knownCount++;
+        }
+        updateFrontier(x, y);
+        for (int direction = 0; direction < 4; direction++) {
+            updateFrontier(x + DX[direction], y + DY[direction]);
+        }
+    }
+
+    /**
+     * Gets the state of a cell.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return UNKNOWN, FREE or OCCUPIED; cells outside the map are OCCUPIED.
+     */
+    public byte getState(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return OCCUPIED;
+        }
+        return states[y * width + x];
+    }
+
+    /**
+     * Checks if a cell was seen to have a charging station.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return True if the robot stood on a charging station there, false otherwise.
+     */
+    public boolean isChargingStation(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && chargers[y * width + x];
+    }
+
+    /**
+     * Checks if a cell is on the frontier.
+     * @param index Cell index, y * width + x.
+     * @return True if the cell is free and next to an unknown cell, false otherwise.
+     */
+    public boolean isFrontier(int index) {
+        return frontierSlots[index] >= 0;
+    }
+
+    /**
+     * Gets a frontier cell by position in the frontier set. Positions change as
+     * cells join and leave the frontier.
+     * @param i Position, from 0 to {@link #getFrontierCount()} - 1.
+     * @return Cell index, y * width + x.
+     */
+    public int getFrontierCell(int i) {
+        return frontier[i];
+    }
+
+    /**
+     * Re-evaluates whether one cell is on the frontier.
+     */
+    private void updateFrontier(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        frontierChecks++;
+        int index = y * width + x;
+        boolean isFrontier = false;
+        if (states[index] == FREE) {
+            for (int direction = 0; direction < 4 && !isFrontier; direction++) {
+                int nx = x + DX[direction];
+                int ny = y + DY[direction];
+                isFrontier = nx >= 0 && nx < width && ny >= 0 && ny < height && states[ny * width + nx] == UNKNOWN;
+            }
+        }
+        int slot = frontierSlots[index];
+        if (isFrontier && slot < 0) {
+            frontier[frontierSize] = index;
+            frontierSlots[index] = frontierSize++;
+        } else if (!isFrontier && slot >= 0) {
+            int last = frontier[--frontierSize];
+            frontier[slot] = last;
+            frontierSlots[last] = slot;
+            frontierSlots[index] = -1;
+        }
+    }
+}
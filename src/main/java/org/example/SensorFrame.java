@@ -0,0 +1,58 @@
+package org.example;
+
+/**
+ * Sensor readings at the Clean Sweep's cell, written in place by
+ * {@link SensorSimulator} so a controller can reuse one frame for every move
+ * without allocating. The surface is the cell's own string, not a copy.
+ */
+public class SensorFrame {
+    private int x, y;                // Position the readings were taken at
+    private String surfaceType;      // Surface of the cell
+    private int dirt;                // Dirt level of the cell
+    private boolean chargingStation; // True if the cell has a charging station
+    private boolean blocked;         // True if the move that produced the frame was refused
+    private int neighborMask;        // Bit d set if the neighbor in direction d cannot be entered
+
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public String getSurfaceType() { return surfaceType; }
+    public int getDirt() { return dirt; }
+    public boolean hasChargingStation() { return chargingStation; }
+
+    /**
+     * Checks if the move that produced this frame was refused, by an obstacle or
+     * the edge of the grid; the readings are then those of the unchanged position.
+     * @return True if the Clean Sweep did not move, false otherwise.
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Gets which neighbors cannot be entered, as one bit per direction code.
+     * @return Bit mask; bit {@link SensorSimulator#RIGHT} through {@link SensorSimulator#UP}.
+     */
+    public int getNeighborMask() {
+        return neighborMask;
+    }
+
+    /**
+     * Checks if a neighbor is an obstacle or off the grid.
+     * @param direction Direction code from {@link SensorSimulator}.
+     * @return True if the Clean Sweep cannot move that way, false otherwise.
+     */
+    public boolean isNeighborBlocked(int direction) {
+        return (neighborMask >>> direction & 1) != 0;
+    }
+
+    // Overwrites every reading; called by the simulator
+    void set(int x, int y, Cell cell, boolean blocked, int neighborMask) {
+        this.x = x;
+        this.y = y;
+        this.surfaceType = cell.getSurfaceType();
+        this.dirt = cell.getDirt();
+        this.chargingStation = cell.hasChargingStation();
+        this.blocked = blocked;
+        this.neighborMask = neighborMask;
+    }
+}
@@ -1,42 +1,83 @@
 package org.example;
 
 public class SensorSimulator {
+    // Direction codes for the typed movement API, in the order right, down, left, up
+    public static final int RIGHT = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int UP = 3;
+
+    private static final int[] DX = { 1, 0, -1, 0 }; // X change per direction code
+    private static final int[] DY = { 0, 1, 0, -1 }; // Y change per direction code
+
     private Cell[][] floorPlan;  // 2D array representing the grid of cells
     private int currentX, currentY;  // Current position of the Clean Sweep
 
+    // The grid flattened with a one-cell border, so a move is one index step and needs no bounds check.
+    // Obstacles are read once here; cells cannot change them afterwards
+    private final int stride;           // Width of a padded row
+    private final int[] steps;          // Index step per direction code
+    private final Cell[] cells;         // Cells by padded index, null on the border
+    private final boolean[] blocked;    // True for obstacles and the border
+    private final byte[] neighborMasks; // Blocked neighbors of each cell, one bit per direction code
+    private int position;               // Padded index of the Clean Sweep's cell
+
     // Constructor to initialize the grid and starting position
     public SensorSimulator(Cell[][] floorPlan, int startX, int startY) {
         this.floorPlan = floorPlan;
         this.currentX = startX;
         this.currentY = startY;
+
+        int width = floorPlan[0].length;
+        int height = floorPlan.length;
+        this.stride = width + 2;
+        this.steps = new int[] { 1, stride, -1, -stride };
+        this.cells = new Cell[stride * (height + 2)];
+        this.blocked = new boolean[cells.length];
+        this.neighborMasks = new byte[cells.length];
+        for (int index = 0; index < cells.length; index++) {
+            int x = index % stride - 1;
+            int y = index / stride - 1;
+            boolean inside = x >= 0 && x < width && y >= 0 && y < height;
+            cells[index] = inside ? floorPlan[y][x] : null;
+            blocked[index] = !inside || floorPlan[y][x].isObstacle();
+        }
+        for (int index = stride; index < cells.length - stride; index++) {
+            int mask = 0;
+            for (int direction = RIGHT; direction <= UP; direction++) {
+                if (blocked[index + steps[direction]]) {
+                    mask |= 1 << direction;
+                }
+            }
+            neighborMasks[index] = (byte) mask;
+        }
+        this.position = (startY + 1) * stride + startX + 1;
     }
 
+    public int getX() { return currentX; }
+    public int getY() { return currentY; }
+
     // Method to move the Clean Sweep in a specific direction
     public boolean move(String direction) {
-        int newX = currentX;
-        int newY = currentY;
-
-        // Determine new coordinates based on the direction
+        int code;
         switch (direction.toLowerCase()) {
-            case "up": newY -= 1; break;
-            case "down": newY += 1; break;
-            case "left": newX -= 1; break;
-            case "right": newX += 1; break;
+            case "up": code = UP; break;
+            case "down": code = DOWN; break;
+            case "left": code = LEFT; break;
+            case "right": code = RIGHT; break;
             default: System.out.println("Invalid direction"); return false;
         }
+        int next = position + steps[code];
 
         // Check if the new coordinates are within the grid bounds
-        if (newX >= 0 && newX < floorPlan[0].length && newY >= 0 && newY < floorPlan.length) {
-            Cell newCell = floorPlan[newY][newX];
-
+        if (cells[next] != null) {
             // Check if the new cell contains an obstacle
-            if (newCell.isObstacle()) {
+            if (blocked[next]) {
                 System.out.println("Movement blocked by obstacle.");
                 return false;
             } else {
                 // Update position if no obstacle is found
-                currentX = newX;
-                currentY = newY;
+                moveTo(next);
                 System.out.println("Moved to (" + currentX + ", " + currentY + ")");
                 return true;
             }
@@ -46,6 +87,64 @@ public class SensorSimulator {
         }
     }
 
+    // Moves one cell by direction code without printing; returns false if an obstacle or the edge is in the way
+    public boolean move(int direction) {
+        int next = position + steps[checkDirection(direction)];
+        if (blocked[next]) {
+            return false;
+        }
+        position = next;
+        currentX += DX[direction];
+        currentY += DY[direction];
+        return true;
+    }
+
+    // Moves one cell by direction code and writes the readings at the resulting position into the frame
+    public boolean move(int direction, SensorFrame frame) {
+        boolean moved = move(direction);
+        frame.set(currentX, currentY, cells[position], !moved, neighborMasks[position]);
+        return moved;
+    }
+
+    // Replays direction codes in order, skipping refused moves; returns the number of moves made
+    public int moveAll(int[] directions) {
+        int at = position;
+        int moves = 0;
+        for (int direction : directions) {
+            int next = at + steps[checkDirection(direction)];
+            if (!blocked[next]) {
+                at = next;
+                moves++;
+            }
+        }
+        moveTo(at);
+        return moves;
+    }
+
+    // Replays direction codes and writes the readings at the final position into the frame;
+    // the frame is marked blocked if the last move was refused
+    public int moveAll(int[] directions, SensorFrame frame) {
+        int at = position;
+        int moves = 0;
+        boolean refused = false;
+        for (int direction : directions) {
+            int next = at + steps[checkDirection(direction)];
+            refused = blocked[next];
+            if (!refused) {
+                at = next;
+                moves++;
+            }
+        }
+        moveTo(at);
+        frame.set(currentX, currentY, cells[position], refused, neighborMasks[position]);
+        return moves;
+    }
+
+    // Writes the readings at the current position into the frame
+    public void sense(SensorFrame frame) {
+        frame.set(currentX, currentY, cells[position], false, neighborMasks[position]);
+    }
+
     // Method to display sensor feedback for the current cell
     public void printSensorFeedback() {
         Cell currentCell = floorPlan[currentY][currentX];
@@ -53,4 +152,17 @@ public class SensorSimulator {
         System.out.println("Dirt Level: " + currentCell.getDirt() + " units");
         System.out.println("Charging Station: " + (currentCell.hasChargingStation() ? "Yes" : "No"));
     }
+
+    private void moveTo(int next) {
+        position = next;
+        currentX = next % stride - 1;
+        currentY = next / stride - 1;
+    }
+
+    private static int checkDirection(int direction) {
+        if ((direction & ~UP) != 0) {
+            throw new IllegalArgumentException("Invalid direction code: " + direction);
+        }
+        return direction;
+    }
 }